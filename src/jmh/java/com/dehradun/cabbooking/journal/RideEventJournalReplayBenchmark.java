@@ -0,0 +1,81 @@
+package com.dehradun.cabbooking.journal;
+
+import com.dehradun.cabbooking.enums.RideEventType;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sequential replay of the ride event journal, reported in events per second.
+ *
+ * <p>Setup appends {@value #EVENTS} events over several segments in a temporary directory, in the mix a
+ * day of bookings produces. Each invocation replays all of them and folds the fares into a running total,
+ * the shape of a counter or rollup being rebuilt after a restart.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RideEventJournalReplayBenchmark {
+
+    private static final int EVENTS = 2_000_000;
+    private static final int SEGMENT_BYTES = 16 * 1024 * 1024;
+
+    private Path directory;
+    private RideEventJournal journal;
+    private long fareTotal;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-replay");
+        journal = new RideEventJournal(directory, SEGMENT_BYTES, Integer.MAX_VALUE, false);
+        SplittableRandom random = new SplittableRandom(42L);
+        long timestamp = System.currentTimeMillis();
+        RideEventType[] mix = {RideEventType.CREATED, RideEventType.DISCOUNT_APPLIED, RideEventType.COMPLETED,
+            RideEventType.CREATED, RideEventType.CANCELLED};
+        for (int i = 0; i < EVENTS; i++) {
+            journal.append(new RideEvent(mix[i % mix.length], i / 2, 1 + random.nextInt(1000),
+                random.nextInt(100), random.nextInt(50), 6_000 + random.nextInt(90_000), timestamp + i));
+        }
+        journal.flush();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long replay() {
+        fareTotal = 0;
+        long replayed = journal.replay(event -> fareTotal += event.getFarePaise());
+        if (replayed != EVENTS) {
+            throw new IllegalStateException("Replayed " + replayed + " of " + EVENTS + " events");
+        }
+        return fareTotal;
+    }
+}
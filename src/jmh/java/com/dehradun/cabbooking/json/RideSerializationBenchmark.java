@@ -0,0 +1,217 @@
+package com.dehradun.cabbooking.json;
+
+import com.dehradun.cabbooking.entity.Discount;
+import com.dehradun.cabbooking.entity.Driver;
+import com.dehradun.cabbooking.entity.Location;
+import com.dehradun.cabbooking.entity.Payment;
+import com.dehradun.cabbooking.entity.Rating;
+import com.dehradun.cabbooking.entity.Ride;
+import com.dehradun.cabbooking.entity.Vehicle;
+import com.dehradun.cabbooking.enums.DriverStatus;
+import com.dehradun.cabbooking.enums.PaymentMethod;
+import com.dehradun.cabbooking.enums.PaymentStatus;
+import com.dehradun.cabbooking.enums.RatingActor;
+import com.dehradun.cabbooking.enums.RideStatus;
+import com.dehradun.cabbooking.enums.VehicleType;
+import com.dehradun.cabbooking.landmark.LandmarkDirectory;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Reflective Jackson serialisation of {@link Ride} entities against {@link RideJsonWriter}.
+ *
+ * <p>Rides carry a driver, vehicle, discount, rating and payment, like a completed ride returned by the
+ * report endpoints. Both paths produce byte-identical output, which setup verifies, so {@code -prof gc}
+ * allocation and throughput are the comparison; the payload size is printed once per fork. The
+ * {@code WithLandmarks} variant adds the pickup and drop descriptions served by the ride endpoints.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RideSerializationBenchmark {
+
+    private static final int LIST_SIZE = 100;
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256 * 1024);
+    private ObjectMapper objectMapper;
+    private JsonFactory jsonFactory;
+    private LandmarkDirectory landmarks;
+    private Ride ride;
+    private List<Ride> rides;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        jsonFactory = objectMapper.getFactory();
+        try (InputStream input = getClass().getResourceAsStream("/landmarks/dehradun.csv")) {
+            landmarks = LandmarkDirectory.fromCsv(input, 150, 1500, 20_000);
+        }
+        SplittableRandom random = new SplittableRandom(42L);
+        rides = new ArrayList<>(LIST_SIZE);
+        for (int i = 1; i <= LIST_SIZE; i++) {
+            rides.add(completedRide(i, random));
+        }
+        ride = rides.get(0);
+
+        byte[] jackson = objectMapper.writeValueAsBytes(rides);
+        streamingRides();
+        byte[] streaming = buffer.toByteArray();
+        if (!Arrays.equals(jackson, streaming)) {
+            throw new IllegalStateException("Streaming output differs from Jackson:\n"
+                + new String(jackson) + "\n" + new String(streaming));
+        }
+        System.out.printf("%nRide JSON: %d bytes per ride, %d bytes per %d-ride list%n",
+            objectMapper.writeValueAsBytes(ride).length, jackson.length, LIST_SIZE);
+    }
+
+    @Benchmark
+    public int jacksonRide() throws IOException {
+        buffer.reset();
+        objectMapper.writeValue(buffer, ride);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int streamingRide() throws IOException {
+        buffer.reset();
+        try (JsonGenerator generator = jsonFactory.createGenerator(buffer, JsonEncoding.UTF8)) {
+            RideJsonWriter.writeRide(generator, ride);
+        }
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int jacksonRideList() throws IOException {
+        buffer.reset();
+        objectMapper.writeValue(buffer, rides);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int streamingRideList() throws IOException {
+        return streamingRides();
+    }
+
+    @Benchmark
+    public int streamingRideListWithLandmarks() throws IOException {
+        buffer.reset();
+        try (JsonGenerator generator = jsonFactory.createGenerator(buffer, JsonEncoding.UTF8)) {
+            RideJsonWriter.writeRides(generator, rides, landmarks);
+        }
+        return buffer.size();
+    }
+
+    private int streamingRides() throws IOException {
+        buffer.reset();
+        try (JsonGenerator generator = jsonFactory.createGenerator(buffer, JsonEncoding.UTF8)) {
+            RideJsonWriter.writeRides(generator, rides);
+        }
+        return buffer.size();
+    }
+
+    private static Ride completedRide(int id, SplittableRandom random) {
+        LocalDateTime created = LocalDateTime.of(2024, 5, 6, 8, 0).plusMinutes(random.nextInt(100_000))
+            .plusNanos(random.nextInt(1_000_000) * 1000L);
+
+        Driver driver = new Driver();
+        driver.setDriverId(1 + random.nextInt(5000));
+        driver.setName("Rohan Negi");
+        driver.setPhone("98" + (10_000_000 + driver.getDriverId()));
+        driver.setEmail("driver" + driver.getDriverId() + "@example.in");
+        driver.setLicenseNumber("UK07" + (20_000_000_000L + driver.getDriverId()));
+        driver.setRating(BigDecimal.valueOf(350 + random.nextInt(150), 2));
+        driver.setStatus(DriverStatus.ON_RIDE);
+        driver.setCreatedAt(created.minusDays(400));
+
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVehicleId(driver.getDriverId());
+        vehicle.setDriver(driver);
+        vehicle.setVehicleNumber("UK07TA" + (1000 + driver.getDriverId() % 9000));
+        vehicle.setModel("Maruti Suzuki Dzire");
+        vehicle.setType(VehicleType.CAR);
+        vehicle.setCapacity(4);
+        vehicle.setCreatedAt(created.minusDays(390));
+        driver.setVehicle(vehicle);
+
+        Discount discount = new Discount();
+        discount.setDiscountId(1 + random.nextInt(20));
+        discount.setCode("DOON" + discount.getDiscountId());
+        discount.setDescription("Monsoon savings on city rides");
+        discount.setPercentage(10);
+        discount.setValidFrom(LocalDate.of(2024, 5, 1));
+        discount.setValidTo(LocalDate.of(2024, 8, 31));
+        discount.setCreatedAt(LocalDateTime.of(2024, 4, 30, 12, 0));
+
+        Ride ride = new Ride();
+        ride.setRideId(id);
+        ride.setDriver(driver);
+        ride.setVehicle(vehicle);
+        ride.setPickupLocation(location(random));
+        ride.setDropLocation(location(random));
+        ride.setStatus(RideStatus.COMPLETED);
+        ride.setDistanceKm(BigDecimal.valueOf(150 + random.nextInt(1500), 2));
+        ride.setFare(BigDecimal.valueOf(8000 + random.nextInt(40_000), 2));
+        ride.setCreatedAt(created);
+        ride.setStartTime(created.plusMinutes(6));
+        ride.setEndTime(created.plusMinutes(31));
+        ride.setDiscounts(new ArrayList<>(List.of(discount)));
+
+        Rating rating = new Rating();
+        rating.setRatingId(id);
+        rating.setRide(ride);
+        rating.setGivenBy(RatingActor.USER);
+        rating.setGivenTo(RatingActor.DRIVER);
+        rating.setRating(5);
+        rating.setComments("Smooth ride");
+        rating.setCreatedAt(ride.getEndTime().plusMinutes(4));
+        ride.setRatings(new ArrayList<>(List.of(rating)));
+
+        Payment payment = new Payment();
+        payment.setPaymentId(id);
+        payment.setRide(ride);
+        payment.setAmount(ride.getFare().multiply(BigDecimal.valueOf(90)).movePointLeft(2));
+        payment.setMethod(PaymentMethod.UPI);
+        payment.setStatus(PaymentStatus.COMPLETED);
+        payment.setCreatedAt(ride.getEndTime());
+        ride.setPayment(payment);
+        return ride;
+    }
+
+    private static Location location(SplittableRandom random) {
+        Location location = new Location();
+        location.setLatitude(BigDecimal.valueOf(30.2700 + random.nextDouble() * 0.1).setScale(6, RoundingMode.HALF_UP));
+        location.setLongitude(BigDecimal.valueOf(77.9900 + random.nextDouble() * 0.1).setScale(6, RoundingMode.HALF_UP));
+        return location;
+    }
+}
@@ -0,0 +1,164 @@
+package com.dehradun.cabbooking.service;
+
+import com.dehradun.cabbooking.dto.CreateRideRequest;
+import com.dehradun.cabbooking.entity.Discount;
+import com.dehradun.cabbooking.entity.Driver;
+import com.dehradun.cabbooking.entity.Location;
+import com.dehradun.cabbooking.entity.Ride;
+import com.dehradun.cabbooking.entity.User;
+import com.dehradun.cabbooking.entity.Vehicle;
+import com.dehradun.cabbooking.enums.DriverStatus;
+import com.dehradun.cabbooking.enums.RideStatus;
+import com.dehradun.cabbooking.enums.UserStatus;
+import com.dehradun.cabbooking.enums.VehicleType;
+import com.dehradun.cabbooking.repository.DiscountRepository;
+import com.dehradun.cabbooking.repository.DriverRepository;
+import com.dehradun.cabbooking.repository.LocationRepository;
+import com.dehradun.cabbooking.repository.RideRepository;
+import com.dehradun.cabbooking.repository.UserRepository;
+import com.dehradun.cabbooking.repository.VehicleRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic seed data shared by the in-memory and embedded database benchmarks.
+ */
+final class BookingFixture {
+
+    static final int USERS = 1_000;
+    static final int DRIVERS = 200;
+    static final int LOCATIONS = 500;
+    static final int RIDES = 5_000;
+    static final List<String> DISCOUNT_CODES = List.of("DOON10", "MALLROAD", "RAJPUR20", "FIRSTRIDE", "MONSOON15");
+
+    private static final double CLOCK_TOWER_LAT = 30.3243;
+    private static final double CLOCK_TOWER_LNG = 78.0418;
+
+    final List<User> users = new ArrayList<>();
+    final List<Driver> drivers = new ArrayList<>();
+    final List<Vehicle> vehicles = new ArrayList<>();
+    final List<Location> locations = new ArrayList<>();
+    final List<Discount> discounts = new ArrayList<>();
+
+    private final SplittableRandom random;
+
+    /**
+     * Seeds every repository with the fixture data.
+     *
+     * @param seed random seed making the data reproducible across runs
+     */
+    BookingFixture(long seed, UserRepository userRepository, DriverRepository driverRepository,
+        VehicleRepository vehicleRepository, LocationRepository locationRepository,
+        DiscountRepository discountRepository, RideRepository rideRepository) {
+        this.random = new SplittableRandom(seed);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("Rider " + i);
+            user.setPhone(String.format("98%08d", i));
+            user.setPasswordHash("{noop}benchmark");
+            user.setStatus(UserStatus.ACTIVE);
+            user.setCreatedAt(now);
+            users.add(userRepository.save(user));
+        }
+        VehicleType[] types = VehicleType.values();
+        for (int i = 0; i < DRIVERS; i++) {
+            Driver driver = new Driver();
+            driver.setName("Driver " + i);
+            driver.setPhone(String.format("97%08d", i));
+            driver.setLicenseNumber(String.format("UK07-%08d", i));
+            driver.setStatus(DriverStatus.AVAILABLE);
+            driver.setCreatedAt(now);
+            driver = driverRepository.save(driver);
+            drivers.add(driver);
+            Vehicle vehicle = new Vehicle();
+            vehicle.setDriver(driver);
+            vehicle.setVehicleNumber(String.format("UK07-%04d", i));
+            vehicle.setType(types[i % types.length]);
+            vehicle.setCapacity(4);
+            vehicle.setCreatedAt(now);
+            vehicles.add(vehicleRepository.save(vehicle));
+        }
+        for (int i = 0; i < LOCATIONS; i++) {
+            Location location = new Location();
+            location.setLatitude(latitude());
+            location.setLongitude(longitude());
+            location.setRecordedAt(now);
+            locations.add(locationRepository.save(location));
+        }
+        for (String code : DISCOUNT_CODES) {
+            Discount discount = new Discount();
+            discount.setCode(code);
+            discount.setPercentage(10);
+            discount.setValidFrom(LocalDate.now().minusDays(30));
+            discount.setValidTo(LocalDate.now().plusDays(30));
+            discount.setCreatedAt(now);
+            discounts.add(discountRepository.save(discount));
+        }
+        RideStatus[] statuses = RideStatus.values();
+        for (int i = 0; i < RIDES; i++) {
+            Ride ride = new Ride();
+            ride.setUser(users.get(random.nextInt(USERS)));
+            int driverIndex = random.nextInt(DRIVERS);
+            ride.setDriver(drivers.get(driverIndex));
+            ride.setVehicle(vehicles.get(driverIndex));
+            ride.setPickupLocation(locations.get(random.nextInt(LOCATIONS)));
+            ride.setDropLocation(locations.get(random.nextInt(LOCATIONS)));
+            ride.setStatus(statuses[random.nextInt(statuses.length)]);
+            ride.setFare(BigDecimal.valueOf(60 + random.nextInt(900)));
+            ride.setDistanceKm(BigDecimal.valueOf(1 + random.nextInt(2_500), 2));
+            ride.setCreatedAt(now.minusMinutes(random.nextInt(600)));
+            ride.setEndTime(ride.getStatus() == RideStatus.COMPLETED ? now : null);
+            if (random.nextInt(4) == 0) {
+                ride.setDiscounts(new ArrayList<>(List.of(discounts.get(random.nextInt(discounts.size())))));
+            }
+            rideRepository.save(ride);
+        }
+    }
+
+    /**
+     * Builds a ride request for a random rider.
+     *
+     * @param withCoordinates {@code true} to send raw pickup/drop coordinates, {@code false} to reuse
+     *                        existing location identifiers
+     * @return ride creation payload
+     */
+    CreateRideRequest rideRequest(boolean withCoordinates) {
+        CreateRideRequest request = new CreateRideRequest();
+        request.setUserId(users.get(random.nextInt(USERS)).getUserId());
+        if (withCoordinates) {
+            request.setPickupLatitude(latitude());
+            request.setPickupLongitude(longitude());
+            request.setDropLatitude(latitude());
+            request.setDropLongitude(longitude());
+        } else {
+            request.setPickupLocationId(randomLocationId());
+            request.setDropLocationId(randomLocationId());
+        }
+        request.setFare(BigDecimal.valueOf(60 + random.nextInt(900)));
+        request.setDistanceKm(BigDecimal.valueOf(1 + random.nextInt(2_500), 2));
+        request.setDiscountCodes(List.of(randomDiscountCode()));
+        return request;
+    }
+
+    Integer randomLocationId() {
+        return locations.get(random.nextInt(LOCATIONS)).getLocationId();
+    }
+
+    String randomDiscountCode() {
+        return DISCOUNT_CODES.get(random.nextInt(DISCOUNT_CODES.size()));
+    }
+
+    BigDecimal latitude() {
+        return BigDecimal.valueOf(CLOCK_TOWER_LAT + (random.nextDouble() - 0.5) * 0.1).setScale(6, RoundingMode.HALF_UP);
+    }
+
+    BigDecimal longitude() {
+        return BigDecimal.valueOf(CLOCK_TOWER_LNG + (random.nextDouble() - 0.5) * 0.1).setScale(6, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,123 @@
+package com.dehradun.cabbooking.service;
+
+import com.dehradun.cabbooking.DehradunCabBookingApplication;
+import com.dehradun.cabbooking.entity.Discount;
+import com.dehradun.cabbooking.entity.Location;
+import com.dehradun.cabbooking.entity.Ride;
+import com.dehradun.cabbooking.repository.DiscountRepository;
+import com.dehradun.cabbooking.repository.DriverRepository;
+import com.dehradun.cabbooking.repository.LocationRepository;
+import com.dehradun.cabbooking.repository.RideRepository;
+import com.dehradun.cabbooking.repository.UserRepository;
+import com.dehradun.cabbooking.repository.VehicleRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Booking and query hot paths through the fully wired Spring services on the in-memory H2 database of the
+ * {@code embedded} profile.
+ *
+ * <p>Unlike {@link InMemoryBookingBenchmark} this includes transactions, Hibernate, the routing data
+ * source and the {@code @Timed} aspect, so the gap between the two suites is the persistence overhead.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmbeddedDatabaseBookingBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private BookingFixture fixture;
+    private RideService rideService;
+    private DiscountService discountService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DehradunCabBookingApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.profiles.active=embedded",
+                "--journal.enabled=false",
+                "--abuse.reject=false",
+                "--logging.level.root=WARN");
+        fixture = new BookingFixture(42L, context.getBean(UserRepository.class),
+            context.getBean(DriverRepository.class), context.getBean(VehicleRepository.class),
+            context.getBean(LocationRepository.class), context.getBean(DiscountRepository.class),
+            context.getBean(RideRepository.class));
+        rideService = context.getBean(RideService.class);
+        discountService = context.getBean(DiscountService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Ride createRideWithCoordinates() {
+        return rideService.createRide(fixture.rideRequest(true));
+    }
+
+    @Benchmark
+    public Ride createRideWithLocationIds() {
+        return rideService.createRide(fixture.rideRequest(false));
+    }
+
+    @Benchmark
+    public Location resolveLocationByCoordinates() {
+        return rideService.resolveLocation(null, fixture.latitude(), fixture.longitude());
+    }
+
+    @Benchmark
+    public Location resolveLocationById() {
+        return rideService.resolveLocation(fixture.randomLocationId(), null, null);
+    }
+
+    @Benchmark
+    public List<Discount> getDiscountsByCodes() {
+        return discountService.getDiscountsByCodes(List.of(fixture.randomDiscountCode()));
+    }
+
+    @Benchmark
+    public List<Ride> getRidesByCreationDate() {
+        return rideService.getRidesByCreationDate(LocalDate.now());
+    }
+
+    @Benchmark
+    public List<Ride> getCompletedRidesForWeek() {
+        return rideService.getCompletedRidesForWeek(LocalDate.now());
+    }
+
+    @Benchmark
+    public List<Ride> getInProgressRidesForToday() {
+        return rideService.getInProgressRidesForToday();
+    }
+
+    @Benchmark
+    public List<Ride> getHighValueRidesForWeek() {
+        return rideService.getHighValueRidesForWeek(LocalDate.now(), BigDecimal.valueOf(500));
+    }
+
+    @Benchmark
+    public List<Ride> getRidesByDiscountCode() {
+        return rideService.getRidesByDiscountCode(fixture.randomDiscountCode());
+    }
+}
@@ -0,0 +1,128 @@
+package com.dehradun.cabbooking.service;
+
+import com.dehradun.cabbooking.abuse.BookingAbuseDetector;
+import com.dehradun.cabbooking.city.CityRegistry;
+import com.dehradun.cabbooking.entity.Discount;
+import com.dehradun.cabbooking.entity.Location;
+import com.dehradun.cabbooking.entity.Ride;
+import com.dehradun.cabbooking.geofence.GeofenceIndex;
+import com.dehradun.cabbooking.tracking.RideTrackingHub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Booking and query hot paths against hash-map repository fakes.
+ *
+ * <p>With persistence taken out of the picture these numbers isolate the CPU and allocation cost of the
+ * service code itself.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InMemoryBookingBenchmark {
+
+    private BookingFixture fixture;
+    private RideService rideService;
+    private DiscountService discountService;
+    private GeofenceIndex geofence;
+    private CityRegistry cities;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream input = getClass().getResourceAsStream("/geofence/cities.geojson")) {
+            geofence = GeofenceIndex.fromGeoJson(input, 0.005);
+        }
+        try (InputStream input = getClass().getResourceAsStream("/cities/cities.csv")) {
+            cities = CityRegistry.fromCsv(input, "DEHRADUN");
+        }
+        InMemoryRepositories repositories = new InMemoryRepositories();
+        fixture = new BookingFixture(42L, repositories.userRepository(), repositories.driverRepository(),
+            repositories.vehicleRepository(), repositories.locationRepository(),
+            repositories.discountRepository(), repositories.rideRepository());
+        discountService = new DiscountService(repositories.discountRepository(), cities, event -> { });
+        rideService = new RideService(repositories.rideRepository(), repositories.userRepository(),
+            repositories.driverRepository(), repositories.vehicleRepository(), repositories.locationRepository(),
+            discountService, repositories.paymentRepository(), new BookingAbuseDetector(false, Duration.ofMinutes(2),
+                Duration.ofMinutes(10), 4, Duration.ofHours(24), 3, new SimpleMeterRegistry()),
+            new RideTrackingHub(new DriverManagerDataSource(), Duration.ofMinutes(1), Duration.ofSeconds(30), 1, 1,
+                new SimpleMeterRegistry()),
+            geofence, cities, event -> { });
+    }
+
+    @Benchmark
+    public Ride createRideWithCoordinates() {
+        return rideService.createRide(fixture.rideRequest(true));
+    }
+
+    @Benchmark
+    public Ride createRideWithLocationIds() {
+        return rideService.createRide(fixture.rideRequest(false));
+    }
+
+    @Benchmark
+    public Location resolveLocationByCoordinates() {
+        return rideService.resolveLocation(null, fixture.latitude(), fixture.longitude());
+    }
+
+    @Benchmark
+    public String locatePickupZone() {
+        double latitude = fixture.latitude().doubleValue();
+        double longitude = fixture.longitude().doubleValue();
+        return geofence.cityOf(latitude, longitude) != null ? geofence.zoneOf(latitude, longitude) : null;
+    }
+
+    @Benchmark
+    public Location resolveLocationById() {
+        return rideService.resolveLocation(fixture.randomLocationId(), null, null);
+    }
+
+    @Benchmark
+    public List<Discount> getDiscountsByCodes() {
+        return discountService.getDiscountsByCodes(List.of(fixture.randomDiscountCode()));
+    }
+
+    @Benchmark
+    public List<Ride> getRidesByCreationDate() {
+        return rideService.getRidesByCreationDate(LocalDate.now());
+    }
+
+    @Benchmark
+    public List<Ride> getCompletedRidesForWeek() {
+        return rideService.getCompletedRidesForWeek(LocalDate.now());
+    }
+
+    @Benchmark
+    public List<Ride> getInProgressRidesForToday() {
+        return rideService.getInProgressRidesForToday();
+    }
+
+    @Benchmark
+    public List<Ride> getHighValueRidesForWeek() {
+        return rideService.getHighValueRidesForWeek(LocalDate.now(), BigDecimal.valueOf(500));
+    }
+
+    @Benchmark
+    public List<Ride> getRidesByDiscountCode() {
+        return rideService.getRidesByDiscountCode(fixture.randomDiscountCode());
+    }
+}
@@ -0,0 +1,193 @@
+package com.dehradun.cabbooking.service;
+
+import com.dehradun.cabbooking.entity.Discount;
+import com.dehradun.cabbooking.entity.Driver;
+import com.dehradun.cabbooking.entity.Location;
+import com.dehradun.cabbooking.entity.Payment;
+import com.dehradun.cabbooking.entity.Ride;
+import com.dehradun.cabbooking.entity.User;
+import com.dehradun.cabbooking.entity.Vehicle;
+import com.dehradun.cabbooking.enums.RideStatus;
+import com.dehradun.cabbooking.repository.DiscountRepository;
+import com.dehradun.cabbooking.repository.DriverRepository;
+import com.dehradun.cabbooking.repository.LocationRepository;
+import com.dehradun.cabbooking.repository.PaymentRepository;
+import com.dehradun.cabbooking.repository.RideRepository;
+import com.dehradun.cabbooking.repository.UserRepository;
+import com.dehradun.cabbooking.repository.VehicleRepository;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Hash-map backed stand-ins for the Spring Data repositories used by the booking path.
+ *
+ * <p>Only the methods the services call are implemented; anything else throws so a benchmark never
+ * silently measures a no-op.</p>
+ */
+final class InMemoryRepositories {
+
+    final Store<User, Long> users = new Store<>(User::getUserId, (user, id) -> user.setUserId(id));
+    final Store<Driver, Integer> drivers = new Store<>(Driver::getDriverId,
+        (driver, id) -> driver.setDriverId(id.intValue()));
+    final Store<Vehicle, Integer> vehicles = new Store<>(Vehicle::getVehicleId,
+        (vehicle, id) -> vehicle.setVehicleId(id.intValue()));
+    final Store<Location, Integer> locations = new Store<>(Location::getLocationId,
+        (location, id) -> location.setLocationId(id.intValue()));
+    final Store<Discount, Integer> discounts = new Store<>(Discount::getDiscountId,
+        (discount, id) -> discount.setDiscountId(id.intValue()));
+    final Store<Ride, Integer> rides = new Store<>(Ride::getRideId, (ride, id) -> ride.setRideId(id.intValue()));
+    final Store<Payment, Integer> payments = new Store<>(Payment::getPaymentId,
+        (payment, id) -> payment.setPaymentId(id.intValue()));
+
+    UserRepository userRepository() {
+        return fake(UserRepository.class, users.crud());
+    }
+
+    DriverRepository driverRepository() {
+        return fake(DriverRepository.class, drivers.crud());
+    }
+
+    VehicleRepository vehicleRepository() {
+        return fake(VehicleRepository.class, vehicles.crud());
+    }
+
+    LocationRepository locationRepository() {
+        return fake(LocationRepository.class, locations.crud());
+    }
+
+    PaymentRepository paymentRepository() {
+        return fake(PaymentRepository.class, payments.crud());
+    }
+
+    @SuppressWarnings("unchecked")
+    DiscountRepository discountRepository() {
+        Map<String, Function<Object[], Object>> methods = discounts.crud();
+        methods.put("findActiveDiscounts", args -> {
+            LocalDate today = (LocalDate) args[0];
+            return discounts.rows.values().stream()
+                .filter(d -> !d.isDeleted())
+                .filter(d -> d.getValidFrom() == null || !d.getValidFrom().isAfter(today))
+                .filter(d -> d.getValidTo() == null || !d.getValidTo().isBefore(today))
+                .toList();
+        });
+        methods.put("findActiveDiscountsInCity", args -> {
+            LocalDate today = (LocalDate) args[0];
+            return discounts.rows.values().stream()
+                .filter(d -> !d.isDeleted() && d.appliesIn((String) args[1]))
+                .filter(d -> d.getValidFrom() == null || !d.getValidFrom().isAfter(today))
+                .filter(d -> d.getValidTo() == null || !d.getValidTo().isBefore(today))
+                .toList();
+        });
+        methods.put("findByCodeAndDeletedFalse", args -> discounts.rows.values().stream()
+            .filter(d -> !d.isDeleted() && d.getCode().equals(args[0]))
+            .findFirst());
+        methods.put("findByCodeInAndDeletedFalse", args -> {
+            Collection<String> codes = (Collection<String>) args[0];
+            return discounts.rows.values().stream()
+                .filter(d -> !d.isDeleted() && codes.contains(d.getCode()))
+                .toList();
+        });
+        return fake(DiscountRepository.class, methods);
+    }
+
+    @SuppressWarnings("unchecked")
+    RideRepository rideRepository() {
+        Map<String, Function<Object[], Object>> methods = rides.crud();
+        methods.put("findByDeletedFalseAndCreatedAtBetween", args -> rides.rows.values().stream()
+            .filter(r -> !r.isDeleted() && between(r.getCreatedAt(), args[0], args[1]))
+            .toList());
+        methods.put("findByDeletedFalseAndStatusAndEndTimeBetween", args -> rides.rows.values().stream()
+            .filter(r -> !r.isDeleted() && r.getStatus() == args[0] && between(r.getEndTime(), args[1], args[2]))
+            .toList());
+        methods.put("findByDeletedFalseAndStatusInAndCreatedAtBetween", args -> {
+            Collection<RideStatus> statuses = (Collection<RideStatus>) args[0];
+            return rides.rows.values().stream()
+                .filter(r -> !r.isDeleted() && statuses.contains(r.getStatus())
+                    && between(r.getCreatedAt(), args[1], args[2]))
+                .toList();
+        });
+        methods.put("findRidesByDistanceOrFare", args -> {
+            BigDecimal distance = (BigDecimal) args[2];
+            BigDecimal fare = (BigDecimal) args[3];
+            return rides.rows.values().stream()
+                .filter(r -> !r.isDeleted() && between(r.getCreatedAt(), args[0], args[1]))
+                .filter(r -> (r.getDistanceKm() != null && r.getDistanceKm().compareTo(distance) > 0)
+                    || (r.getFare() != null && r.getFare().compareTo(fare) > 0))
+                .toList();
+        });
+        methods.put("findActiveRidesByDiscountCode", args -> rides.rows.values().stream()
+            .filter(r -> !r.isDeleted() && r.getDiscounts().stream().anyMatch(d -> d.getCode().equals(args[0])))
+            .toList());
+        return fake(RideRepository.class, methods);
+    }
+
+    private static boolean between(LocalDateTime value, Object start, Object end) {
+        return value != null && !value.isBefore((LocalDateTime) start) && !value.isAfter((LocalDateTime) end);
+    }
+
+    private static <R> R fake(Class<R> type, Map<String, Function<Object[], Object>> methods) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+            (proxy, method, args) -> {
+                Function<Object[], Object> implementation = methods.get(method.getName());
+                if (implementation == null) {
+                    throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+                }
+                return implementation.apply(args);
+            }));
+    }
+
+    /**
+     * Identity-keyed table assigning sequential identifiers on first save.
+     *
+     * <p>Once {@link #RETAIN_LIMIT} rows are stored, newly saved entities still receive identifiers but are
+     * not kept, so write benchmarks run at a flat heap instead of measuring map growth.</p>
+     *
+     * @param <T>  entity type
+     * @param <ID> identifier type
+     */
+    static final class Store<T, ID> {
+
+        static final int RETAIN_LIMIT = 100_000;
+
+        final Map<ID, T> rows = new ConcurrentHashMap<>();
+        private final AtomicLong sequence = new AtomicLong();
+        private final Function<T, ID> idGetter;
+        private final BiConsumer<T, Long> idSetter;
+
+        Store(Function<T, ID> idGetter, BiConsumer<T, Long> idSetter) {
+            this.idGetter = idGetter;
+            this.idSetter = idSetter;
+        }
+
+        T save(T entity) {
+            if (idGetter.apply(entity) == null) {
+                idSetter.accept(entity, sequence.incrementAndGet());
+            }
+            if (rows.size() < RETAIN_LIMIT) {
+                rows.put(idGetter.apply(entity), entity);
+            }
+            return entity;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Function<Object[], Object>> crud() {
+            Map<String, Function<Object[], Object>> methods = new HashMap<>();
+            methods.put("save", args -> save((T) args[0]));
+            methods.put("findById", args -> Optional.ofNullable(rows.get((ID) args[0])));
+            methods.put("findAll", args -> List.copyOf(rows.values()));
+            methods.put("count", args -> (long) rows.size());
+            return methods;
+        }
+    }
+}
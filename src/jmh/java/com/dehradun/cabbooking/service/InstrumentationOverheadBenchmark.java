@@ -0,0 +1,94 @@
+package com.dehradun.cabbooking.service;
+
+import com.dehradun.cabbooking.DehradunCabBookingApplication;
+import com.dehradun.cabbooking.entity.Discount;
+import com.dehradun.cabbooking.entity.Location;
+import com.dehradun.cabbooking.entity.Ride;
+import com.dehradun.cabbooking.repository.DiscountRepository;
+import com.dehradun.cabbooking.repository.DriverRepository;
+import com.dehradun.cabbooking.repository.LocationRepository;
+import com.dehradun.cabbooking.repository.RideRepository;
+import com.dehradun.cabbooking.repository.UserRepository;
+import com.dehradun.cabbooking.repository.VehicleRepository;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Cost of the latency instrumentation: the same service calls with nothing, with the {@code @Timed} aspect and
+ * Spring Data repository timing (the default), and with Hibernate statistics on top.
+ *
+ * <p>Reads are cheap enough that the per-call timer cost shows up; {@code createRide} shows it against a
+ * full booking transaction.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentationOverheadBenchmark {
+
+    @Param({"none", "timers", "statistics"})
+    private String instrumentation;
+
+    private ConfigurableApplicationContext context;
+    private BookingFixture fixture;
+    private RideService rideService;
+    private DiscountService discountService;
+
+    @Setup
+    public void setUp() {
+        boolean timers = !"none".equals(instrumentation);
+        context = new SpringApplicationBuilder(DehradunCabBookingApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.profiles.active=embedded",
+                "--journal.enabled=false",
+                "--abuse.reject=false",
+                "--metrics.timed.enabled=" + timers,
+                "--management.metrics.data.repository.autotime.enabled=" + timers,
+                "--spring.jpa.properties.hibernate.generate_statistics=" + "statistics".equals(instrumentation),
+                "--logging.level.root=WARN");
+        fixture = new BookingFixture(42L, context.getBean(UserRepository.class),
+            context.getBean(DriverRepository.class), context.getBean(VehicleRepository.class),
+            context.getBean(LocationRepository.class), context.getBean(DiscountRepository.class),
+            context.getBean(RideRepository.class));
+        rideService = context.getBean(RideService.class);
+        discountService = context.getBean(DiscountService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Ride createRide() {
+        return rideService.createRide(fixture.rideRequest(false));
+    }
+
+    @Benchmark
+    public Location resolveLocationById() {
+        return rideService.resolveLocation(fixture.randomLocationId(), null, null);
+    }
+
+    @Benchmark
+    public List<Discount> getDiscountsByCodes() {
+        return discountService.getDiscountsByCodes(List.of(fixture.randomDiscountCode()));
+    }
+}
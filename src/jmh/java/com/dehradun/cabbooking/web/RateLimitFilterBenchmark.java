@@ -0,0 +1,119 @@
+package com.dehradun.cabbooking.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Per-request cost of {@link RateLimitFilter}: policy matching, key building and the bucket update.
+ *
+ * <p>Policies mirror the defaults in {@code application.yml} and are generous enough that every request is
+ * admitted, so the numbers measure the common path. {@code sharedBucket} keeps hitting one rider's bucket;
+ * run it with {@code -t} above one on a multi-core machine to see compare-and-set contention.
+ * {@code manyClients} spreads requests over 10,000 addresses like a busy evening. {@code fullMapFlood} sends
+ * every request from a new address to a limiter whose map is already full of active clients, so each one is
+ * rejected as overflow.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    private static final FilterChain NO_OP = (request, response) -> { };
+    private static final Duration LONG_PERIOD = Duration.ofDays(1);
+
+    private RateLimitFilter filter;
+    private RateLimitFilter fullFilter;
+    private MockHttpServletRequest[] clients;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        List<RateLimitPolicy> policies = List.of(
+            new RateLimitPolicy("booking", List.of("POST /api/rides", "POST /api/rides/*/complete"),
+                Integer.MAX_VALUE / 2, LONG_PERIOD),
+            new RateLimitPolicy("reports", List.of("GET /api/rides/by-date", "GET /api/rides/completed-week",
+                "GET /api/rides/high-value-week", "GET /api/rides/in-progress/today", "GET /api/rides/discount/*",
+                "GET /api/rides/stream/**"), Integer.MAX_VALUE / 2, LONG_PERIOD),
+            new RateLimitPolicy("writes", List.of("POST /api/users", "POST /api/drivers",
+                "POST /api/rides/*/ratings"), Integer.MAX_VALUE / 2, LONG_PERIOD),
+            new RateLimitPolicy("default", List.of("* /api/**"), Integer.MAX_VALUE / 2, LONG_PERIOD));
+        filter = new RateLimitFilter(new RateLimiter(100_000, Duration.ofMinutes(10), registry), policies, false,
+            true, request -> false, registry);
+        clients = new MockHttpServletRequest[10_000];
+        for (int i = 0; i < clients.length; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/rides/" + (i + 1));
+            request.setRemoteAddr("10.0." + (i / 250) + '.' + (i % 250));
+            clients[i] = request;
+        }
+        fullFilter = new RateLimitFilter(new RateLimiter(clients.length, Duration.ofMinutes(10), registry),
+            policies, false, true, request -> false, registry);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        for (MockHttpServletRequest client : clients) {
+            try {
+                fullFilter.doFilter(client, response, NO_OP);
+            } catch (IOException | ServletException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    @Benchmark
+    public void sharedBucket(ThreadCursor cursor) throws IOException, ServletException {
+        filter.doFilter(cursor.booking, cursor.response, NO_OP);
+    }
+
+    @Benchmark
+    public void manyClients(ThreadCursor cursor) throws IOException, ServletException {
+        filter.doFilter(clients[cursor.next(clients.length)], cursor.response, NO_OP);
+    }
+
+    @Benchmark
+    public void fullMapFlood(ThreadCursor cursor) throws IOException, ServletException {
+        int address = cursor.next(1 << 16);
+        cursor.stranger.setRemoteAddr("172.16." + (address >> 8) + '.' + (address & 255));
+        fullFilter.doFilter(cursor.stranger, new MockHttpServletResponse(), NO_OP);
+    }
+
+    /**
+     * Per-thread request fixtures; mock requests are not thread-safe.
+     */
+    @State(Scope.Thread)
+    public static class ThreadCursor {
+
+        private final MockHttpServletRequest booking = new MockHttpServletRequest("POST", "/api/rides");
+        private final MockHttpServletResponse response = new MockHttpServletResponse();
+        private final MockHttpServletRequest stranger = new MockHttpServletRequest("GET", "/api/rides/1");
+        private int position;
+
+        @Setup
+        public void setUp() {
+            booking.addHeader(RateLimitFilter.USER_ID, "4242");
+            position = (int) Thread.currentThread().threadId() * 7919;
+        }
+
+        int next(int bound) {
+            position = (position + 1) % bound;
+            return position;
+        }
+    }
+}
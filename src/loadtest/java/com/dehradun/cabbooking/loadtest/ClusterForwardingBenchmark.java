@@ -0,0 +1,227 @@
+package com.dehradun.cabbooking.loadtest;
+
+import com.dehradun.cabbooking.DehradunCabBookingApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Compares the latency of partitioned requests a cluster node handles itself with those it forwards.
+ *
+ * <p>Reads the city owners from {@code GET /api/cluster} on the entry node and picks one city it owns and
+ * one owned by another node. It then sends the same requests for both cities to the entry node:
+ * available-discount lookups, which the owner answers from its cache, and driver heartbeats with a
+ * position in the city. The difference between the two latency rows is the cost of forwarding. Requests
+ * are sent in a closed loop by a fixed number of clients, after a warm-up that is not recorded. Unless
+ * {@code --target} names the entry node of a running cluster, two nodes start in-process on the
+ * {@code embedded} profile, sharing one in-memory database.</p>
+ *
+ * <p>Arguments, all optional: {@code --requests=} recorded requests per row (default 5000),
+ * {@code --warmup=} unrecorded requests per row (2000), {@code --clients=} concurrent clients (4),
+ * {@code --drivers=} drivers sending heartbeats (50) and {@code --target=} base URL of the entry node.</p>
+ */
+public final class ClusterForwardingBenchmark {
+
+    private static final PrintStream OUT = System.out;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final Map<String, double[]> CITY_POINTS = Map.of(
+        "DEHRADUN", new double[] {30.3165, 78.0322},
+        "HARIDWAR", new double[] {29.9457, 78.1642},
+        "RISHIKESH", new double[] {30.0869, 78.2676},
+        "MUSSOORIE", new double[] {30.4598, 78.0664});
+
+    private ClusterForwardingBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark and prints the latency of local and forwarded requests.
+     *
+     * @param args {@code --name=value} options described on the class
+     * @throws Exception when the nodes cannot be started or no city is owned by another node
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestMain.parse(args);
+        int requests = Integer.parseInt(options.getOrDefault("requests", "5000"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "2000"));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "4"));
+        int drivers = Integer.parseInt(options.getOrDefault("drivers", "50"));
+
+        List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+        String baseUrl = options.get("target");
+        try {
+            if (baseUrl == null) {
+                int[] ports = {freePort(), freePort()};
+                String members = "node-a=http://localhost:" + ports[0] + ",node-b=http://localhost:" + ports[1];
+                nodes.add(startNode("node-a", ports[0], members));
+                nodes.add(startNode("node-b", ports[1], members));
+                baseUrl = "http://localhost:" + ports[0];
+            }
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+            run(client, baseUrl, requests, warmup, clients, drivers);
+        } finally {
+            for (ConfigurableApplicationContext node : nodes) {
+                node.close();
+            }
+        }
+    }
+
+    private static void run(HttpClient client, String baseUrl, int requests, int warmup, int clients,
+        int drivers) throws IOException, InterruptedException {
+        ObjectMapper mapper = new ObjectMapper();
+        String self = null;
+        String localCity = null;
+        String remoteCity = null;
+        String remoteNode = null;
+        JsonNode status = null;
+        // Peers that were still starting are off the ring until their next successful probe.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (remoteCity == null && System.nanoTime() < deadline) {
+            if (status != null) {
+                Thread.sleep(500);
+            }
+            status = mapper.readTree(send(client, get(baseUrl + "/api/cluster")).body());
+            self = status.path("node").asText();
+            localCity = null;
+            Iterator<Map.Entry<String, JsonNode>> owners = status.path("cityOwners").fields();
+            while (owners.hasNext()) {
+                Map.Entry<String, JsonNode> owner = owners.next();
+                if (!CITY_POINTS.containsKey(owner.getKey())) {
+                    continue;
+                }
+                if (owner.getValue().asText().equals(self)) {
+                    localCity = localCity == null ? owner.getKey() : localCity;
+                } else if (remoteCity == null) {
+                    remoteCity = owner.getKey();
+                    remoteNode = owner.getValue().asText();
+                }
+            }
+        }
+        if (localCity == null || remoteCity == null) {
+            throw new IllegalStateException("Need a city owned by " + self + " and one owned by another node, "
+                + "got " + status.path("cityOwners"));
+        }
+        Workload workload = new Workload(baseUrl, 1, drivers);
+        long[] driverIds = new long[drivers];
+        for (int i = 0; i < drivers; i++) {
+            HttpResponse<byte[]> response = send(client, workload.post("/api/drivers",
+                Workload.driverJson(900_000 + i)));
+            if (response.statusCode() >= 300) {
+                throw new IllegalStateException("Registering a driver failed with HTTP " + response.statusCode());
+            }
+            driverIds[i] = mapper.readTree(response.body()).path("driverId").asLong();
+        }
+        OUT.printf("Entry node %s owns %s; %s is forwarded to %s. %d clients, %d requests per row.%n", self,
+            localCity, remoteCity, remoteNode, clients, requests);
+
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        for (String[] row : new String[][] {
+            {"discounts", localCity, "local"}, {"discounts", remoteCity, "forwarded"},
+            {"heartbeat", localCity, "local"}, {"heartbeat", remoteCity, "forwarded"}}) {
+            String name = row[0] + " " + row[2] + " (" + row[1] + ")";
+            EndpointStats endpoint = new EndpointStats(name);
+            measure(client, baseUrl, row[0], row[1], driverIds, warmup, clients, null);
+            measure(client, baseUrl, row[0], row[1], driverIds, requests, clients, endpoint);
+            stats.put(name, endpoint);
+        }
+        LoadTestMain.report(stats);
+    }
+
+    private static void measure(HttpClient client, String baseUrl, String operation, String city,
+        long[] driverIds, int count, int clients, EndpointStats stats) throws InterruptedException {
+        AtomicInteger remaining = new AtomicInteger(count);
+        double[] point = CITY_POINTS.get(city);
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                senders.execute(() -> {
+                    int sequence;
+                    while ((sequence = remaining.decrementAndGet()) >= 0) {
+                        HttpRequest request = "discounts".equals(operation)
+                            ? get(baseUrl + "/api/discounts/available?city=" + city)
+                            : heartbeat(baseUrl, driverIds[sequence % driverIds.length], point);
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = send(client, request);
+                            if (stats != null && response.statusCode() >= 400) {
+                                stats.recordError(System.nanoTime() - start);
+                            } else if (stats != null) {
+                                stats.recordSuccess(System.nanoTime() - start);
+                            }
+                        } catch (IOException ex) {
+                            if (stats != null) {
+                                stats.recordError(System.nanoTime() - start);
+                            }
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                });
+            }
+            senders.shutdown();
+            senders.awaitTermination(10, TimeUnit.MINUTES);
+        }
+    }
+
+    private static HttpRequest heartbeat(String baseUrl, long driverId, double[] point) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/drivers/" + driverId + "/heartbeat"))
+            .timeout(TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(
+                "{\"latitude\":" + point[0] + ",\"longitude\":" + point[1] + "}"))
+            .build();
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT).GET().build();
+    }
+
+    private static HttpResponse<byte[]> send(HttpClient client, HttpRequest request)
+        throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(String id, int port, String members) {
+        return new SpringApplicationBuilder(DehradunCabBookingApplication.class).run(
+            "--server.port=" + port,
+            "--spring.threads.virtual.enabled=true",
+            "--spring.profiles.active=embedded",
+            "--spring.jpa.hibernate.ddl-auto=update",
+            "--spring.jmx.enabled=false",
+            "--journal.enabled=false",
+            "--rate-limit.enabled=false",
+            "--abuse.reject=false",
+            "--cluster.enabled=true",
+            "--cluster.self=" + id,
+            "--cluster.nodes=" + members,
+            "--cluster.secret=loadtest-secret",
+            "--logging.level.root=WARN");
+    }
+}
@@ -0,0 +1,204 @@
+package com.dehradun.cabbooking.loadtest;
+
+import com.dehradun.cabbooking.DehradunCabBookingApplication;
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Compares the threads and connections the MVC/JDBC and the streaming R2DBC ride queries hold while many
+ * readers wait on them at once.
+ *
+ * <p>The application starts in-process on the {@code embedded} profile with platform request threads and a
+ * seeded ride history. For each stack, all readers are released together against the same query, and every
+ * reader reads its whole response. While they run, a sampler records the peak number of live platform
+ * threads, pooled JDBC connections in use across the primary and replica pools, and R2DBC connections
+ * acquired and awaited. Latency is measured from the common release time.</p>
+ *
+ * <p>Arguments, all optional: {@code --readers=} concurrent readers per stack (default 5000), {@code --rides=}
+ * seeded rides (20000) and {@code --query=} ride query shared by both stacks ({@code by-date}).</p>
+ */
+public final class ConcurrentReadersBenchmark {
+
+    private static final PrintStream OUT = System.out;
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final long SAMPLE_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final int WARMUP_READERS = 200;
+
+    private ConcurrentReadersBenchmark() {
+    }
+
+    /**
+     * Runs both stacks and prints their latency and resource peaks.
+     *
+     * @param args {@code --name=value} options described on the class
+     * @throws Exception when the application cannot be started
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestMain.parse(args);
+        int readers = Integer.parseInt(options.getOrDefault("readers", "5000"));
+        int rides = Integer.parseInt(options.getOrDefault("rides", "20000"));
+        String query = options.getOrDefault("query", "by-date");
+
+        try (ConfigurableApplicationContext context = startApplication(rides)) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String parameters = "by-date".equals(query) ? "?date=" + LocalDate.now() : "";
+            Map<String, String> stacks = new LinkedHashMap<>();
+            stacks.put("JDBC", baseUrl + "/api/rides/" + query + parameters);
+            stacks.put("R2DBC", baseUrl + "/api/rides/stream/" + query + parameters);
+            Resources resources = new Resources(context);
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+            Map<String, EndpointStats> stats = new LinkedHashMap<>();
+            Map<String, long[]> peaks = new LinkedHashMap<>();
+            for (Map.Entry<String, String> stack : stacks.entrySet()) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(stack.getValue())).timeout(TIMEOUT).GET()
+                    .build();
+                read(client, request, WARMUP_READERS, new EndpointStats("warmup"), resources);
+                String label = stack.getKey() + " GET " + URI.create(stack.getValue()).getPath();
+                EndpointStats row = new EndpointStats(label);
+                stats.put(label, row);
+                peaks.put(stack.getKey(), read(client, request, readers, row, resources));
+            }
+
+            OUT.printf("%n%d concurrent readers per stack, %d seeded rides, query %s%n", readers, rides, query);
+            LoadTestMain.report(stats);
+            OUT.printf("%n%-8s %16s %18s %18s %18s%n", "stack", "peak threads", "peak JDBC in use",
+                "peak R2DBC in use", "peak R2DBC queued");
+            for (Map.Entry<String, long[]> peak : peaks.entrySet()) {
+                long[] values = peak.getValue();
+                OUT.printf("%-8s %16d %18d %18d %18d%n", peak.getKey(), values[0], values[1], values[2],
+                    values[3]);
+            }
+        }
+    }
+
+    private static long[] read(HttpClient client, HttpRequest request, int readers, EndpointStats row,
+        Resources resources) throws InterruptedException {
+        long[] peaks = new long[4];
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = Thread.ofVirtual().start(() -> {
+            while (running.get()) {
+                resources.sample(peaks);
+                LockSupport.parkNanos(SAMPLE_NANOS);
+            }
+        });
+        resources.resetPeakThreads();
+        CountDownLatch ready = new CountDownLatch(readers);
+        CountDownLatch release = new CountDownLatch(1);
+        long[] releasedAt = new long[1];
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < readers; i++) {
+                senders.execute(() -> {
+                    ready.countDown();
+                    try {
+                        release.await();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        long latency = System.nanoTime() - releasedAt[0];
+                        if (response.statusCode() >= 400) {
+                            row.recordError(latency);
+                        } else {
+                            row.recordSuccess(latency);
+                        }
+                    } catch (IOException ex) {
+                        row.recordError(System.nanoTime() - releasedAt[0]);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            ready.await();
+            releasedAt[0] = System.nanoTime();
+            release.countDown();
+            senders.shutdown();
+            senders.awaitTermination(TIMEOUT.toMinutes() + 1, TimeUnit.MINUTES);
+        } finally {
+            running.set(false);
+            sampler.join();
+        }
+        resources.sample(peaks);
+        peaks[0] = resources.peakThreads();
+        return peaks;
+    }
+
+    private static ConfigurableApplicationContext startApplication(int rides) {
+        return new SpringApplicationBuilder(DehradunCabBookingApplication.class).run(
+            "--server.port=0",
+            "--spring.threads.virtual.enabled=false",
+            "--spring.profiles.active=embedded",
+            "--journal.enabled=false",
+            "--rate-limit.enabled=false",
+            "--seed.enabled=true",
+            "--seed.rides=" + rides,
+            "--seed.users=" + Math.max(1, rides / 10),
+            "--seed.drivers=" + Math.max(1, rides / 100),
+            "--seed.locations=" + Math.max(2, rides / 20),
+            "--seed.anchor=" + LocalDate.now().atTime(23, 0),
+            "--logging.level.root=WARN");
+    }
+
+    /**
+     * Reads the thread count and the JDBC and R2DBC pool gauges of the running application.
+     */
+    private static final class Resources {
+
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final HikariDataSource primary;
+        private final HikariDataSource replica;
+        private final ConnectionPool r2dbc;
+
+        private Resources(ConfigurableApplicationContext context) {
+            this.primary = context.getBean("primaryDataSource", HikariDataSource.class);
+            this.replica = context.getBean("replicaDataSource", HikariDataSource.class);
+            this.r2dbc = context.getBeanProvider(ConnectionPool.class).getIfAvailable();
+        }
+
+        private void resetPeakThreads() {
+            threads.resetPeakThreadCount();
+        }
+
+        private long peakThreads() {
+            return threads.getPeakThreadCount();
+        }
+
+        private void sample(long[] peaks) {
+            long jdbc = active(primary) + active(replica);
+            peaks[1] = Math.max(peaks[1], jdbc);
+            if (r2dbc != null) {
+                PoolMetrics metrics = r2dbc.getMetrics().orElse(null);
+                if (metrics != null) {
+                    peaks[2] = Math.max(peaks[2], metrics.acquiredSize());
+                    peaks[3] = Math.max(peaks[3], metrics.pendingAcquireSize());
+                }
+            }
+        }
+
+        private static long active(HikariDataSource pool) {
+            return pool.getHikariPoolMXBean() == null ? 0 : pool.getHikariPoolMXBean().getActiveConnections();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.dehradun.cabbooking.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latency histogram and outcome counters for a single endpoint.
+ *
+ * <p>Latencies are measured from the intended send time of each request, not the moment it was actually
+ * sent, so a stalled server shows up in the percentiles instead of silently lowering the offered load.</p>
+ */
+final class EndpointStats {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final String name;
+    private final Recorder recorder = new Recorder(MAX_TRACKABLE_NANOS, 3);
+    private final Histogram total = new Histogram(MAX_TRACKABLE_NANOS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void recordSuccess(long latencyNanos) {
+        recorder.recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+    }
+
+    void recordError(long latencyNanos) {
+        errors.increment();
+        recordSuccess(latencyNanos);
+    }
+
+    /**
+     * Folds the samples recorded since the previous call into the run totals.
+     *
+     * @return histogram covering only the latest interval
+     */
+    synchronized Histogram drainInterval() {
+        Histogram interval = recorder.getIntervalHistogram();
+        total.add(interval);
+        return interval;
+    }
+
+    synchronized Histogram getTotal() {
+        return total;
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,200 @@
+package com.dehradun.cabbooking.loadtest;
+
+import com.dehradun.cabbooking.DehradunCabBookingApplication;
+import com.dehradun.cabbooking.entity.Discount;
+import com.dehradun.cabbooking.service.DiscountService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.DatagramSocket;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Measures how long a discount change takes to reach the cached discount catalogue of every instance.
+ *
+ * <p>Two instances start in-process on the {@code embedded} profile, sharing one in-memory database and
+ * the chosen invalidation transport. Their catalogues are cached for an hour, so only the invalidation bus
+ * can refresh them. Each round writes a burst of updates to one discount through the first instance's
+ * {@link DiscountService}. Both instances are then polled until their available-discount list shows the
+ * last update, and the time from the commit is recorded. The bus's own staleness timers and coalescing
+ * counter are printed at the end.</p>
+ *
+ * <p>Arguments, all optional: {@code --changes=} recorded rounds (default 200), {@code --warmup=}
+ * unrecorded rounds (50), {@code --burst=} updates per round (5) and {@code --transport=} either
+ * {@code in-process} (default) or {@code loopback}.</p>
+ */
+public final class InvalidationStalenessBenchmark {
+
+    private static final PrintStream OUT = System.out;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final long GIVE_UP_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final String CODE = "STALENESS";
+
+    private InvalidationStalenessBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark and prints the staleness seen on each instance.
+     *
+     * @param args {@code --name=value} options described on the class
+     * @throws Exception when the instances cannot be started
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestMain.parse(args);
+        int changes = Integer.parseInt(options.getOrDefault("changes", "200"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "50"));
+        int burst = Math.max(1, Integer.parseInt(options.getOrDefault("burst", "5")));
+        String transport = options.getOrDefault("transport", "in-process");
+
+        int[] ports = {freePort(), freePort()};
+        int[] busPorts = {freeDatagramPort(), freeDatagramPort()};
+        List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+        try {
+            for (int i = 0; i < ports.length; i++) {
+                nodes.add(startNode(ports[i], transport, busPorts[i], busPorts[0] + "," + busPorts[1]));
+            }
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+            DiscountService discounts = nodes.get(0).getBean(DiscountService.class);
+            String[] urls = {
+                "http://localhost:" + ports[0] + "/api/discounts/available",
+                "http://localhost:" + ports[1] + "/api/discounts/available"};
+            OUT.printf("Transport %s, %d rounds of %d updates.%n", transport, changes, burst);
+
+            Discount discount = discounts.saveDiscount(newDiscount());
+            Map<String, EndpointStats> stats = new LinkedHashMap<>();
+            stats.put("writing instance", new EndpointStats("writing instance"));
+            stats.put("other instance", new EndpointStats("other instance"));
+            for (int round = 1; round <= warmup + changes; round++) {
+                for (int update = burst; update >= 1; update--) {
+                    discount.setDescription("round " + round + (update == 1 ? "" : " draft " + update));
+                    discount = discounts.saveDiscount(discount);
+                }
+                long committed = System.nanoTime();
+                String expected = "\"description\":\"round " + round + "\"";
+                awaitVisible(client, urls, expected, committed, round > warmup ? stats : null);
+            }
+            LoadTestMain.report(stats);
+            printBusMetrics("writing instance", nodes.get(0).getBean(MeterRegistry.class));
+            printBusMetrics("other instance", nodes.get(1).getBean(MeterRegistry.class));
+        } finally {
+            for (ConfigurableApplicationContext node : nodes) {
+                node.close();
+            }
+        }
+    }
+
+    private static void awaitVisible(HttpClient client, String[] urls, String expected, long committed,
+        Map<String, EndpointStats> stats) throws InterruptedException {
+        List<EndpointStats> rows = stats == null ? null : new ArrayList<>(stats.values());
+        try (ExecutorService pollers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < urls.length; i++) {
+                String url = urls[i];
+                EndpointStats row = rows == null ? null : rows.get(i);
+                pollers.execute(() -> poll(client, url, expected, committed, row));
+            }
+            pollers.shutdown();
+            pollers.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private static void poll(HttpClient client, String url, String expected, long committed, EndpointStats row) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT).GET().build();
+        while (System.nanoTime() - committed < GIVE_UP_NANOS) {
+            try {
+                String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+                if (body.contains(expected)) {
+                    if (row != null) {
+                        row.recordSuccess(System.nanoTime() - committed);
+                    }
+                    return;
+                }
+            } catch (IOException ex) {
+                // Counted as an error below when the change never shows up.
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (row != null) {
+            row.recordError(System.nanoTime() - committed);
+        }
+    }
+
+    private static void printBusMetrics(String name, MeterRegistry registry) {
+        OUT.printf("%n%s bus:", name);
+        for (String origin : new String[] {"local", "remote"}) {
+            Timer staleness = registry.find("invalidation.staleness").tag("origin", origin).timer();
+            if (staleness != null && staleness.count() > 0) {
+                OUT.printf(" %s staleness mean %.1f ms max %.1f ms over %d keys;", origin,
+                    staleness.mean(TimeUnit.MILLISECONDS), staleness.max(TimeUnit.MILLISECONDS), staleness.count());
+            }
+        }
+        Counter published = registry.find("invalidation.published").counter();
+        Counter coalesced = registry.find("invalidation.coalesced").counter();
+        if (published != null && coalesced != null) {
+            OUT.printf(" %.0f keys published, %.0f coalesced%n", published.count(), coalesced.count());
+        }
+    }
+
+    private static Discount newDiscount() {
+        Discount discount = new Discount();
+        discount.setCode(CODE);
+        discount.setDescription("round 0");
+        discount.setPercentage(5);
+        discount.setValidFrom(LocalDate.now().minusDays(1));
+        discount.setValidTo(LocalDate.now().plusDays(30));
+        discount.setCreatedAt(LocalDateTime.now());
+        return discount;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static int freeDatagramPort() throws IOException {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(int port, String transport, int busPort,
+        String busPeers) {
+        return new SpringApplicationBuilder(DehradunCabBookingApplication.class).run(
+            "--server.port=" + port,
+            "--spring.threads.virtual.enabled=true",
+            "--spring.profiles.active=embedded",
+            "--spring.jpa.hibernate.ddl-auto=update",
+            "--spring.jmx.enabled=false",
+            "--journal.enabled=false",
+            "--rate-limit.enabled=false",
+            "--catalogue.refresh-interval=1h",
+            "--invalidation.transport=" + transport,
+            "--invalidation.loopback.port=" + busPort,
+            "--invalidation.loopback.peers=" + busPeers,
+            "--logging.level.root=WARN");
+    }
+}
@@ -0,0 +1,238 @@
+package com.dehradun.cabbooking.loadtest;
+
+import com.dehradun.cabbooking.DehradunCabBookingApplication;
+import com.dehradun.cabbooking.entity.Discount;
+import com.dehradun.cabbooking.repository.DiscountRepository;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Open-model load generator replaying Dehradun booking traffic against the REST API.
+ *
+ * <p>Arrivals follow a Poisson process whose rate is the base rate scaled by the selected
+ * {@link PeakHourProfile}; each request is sent on its own virtual thread so a slow response never delays
+ * the next arrival. The application is started in-process with the {@code embedded} H2 profile unless
+ * {@code --target} points at an already running instance.</p>
+ *
+ * <p>Arguments, all optional: {@code --rate=} base requests per second (default 200), {@code --duration=}
+ * run length in seconds (60), {@code --profile=} {@link PeakHourProfile} name (DEHRADUN_WEEKDAY),
+ * {@code --users=} riders to register (500), {@code --drivers=} drivers to register (100), {@code --seed=}
+ * random seed (42), {@code --report-interval=} seconds between progress lines (10) and {@code --target=}
+ * base URL of an external instance. For the in-process application, {@code --virtual-threads=} chooses
+ * virtual or platform request threads (true) and {@code --db-latency-ms=} adds a {@link SlowDatabase} delay
+ * to every JDBC statement (0).</p>
+ */
+public final class LoadTestMain {
+
+    private static final PrintStream OUT = System.out;
+
+    private LoadTestMain() {
+    }
+
+    /**
+     * Runs the load test and prints the per-endpoint latency report.
+     *
+     * @param args {@code --name=value} options described on the class
+     * @throws Exception when the application cannot be started or seeded
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        double baseRate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration", "60")));
+        PeakHourProfile profile = PeakHourProfile.valueOf(
+            options.getOrDefault("profile", PeakHourProfile.DEHRADUN_WEEKDAY.name()).toUpperCase(Locale.ROOT));
+        int users = Integer.parseInt(options.getOrDefault("users", "500"));
+        int drivers = Integer.parseInt(options.getOrDefault("drivers", "100"));
+        long reportIntervalNanos = TimeUnit.SECONDS.toNanos(
+            Long.parseLong(options.getOrDefault("report-interval", "10")));
+        SplittableRandom random = new SplittableRandom(Long.parseLong(options.getOrDefault("seed", "42")));
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.get("target");
+        if (baseUrl == null) {
+            context = startApplication(Boolean.parseBoolean(options.getOrDefault("virtual-threads", "true")),
+                Long.parseLong(options.getOrDefault("db-latency-ms", "0")));
+            seedDiscounts(context.getBean(DiscountRepository.class));
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        Workload workload = new Workload(baseUrl, users, drivers);
+        try {
+            seedParticipants(client, workload, users, drivers);
+            OUT.printf("Offering %.0f req/s base load with profile %s for %ds against %s%n", baseRate, profile,
+                TimeUnit.NANOSECONDS.toSeconds(durationNanos), baseUrl);
+            Map<Workload.Operation, EndpointStats> stats = run(client, workload, random, baseRate, profile,
+                durationNanos, reportIntervalNanos);
+            report(stats);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static Map<Workload.Operation, EndpointStats> run(HttpClient client, Workload workload,
+        SplittableRandom random, double baseRate, PeakHourProfile profile, long durationNanos,
+        long reportIntervalNanos) throws InterruptedException {
+        Map<Workload.Operation, EndpointStats> stats = new EnumMap<>(Workload.Operation.class);
+        for (Workload.Operation operation : Workload.Operation.values()) {
+            stats.put(operation, new EndpointStats(operation.getLabel()));
+        }
+
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        long nextReport = start + reportIntervalNanos;
+        long intended = start;
+        long sequence = 1_000_000L;
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (intended < end) {
+                double progress = (double) (intended - start) / durationNanos;
+                double rate = Math.max(baseRate * profile.multiplierAt(progress), 0.001);
+                intended += (long) (-Math.log(1 - random.nextDouble()) / rate * 1_000_000_000L);
+                long now;
+                while ((now = System.nanoTime()) < intended) {
+                    LockSupport.parkNanos(intended - now);
+                }
+                if (now >= nextReport) {
+                    progress(stats, TimeUnit.NANOSECONDS.toSeconds(now - start), rate);
+                    nextReport += reportIntervalNanos;
+                }
+
+                Workload.Operation operation = workload.pick(random);
+                HttpRequest request = workload.build(operation, random, sequence++);
+                EndpointStats target = stats.get(operation);
+                long scheduledAt = intended;
+                senders.execute(() -> send(client, request, target, scheduledAt));
+            }
+            senders.shutdown();
+            senders.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        return stats;
+    }
+
+    private static void send(HttpClient client, HttpRequest request, EndpointStats stats,
+        long scheduledAt) {
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            long latency = System.nanoTime() - scheduledAt;
+            if (response.statusCode() >= 400) {
+                stats.recordError(latency);
+            } else {
+                stats.recordSuccess(latency);
+            }
+        } catch (IOException ex) {
+            stats.recordError(System.nanoTime() - scheduledAt);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void progress(Map<Workload.Operation, EndpointStats> stats, long elapsedSeconds, double rate) {
+        long count = 0;
+        long p99 = 0;
+        for (EndpointStats endpoint : stats.values()) {
+            Histogram interval = endpoint.drainInterval();
+            count += interval.getTotalCount();
+            p99 = Math.max(p99, interval.getValueAtPercentile(99));
+        }
+        OUT.printf("[%4ds] offered %.0f req/s, completed %d, worst endpoint p99 %.1f ms%n", elapsedSeconds, rate,
+            count, p99 / 1e6);
+    }
+
+    static void report(Map<?, EndpointStats> stats) {
+        OUT.printf("%n%-36s %8s %9s %9s %9s %9s %9s %7s %7s%n", "endpoint", "count", "p50 ms", "p90 ms",
+            "p99 ms", "p99.9 ms", "max ms", "errors", "err %");
+        for (EndpointStats endpoint : stats.values()) {
+            endpoint.drainInterval();
+            Histogram total = endpoint.getTotal();
+            long count = total.getTotalCount();
+            OUT.printf("%-36s %8d %9.1f %9.1f %9.1f %9.1f %9.1f %7d %7.2f%n", endpoint.getName(), count,
+                total.getValueAtPercentile(50) / 1e6, total.getValueAtPercentile(90) / 1e6,
+                total.getValueAtPercentile(99) / 1e6, total.getValueAtPercentile(99.9) / 1e6,
+                total.getMaxValue() / 1e6, endpoint.getErrors(),
+                count == 0 ? 0.0 : 100.0 * endpoint.getErrors() / count);
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(boolean virtualThreads, long dbLatencyMillis) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(DehradunCabBookingApplication.class);
+        if (dbLatencyMillis > 0) {
+            builder.initializers(context -> context.getBeanFactory()
+                .addBeanPostProcessor(new SlowDatabase(dbLatencyMillis)));
+        }
+        return builder.run(
+            "--server.port=0",
+            "--spring.threads.virtual.enabled=" + virtualThreads,
+            "--spring.profiles.active=embedded",
+            "--journal.enabled=false",
+            "--rate-limit.enabled=false",
+            "--abuse.reject=false",
+            "--logging.level.root=WARN");
+    }
+
+    private static void seedDiscounts(DiscountRepository discountRepository) {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < Workload.DISCOUNT_CODES.size(); i++) {
+            Discount discount = new Discount();
+            discount.setCode(Workload.DISCOUNT_CODES.get(i));
+            discount.setDescription("Load test discount " + (i + 1));
+            discount.setPercentage(5 + 5 * i);
+            discount.setValidFrom(today.minusDays(30));
+            discount.setValidTo(today.plusDays(30));
+            discount.setCreatedAt(LocalDateTime.now());
+            discountRepository.save(discount);
+        }
+    }
+
+    private static void seedParticipants(HttpClient client, Workload workload, int users, int drivers)
+        throws IOException, InterruptedException {
+        for (long i = 1; i <= users; i++) {
+            expectCreated(client.send(workload.post("/api/users", Workload.userJson(i)),
+                HttpResponse.BodyHandlers.discarding()), "user " + i);
+        }
+        for (long i = 1; i <= drivers; i++) {
+            expectCreated(client.send(workload.post("/api/drivers", Workload.driverJson(i)),
+                HttpResponse.BodyHandlers.discarding()), "driver " + i);
+        }
+    }
+
+    private static void expectCreated(HttpResponse<?> response, String what) {
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Seeding " + what + " failed with HTTP " + response.statusCode());
+        }
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,37 @@
+package com.dehradun.cabbooking.loadtest;
+
+/**
+ * Arrival-rate multipliers for a simulated Dehradun day.
+ *
+ * <p>The run duration is stretched over 24 simulated hours, and the base rate is scaled by the multiplier
+ * for the current hour. The office commute to Rajpur Road and the Clock Tower area peaks in the morning and
+ * evening, with a smaller lunchtime bump and quiet nights.</p>
+ */
+enum PeakHourProfile {
+
+    FLAT(new double[] {
+        1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1}),
+    DEHRADUN_WEEKDAY(new double[] {
+        0.10, 0.05, 0.05, 0.05, 0.10, 0.30, 0.70, 1.40, 2.20, 2.00, 1.20, 0.90,
+        1.10, 1.20, 0.90, 0.90, 1.20, 1.90, 2.50, 2.30, 1.50, 0.90, 0.50, 0.25}),
+    WEEKEND_TOURIST(new double[] {
+        0.20, 0.10, 0.05, 0.05, 0.05, 0.20, 0.50, 0.80, 1.20, 1.60, 1.80, 1.80,
+        1.70, 1.60, 1.60, 1.70, 1.90, 2.10, 2.00, 1.80, 1.50, 1.00, 0.60, 0.40});
+
+    private final double[] hourlyMultipliers;
+
+    PeakHourProfile(double[] hourlyMultipliers) {
+        this.hourlyMultipliers = hourlyMultipliers;
+    }
+
+    /**
+     * Returns the rate multiplier at the given point of the run.
+     *
+     * @param progress fraction of the run elapsed, from 0 to 1
+     * @return multiplier applied to the base arrival rate
+     */
+    double multiplierAt(double progress) {
+        int hour = Math.min(23, (int) (progress * 24));
+        return hourlyMultipliers[hour];
+    }
+}
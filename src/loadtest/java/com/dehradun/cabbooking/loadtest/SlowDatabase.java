@@ -0,0 +1,87 @@
+package com.dehradun.cabbooking.loadtest;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Adds a fixed delay to every JDBC statement execution, standing in for a slow or distant database.
+ *
+ * <p>The delay is spent while the statement's connection is held, as with a slow query, so it ties up a
+ * pooled connection as well as the calling thread. Only the primary {@code dataSource} bean is decorated;
+ * the pools behind it, and the connection limiter in virtual-thread mode, are left as they are.</p>
+ */
+final class SlowDatabase implements BeanPostProcessor {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final long latencyMillis;
+
+    /**
+     * Creates the decorator.
+     *
+     * @param latencyMillis delay added to each statement execution
+     */
+    SlowDatabase(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource target)) {
+            return bean;
+        }
+        return new DelegatingDataSource(target) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return slow(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return slow(super.getConnection(username, password));
+            }
+        };
+    }
+
+    private Connection slow(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                    return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[] {method.getReturnType()}, delayed(statement));
+                }
+                return result;
+            });
+    }
+
+    private InvocationHandler delayed(Statement statement) {
+        return (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted during simulated database latency", ex);
+                }
+            }
+            return invoke(statement, method, args);
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.dehradun.cabbooking.loadtest;
+
+import com.dehradun.cabbooking.DehradunCabBookingApplication;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Client simulator for the live ride tracking streams.
+ *
+ * <p>Registers a rider and a driver per ride and books the rides. It then opens the requested number of
+ * {@code /api/rides/{rideId}/track} streams, spread evenly over the rides. While the streams are open it
+ * sends driver heartbeats with positions at a fixed total rate and measures how long each position takes
+ * to reach the streams. Delivery latency runs from the server-side position timestamp to the moment the
+ * event line is read, so it has millisecond resolution. Like {@link LoadTestMain}, the application starts
+ * in-process on the {@code embedded} profile unless {@code --target} names a running instance.</p>
+ *
+ * <p>Arguments, all optional: {@code --subscribers=} streams to open (default 100000), {@code --rides=}
+ * rides and drivers (10000), {@code --location-rate=} heartbeats with a position per second (1000),
+ * {@code --duration=} seconds of position traffic (60), {@code --connect-concurrency=} streams being opened
+ * at once (512), {@code --seed=} random seed (42), {@code --report-interval=} seconds between progress
+ * lines (10) and {@code --target=} base URL of an external instance.</p>
+ */
+public final class TrackingSimulator {
+
+    private static final PrintStream OUT = System.out;
+    private static final double CENTRE_LATITUDE = 30.3165;
+    private static final double CENTRE_LONGITUDE = 78.0322;
+
+    private TrackingSimulator() {
+    }
+
+    /**
+     * Runs the simulation and prints the delivery report.
+     *
+     * @param args {@code --name=value} options described on the class
+     * @throws Exception when the application cannot be started or seeded
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestMain.parse(args);
+        int subscribers = Integer.parseInt(options.getOrDefault("subscribers", "100000"));
+        int rides = Integer.parseInt(options.getOrDefault("rides", "10000"));
+        double locationRate = Double.parseDouble(options.getOrDefault("location-rate", "1000"));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration", "60")));
+        int connectConcurrency = Integer.parseInt(options.getOrDefault("connect-concurrency", "512"));
+        long reportIntervalNanos = TimeUnit.SECONDS.toNanos(
+            Long.parseLong(options.getOrDefault("report-interval", "10")));
+        SplittableRandom random = new SplittableRandom(Long.parseLong(options.getOrDefault("seed", "42")));
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.get("target");
+        if (baseUrl == null) {
+            context = startApplication(subscribers, (subscribers + rides - 1) / rides);
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        Workload workload = new Workload(baseUrl, 1, 1);
+        try {
+            int[][] booked = bookRides(client, workload, rides);
+            StreamStats streams = new StreamStats();
+            long connectStart = System.nanoTime();
+            openStreams(client, baseUrl, booked[0], subscribers, connectConcurrency, streams);
+            OUT.printf("Opened %d of %d streams in %.1f s (%d failed)%n", streams.open.get(), subscribers,
+                (System.nanoTime() - connectStart) / 1e9, streams.failed.sum());
+
+            EndpointStats heartbeats = new EndpointStats("POST /api/drivers/{id}/heartbeat");
+            drive(client, workload, booked[1], random, locationRate, durationNanos, reportIntervalNanos,
+                heartbeats, streams);
+            LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(2));
+            report(heartbeats, streams);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static int[][] bookRides(HttpClient client, Workload workload, int rides) throws InterruptedException {
+        int[] rideIds = new int[rides];
+        int[] driverIds = new int[rides];
+        AtomicInteger failures = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(64);
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < rides; i++) {
+                int index = i;
+                inFlight.acquire();
+                senders.execute(() -> {
+                    try {
+                        long sequence = 5_000_000L + index;
+                        int userId = idOf(send(client, workload.post("/api/users", Workload.userJson(sequence))),
+                            "userId");
+                        driverIds[index] = idOf(send(client, workload.post("/api/drivers",
+                            Workload.driverJson(sequence))), "driverId");
+                        rideIds[index] = idOf(send(client, workload.post("/api/rides", String.format(Locale.ROOT,
+                            "{\"userId\":%d,\"driverId\":%d,\"pickupLatitude\":%.6f,\"pickupLongitude\":%.6f,"
+                                + "\"dropLatitude\":%.6f,\"dropLongitude\":%.6f,\"fare\":250}",
+                            userId, driverIds[index], CENTRE_LATITUDE, CENTRE_LONGITUDE + index * 1e-5,
+                            CENTRE_LATITUDE + 0.02, CENTRE_LONGITUDE))), "rideId");
+                    } catch (IOException | RuntimeException ex) {
+                        failures.incrementAndGet();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " rides could not be booked");
+        }
+        OUT.printf("Booked %d rides, each with its own rider and driver%n", rides);
+        return new int[][] {rideIds, driverIds};
+    }
+
+    private static void openStreams(HttpClient client, String baseUrl, int[] rideIds, int subscribers,
+        int concurrency, StreamStats streams) throws InterruptedException {
+        Semaphore connecting = new Semaphore(concurrency);
+        for (int i = 0; i < subscribers; i++) {
+            connecting.acquire();
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/api/rides/" + rideIds[i % rideIds.length] + "/track"))
+                .header("Accept", "text/event-stream")
+                .GET()
+                .build();
+            StreamListener listener = new StreamListener(streams, connecting);
+            client.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(listener))
+                .whenComplete((response, error) -> {
+                    if (error != null || response.statusCode() != 200) {
+                        listener.fail();
+                    }
+                });
+        }
+        connecting.acquire(concurrency);
+        connecting.release(concurrency);
+    }
+
+    private static void drive(HttpClient client, Workload workload, int[] driverIds, SplittableRandom random,
+        double rate, long durationNanos, long reportIntervalNanos, EndpointStats heartbeats, StreamStats streams)
+        throws InterruptedException {
+        OUT.printf("Sending %.0f positions/s for %ds%n", rate, TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        long nextReport = start + reportIntervalNanos;
+        long interval = (long) (1_000_000_000L / rate);
+        long intended = start;
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (intended < end) {
+                intended += interval;
+                long now;
+                while ((now = System.nanoTime()) < intended) {
+                    LockSupport.parkNanos(intended - now);
+                }
+                if (now >= nextReport) {
+                    Histogram delivery = streams.delivery.drainInterval();
+                    OUT.printf("[%4ds] streams open %d, positions received %d, delivery p99 %.0f ms%n",
+                        TimeUnit.NANOSECONDS.toSeconds(now - start), streams.open.get(), delivery.getTotalCount(),
+                        delivery.getValueAtPercentile(99) / 1e6);
+                    nextReport += reportIntervalNanos;
+                }
+                String body = String.format(Locale.ROOT, "{\"latitude\":%.6f,\"longitude\":%.6f}",
+                    CENTRE_LATITUDE + (random.nextDouble() - 0.5) * 0.05,
+                    CENTRE_LONGITUDE + (random.nextDouble() - 0.5) * 0.05);
+                HttpRequest request = workload.post(
+                    "/api/drivers/" + driverIds[random.nextInt(driverIds.length)] + "/heartbeat", body);
+                long scheduledAt = intended;
+                senders.execute(() -> heartbeat(client, request, heartbeats, scheduledAt));
+            }
+            senders.shutdown();
+            senders.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private static void heartbeat(HttpClient client, HttpRequest request, EndpointStats stats, long scheduledAt) {
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            long latency = System.nanoTime() - scheduledAt;
+            if (response.statusCode() >= 400) {
+                stats.recordError(latency);
+            } else {
+                stats.recordSuccess(latency);
+            }
+        } catch (IOException ex) {
+            stats.recordError(System.nanoTime() - scheduledAt);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void report(EndpointStats heartbeats, StreamStats streams) {
+        OUT.printf("%n%-36s %8s %9s %9s %9s %9s %9s %7s%n", "measure", "count", "p50 ms", "p90 ms", "p99 ms",
+            "p99.9 ms", "max ms", "errors");
+        for (EndpointStats stats : new EndpointStats[] {heartbeats, streams.delivery}) {
+            stats.drainInterval();
+            Histogram total = stats.getTotal();
+            OUT.printf("%-36s %8d %9.1f %9.1f %9.1f %9.1f %9.1f %7d%n", stats.getName(), total.getTotalCount(),
+                total.getValueAtPercentile(50) / 1e6, total.getValueAtPercentile(90) / 1e6,
+                total.getValueAtPercentile(99) / 1e6, total.getValueAtPercentile(99.9) / 1e6,
+                total.getMaxValue() / 1e6, stats.getErrors());
+        }
+        OUT.printf("%nStreams open at the end %d, failed %d, ended early %d, status events %d%n",
+            streams.open.get(), streams.failed.sum(), streams.ended.sum(), streams.statuses.sum());
+    }
+
+    private static String send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(request.uri() + " failed with HTTP " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private static int idOf(String json, String field) {
+        String key = "\"" + field + "\":";
+        int start = json.indexOf(key) + key.length();
+        int end = start;
+        while (end < json.length() && Character.isDigit(json.charAt(end))) {
+            end++;
+        }
+        return Integer.parseInt(json.substring(start, end));
+    }
+
+    private static ConfigurableApplicationContext startApplication(int subscribers, int perRide) {
+        return new SpringApplicationBuilder(DehradunCabBookingApplication.class).run(
+            "--server.port=0",
+            "--spring.threads.virtual.enabled=true",
+            "--spring.profiles.active=embedded",
+            "--server.tomcat.max-connections=" + (subscribers + 1000),
+            "--tracking.max-subscribers=" + subscribers,
+            "--tracking.max-subscribers-per-ride=" + perRide,
+            "--journal.enabled=false",
+            "--rate-limit.enabled=false",
+            "--abuse.reject=false",
+            "--ride-expiry.enabled=false",
+            "--logging.level.root=WARN");
+    }
+
+    /**
+     * Counters shared by every simulated stream.
+     */
+    private static final class StreamStats {
+
+        private final AtomicInteger open = new AtomicInteger();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder ended = new LongAdder();
+        private final LongAdder statuses = new LongAdder();
+        private final EndpointStats delivery = new EndpointStats("location event delivery");
+    }
+
+    /**
+     * Reads one event stream line by line and records the delivery latency of every position.
+     */
+    private static final class StreamListener implements Flow.Subscriber<String> {
+
+        private final StreamStats stats;
+        private final Semaphore connecting;
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean opened;
+        private String event;
+
+        private StreamListener(StreamStats stats, Semaphore connecting) {
+            this.stats = stats;
+            this.connecting = connecting;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("event:")) {
+                event = line.substring(6).trim();
+            } else if (line.startsWith("data:")) {
+                if ("location".equals(event)) {
+                    long sentAt = timestampOf(line);
+                    stats.delivery.recordSuccess(
+                        TimeUnit.MILLISECONDS.toNanos(Math.max(0L, System.currentTimeMillis() - sentAt)));
+                } else if ("status".equals(event)) {
+                    stats.statuses.increment();
+                    if (!opened && settle()) {
+                        opened = true;
+                        stats.open.incrementAndGet();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            close();
+        }
+
+        @Override
+        public void onComplete() {
+            close();
+        }
+
+        private void fail() {
+            if (settle()) {
+                stats.failed.increment();
+            }
+        }
+
+        private void close() {
+            if (!opened) {
+                fail();
+            } else if (closed.compareAndSet(false, true)) {
+                stats.open.decrementAndGet();
+                stats.ended.increment();
+            }
+        }
+
+        private boolean settle() {
+            if (!settled.compareAndSet(false, true)) {
+                return false;
+            }
+            connecting.release();
+            return true;
+        }
+
+        private static long timestampOf(String line) {
+            int start = line.indexOf("\"timestamp\":") + 12;
+            int end = start;
+            while (end < line.length() && Character.isDigit(line.charAt(end))) {
+                end++;
+            }
+            return Long.parseLong(line.substring(start, end));
+        }
+    }
+}
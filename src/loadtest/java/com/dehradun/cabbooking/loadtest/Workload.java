@@ -0,0 +1,160 @@
+package com.dehradun.cabbooking.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted mix of the requests a Dehradun rider and driver population sends to the API.
+ */
+final class Workload {
+
+    /**
+     * Request types issued by the load generator together with their share of the traffic.
+     */
+    enum Operation {
+        CREATE_RIDE("POST /api/rides", 30),
+        GET_RIDE("GET /api/rides/{id}", 20),
+        DRIVER_ONLINE("POST /api/drivers", 5),
+        GET_DRIVER("GET /api/drivers/{id}", 10),
+        AVAILABLE_DISCOUNTS("GET /api/discounts/available", 20),
+        REPORT_BY_DATE("GET /api/rides/by-date", 4),
+        REPORT_HIGH_VALUE("GET /api/rides/high-value-week", 4),
+        REPORT_DISCOUNT("GET /api/rides/discount/{code}", 4),
+        REPORT_IN_PROGRESS("GET /api/rides/in-progress/today", 3),
+        CITY("GET /api/city", 5);
+
+        private final String label;
+        private final int weight;
+
+        Operation(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+
+        String getLabel() {
+            return label;
+        }
+    }
+
+    static final List<String> DISCOUNT_CODES = List.of("DOON10", "MALLROAD", "RAJPUR20", "FIRSTRIDE", "MONSOON15");
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final double[][] HOTSPOTS = {
+        {30.3243, 78.0418},
+        {30.3165, 78.0322},
+        {30.3705, 78.0770},
+        {30.3256, 78.0437},
+        {30.3398, 78.0565},
+        {30.3354, 78.0113},
+        {30.2896, 78.0471}
+    };
+
+    private final Operation[] table;
+    private final String baseUrl;
+    private final long userCount;
+    private final int driverCount;
+    private long ridesRequested;
+
+    /**
+     * Creates the workload against a running application.
+     *
+     * @param baseUrl       application root URL
+     * @param userCount     number of seeded riders, identifiers {@code 1..userCount}
+     * @param driverCount   number of seeded drivers, identifiers {@code 1..driverCount}
+     */
+    Workload(String baseUrl, long userCount, int driverCount) {
+        this.baseUrl = baseUrl;
+        this.userCount = userCount;
+        this.driverCount = driverCount;
+        int totalWeight = 0;
+        for (Operation operation : Operation.values()) {
+            totalWeight += operation.weight;
+        }
+        this.table = new Operation[totalWeight];
+        int slot = 0;
+        for (Operation operation : Operation.values()) {
+            for (int i = 0; i < operation.weight; i++) {
+                table[slot++] = operation;
+            }
+        }
+    }
+
+    Operation pick(SplittableRandom random) {
+        Operation operation = table[random.nextInt(table.length)];
+        return operation == Operation.GET_RIDE && ridesRequested < 2 ? Operation.CREATE_RIDE : operation;
+    }
+
+    /**
+     * Builds the HTTP request for an operation.
+     *
+     * <p>Ride lookups only target the older half of the bookings issued so far, which have almost certainly
+     * been committed, so a lookup miss is a genuine error rather than a race with its own booking.</p>
+     *
+     * @param operation operation to issue
+     * @param random    source of randomness owned by the caller
+     * @param sequence  unique request number, used to keep registration data distinct
+     * @return request ready to send
+     */
+    HttpRequest build(Operation operation, SplittableRandom random, long sequence) {
+        return switch (operation) {
+            case CREATE_RIDE -> {
+                ridesRequested++;
+                yield post("/api/rides", rideJson(random));
+            }
+            case GET_RIDE -> get("/api/rides/" + (1 + random.nextLong(Math.max(1, ridesRequested / 2))));
+            case DRIVER_ONLINE -> post("/api/drivers", driverJson(sequence));
+            case GET_DRIVER -> get("/api/drivers/" + (1 + random.nextInt(driverCount)));
+            case AVAILABLE_DISCOUNTS -> get("/api/discounts/available");
+            case REPORT_BY_DATE -> get("/api/rides/by-date?date=" + LocalDate.now());
+            case REPORT_HIGH_VALUE -> get("/api/rides/high-value-week?minFare=500");
+            case REPORT_DISCOUNT -> get("/api/rides/discount/" + DISCOUNT_CODES.get(random.nextInt(
+                DISCOUNT_CODES.size())));
+            case REPORT_IN_PROGRESS -> get("/api/rides/in-progress/today");
+            case CITY -> get("/api/city");
+        };
+    }
+
+    static String userJson(long index) {
+        return String.format("{\"name\":\"Rider %d\",\"phone\":\"98%08d\",\"passwordHash\":\"{noop}load\"}",
+            index, index);
+    }
+
+    static String driverJson(long index) {
+        return String.format("{\"name\":\"Driver %d\",\"phone\":\"97%08d\",\"licenseNumber\":\"UK07-%010d\"}",
+            index, index, index);
+    }
+
+    HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json))
+            .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private String rideJson(SplittableRandom random) {
+        double[] pickup = HOTSPOTS[random.nextInt(HOTSPOTS.length)];
+        double[] drop = HOTSPOTS[random.nextInt(HOTSPOTS.length)];
+        return String.format(Locale.ROOT,
+            "{\"userId\":%d,\"pickupLatitude\":%.6f,\"pickupLongitude\":%.6f,\"dropLatitude\":%.6f,"
+                + "\"dropLongitude\":%.6f,\"fare\":%d,\"distanceKm\":%.2f,\"discountCodes\":[\"%s\"]}",
+            1 + random.nextLong(userCount),
+            jitter(pickup[0], random), jitter(pickup[1], random),
+            jitter(drop[0], random), jitter(drop[1], random),
+            60 + random.nextInt(900), 1 + random.nextDouble() * 24,
+            DISCOUNT_CODES.get(random.nextInt(DISCOUNT_CODES.size())));
+    }
+
+    private static double jitter(double coordinate, SplittableRandom random) {
+        return coordinate + (random.nextDouble() - 0.5) * 0.01;
+    }
+}
@@ -0,0 +1,308 @@
+package com.dehradun.cabbooking.abuse;
+
+import com.dehradun.cabbooking.enums.RideEventType;
+import com.dehradun.cabbooking.journal.RideEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Detects duplicate bookings, booking bursts and discount code farming from each rider's recent bookings.
+ *
+ * <p>Committed bookings are consumed from {@link BookingCreatedEvent} into a per-rider window of fixed-size
+ * ring buffers. Each window holds booking times, pickup and drop cells, ride ids and recently used discount
+ * codes in primitive arrays. {@code RideService} inspects a new booking against its rider's window before
+ * saving it. That check is a scan of a few array slots, with no database query. A violation is rejected
+ * with an error status when {@code abuse.reject} is set and only counted and logged otherwise. Windows
+ * of riders idle for longer than the longest rule window are swept away.</p>
+ *
+ * <p>Only committed bookings enter the windows, so two identical requests racing each other within
+ * milliseconds can both pass; the {@code Idempotency-Key} header covers that case.</p>
+ */
+public class BookingAbuseDetector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BookingAbuseDetector.class);
+    private static final int STRIPES = 64;
+    private static final int MAX_LIMIT = 1024;
+
+    /**
+     * Patterns the detector looks for.
+     */
+    public enum Rule {
+        /** Same trip booked again while the earlier ride is still open. */
+        DUPLICATE(HttpStatus.CONFLICT, "A ride for the same trip was booked moments ago"),
+        /** More bookings within the burst window than a rider plausibly needs. */
+        BURST(HttpStatus.TOO_MANY_REQUESTS, "Too many rides booked in a short time"),
+        /** More distinct discount codes within the code window than allowed. */
+        DISCOUNT_CODES(HttpStatus.CONFLICT, "Too many different discount codes used recently");
+
+        private final HttpStatus status;
+        private final String message;
+
+        Rule(HttpStatus status, String message) {
+            this.status = status;
+            this.message = message;
+        }
+    }
+
+    private final boolean reject;
+    private final long duplicateWindowMillis;
+    private final long burstWindowMillis;
+    private final int maxBookings;
+    private final long codeWindowMillis;
+    private final int maxCodes;
+    private final int historySize;
+    private final long retentionMillis;
+    private final Map<Long, UserWindow> windows = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final Map<Rule, Counter> detections = new EnumMap<>(Rule.class);
+
+    /**
+     * Creates the detector.
+     *
+     * @param reject          whether violations are rejected rather than only flagged
+     * @param duplicateWindow time in which the same trip counts as a duplicate
+     * @param burstWindow     window of the booking burst rule
+     * @param maxBookings     bookings allowed within the burst window
+     * @param codeWindow      window of the discount code rule
+     * @param maxCodes        distinct discount codes allowed within the code window
+     * @param meterRegistry   registry receiving the detection counters
+     * @throws IllegalArgumentException when a limit is below one or above {@value #MAX_LIMIT}, since the
+     *                                  window arrays are sized from the limits
+     */
+    public BookingAbuseDetector(boolean reject, Duration duplicateWindow, Duration burstWindow, int maxBookings,
+        Duration codeWindow, int maxCodes, MeterRegistry meterRegistry) {
+        if (maxBookings < 1 || maxBookings > MAX_LIMIT || maxCodes < 1 || maxCodes > MAX_LIMIT) {
+            throw new IllegalArgumentException("Abuse limits must be between 1 and " + MAX_LIMIT);
+        }
+        this.reject = reject;
+        this.duplicateWindowMillis = duplicateWindow.toMillis();
+        this.burstWindowMillis = burstWindow.toMillis();
+        this.maxBookings = maxBookings;
+        this.codeWindowMillis = codeWindow.toMillis();
+        this.maxCodes = maxCodes;
+        this.historySize = Math.max(4, maxBookings);
+        this.retentionMillis = Math.max(duplicateWindowMillis, Math.max(burstWindowMillis, codeWindowMillis));
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        for (Rule rule : Rule.values()) {
+            detections.put(rule, Counter.builder("abuse.detections")
+                .tag("rule", rule.name())
+                .tag("action", reject ? "rejected" : "flagged")
+                .description("Bookings matching an abuse detection rule")
+                .register(meterRegistry));
+        }
+        Gauge.builder("abuse.windows", windows, Map::size)
+            .description("Riders with a booking detection window")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Checks a booking against the rider's recent bookings.
+     *
+     * @param signature booking about to be saved
+     * @throws ResponseStatusException when a rule matches and rejection is enabled
+     */
+    public void inspect(BookingSignature signature) {
+        UserWindow window = windows.get(signature.getUserId());
+        if (window == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Rule violated;
+        ReentrantLock lock = stripe(signature.getUserId());
+        lock.lock();
+        try {
+            violated = window.evaluate(signature, now);
+        } finally {
+            lock.unlock();
+        }
+        if (violated == null) {
+            return;
+        }
+        detections.get(violated).increment();
+        if (reject) {
+            throw new ResponseStatusException(violated.status, violated.message);
+        }
+        LOGGER.info("Flagged booking of user {}: {}", signature.getUserId(), violated);
+    }
+
+    /**
+     * Adds a committed booking to its rider's window.
+     *
+     * @param event booking event published by the ride service
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingCreated(BookingCreatedEvent event) {
+        long userId = event.getSignature().getUserId();
+        ReentrantLock lock = stripe(userId);
+        lock.lock();
+        try {
+            windows.computeIfAbsent(userId, id -> new UserWindow(historySize, maxCodes + 1))
+                .record(event.getRideId(), event.getSignature(), event.getTimestampMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops treating a cancelled ride as an open duplicate of a new booking.
+     *
+     * @param event ride lifecycle event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRideEvent(RideEvent event) {
+        if (event.getType() != RideEventType.CANCELLED) {
+            return;
+        }
+        UserWindow window = windows.get(event.getUserId());
+        if (window == null) {
+            return;
+        }
+        ReentrantLock lock = stripe(event.getUserId());
+        lock.lock();
+        try {
+            window.cancel(event.getRideId());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the windows of riders who have not booked within the longest rule window.
+     */
+    @Scheduled(fixedDelayString = "${abuse.sweep-interval-ms:300000}")
+    public void sweep() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        for (Map.Entry<Long, UserWindow> entry : windows.entrySet()) {
+            ReentrantLock lock = stripe(entry.getKey());
+            lock.lock();
+            try {
+                if (entry.getValue().lastActivity < cutoff) {
+                    windows.remove(entry.getKey(), entry.getValue());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private ReentrantLock stripe(long userId) {
+        return stripes[(int) (userId ^ (userId >>> 32)) & (STRIPES - 1)];
+    }
+
+    /**
+     * Recent bookings and discount codes of one rider, guarded by the rider's stripe lock.
+     */
+    private final class UserWindow {
+
+        private final long[] bookedAt;
+        private final long[] pickups;
+        private final long[] drops;
+        private final int[] rideIds;
+        private final boolean[] cancelled;
+        private final int[] codes;
+        private final long[] codeUsedAt;
+        private int nextBooking;
+        private int nextCode;
+        private long lastActivity;
+
+        private UserWindow(int bookings, int codeSlots) {
+            bookedAt = new long[bookings];
+            pickups = new long[bookings];
+            drops = new long[bookings];
+            rideIds = new int[bookings];
+            cancelled = new boolean[bookings];
+            codes = new int[codeSlots];
+            codeUsedAt = new long[codeSlots];
+        }
+
+        private void record(int rideId, BookingSignature signature, long at) {
+            int slot = nextBooking;
+            bookedAt[slot] = at;
+            pickups[slot] = signature.getPickupCell();
+            drops[slot] = signature.getDropCell();
+            rideIds[slot] = rideId;
+            cancelled[slot] = false;
+            nextBooking = (slot + 1) % bookedAt.length;
+            for (int discountId : signature.getDiscountIds()) {
+                int known = indexOfCode(discountId, at - codeWindowMillis);
+                int codeSlot = known >= 0 ? known : nextCode;
+                codes[codeSlot] = discountId;
+                codeUsedAt[codeSlot] = at;
+                if (known < 0) {
+                    nextCode = (codeSlot + 1) % codes.length;
+                }
+            }
+            lastActivity = Math.max(lastActivity, at);
+        }
+
+        private void cancel(int rideId) {
+            for (int i = 0; i < rideIds.length; i++) {
+                if (rideIds[i] == rideId && bookedAt[i] != 0) {
+                    cancelled[i] = true;
+                }
+            }
+        }
+
+        private Rule evaluate(BookingSignature signature, long now) {
+            int recent = 0;
+            for (int i = 0; i < bookedAt.length; i++) {
+                long at = bookedAt[i];
+                if (at == 0) {
+                    continue;
+                }
+                if (!cancelled[i] && now - at <= duplicateWindowMillis && pickups[i] == signature.getPickupCell()
+                    && drops[i] == signature.getDropCell()) {
+                    return Rule.DUPLICATE;
+                }
+                if (now - at <= burstWindowMillis) {
+                    recent++;
+                }
+            }
+            if (recent >= maxBookings) {
+                return Rule.BURST;
+            }
+            if (signature.getDiscountIds().length > 0) {
+                long since = now - codeWindowMillis;
+                int distinct = 0;
+                for (int i = 0; i < codes.length; i++) {
+                    if (codeUsedAt[i] != 0 && codeUsedAt[i] >= since) {
+                        distinct++;
+                    }
+                }
+                for (int discountId : signature.getDiscountIds()) {
+                    if (indexOfCode(discountId, since) < 0) {
+                        distinct++;
+                    }
+                }
+                if (distinct > maxCodes) {
+                    return Rule.DISCOUNT_CODES;
+                }
+            }
+            return null;
+        }
+
+        private int indexOfCode(int discountId, long since) {
+            for (int i = 0; i < codes.length; i++) {
+                if (codes[i] == discountId && codeUsedAt[i] != 0 && codeUsedAt[i] >= since) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.dehradun.cabbooking.abuse;
+
+/**
+ * Published with every new ride so committed bookings enter the rider's abuse detection window.
+ */
+public final class BookingCreatedEvent {
+
+    private final int rideId;
+    private final BookingSignature signature;
+    private final long timestampMillis;
+
+    /**
+     * Builds the event.
+     *
+     * @param rideId          saved ride primary key
+     * @param signature       booking signature checked before the save
+     * @param timestampMillis epoch milliseconds of the booking
+     */
+    public BookingCreatedEvent(int rideId, BookingSignature signature, long timestampMillis) {
+        this.rideId = rideId;
+        this.signature = signature;
+        this.timestampMillis = timestampMillis;
+    }
+
+    /**
+     * Returns the ride.
+     *
+     * @return ride primary key
+     */
+    public int getRideId() {
+        return rideId;
+    }
+
+    /**
+     * Returns the booking signature.
+     *
+     * @return signature
+     */
+    public BookingSignature getSignature() {
+        return signature;
+    }
+
+    /**
+     * Returns when the ride was booked.
+     *
+     * @return epoch milliseconds
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+}
@@ -0,0 +1,109 @@
+package com.dehradun.cabbooking.abuse;
+
+import com.dehradun.cabbooking.entity.Discount;
+import com.dehradun.cabbooking.entity.Location;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Compact description of a booking used to compare it with the rider's recent bookings.
+ *
+ * <p>Pickup and drop points are reduced to cells of 0.001 degrees, about 110 m in Dehradun. A booking that
+ * repeats the same trip from a slightly different GPS fix therefore still matches.</p>
+ */
+public final class BookingSignature {
+
+    private static final int[] NO_DISCOUNTS = new int[0];
+
+    private final long userId;
+    private final long pickupCell;
+    private final long dropCell;
+    private final int[] discountIds;
+
+    /**
+     * Builds a signature.
+     *
+     * @param userId      rider primary key
+     * @param pickupCell  cell of the pickup point
+     * @param dropCell    cell of the drop point
+     * @param discountIds discounts applied to the booking, not copied
+     */
+    public BookingSignature(long userId, long pickupCell, long dropCell, int[] discountIds) {
+        this.userId = userId;
+        this.pickupCell = pickupCell;
+        this.dropCell = dropCell;
+        this.discountIds = discountIds;
+    }
+
+    /**
+     * Describes a booking about to be saved.
+     *
+     * @param userId    rider primary key
+     * @param pickup    resolved pickup location
+     * @param drop      resolved drop location
+     * @param discounts discounts applied to the booking
+     * @return signature of the booking
+     */
+    public static BookingSignature of(long userId, Location pickup, Location drop, List<Discount> discounts) {
+        int[] discountIds = NO_DISCOUNTS;
+        if (!discounts.isEmpty()) {
+            discountIds = new int[discounts.size()];
+            for (int i = 0; i < discountIds.length; i++) {
+                discountIds[i] = discounts.get(i).getDiscountId();
+            }
+        }
+        return new BookingSignature(userId, cell(pickup), cell(drop), discountIds);
+    }
+
+    /**
+     * Reduces a location to its grid cell.
+     *
+     * @param location location with coordinates
+     * @return latitude and longitude thousandths packed into one value
+     */
+    static long cell(Location location) {
+        long latitude = thousandths(location.getLatitude());
+        long longitude = thousandths(location.getLongitude());
+        return (latitude << 32) | (longitude & 0xFFFFFFFFL);
+    }
+
+    private static int thousandths(BigDecimal degrees) {
+        return degrees == null ? 0 : (int) Math.round(degrees.doubleValue() * 1000.0);
+    }
+
+    /**
+     * Returns the rider.
+     *
+     * @return rider primary key
+     */
+    public long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the pickup cell.
+     *
+     * @return packed pickup cell
+     */
+    public long getPickupCell() {
+        return pickupCell;
+    }
+
+    /**
+     * Returns the drop cell.
+     *
+     * @return packed drop cell
+     */
+    public long getDropCell() {
+        return dropCell;
+    }
+
+    /**
+     * Returns the discounts applied to the booking; callers must not modify the array.
+     *
+     * @return discount primary keys
+     */
+    public int[] getDiscountIds() {
+        return discountIds;
+    }
+}
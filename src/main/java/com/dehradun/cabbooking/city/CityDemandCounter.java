@@ -0,0 +1,109 @@
+package com.dehradun.cabbooking.city;
+
+import com.dehradun.cabbooking.enums.RideEventType;
+import com.dehradun.cabbooking.journal.RideEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Counts ride requests per city over a rolling window, the demand signal surge pricing is read from.
+ *
+ * <p>Each city keeps its own ring of one-minute buckets behind its own lock, so bookings in one city never
+ * contend with another. A committed {@code CREATED} ride event adds one to the current bucket of the ride's
+ * city, reusing the bucket of a minute that has left the window. Reading the count sums the buckets still
+ * inside the window. The {@code city.demand.requests} gauge reports it per city.</p>
+ */
+public class CityDemandCounter {
+
+    private static final long MINUTE_MILLIS = 60_000L;
+
+    private final CityPartitions<Partition> partitions;
+    private final int windowMinutes;
+    private final Clock clock;
+
+    /**
+     * Creates the counter.
+     *
+     * @param cities        cities whose demand is counted
+     * @param window        rolling window, rounded up to whole minutes
+     * @param clock         clock placing requests in buckets
+     * @param meterRegistry registry receiving the demand gauges
+     */
+    public CityDemandCounter(CityRegistry cities, Duration window, Clock clock, MeterRegistry meterRegistry) {
+        this.windowMinutes = (int) Math.max(1L, (window.toMillis() + MINUTE_MILLIS - 1) / MINUTE_MILLIS);
+        this.clock = clock;
+        this.partitions = new CityPartitions<>(cities, code -> new Partition());
+        for (String code : partitions.asMap().keySet()) {
+            Gauge.builder("city.demand.requests", this, counter -> counter.getRecentRequests(code))
+                .description("Ride requests in the rolling demand window")
+                .tag("city", code)
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Counts a new ride request in its city.
+     *
+     * @param event ride lifecycle event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRideEvent(RideEvent event) {
+        if (event.getType() == RideEventType.CREATED) {
+            partitions.get(event.getCity()).record(clock.millis() / MINUTE_MILLIS);
+        }
+    }
+
+    /**
+     * Returns how many rides were requested in a city within the window.
+     *
+     * @param city city code; the default city when missing or not served
+     * @return ride requests in the window
+     */
+    public long getRecentRequests(String city) {
+        return partitions.get(city).sum(clock.millis() / MINUTE_MILLIS);
+    }
+
+    /**
+     * Minute buckets of one city.
+     */
+    private final class Partition {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] minutes = new long[windowMinutes];
+        private final long[] counts = new long[windowMinutes];
+
+        private void record(long minute) {
+            int slot = (int) (minute % windowMinutes);
+            lock.lock();
+            try {
+                if (minutes[slot] != minute) {
+                    minutes[slot] = minute;
+                    counts[slot] = 0;
+                }
+                counts[slot]++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long sum(long minute) {
+            long total = 0;
+            lock.lock();
+            try {
+                for (int slot = 0; slot < windowMinutes; slot++) {
+                    if (minute - minutes[slot] < windowMinutes) {
+                        total += counts[slot];
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            return total;
+        }
+    }
+}
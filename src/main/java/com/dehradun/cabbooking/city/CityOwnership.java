@@ -0,0 +1,25 @@
+package com.dehradun.cabbooking.city;
+
+/**
+ * Decides which cities' live state this instance keeps.
+ *
+ * <p>A single instance owns every city. In cluster mode each city is owned by one node, which loads the
+ * city's state at startup and whenever it takes the city over, announced by a
+ * {@link CityOwnershipChangedEvent}.</p>
+ */
+@FunctionalInterface
+public interface CityOwnership {
+
+    /**
+     * Ownership of a standalone instance, which keeps the state of every city.
+     */
+    CityOwnership ALL = city -> true;
+
+    /**
+     * Tells whether this instance keeps a city's live state.
+     *
+     * @param city city code; {@code null} stands for the default city
+     * @return {@code true} when the city is owned here
+     */
+    boolean owns(String city);
+}
@@ -0,0 +1,41 @@
+package com.dehradun.cabbooking.city;
+
+import java.util.Set;
+
+/**
+ * Published when this instance takes over or hands off cities after the cluster topology changed.
+ */
+public final class CityOwnershipChangedEvent {
+
+    private final Set<String> acquired;
+    private final Set<String> released;
+
+    /**
+     * Creates the event.
+     *
+     * @param acquired codes of the cities now owned here
+     * @param released codes of the cities now owned by another node
+     */
+    public CityOwnershipChangedEvent(Set<String> acquired, Set<String> released) {
+        this.acquired = Set.copyOf(acquired);
+        this.released = Set.copyOf(released);
+    }
+
+    /**
+     * Returns the cities this instance took over.
+     *
+     * @return city codes whose state must be loaded
+     */
+    public Set<String> getAcquired() {
+        return acquired;
+    }
+
+    /**
+     * Returns the cities this instance handed off.
+     *
+     * @return city codes whose state must be dropped
+     */
+    public Set<String> getReleased() {
+        return released;
+    }
+}
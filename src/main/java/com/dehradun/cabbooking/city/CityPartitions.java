@@ -0,0 +1,57 @@
+package com.dehradun.cabbooking.city;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * One instance of some in-memory state per served city.
+ *
+ * <p>Components keep a partition per city so that load in one city never contends for the locks, maps or
+ * timing wheels of another, and each city's state can be sized and observed on its own. Lookups of a
+ * missing or unknown city resolve to the default city's partition. The set of partitions is fixed when the
+ * holder is built, so lookups take no lock.</p>
+ *
+ * @param <P> partition type
+ */
+public final class CityPartitions<P> {
+
+    private final Map<String, P> partitions;
+    private final P fallback;
+
+    /**
+     * Creates one partition per registered city.
+     *
+     * @param registry served cities
+     * @param factory  creates the partition of a city code
+     */
+    public CityPartitions(CityRegistry registry, Function<String, P> factory) {
+        Map<String, P> byCode = new LinkedHashMap<>();
+        for (String code : registry.getCodes()) {
+            byCode.put(code, factory.apply(code));
+        }
+        this.partitions = Collections.unmodifiableMap(byCode);
+        this.fallback = byCode.get(registry.getDefaultCity().getCode());
+    }
+
+    /**
+     * Returns the partition of a city.
+     *
+     * @param code city code, may be {@code null}
+     * @return partition of the city, or of the default city when the code is missing or not served
+     */
+    public P get(String code) {
+        P partition = code == null ? null : partitions.get(code);
+        return partition != null ? partition : fallback;
+    }
+
+    /**
+     * Returns every partition keyed by city code.
+     *
+     * @return unmodifiable view in registration order
+     */
+    public Map<String, P> asMap() {
+        return partitions;
+    }
+}
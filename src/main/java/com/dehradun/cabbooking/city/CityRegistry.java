@@ -0,0 +1,114 @@
+package com.dehradun.cabbooking.city;
+
+import com.dehradun.cabbooking.config.CityProfile;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cities the marketplace serves, keyed by city code.
+ *
+ * <p>One city is the default. It answers the single-city endpoints, and requests that do not name a city
+ * are routed to it. The registry is immutable once built.</p>
+ */
+public final class CityRegistry {
+
+    private final Map<String, CityProfile> cities;
+    private final CityProfile defaultCity;
+
+    /**
+     * Creates the registry.
+     *
+     * @param cities      served cities
+     * @param defaultCode code of the default city
+     * @throws IllegalArgumentException when the codes repeat or the default city is not listed
+     */
+    public CityRegistry(List<CityProfile> cities, String defaultCode) {
+        Map<String, CityProfile> byCode = new LinkedHashMap<>();
+        for (CityProfile city : cities) {
+            if (byCode.put(city.getCode(), city) != null) {
+                throw new IllegalArgumentException("City " + city.getCode() + " is listed twice");
+            }
+        }
+        this.cities = Collections.unmodifiableMap(byCode);
+        this.defaultCity = byCode.get(defaultCode);
+        if (defaultCity == null) {
+            throw new IllegalArgumentException("Default city " + defaultCode + " is not listed");
+        }
+    }
+
+    /**
+     * Reads cities from CSV lines of {@code code,name,state,country,timezone,supportEmail}.
+     *
+     * <p>The header line and lines starting with {@code #} are skipped.</p>
+     *
+     * @param input       CSV document, closed by the caller
+     * @param defaultCode code of the default city
+     * @return registry of the listed cities
+     * @throws IOException              when the document cannot be read
+     * @throws IllegalArgumentException when a line is malformed or the default city is not listed
+     */
+    public static CityRegistry fromCsv(InputStream input, String defaultCode) throws IOException {
+        List<CityProfile> cities = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank() || line.startsWith("#") || line.startsWith("code,")) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            if (fields.length != 6) {
+                throw new IllegalArgumentException("Malformed city line: " + line);
+            }
+            cities.add(new CityProfile(fields[0].trim(), fields[1].trim(), fields[2].trim(), fields[3].trim(),
+                fields[4].trim(), fields[5].trim()));
+        }
+        return new CityRegistry(cities, defaultCode);
+    }
+
+    /**
+     * Returns the default city.
+     *
+     * @return default city profile
+     */
+    public CityProfile getDefaultCity() {
+        return defaultCity;
+    }
+
+    /**
+     * Returns a city by code.
+     *
+     * @param code city code
+     * @return city profile, {@code null} when the code is not served
+     */
+    public CityProfile find(String code) {
+        return code == null ? null : cities.get(code);
+    }
+
+    /**
+     * Returns every served city.
+     *
+     * @return city profiles in registration order
+     */
+    public Collection<CityProfile> getCities() {
+        return cities.values();
+    }
+
+    /**
+     * Returns the codes of every served city.
+     *
+     * @return city codes in registration order
+     */
+    public Set<String> getCodes() {
+        return cities.keySet();
+    }
+}
@@ -0,0 +1,222 @@
+package com.dehradun.cabbooking.cluster;
+
+import com.dehradun.cabbooking.geofence.GeofenceIndex;
+import com.dehradun.cabbooking.web.CachedBodyRequest;
+import com.dehradun.cabbooking.web.EndpointPattern;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Forwards requests touching a city's live state to the node that owns the city.
+ *
+ * <p>Only the endpoints listed in {@code cluster.partitioned-endpoints} are routed. The city is taken from
+ * the {@code city} query parameter, then from the pickup coordinates ({@code pickupLatitude} and
+ * {@code pickupLongitude}) or position ({@code latitude} and {@code longitude}) in a JSON body, and is the
+ * default city when none is found. A request for a city owned here continues down the filter chain with its
+ * buffered body. Any other request is replayed to the owner with its method, path, query, headers and body,
+ * marked with {@code X-Cluster-Forwarded-By} and the cluster token so the owner handles it even if the two
+ * nodes briefly disagree on the ring. Only requests the {@link ClusterPeerVerifier} accepts skip routing;
+ * a client sending the marker itself is routed like any other request, and both headers are replaced when it
+ * is forwarded. The client address is appended to {@code X-Forwarded-For}. When the owner cannot be reached
+ * the client gets {@code 503 Service Unavailable} with {@code Retry-After} and the failure is reported to
+ * {@link ClusterMembership}. Bodies are buffered to find the city, so one longer than
+ * {@code cluster.max-body-bytes} is rejected with {@code 413 Payload Too Large}. Requests are counted as {@code cluster.requests{route}}.</p>
+ */
+public class ClusterForwardingFilter extends OncePerRequestFilter {
+
+    /**
+     * Header naming the node that forwarded a request.
+     */
+    public static final String FORWARDED_BY = "X-Cluster-Forwarded-By";
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+    private static final Set<String> UNFORWARDED_HEADERS = Set.of("connection", "content-length", "date",
+        "expect", "host", "keep-alive", "proxy-connection", "te", "trailer", "transfer-encoding", "upgrade",
+        FORWARDED_BY.toLowerCase(Locale.ROOT), ClusterPeerVerifier.TOKEN.toLowerCase(Locale.ROOT));
+
+    private final ClusterMembership membership;
+    private final ClusterPeerVerifier verifier;
+    private final GeofenceIndex geofence;
+    private final List<EndpointPattern> endpoints;
+    private final Duration timeout;
+    private final int maxBodyBytes;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private final Counter local;
+    private final Counter forwarded;
+    private final Counter unavailable;
+
+    /**
+     * Creates the filter.
+     *
+     * @param membership    ring deciding the owner of each city
+     * @param verifier      check of requests forwarded by peers
+     * @param geofence      service areas mapping coordinates to cities
+     * @param endpoints     {@code "METHOD /path"} entries of the routed endpoints
+     * @param timeout       longest wait for the owner's response
+     * @param maxBodyBytes  longest request body buffered for routing
+     * @param meterRegistry registry receiving the routing counters
+     */
+    public ClusterForwardingFilter(ClusterMembership membership, ClusterPeerVerifier verifier,
+        GeofenceIndex geofence, List<String> endpoints, Duration timeout, int maxBodyBytes,
+        MeterRegistry meterRegistry) {
+        this.membership = membership;
+        this.verifier = verifier;
+        this.geofence = geofence;
+        this.endpoints = new ArrayList<>(endpoints.size());
+        for (String endpoint : endpoints) {
+            this.endpoints.add(EndpointPattern.parse(endpoint.trim()));
+        }
+        this.timeout = timeout;
+        this.maxBodyBytes = maxBodyBytes;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        this.local = routeCounter(meterRegistry, "local");
+        this.forwarded = routeCounter(meterRegistry, "forwarded");
+        this.unavailable = routeCounter(meterRegistry, "unavailable");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (request.getHeader(FORWARDED_BY) != null && verifier.isPeerRequest(request)) {
+            return true;
+        }
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        for (EndpointPattern endpoint : endpoints) {
+            if (endpoint.matches(method, path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        byte[] body = CachedBodyRequest.readBody(request, maxBodyBytes);
+        if (body == null) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request bodies are limited to "
+                + maxBodyBytes + " bytes");
+            return;
+        }
+        ClusterNode owner = membership.ownerOf(cityOf(request, body));
+        if (owner == membership.getSelf()) {
+            local.increment();
+            chain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        }
+        forward(owner, request, body, response);
+    }
+
+    private String cityOf(HttpServletRequest request, byte[] body) {
+        String city = request.getParameter("city");
+        if (city != null || body.length == 0) {
+            return city;
+        }
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(body);
+        } catch (IOException ex) {
+            return null;
+        }
+        if (root == null || !root.isObject()) {
+            return null;
+        }
+        JsonNode latitude = root.hasNonNull("pickupLatitude") ? root.get("pickupLatitude") : root.get("latitude");
+        JsonNode longitude = root.hasNonNull("pickupLongitude") ? root.get("pickupLongitude") : root.get("longitude");
+        if (latitude == null || longitude == null || !latitude.isNumber() || !longitude.isNumber()) {
+            return null;
+        }
+        return geofence.cityOf(latitude.doubleValue(), longitude.doubleValue());
+    }
+
+    private void forward(ClusterNode owner, HttpServletRequest request, byte[] body, HttpServletResponse response)
+        throws IOException {
+        String query = request.getQueryString();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(owner.getBaseUri() + request.getRequestURI()
+                + (query == null ? "" : "?" + query)))
+            .timeout(timeout)
+            .method(request.getMethod(), body.length == 0
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(body));
+        Enumeration<String> names = request.getHeaderNames();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (UNFORWARDED_HEADERS.contains(lower) || lower.equals(FORWARDED_FOR.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            Enumeration<String> values = request.getHeaders(name);
+            while (values.hasMoreElements()) {
+                builder.header(name, values.nextElement());
+            }
+        }
+        String forwardedFor = request.getHeader(FORWARDED_FOR);
+        builder.header(FORWARDED_FOR, forwardedFor == null || forwardedFor.isBlank()
+            ? request.getRemoteAddr() : forwardedFor + ", " + request.getRemoteAddr());
+        builder.header(FORWARDED_BY, membership.getSelf().getId());
+        builder.header(ClusterPeerVerifier.TOKEN, verifier.getToken());
+
+        HttpResponse<byte[]> reply;
+        try {
+            reply = client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException ex) {
+            unavailable.increment();
+            membership.reportFailure(owner);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "City owner " + owner.getId()
+                + " is unreachable");
+            return;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while forwarding to " + owner.getId(), ex);
+        }
+        forwarded.increment();
+        response.setStatus(reply.statusCode());
+        for (Map.Entry<String, List<String>> header : reply.headers().map().entrySet()) {
+            String lower = header.getKey().toLowerCase(Locale.ROOT);
+            if (UNFORWARDED_HEADERS.contains(lower) || lower.startsWith(":")) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                response.addHeader(header.getKey(), value);
+            }
+        }
+        byte[] replyBody = reply.body();
+        response.setContentLength(replyBody.length);
+        response.getOutputStream().write(replyBody);
+    }
+
+    private static Counter routeCounter(MeterRegistry registry, String route) {
+        return Counter.builder("cluster.requests")
+            .tag("route", route)
+            .description("Partitioned requests by where they were handled")
+            .register(registry);
+    }
+}
@@ -0,0 +1,248 @@
+package com.dehradun.cabbooking.cluster;
+
+import com.dehradun.cabbooking.city.CityOwnership;
+import com.dehradun.cabbooking.city.CityOwnershipChangedEvent;
+import com.dehradun.cabbooking.city.CityRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Tracks which cluster nodes are alive and which node owns each city.
+ *
+ * <p>Cities are assigned to the live nodes with a {@link ConsistentHashRing}. Every configured node is
+ * assumed alive at startup, so instances started together agree on the owners before the first probe.
+ * Each probe interval the peers' health endpoints are called in parallel. A peer is taken off the ring after
+ * {@code cluster.failure-threshold} consecutive failures, and a failed forward counts as one. It is put back
+ * after one successful probe. Whenever the ring changes, the cities this node gained and lost are published
+ * as a {@link CityOwnershipChangedEvent}, so the partitioned state can be loaded or dropped.</p>
+ */
+public class ClusterMembership implements CityOwnership {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClusterMembership.class);
+    private static final String HEALTH_PATH = "/actuator/health";
+
+    private final ClusterNode self;
+    private final List<ClusterNode> peers;
+    private final int virtualNodes;
+    private final int failureThreshold;
+    private final Duration probeTimeout;
+    private final CityRegistry cities;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HttpClient client;
+    private final Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Set<String> liveIds;
+    private volatile ConsistentHashRing ring;
+    private volatile Set<String> ownedCities;
+
+    /**
+     * Creates the membership with every configured node alive.
+     *
+     * @param self             this node
+     * @param peers            the other nodes
+     * @param virtualNodes     ring points per node
+     * @param failureThreshold consecutive failures after which a peer leaves the ring
+     * @param probeTimeout     longest wait for a peer's health response
+     * @param cities           cities assigned to nodes
+     * @param eventPublisher   publisher of the ownership changes
+     * @param meterRegistry    registry receiving the membership gauges
+     */
+    public ClusterMembership(ClusterNode self, List<ClusterNode> peers, int virtualNodes, int failureThreshold,
+        Duration probeTimeout, CityRegistry cities, ApplicationEventPublisher eventPublisher,
+        MeterRegistry meterRegistry) {
+        this.self = self;
+        this.peers = List.copyOf(peers);
+        this.virtualNodes = virtualNodes;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.probeTimeout = probeTimeout;
+        this.cities = cities;
+        this.eventPublisher = eventPublisher;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(probeTimeout)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        Set<String> all = new LinkedHashSet<>();
+        all.add(self.getId());
+        for (ClusterNode peer : this.peers) {
+            failures.put(peer.getId(), new AtomicInteger());
+            all.add(peer.getId());
+        }
+        this.liveIds = all;
+        this.ring = buildRing(all);
+        this.ownedCities = ownedBy(ring);
+        LOGGER.info("Cluster node {} owns {} of {} cities: {}", self.getId(), ownedCities.size(),
+            cities.getCodes().size(), ownedCities);
+        Gauge.builder("cluster.nodes.live", this, membership -> membership.liveIds.size())
+            .description("Cluster nodes on the hash ring")
+            .register(meterRegistry);
+        Gauge.builder("cluster.cities.owned", this, membership -> membership.ownedCities.size())
+            .description("Cities whose live state this node keeps")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public boolean owns(String city) {
+        return ownedCities.contains(resolve(city));
+    }
+
+    /**
+     * Returns the node owning a city.
+     *
+     * @param city city code; the default city when missing or not served
+     * @return owning node
+     */
+    public ClusterNode ownerOf(String city) {
+        return ring.nodeFor(resolve(city));
+    }
+
+    /**
+     * Returns this node.
+     *
+     * @return local node
+     */
+    public ClusterNode getSelf() {
+        return self;
+    }
+
+    /**
+     * Returns the nodes currently on the ring.
+     *
+     * @return live nodes
+     */
+    public List<ClusterNode> getLiveNodes() {
+        return ring.getNodes();
+    }
+
+    /**
+     * Returns the owner of every served city.
+     *
+     * @return node id keyed by city code
+     */
+    public Map<String, String> getAssignments() {
+        ConsistentHashRing current = ring;
+        Map<String, String> assignments = new LinkedHashMap<>();
+        for (String code : cities.getCodes()) {
+            assignments.put(code, current.nodeFor(code).getId());
+        }
+        return assignments;
+    }
+
+    /**
+     * Counts a failed call to a peer, such as a forward that could not connect.
+     *
+     * @param node peer that failed
+     */
+    public void reportFailure(ClusterNode node) {
+        AtomicInteger count = failures.get(node.getId());
+        if (count != null && count.incrementAndGet() >= failureThreshold && liveIds.contains(node.getId())) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Probes every peer and rebuilds the ring when a peer joined or left.
+     */
+    @Scheduled(fixedDelayString = "${cluster.probe-interval-ms:1000}")
+    public void probe() {
+        List<CompletableFuture<Boolean>> probes = new ArrayList<>(peers.size());
+        for (ClusterNode peer : peers) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(peer.getBaseUri() + HEALTH_PATH))
+                .timeout(probeTimeout)
+                .GET()
+                .build();
+            probes.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> response.statusCode() == 200)
+                .exceptionally(ex -> false));
+        }
+        for (int i = 0; i < peers.size(); i++) {
+            AtomicInteger count = failures.get(peers.get(i).getId());
+            if (probes.get(i).join()) {
+                count.set(0);
+            } else {
+                count.incrementAndGet();
+            }
+        }
+        rebuild();
+    }
+
+    private void rebuild() {
+        rebuildLock.lock();
+        try {
+            Set<String> live = new LinkedHashSet<>();
+            live.add(self.getId());
+            for (ClusterNode peer : peers) {
+                if (failures.get(peer.getId()).get() < failureThreshold) {
+                    live.add(peer.getId());
+                }
+            }
+            if (live.equals(liveIds)) {
+                return;
+            }
+            ConsistentHashRing next = buildRing(live);
+            Set<String> owned = ownedBy(next);
+            Set<String> acquired = new LinkedHashSet<>(owned);
+            acquired.removeAll(ownedCities);
+            Set<String> released = new LinkedHashSet<>(ownedCities);
+            released.removeAll(owned);
+            LOGGER.info("Cluster ring changed to {}; node {} acquired {} and released {}", live, self.getId(),
+                acquired, released);
+            liveIds = live;
+            ring = next;
+            ownedCities = owned;
+            if (!acquired.isEmpty() || !released.isEmpty()) {
+                eventPublisher.publishEvent(new CityOwnershipChangedEvent(acquired, released));
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private ConsistentHashRing buildRing(Set<String> live) {
+        List<ClusterNode> nodes = new ArrayList<>(live.size());
+        if (live.contains(self.getId())) {
+            nodes.add(self);
+        }
+        for (ClusterNode peer : peers) {
+            if (live.contains(peer.getId())) {
+                nodes.add(peer);
+            }
+        }
+        return new ConsistentHashRing(nodes, virtualNodes);
+    }
+
+    private Set<String> ownedBy(ConsistentHashRing candidate) {
+        Set<String> owned = new LinkedHashSet<>();
+        for (String code : cities.getCodes()) {
+            if (candidate.nodeFor(code) == self) {
+                owned.add(code);
+            }
+        }
+        return Set.copyOf(owned);
+    }
+
+    private String resolve(String city) {
+        return cities.find(city) != null ? city : cities.getDefaultCity().getCode();
+    }
+}
@@ -0,0 +1,63 @@
+package com.dehradun.cabbooking.cluster;
+
+import java.net.URI;
+
+/**
+ * Instance of the service taking part in the cluster.
+ */
+public final class ClusterNode {
+
+    private final String id;
+    private final URI baseUri;
+
+    /**
+     * Creates a node.
+     *
+     * @param id      stable node identifier, hashed onto the ring
+     * @param baseUri base URL other nodes forward requests to, such as {@code http://10.0.0.5:8080}
+     */
+    public ClusterNode(String id, URI baseUri) {
+        this.id = id;
+        this.baseUri = baseUri;
+    }
+
+    /**
+     * Parses a node from an {@code id=url} entry.
+     *
+     * @param entry configured node
+     * @return parsed node
+     * @throws IllegalArgumentException when the entry has no {@code =}
+     */
+    public static ClusterNode parse(String entry) {
+        int separator = entry.indexOf('=');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Cluster node must be 'id=url': " + entry);
+        }
+        String url = entry.substring(separator + 1).trim();
+        return new ClusterNode(entry.substring(0, separator).trim(),
+            URI.create(url.endsWith("/") ? url.substring(0, url.length() - 1) : url));
+    }
+
+    /**
+     * Returns the node identifier.
+     *
+     * @return node id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the base URL of the node.
+     *
+     * @return base URL without a trailing slash
+     */
+    public URI getBaseUri() {
+        return baseUri;
+    }
+
+    @Override
+    public String toString() {
+        return id + "=" + baseUri;
+    }
+}
@@ -0,0 +1,63 @@
+package com.dehradun.cabbooking.cluster;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Set;
+
+/**
+ * Tells requests forwarded by another node of the cluster apart from client requests.
+ *
+ * <p>A forwarded request names its sender in {@code X-Cluster-Forwarded-By} and carries the cluster's shared
+ * {@code cluster.secret} in {@code X-Cluster-Token}. It is only treated as a peer request when the sender is a
+ * configured node other than this one and the token matches, compared in constant time. Clients can set both
+ * headers, so neither is trusted on its own.</p>
+ */
+public class ClusterPeerVerifier {
+
+    /**
+     * Header carrying the shared cluster secret on forwarded requests.
+     */
+    public static final String TOKEN = "X-Cluster-Token";
+
+    private final String token;
+    private final byte[] tokenBytes;
+    private final Set<String> peerIds;
+
+    /**
+     * Creates the verifier.
+     *
+     * @param token   shared secret of the cluster
+     * @param peerIds ids of the other configured nodes
+     */
+    public ClusterPeerVerifier(String token, Set<String> peerIds) {
+        this.token = token;
+        this.tokenBytes = token.getBytes(StandardCharsets.UTF_8);
+        this.peerIds = Set.copyOf(peerIds);
+    }
+
+    /**
+     * Checks whether a request was forwarded by a peer.
+     *
+     * @param request incoming request
+     * @return {@code true} when the request names a configured peer and carries the shared secret
+     */
+    public boolean isPeerRequest(HttpServletRequest request) {
+        String sender = request.getHeader(ClusterForwardingFilter.FORWARDED_BY);
+        if (sender == null || !peerIds.contains(sender)) {
+            return false;
+        }
+        String presented = request.getHeader(TOKEN);
+        return presented != null
+            && MessageDigest.isEqual(tokenBytes, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the secret to send on forwarded requests.
+     *
+     * @return shared secret
+     */
+    String getToken() {
+        return token;
+    }
+}
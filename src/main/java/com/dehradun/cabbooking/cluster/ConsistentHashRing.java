@@ -0,0 +1,104 @@
+package com.dehradun.cabbooking.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Consistent hash ring assigning partition keys to cluster nodes.
+ *
+ * <p>Every node is placed on the ring at {@code virtualNodes} points, hashing {@code "id#i"}. A key belongs
+ * to the node of the first point at or after the key's hash, wrapping around. Virtual nodes spread each
+ * node's share across the ring, so when a node joins or leaves only the keys next to its points move, and
+ * they move to many nodes rather than one neighbour. The points are held in sorted parallel arrays, so a
+ * lookup is one binary search. The ring is immutable; membership changes build a new one.</p>
+ */
+public final class ConsistentHashRing {
+
+    private final List<ClusterNode> nodes;
+    private final long[] points;
+    private final ClusterNode[] owners;
+
+    /**
+     * Builds the ring.
+     *
+     * @param nodes        nodes to place, at least one
+     * @param virtualNodes points per node
+     * @throws IllegalArgumentException when no node is given or the point count is not positive
+     */
+    public ConsistentHashRing(Collection<ClusterNode> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A ring needs at least one node and one point per node");
+        }
+        this.nodes = List.copyOf(nodes);
+        int count = this.nodes.size() * virtualNodes;
+        long[] hashes = new long[count];
+        ClusterNode[] placed = new ClusterNode[count];
+        Integer[] order = new Integer[count];
+        int i = 0;
+        for (ClusterNode node : this.nodes) {
+            for (int v = 0; v < virtualNodes; v++) {
+                hashes[i] = hash(node.getId() + "#" + v);
+                placed[i] = node;
+                order[i] = i;
+                i++;
+            }
+        }
+        // Ties are broken by node id so every node builds the same ring from the same members.
+        Arrays.sort(order, Comparator.<Integer>comparingLong(index -> hashes[index])
+            .thenComparing(index -> placed[index].getId()));
+        this.points = new long[count];
+        this.owners = new ClusterNode[count];
+        for (int p = 0; p < count; p++) {
+            points[p] = hashes[order[p]];
+            owners[p] = placed[order[p]];
+        }
+    }
+
+    /**
+     * Returns the node owning a key.
+     *
+     * @param key partition key, such as a city code
+     * @return owning node
+     */
+    public ClusterNode nodeFor(String key) {
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    /**
+     * Returns the nodes on the ring.
+     *
+     * @return nodes in the order given
+     */
+    public List<ClusterNode> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Hashes a key to a ring position with 64-bit FNV-1a followed by the MurmurHash3 finaliser, which
+     * spreads the similar {@code "id#i"} strings evenly. The result must not change between releases, or
+     * nodes of different versions would disagree on owners.
+     *
+     * @param key string to hash
+     * @return ring position
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
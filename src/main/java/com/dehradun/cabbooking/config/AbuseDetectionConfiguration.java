@@ -0,0 +1,39 @@
+package com.dehradun.cabbooking.config;
+
+import com.dehradun.cabbooking.abuse.BookingAbuseDetector;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the streaming booking abuse detector.
+ */
+@Configuration
+public class AbuseDetectionConfiguration {
+
+    /**
+     * Creates the detector consulted by ride creation.
+     *
+     * @param reject          whether matching bookings are rejected instead of only flagged
+     * @param duplicateWindow time in which the same trip counts as a duplicate
+     * @param burstWindow     window of the booking burst rule
+     * @param maxBookings     bookings allowed within the burst window
+     * @param codeWindow      window of the discount code rule
+     * @param maxCodes        distinct discount codes allowed within the code window
+     * @param meterRegistry   registry receiving the detection counters
+     * @return booking abuse detector
+     */
+    @Bean
+    public BookingAbuseDetector bookingAbuseDetector(@Value("${abuse.reject:true}") boolean reject,
+        @Value("${abuse.duplicate-window:2m}") Duration duplicateWindow,
+        @Value("${abuse.burst-window:10m}") Duration burstWindow,
+        @Value("${abuse.max-bookings:4}") int maxBookings,
+        @Value("${abuse.code-window:24h}") Duration codeWindow,
+        @Value("${abuse.max-codes:3}") int maxCodes,
+        MeterRegistry meterRegistry) {
+        return new BookingAbuseDetector(reject, duplicateWindow, burstWindow, maxBookings, codeWindow, maxCodes,
+            meterRegistry);
+    }
+}
@@ -0,0 +1,72 @@
+package com.dehradun.cabbooking.config;
+
+import com.dehradun.cabbooking.city.CityDemandCounter;
+import com.dehradun.cabbooking.city.CityOwnership;
+import com.dehradun.cabbooking.city.CityRegistry;
+import com.dehradun.cabbooking.geofence.GeofenceIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Clock;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+/**
+ * Loads the registry of served cities and wires the per-city demand counter.
+ */
+@Configuration
+public class CityConfiguration {
+
+    /**
+     * Creates the city registry and checks that every service area belongs to a listed city.
+     *
+     * @param file        CSV file of cities
+     * @param defaultCode city answering requests that do not name one
+     * @param geofence    service areas keyed by city code
+     * @return immutable city registry
+     * @throws IOException when the file cannot be read
+     */
+    @Bean
+    public CityRegistry cityRegistry(@Value("${cities.file:classpath:cities/cities.csv}") Resource file,
+        @Value("${cities.default:DEHRADUN}") String defaultCode, GeofenceIndex geofence) throws IOException {
+        CityRegistry registry;
+        try (InputStream input = file.getInputStream()) {
+            registry = CityRegistry.fromCsv(input, defaultCode);
+        }
+        for (String code : geofence.getCityCodes()) {
+            if (registry.find(code) == null) {
+                throw new IllegalStateException("Service area " + code + " has no city in " + file);
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * Creates the per-city counter of recent ride requests.
+     *
+     * @param cities        served cities
+     * @param window        rolling window the requests are counted over
+     * @param meterRegistry registry receiving the demand gauges
+     * @return demand counter listening to committed ride events
+     */
+    @Bean
+    public CityDemandCounter cityDemandCounter(CityRegistry cities,
+        @Value("${cities.demand-window:15m}") Duration window, MeterRegistry meterRegistry) {
+        return new CityDemandCounter(cities, window, Clock.systemDefaultZone(), meterRegistry);
+    }
+
+    /**
+     * Gives a standalone instance the state of every city.
+     *
+     * @return ownership of every city
+     */
+    @Bean
+    @ConditionalOnProperty(name = "cluster.enabled", havingValue = "false", matchIfMissing = true)
+    public CityOwnership localCityOwnership() {
+        return CityOwnership.ALL;
+    }
+}
@@ -1,10 +1,11 @@
 package com.dehradun.cabbooking.config;
 
 /**
- * Immutable descriptor representing the city that the marketplace serves.
+ * Immutable descriptor of one city that the marketplace serves.
  */
 public class CityProfile {
 
+    private final String code;
     private final String name;
     private final String state;
     private final String country;
@@ -14,13 +15,16 @@ public class CityProfile {
     /**
      * Builds a city descriptor instance.
      *
+     * @param code         stable city code such as {@code DEHRADUN}, used to route requests and partition state
      * @param name         friendly name of the city
      * @param state        state in which the city lies
      * @param country      country of operation
      * @param timezone     IANA timezone identifier
      * @param supportEmail support contact for the locale
      */
-    public CityProfile(String name, String state, String country, String timezone, String supportEmail) {
+    public CityProfile(String code, String name, String state, String country, String timezone,
+        String supportEmail) {
+        this.code = code;
         this.name = name;
         this.state = state;
         this.country = country;
@@ -28,6 +32,15 @@ public class CityProfile {
         this.supportEmail = supportEmail;
     }
 
+    /**
+     * Fetches the code of the city.
+     *
+     * @return city code such as {@code DEHRADUN}
+     */
+    public String getCode() {
+        return code;
+    }
+
     /**
      * Fetches the display name of the city.
      *
@@ -0,0 +1,118 @@
+package com.dehradun.cabbooking.config;
+
+import com.dehradun.cabbooking.city.CityRegistry;
+import com.dehradun.cabbooking.cluster.ClusterForwardingFilter;
+import com.dehradun.cabbooking.cluster.ClusterMembership;
+import com.dehradun.cabbooking.cluster.ClusterNode;
+import com.dehradun.cabbooking.cluster.ClusterPeerVerifier;
+import com.dehradun.cabbooking.geofence.GeofenceIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Wires cluster mode, in which cities are spread over several nodes, when {@code cluster.enabled} is set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterConfiguration {
+
+    /**
+     * Creates the membership of this node.
+     *
+     * @param self             id of this node, which must be listed in {@code cluster.nodes}
+     * @param nodes            every node as {@code id=url}
+     * @param virtualNodes     ring points per node
+     * @param failureThreshold consecutive failed probes after which a peer leaves the ring
+     * @param probeTimeout     longest wait for a peer's health response
+     * @param cities           cities assigned to nodes
+     * @param eventPublisher   publisher of the ownership changes
+     * @param meterRegistry    registry receiving the membership gauges
+     * @return membership probing the peers
+     */
+    @Bean
+    public ClusterMembership clusterMembership(@Value("${cluster.self}") String self,
+        @Value("${cluster.nodes}") List<String> nodes,
+        @Value("${cluster.virtual-nodes:128}") int virtualNodes,
+        @Value("${cluster.failure-threshold:3}") int failureThreshold,
+        @Value("${cluster.probe-timeout:500ms}") Duration probeTimeout,
+        CityRegistry cities, ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        ClusterNode local = null;
+        List<ClusterNode> peers = new ArrayList<>();
+        for (String entry : nodes) {
+            ClusterNode node = ClusterNode.parse(entry.trim());
+            if (node.getId().equals(self)) {
+                local = node;
+            } else {
+                peers.add(node);
+            }
+        }
+        if (local == null) {
+            throw new IllegalStateException("cluster.self " + self + " is not listed in cluster.nodes");
+        }
+        return new ClusterMembership(local, peers, virtualNodes, failureThreshold, probeTimeout, cities,
+            eventPublisher, meterRegistry);
+    }
+
+    /**
+     * Creates the check recognising requests forwarded by the other nodes.
+     *
+     * @param self   id of this node
+     * @param nodes  every node as {@code id=url}
+     * @param secret shared secret every node sends on forwarded requests
+     * @return peer verifier
+     */
+    @Bean
+    public ClusterPeerVerifier clusterPeerVerifier(@Value("${cluster.self}") String self,
+        @Value("${cluster.nodes}") List<String> nodes, @Value("${cluster.secret:}") String secret) {
+        if (secret.isBlank()) {
+            throw new IllegalStateException("cluster.secret must be set when cluster.enabled is true");
+        }
+        Set<String> peerIds = new HashSet<>();
+        for (String entry : nodes) {
+            String id = ClusterNode.parse(entry.trim()).getId();
+            if (!id.equals(self)) {
+                peerIds.add(id);
+            }
+        }
+        return new ClusterPeerVerifier(secret, peerIds);
+    }
+
+    /**
+     * Registers the forwarding filter after the rate limiter, so clients are limited by the node they call,
+     * and before idempotency, so retries are deduplicated by the owning node.
+     *
+     * @param membership    ring deciding the owner of each city
+     * @param verifier      check of requests forwarded by peers
+     * @param geofence      service areas mapping coordinates to cities
+     * @param endpoints     endpoints routed to the owning node
+     * @param timeout       longest wait for the owner's response
+     * @param maxBodyBytes  longest request body buffered for routing
+     * @param meterRegistry registry receiving the routing counters
+     * @return filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ClusterForwardingFilter> clusterForwardingFilter(ClusterMembership membership,
+        ClusterPeerVerifier verifier, GeofenceIndex geofence,
+        @Value("${cluster.partitioned-endpoints:POST /api/rides,POST /api/drivers/*/heartbeat,"
+            + "GET /api/discounts/available}") List<String> endpoints,
+        @Value("${cluster.forward-timeout:5s}") Duration timeout,
+        @Value("${cluster.max-body-bytes:65536}") int maxBodyBytes,
+        MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ClusterForwardingFilter> registration = new FilterRegistrationBean<>(
+            new ClusterForwardingFilter(membership, verifier, geofence, endpoints, timeout,
+                maxBodyBytes, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
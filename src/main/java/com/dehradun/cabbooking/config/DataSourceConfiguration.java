@@ -0,0 +1,122 @@
+package com.dehradun.cabbooking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Declares the JDBC connection pools used by the JPA stack.
+ *
+ * <p>Spring Boot skips its own JDBC data source once an R2DBC connection factory is present, so the pools
+ * are created here. Writes and read-write transactions use the primary pool built from
+ * {@code spring.datasource}; transactions marked {@code readOnly} are routed to the replica pool built from
+ * {@code datasource.replica} while it keeps up with the primary.</p>
+ */
+@Configuration
+public class DataSourceConfiguration {
+
+    /**
+     * Binds the primary connection settings from {@code spring.datasource}.
+     *
+     * @return primary connection properties
+     */
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * Binds the replica connection settings from {@code datasource.replica}.
+     *
+     * @return replica connection properties
+     */
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * Builds the primary Hikari pool, tuned through {@code spring.datasource.hikari}.
+     *
+     * @param properties primary connection properties
+     * @return primary pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(ReadReplicaRoutingDataSource.PRIMARY);
+        return pool;
+    }
+
+    /**
+     * Builds the replica Hikari pool, tuned through {@code datasource.replica.hikari}.
+     *
+     * @param properties replica connection properties
+     * @return replica pool
+     */
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+        @Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(ReadReplicaRoutingDataSource.REPLICA);
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    /**
+     * Creates the monitor tracking replica freshness.
+     *
+     * @param replica       replica pool to probe
+     * @param lagQuery      query returning the replication lag in seconds
+     * @param maxLag        largest lag tolerated for replica reads
+     * @param meterRegistry registry receiving the lag gauge
+     * @return lag monitor
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+        @Value("${datasource.replica.lag-query}") String lagQuery,
+        @Value("${datasource.replica.max-lag:5s}") Duration maxLag,
+        MeterRegistry meterRegistry) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, lagQuery, maxLag);
+        Gauge.builder("datasource.replica.lag", monitor, ReplicaLagMonitor::getLagSeconds)
+            .baseUnit("seconds")
+            .description("Replication lag measured on the read replica")
+            .register(meterRegistry);
+        return monitor;
+    }
+
+    /**
+     * Exposes the routing data source that JPA and JDBC access go through.
+     *
+     * @param primary       primary pool
+     * @param replica       replica pool
+     * @param lagMonitor    replica freshness monitor
+     * @param meterRegistry registry receiving the routing counters
+     * @return lazily connecting routing data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+        @Qualifier("replicaDataSource") DataSource replica, ReplicaLagMonitor lagMonitor,
+        MeterRegistry meterRegistry) {
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, replica, lagMonitor,
+            meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,32 @@
+package com.dehradun.cabbooking.config;
+
+import com.dehradun.cabbooking.geofence.GeofenceIndex;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+/**
+ * Loads the service area and zone polygons.
+ */
+@Configuration
+public class GeofenceConfiguration {
+
+    /**
+     * Creates the index screening pickups and tagging rides with their zone.
+     *
+     * @param file        GeoJSON feature collection of service areas and zones
+     * @param cellDegrees edge of a grid cell in degrees
+     * @return immutable geofence index
+     * @throws IOException when the file cannot be read
+     */
+    @Bean
+    public GeofenceIndex geofenceIndex(@Value("${geofence.file:classpath:geofence/cities.geojson}") Resource file,
+        @Value("${geofence.cell-size-degrees:0.005}") double cellDegrees) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            return GeofenceIndex.fromGeoJson(input, cellDegrees);
+        }
+    }
+}
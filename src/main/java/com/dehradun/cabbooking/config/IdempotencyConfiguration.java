@@ -0,0 +1,71 @@
+package com.dehradun.cabbooking.config;
+
+import com.dehradun.cabbooking.cluster.ClusterPeerVerifier;
+import com.dehradun.cabbooking.repository.IdempotencyRecordRepository;
+import com.dehradun.cabbooking.web.IdempotencyFilter;
+import com.dehradun.cabbooking.web.IdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires {@code Idempotency-Key} handling for the create endpoints when {@code idempotency.enabled} is set.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfiguration {
+
+    /**
+     * Creates the response store, optionally backed by the {@code idempotency_keys} table.
+     *
+     * @param records    repository of persisted responses
+     * @param persistent whether responses are also persisted
+     * @param maxEntries keys retained in memory at most
+     * @param ttl        how long a response is replayed
+     * @return response store
+     */
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyRecordRepository records,
+        @Value("${idempotency.persistent:false}") boolean persistent,
+        @Value("${idempotency.max-entries:10000}") int maxEntries,
+        @Value("${idempotency.ttl:24h}") Duration ttl) {
+        return new IdempotencyStore(persistent ? records : null, maxEntries, ttl);
+    }
+
+    /**
+     * Registers the filter replaying responses to retried requests.
+     *
+     * @param store             response store
+     * @param paths             Ant-style patterns of the {@code POST} endpoints that accept keys
+     * @param waitTimeout       longest wait for a duplicate's original request
+     * @param maxBodyBytes      longest request body accepted with a key
+     * @param trustIdentity     whether the identity headers scope keys instead of the client address
+     * @param trustForwardedFor whether client addresses are read from {@code X-Forwarded-For}
+     * @param peers             cluster peer check, absent outside cluster mode
+     * @param meterRegistry     registry receiving the outcome counters
+     * @return servlet filter
+     */
+    @Bean
+    public IdempotencyFilter idempotencyFilter(IdempotencyStore store,
+        @Value("${idempotency.paths:/api/rides,/api/users,/api/drivers}") List<String> paths,
+        @Value("${idempotency.wait-timeout:10s}") Duration waitTimeout,
+        @Value("${idempotency.max-body-bytes:65536}") int maxBodyBytes,
+        @Value("${idempotency.trust-identity-headers:${rate-limit.trust-identity-headers:false}}")
+        boolean trustIdentity,
+        @Value("${idempotency.trust-forwarded-for:${rate-limit.trust-forwarded-for:false}}")
+        boolean trustForwardedFor,
+        ObjectProvider<ClusterPeerVerifier> peers,
+        MeterRegistry meterRegistry) {
+        ClusterPeerVerifier verifier = peers.getIfAvailable();
+        Predicate<HttpServletRequest> peerRequest = verifier == null ? request -> false : verifier::isPeerRequest;
+        return new IdempotencyFilter(store, paths, waitTimeout, maxBodyBytes, trustIdentity, trustForwardedFor,
+            peerRequest, meterRegistry);
+    }
+}
@@ -0,0 +1,53 @@
+package com.dehradun.cabbooking.config;
+
+import com.dehradun.cabbooking.invalidation.InProcessInvalidationBus;
+import com.dehradun.cabbooking.invalidation.LoopbackInvalidationBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the cache invalidation bus selected by {@code invalidation.transport}.
+ */
+@Configuration
+public class InvalidationConfiguration {
+
+    /**
+     * Creates the bus shared by the instances running in this JVM.
+     *
+     * @param channel        name of the channel joined
+     * @param eventPublisher publisher delivering invalidations to the caches
+     * @param meterRegistry  registry receiving the bus metrics
+     * @return in-process bus
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "invalidation", name = "transport", havingValue = "in-process",
+        matchIfMissing = true)
+    public InProcessInvalidationBus inProcessInvalidationBus(
+        @Value("${invalidation.in-process.channel:cab-booking}") String channel,
+        ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        return new InProcessInvalidationBus(channel, eventPublisher, meterRegistry);
+    }
+
+    /**
+     * Creates the bus exchanging UDP datagrams with the instances on this host.
+     *
+     * @param port           loopback port this instance listens on
+     * @param peerPorts      loopback ports of every instance
+     * @param eventPublisher publisher delivering invalidations to the caches
+     * @param meterRegistry  registry receiving the bus metrics
+     * @return loopback bus
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "invalidation", name = "transport", havingValue = "loopback")
+    public LoopbackInvalidationBus loopbackInvalidationBus(
+        @Value("${invalidation.loopback.port:7400}") int port,
+        @Value("${invalidation.loopback.peers:}") List<Integer> peerPorts,
+        ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        return new LoopbackInvalidationBus(port, peerPorts, eventPublisher, meterRegistry);
+    }
+}
@@ -0,0 +1,49 @@
+package com.dehradun.cabbooking.config;
+
+import com.dehradun.cabbooking.journal.RideEventJournal;
+import com.dehradun.cabbooking.journal.RideEventJournalWriter;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Wires the memory-mapped ride event journal when {@code journal.enabled} is set.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "journal", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JournalConfiguration {
+
+    /**
+     * Opens the ride event journal using the configured directory, segment size and retention.
+     *
+     * @param directory        folder that stores the segment files
+     * @param segmentSize      capacity of a single segment file
+     * @param retainedSegments number of segment files kept before the oldest is deleted
+     * @param flushOnAppend    whether every append is forced to disk
+     * @return journal instance closed on shutdown
+     */
+    @Bean(destroyMethod = "close")
+    public RideEventJournal rideEventJournal(
+        @Value("${journal.directory:data/journal}") String directory,
+        @Value("${journal.segment-size:64MB}") DataSize segmentSize,
+        @Value("${journal.retained-segments:16}") int retainedSegments,
+        @Value("${journal.flush-on-append:false}") boolean flushOnAppend
+    ) {
+        return new RideEventJournal(Path.of(directory), Math.toIntExact(segmentSize.toBytes()), retainedSegments,
+            flushOnAppend);
+    }
+
+    /**
+     * Registers the listener that appends committed ride events to the journal.
+     *
+     * @param rideEventJournal journal receiving the events
+     * @return transactional event listener
+     */
+    @Bean
+    public RideEventJournalWriter rideEventJournalWriter(RideEventJournal rideEventJournal) {
+        return new RideEventJournalWriter(rideEventJournal);
+    }
+}
@@ -0,0 +1,36 @@
+package com.dehradun.cabbooking.config;
+
+import com.dehradun.cabbooking.landmark.LandmarkDirectory;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+/**
+ * Loads the landmark directory.
+ */
+@Configuration
+public class LandmarkConfiguration {
+
+    /**
+     * Creates the directory describing coordinates by their closest landmark.
+     *
+     * @param file       CSV file of landmarks
+     * @param atMetres   distance within which a point is described as the landmark itself
+     * @param nearMetres distance within which a point is described as near the landmark
+     * @param cacheSize  descriptions cached at most
+     * @return landmark directory
+     * @throws IOException when the file cannot be read
+     */
+    @Bean
+    public LandmarkDirectory landmarkDirectory(@Value("${landmark.file:classpath:landmarks/dehradun.csv}") Resource file,
+        @Value("${landmark.at-metres:150}") double atMetres,
+        @Value("${landmark.near-metres:1500}") double nearMetres,
+        @Value("${landmark.cache-size:20000}") int cacheSize) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            return LandmarkDirectory.fromCsv(input, atMetres, nearMetres, cacheSize);
+        }
+    }
+}
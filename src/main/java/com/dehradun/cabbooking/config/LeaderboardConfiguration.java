@@ -0,0 +1,32 @@
+package com.dehradun.cabbooking.config;
+
+import com.dehradun.cabbooking.leaderboard.DriverLeaderboard;
+import com.dehradun.cabbooking.rating.RatingAggregator;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the in-memory driver leaderboards.
+ */
+@Configuration
+public class LeaderboardConfiguration {
+
+    /**
+     * Creates the boards, rebuilt through the primary pool.
+     *
+     * @param dataSource       primary pool
+     * @param ratingAggregator running driver rating tallies
+     * @param size             drivers published per board
+     * @param minRatings       ratings a driver needs before appearing on a rating board
+     * @return driver leaderboards
+     */
+    @Bean
+    public DriverLeaderboard driverLeaderboard(@Qualifier("primaryDataSource") DataSource dataSource,
+        RatingAggregator ratingAggregator, @Value("${leaderboard.size:50}") int size,
+        @Value("${leaderboard.min-ratings:5}") int minRatings) {
+        return new DriverLeaderboard(dataSource, ratingAggregator, size, minRatings);
+    }
+}
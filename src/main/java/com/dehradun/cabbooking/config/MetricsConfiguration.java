@@ -0,0 +1,33 @@
+package com.dehradun.cabbooking.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@code @Timed} on the business services.
+ *
+ * <p>Service classes carry a class-level {@code @Timed("service.method")}, so every public method is
+ * recorded under that name tagged with {@code class} and {@code method}. Spring Data repository calls are
+ * timed separately by Spring Boot as {@code spring.data.repository.invocations}.</p>
+ *
+ * <p>Setting {@code metrics.timed.enabled=false} drops the aspect; {@code InstrumentationOverheadBenchmark}
+ * uses it to measure what the timers cost.</p>
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    /**
+     * Registers the aspect that records {@code @Timed} methods.
+     *
+     * @param meterRegistry registry receiving the timers
+     * @return timed aspect
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "metrics.timed", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
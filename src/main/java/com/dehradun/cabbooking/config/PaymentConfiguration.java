@@ -0,0 +1,70 @@
+package com.dehradun.cabbooking.config;
+
+import com.dehradun.cabbooking.payment.PaymentGateway;
+import com.dehradun.cabbooking.payment.SettlementPipeline;
+import com.dehradun.cabbooking.payment.SimulatedPaymentGateway;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the background payment settlement pipeline and the simulated payment gateway.
+ */
+@Configuration
+public class PaymentConfiguration {
+
+    /**
+     * Creates the local gateway used until a real processor client is configured.
+     *
+     * @param latencyMillis base response time
+     * @param jitterMillis  random extra response time
+     * @param failureRate   share of calls failing transiently
+     * @param declineRate   share of charges declined
+     * @return simulated gateway
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "settlement.gateway", name = "simulated", havingValue = "true",
+        matchIfMissing = true)
+    public PaymentGateway simulatedPaymentGateway(
+        @Value("${settlement.gateway.latency-ms:200}") long latencyMillis,
+        @Value("${settlement.gateway.latency-jitter-ms:150}") long jitterMillis,
+        @Value("${settlement.gateway.failure-rate:0.05}") double failureRate,
+        @Value("${settlement.gateway.decline-rate:0.02}") double declineRate
+    ) {
+        return new SimulatedPaymentGateway(latencyMillis, jitterMillis, failureRate, declineRate);
+    }
+
+    /**
+     * Creates the pipeline settling pending payments through the primary pool.
+     *
+     * @param dataSource           primary pool
+     * @param gateway              payment processor client
+     * @param batchSize            pending payments settled per batch
+     * @param concurrency          gateway calls in flight at most
+     * @param pollIntervalMillis   interval between lookups of pending payments without a completion signal
+     * @param gatewayTimeoutMillis longest wait for one gateway call
+     * @param maxAttempts          gateway attempts before a payment is marked failed
+     * @param retryBackoffMillis   delay before the first retry
+     * @param meterRegistry        registry receiving the settlement counters
+     * @return pipeline started with the context and stopped on shutdown
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "settlement", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public SettlementPipeline settlementPipeline(@Qualifier("primaryDataSource") DataSource dataSource,
+        PaymentGateway gateway,
+        @Value("${settlement.batch-size:100}") int batchSize,
+        @Value("${settlement.concurrency:16}") int concurrency,
+        @Value("${settlement.poll-interval-ms:1000}") long pollIntervalMillis,
+        @Value("${settlement.gateway-timeout-ms:3000}") long gatewayTimeoutMillis,
+        @Value("${settlement.max-attempts:5}") int maxAttempts,
+        @Value("${settlement.retry-backoff-ms:2000}") long retryBackoffMillis,
+        MeterRegistry meterRegistry
+    ) {
+        return new SettlementPipeline(dataSource, gateway, batchSize, concurrency, pollIntervalMillis,
+            gatewayTimeoutMillis, maxAttempts, retryBackoffMillis, meterRegistry);
+    }
+}
@@ -0,0 +1,162 @@
+package com.dehradun.cabbooking.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Data source decorator that admits at most as many concurrent borrowers as the pool has connections.
+ *
+ * <p>With virtual threads every request gets its own carrier-free thread, so thousands of them can race for
+ * a handful of pooled connections. Borrowers beyond the pool size park on a fair semaphore, and once the
+ * configured number of waiters is reached further callers fail immediately instead of piling onto the
+ * pool's own hand-off queue.</p>
+ */
+public class PooledConnectionLimiter extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final int maxWaiting;
+    private final long acquireTimeoutMillis;
+
+    /**
+     * Wraps the supplied pool.
+     *
+     * @param target               pooled data source to protect
+     * @param maxConcurrent        number of connections that may be borrowed at once
+     * @param maxWaiting           number of callers allowed to wait for a permit
+     * @param acquireTimeoutMillis maximum time a caller waits for a permit
+     */
+    public PooledConnectionLimiter(DataSource target, int maxConcurrent, int maxWaiting, long acquireTimeoutMillis) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    /**
+     * Borrows a connection once a permit is available.
+     *
+     * @return connection that returns its permit when closed
+     * @throws SQLException when no permit could be obtained or the pool fails
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return borrow(() -> super.getConnection());
+    }
+
+    /**
+     * Borrows a connection for explicit credentials once a permit is available.
+     *
+     * @param username database user
+     * @param password database password
+     * @return connection that returns its permit when closed
+     * @throws SQLException when no permit could be obtained or the pool fails
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return borrow(() -> super.getConnection(username, password));
+    }
+
+    /**
+     * Returns the number of callers currently parked waiting for a permit.
+     *
+     * @return waiting caller count
+     */
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    /**
+     * Returns the number of permits currently free.
+     *
+     * @return available permit count
+     */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Closes the wrapped pool when it supports closing, so pool shutdown still happens with the decorator
+     * registered as the data source bean.
+     *
+     * @throws Exception when the underlying pool fails to close
+     */
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void acquire() throws SQLException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            throw new SQLTransientConnectionException("Connection pool saturated, too many waiting requests");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Timed out waiting for a pooled connection permit");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a pooled connection permit", ex);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private Connection borrow(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, new PermitReleasingHandler(connection));
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    private final class PermitReleasingHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            } finally {
+                if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
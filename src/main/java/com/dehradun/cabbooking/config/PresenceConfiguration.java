@@ -0,0 +1,43 @@
+package com.dehradun.cabbooking.config;
+
+import com.dehradun.cabbooking.city.CityOwnership;
+import com.dehradun.cabbooking.city.CityRegistry;
+import com.dehradun.cabbooking.presence.DriverPresenceTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the driver heartbeat tracker.
+ */
+@Configuration
+public class PresenceConfiguration {
+
+    /**
+     * Creates the tracker that takes silent drivers offline.
+     *
+     * @param dataSource    primary pool
+     * @param timeout       silence after which a driver is taken offline
+     * @param tickMillis    milliseconds between timing wheel ticks
+     * @param wheelSize     slots of each city's timing wheel
+     * @param cities        cities whose online drivers are partitioned
+     * @param ownership     cities whose drivers are tracked here
+     * @param meterRegistry registry receiving the presence metrics
+     * @return tracker flushing pending offline updates on shutdown
+     */
+    @Bean(destroyMethod = "close")
+    public DriverPresenceTracker driverPresenceTracker(@Qualifier("primaryDataSource") DataSource dataSource,
+        @Value("${presence.timeout:90s}") Duration timeout,
+        @Value("${presence.tick-ms:1000}") long tickMillis,
+        @Value("${presence.wheel-size:512}") int wheelSize,
+        CityRegistry cities,
+        CityOwnership ownership,
+        MeterRegistry meterRegistry) {
+        return new DriverPresenceTracker(dataSource, timeout, Duration.ofMillis(tickMillis), wheelSize, cities,
+            ownership, meterRegistry);
+    }
+}
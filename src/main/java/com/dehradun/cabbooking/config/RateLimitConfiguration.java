@@ -0,0 +1,99 @@
+package com.dehradun.cabbooking.config;
+
+import com.dehradun.cabbooking.cluster.ClusterPeerVerifier;
+import com.dehradun.cabbooking.web.RateLimitFilter;
+import com.dehradun.cabbooking.web.RateLimitPolicy;
+import com.dehradun.cabbooking.web.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Wires per-client rate limiting when {@code rate-limit.enabled} is set.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfiguration {
+
+    /**
+     * Creates the bucket store.
+     *
+     * @param maxKeys       buckets held at most
+     * @param idleExpiry    time a full bucket is kept
+     * @param meterRegistry registry receiving the bucket metrics
+     * @return rate limiter
+     */
+    @Bean
+    public RateLimiter rateLimiter(@Value("${rate-limit.max-keys:100000}") int maxKeys,
+        @Value("${rate-limit.idle-expiry:10m}") Duration idleExpiry, MeterRegistry meterRegistry) {
+        return new RateLimiter(maxKeys, idleExpiry, meterRegistry);
+    }
+
+    /**
+     * Registers the rate limiting filter ahead of request processing but after the HTTP observation filter,
+     * so rejected requests still appear in the request metrics.
+     *
+     * @param limiter           bucket store
+     * @param bookingEndpoints  endpoints of the booking policy
+     * @param bookingCapacity   booking burst size
+     * @param bookingPeriod     time in which the booking burst is replenished
+     * @param reportEndpoints   endpoints of the report policy
+     * @param reportCapacity    report burst size
+     * @param reportPeriod      time in which the report burst is replenished
+     * @param writeEndpoints    endpoints of the account write policy
+     * @param writeCapacity     account write burst size
+     * @param writePeriod       time in which the account write burst is replenished
+     * @param defaultEndpoints  endpoints of the fallback policy
+     * @param defaultCapacity   fallback burst size
+     * @param defaultPeriod     time in which the fallback burst is replenished
+     * @param trustForwardedFor whether client addresses are read from {@code X-Forwarded-For}
+     * @param trustIdentity     whether the identity headers key the client instead of its address
+     * @param peers             cluster peer check, absent outside cluster mode
+     * @param meterRegistry     registry receiving the rejection counters
+     * @return filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter limiter,
+        @Value("${rate-limit.booking.endpoints:POST /api/rides,POST /api/rides/*/complete}")
+        List<String> bookingEndpoints,
+        @Value("${rate-limit.booking.capacity:10}") int bookingCapacity,
+        @Value("${rate-limit.booking.period:1m}") Duration bookingPeriod,
+        @Value("${rate-limit.reports.endpoints:GET /api/rides/by-date,GET /api/rides/completed-week,"
+            + "GET /api/rides/high-value-week,GET /api/rides/in-progress/today,GET /api/rides/discount/*,"
+            + "GET /api/rides/stream/**}") List<String> reportEndpoints,
+        @Value("${rate-limit.reports.capacity:20}") int reportCapacity,
+        @Value("${rate-limit.reports.period:1m}") Duration reportPeriod,
+        @Value("${rate-limit.writes.endpoints:POST /api/users,POST /api/drivers,POST /api/rides/*/ratings,"
+            + "PUT /api/discounts/*,DELETE /api/discounts/*}")
+        List<String> writeEndpoints,
+        @Value("${rate-limit.writes.capacity:20}") int writeCapacity,
+        @Value("${rate-limit.writes.period:1m}") Duration writePeriod,
+        @Value("${rate-limit.default.endpoints:* /api/**}") List<String> defaultEndpoints,
+        @Value("${rate-limit.default.capacity:120}") int defaultCapacity,
+        @Value("${rate-limit.default.period:1m}") Duration defaultPeriod,
+        @Value("${rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor,
+        @Value("${rate-limit.trust-identity-headers:false}") boolean trustIdentity,
+        ObjectProvider<ClusterPeerVerifier> peers,
+        MeterRegistry meterRegistry) {
+        List<RateLimitPolicy> policies = List.of(
+            new RateLimitPolicy("booking", bookingEndpoints, bookingCapacity, bookingPeriod),
+            new RateLimitPolicy("reports", reportEndpoints, reportCapacity, reportPeriod),
+            new RateLimitPolicy("writes", writeEndpoints, writeCapacity, writePeriod),
+            new RateLimitPolicy("default", defaultEndpoints, defaultCapacity, defaultPeriod));
+        ClusterPeerVerifier verifier = peers.getIfAvailable();
+        Predicate<HttpServletRequest> peerRequest = verifier == null ? request -> false : verifier::isPeerRequest;
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+            new RateLimitFilter(limiter, policies, trustForwardedFor, trustIdentity, peerRequest, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
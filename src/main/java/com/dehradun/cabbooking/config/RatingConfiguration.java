@@ -0,0 +1,44 @@
+package com.dehradun.cabbooking.config;
+
+import com.dehradun.cabbooking.rating.RatingAggregator;
+import com.dehradun.cabbooking.rating.RatingReconciler;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the incremental rating aggregation and its reconciliation job.
+ */
+@Configuration
+public class RatingConfiguration {
+
+    /**
+     * Creates the aggregator that writes driver averages through the primary pool.
+     *
+     * @param dataSource primary pool
+     * @return aggregator flushing pending averages on shutdown
+     */
+    @Bean(destroyMethod = "close")
+    public RatingAggregator ratingAggregator(@Qualifier("primaryDataSource") DataSource dataSource) {
+        return new RatingAggregator(dataSource);
+    }
+
+    /**
+     * Creates the job that rebuilds the aggregates from the {@code ratings} table.
+     *
+     * @param aggregator         aggregator whose tallies are rebuilt
+     * @param dataSource         primary pool
+     * @param parallelism        partitions aggregated concurrently
+     * @param reconcileOnStartup whether the tallies are loaded once the application is ready
+     * @return reconciliation job
+     */
+    @Bean
+    public RatingReconciler ratingReconciler(RatingAggregator aggregator,
+        @Qualifier("primaryDataSource") DataSource dataSource,
+        @Value("${rating.reconcile-parallelism:4}") int parallelism,
+        @Value("${rating.reconcile-on-startup:true}") boolean reconcileOnStartup) {
+        return new RatingReconciler(aggregator, dataSource, parallelism, reconcileOnStartup);
+    }
+}
@@ -0,0 +1,66 @@
+package com.dehradun.cabbooking.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections for read-only transactions to the replica pool and everything else to the primary.
+ *
+ * <p>The lookup happens when a connection is actually needed, so this data source must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; otherwise the transaction
+ * manager borrows the connection before the read-only flag has been published.</p>
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter replicaFallbacks;
+
+    /**
+     * Creates the router over the two pools.
+     *
+     * @param primary       pool serving writes and read-write transactions
+     * @param replica       pool serving read-only transactions
+     * @param lagMonitor    monitor deciding whether the replica is fresh enough
+     * @param meterRegistry registry receiving the routing counters
+     */
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+        MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.primaryConnections = Counter.builder("datasource.routing.connections").tag("pool", PRIMARY)
+            .description("Connections handed out per pool").register(meterRegistry);
+        this.replicaConnections = Counter.builder("datasource.routing.connections").tag("pool", REPLICA)
+            .description("Connections handed out per pool").register(meterRegistry);
+        this.replicaFallbacks = Counter.builder("datasource.routing.replica.fallbacks")
+            .description("Read-only connections sent to the primary because the replica was lagging or down")
+            .register(meterRegistry);
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * Picks the pool for the connection being opened.
+     *
+     * @return {@link #REPLICA} for read-only transactions while the replica is usable, otherwise {@link #PRIMARY}
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (lagMonitor.isUsable()) {
+                replicaConnections.increment();
+                return REPLICA;
+            }
+            replicaFallbacks.increment();
+        }
+        primaryConnections.increment();
+        return PRIMARY;
+    }
+}
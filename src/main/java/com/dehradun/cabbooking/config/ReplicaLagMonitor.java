@@ -0,0 +1,77 @@
+package com.dehradun.cabbooking.config;
+
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Periodically measures how far the read replica trails the primary.
+ *
+ * <p>The replica is considered usable while the measured lag stays within the configured bound and the lag
+ * query succeeds. A replica that cannot be reached is treated as unusable until the next successful check.</p>
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replicaTemplate;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private volatile double lagSeconds;
+    private volatile boolean usable = true;
+
+    /**
+     * Creates the monitor for the supplied replica pool.
+     *
+     * @param replica  replica data source to probe
+     * @param lagQuery query returning the replication lag in seconds, {@code null} meaning no lag
+     * @param maxLag   largest lag at which reads may still be served by the replica
+     */
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag) {
+        this.replicaTemplate = new JdbcTemplate(replica);
+        this.replicaTemplate.setQueryTimeout(1);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+    }
+
+    /**
+     * Runs the lag query and updates the replica usability flag.
+     */
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            Double measured = replicaTemplate.queryForObject(lagQuery, Double.class);
+            lagSeconds = measured != null ? measured : 0.0;
+            usable = lagSeconds <= maxLagSeconds;
+        } catch (RuntimeException ex) {
+            lagSeconds = Double.NaN;
+            usable = false;
+        }
+        if (wasUsable != usable) {
+            LOGGER.warn("Read replica {} (lag {}s), read-only transactions now use the {} pool",
+                usable ? "recovered" : "unavailable", lagSeconds, usable ? "replica" : "primary");
+        }
+    }
+
+    /**
+     * Indicates whether read-only transactions may be routed to the replica.
+     *
+     * @return {@code true} when the last check found the replica within the lag bound
+     */
+    public boolean isUsable() {
+        return usable;
+    }
+
+    /**
+     * Returns the lag measured by the last check.
+     *
+     * @return lag in seconds, {@code NaN} when the replica could not be queried
+     */
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+}
@@ -0,0 +1,48 @@
+package com.dehradun.cabbooking.config;
+
+import com.dehradun.cabbooking.city.CityOwnership;
+import com.dehradun.cabbooking.city.CityRegistry;
+import com.dehradun.cabbooking.expiry.RideExpiryScheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the expiry of rides nobody accepts.
+ */
+@Configuration
+public class RideExpiryConfiguration {
+
+    /**
+     * Creates the scheduler cancelling unmatched rides.
+     *
+     * @param dataSource     primary pool
+     * @param timeout        time a ride may wait for a driver
+     * @param tickMillis     milliseconds between timing wheel ticks
+     * @param wheelSize      slots of each city's timing wheel
+     * @param cities         cities whose waiting rides are partitioned
+     * @param ownership      cities whose waiting rides are loaded here
+     * @param eventPublisher publisher of the cancellation events
+     * @param meterRegistry  registry receiving the expiry metrics
+     * @return scheduler flushing pending cancellations on shutdown
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "ride-expiry.enabled", havingValue = "true", matchIfMissing = true)
+    public RideExpiryScheduler rideExpiryScheduler(@Qualifier("primaryDataSource") DataSource dataSource,
+        @Value("${ride-expiry.timeout:5m}") Duration timeout,
+        @Value("${ride-expiry.tick-ms:1000}") long tickMillis,
+        @Value("${ride-expiry.wheel-size:512}") int wheelSize,
+        CityRegistry cities,
+        CityOwnership ownership,
+        ApplicationEventPublisher eventPublisher,
+        MeterRegistry meterRegistry) {
+        return new RideExpiryScheduler(dataSource, timeout, Duration.ofMillis(tickMillis), wheelSize, cities,
+            ownership, eventPublisher, meterRegistry);
+    }
+}
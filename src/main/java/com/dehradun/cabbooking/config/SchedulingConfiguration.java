@@ -0,0 +1,12 @@
+package com.dehradun.cabbooking.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background tasks such as the replica lag checks.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
@@ -0,0 +1,70 @@
+package com.dehradun.cabbooking.config;
+
+import com.dehradun.cabbooking.city.CityRegistry;
+import com.dehradun.cabbooking.geofence.GeofenceIndex;
+import com.dehradun.cabbooking.seed.SeedDataRunner;
+import com.dehradun.cabbooking.seed.SyntheticDataGenerator;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the synthetic data loader when {@code seed.enabled} is set.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "seed", name = "enabled", havingValue = "true")
+public class SeedConfiguration {
+
+    /**
+     * Creates the generator from the configured seed and volumes.
+     *
+     * @param seed        seed of the random streams
+     * @param users       riders to generate
+     * @param drivers     drivers to generate
+     * @param locations   locations to generate
+     * @param discounts   discount campaigns to generate
+     * @param rides       rides to generate
+     * @param historyDays days of ride history
+     * @param anchor      newest timestamp as ISO date-time, defaults to the start of the current hour
+     * @param geofence    service areas and zones of the generated locations
+     * @param cities      served cities, whose default takes locations outside every service area
+     * @return deterministic generator
+     */
+    @Bean
+    public SyntheticDataGenerator syntheticDataGenerator(
+        @Value("${seed.random-seed:42}") long seed,
+        @Value("${seed.users:100000}") int users,
+        @Value("${seed.drivers:10000}") int drivers,
+        @Value("${seed.locations:50000}") int locations,
+        @Value("${seed.discounts:50}") int discounts,
+        @Value("${seed.rides:1000000}") int rides,
+        @Value("${seed.history-days:90}") int historyDays,
+        @Value("${seed.anchor:}") String anchor,
+        GeofenceIndex geofence,
+        CityRegistry cities
+    ) {
+        LocalDateTime effectiveAnchor = anchor.isBlank() ? LocalDateTime.now().truncatedTo(ChronoUnit.HOURS)
+            : LocalDateTime.parse(anchor);
+        return new SyntheticDataGenerator(seed, users, drivers, locations, discounts, rides, historyDays,
+            effectiveAnchor, geofence, cities.getDefaultCity().getCode());
+    }
+
+    /**
+     * Registers the runner that loads the data set on startup through the primary pool.
+     *
+     * @param dataSource primary pool
+     * @param generator  data generator
+     * @param batchSize  rows per JDBC batch when COPY is unavailable
+     * @return startup runner
+     */
+    @Bean
+    public SeedDataRunner seedDataRunner(@Qualifier("primaryDataSource") DataSource dataSource,
+        SyntheticDataGenerator generator, @Value("${seed.batch-size:5000}") int batchSize) {
+        return new SeedDataRunner(dataSource, generator, batchSize);
+    }
+}
@@ -0,0 +1,39 @@
+package com.dehradun.cabbooking.config;
+
+import com.dehradun.cabbooking.tracking.RideTrackingHub;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the live ride tracking streams.
+ */
+@Configuration
+public class TrackingConfiguration {
+
+    /**
+     * Creates the hub fanning driver positions and ride status changes out to tracking clients.
+     *
+     * @param dataSource            primary pool
+     * @param streamTimeout         lifetime of a stream before the client reconnects
+     * @param keepAlive             idle time after which a keep-alive comment is written
+     * @param maxSubscribers        open streams allowed on this instance
+     * @param maxSubscribersPerRide open streams allowed per ride
+     * @param meterRegistry         registry receiving the tracking metrics
+     * @return hub ending open streams on shutdown
+     */
+    @Bean(destroyMethod = "close")
+    public RideTrackingHub rideTrackingHub(@Qualifier("primaryDataSource") DataSource dataSource,
+        @Value("${tracking.stream-timeout:30m}") Duration streamTimeout,
+        @Value("${tracking.keep-alive:25s}") Duration keepAlive,
+        @Value("${tracking.max-subscribers:100000}") int maxSubscribers,
+        @Value("${tracking.max-subscribers-per-ride:16}") int maxSubscribersPerRide,
+        MeterRegistry meterRegistry) {
+        return new RideTrackingHub(dataSource, streamTimeout, keepAlive, maxSubscribers, maxSubscribersPerRide,
+            meterRegistry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.dehradun.cabbooking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Extra wiring applied when request handling runs on virtual threads.
+ *
+ * <p>Spring Boot already switches Tomcat and the task executors over when
+ * {@code spring.threads.virtual.enabled} is set; this configuration additionally places a
+ * {@link PooledConnectionLimiter} in front of the Hikari pool so that virtual threads queue for
+ * connections in a bounded way.</p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    /**
+     * Wraps the Hikari data source with a limiter sized to the pool.
+     *
+     * @param maxWaiting           number of callers allowed to wait for a connection permit
+     * @param acquireTimeoutMillis maximum time a caller waits for a connection permit
+     * @return post processor decorating the pooled data source
+     */
+    @Bean
+    public static BeanPostProcessor pooledConnectionLimiterPostProcessor(
+        @Value("${datasource.limiter.max-waiting:1000}") int maxWaiting,
+        @Value("${datasource.limiter.acquire-timeout-ms:5000}") long acquireTimeoutMillis
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    return new PooledConnectionLimiter(pool, pool.getMaximumPoolSize(), maxWaiting,
+                        acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.dehradun.cabbooking.config;
+
+import com.dehradun.cabbooking.json.RideJsonHttpMessageConverter;
+import com.dehradun.cabbooking.landmark.LandmarkDirectory;
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Customises Spring MVC message conversion.
+ */
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final LandmarkDirectory landmarks;
+
+    /**
+     * Creates the configuration.
+     *
+     * @param landmarks directory adding landmark descriptions to ride responses
+     */
+    public WebConfiguration(LandmarkDirectory landmarks) {
+        this.landmarks = landmarks;
+    }
+
+    /**
+     * Puts the streaming ride serialiser ahead of Jackson so ride responses bypass reflective serialisation.
+     *
+     * @param converters converters configured by Spring Boot
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new RideJsonHttpMessageConverter(landmarks));
+    }
+}
@@ -1,36 +1,85 @@
 package com.dehradun.cabbooking.controller;
 
-import com.dehradun.cabbooking.config.CityProfile;
+import com.dehradun.cabbooking.dto.NearestLandmark;
+import com.dehradun.cabbooking.service.CatalogueService;
 import com.dehradun.cabbooking.service.CityProfileService;
+import com.dehradun.cabbooking.web.CachedRepresentation;
+import java.math.BigDecimal;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 /**
- * REST controller exposing localized metadata about Dehradun.
+ * REST controller exposing localized metadata about the served cities.
  */
 @RestController
 @RequestMapping("/api/city")
 public class CityController {
 
+    private final CatalogueService catalogueService;
     private final CityProfileService cityProfileService;
 
     /**
-     * Creates the controller with the service dependency.
+     * Creates the controller with the service dependencies.
      *
-     * @param cityProfileService service providing the city descriptor
+     * @param catalogueService   service providing the pre-rendered city descriptor
+     * @param cityProfileService service looking up the city's landmarks
      */
-    public CityController(CityProfileService cityProfileService) {
+    public CityController(CatalogueService catalogueService, CityProfileService cityProfileService) {
+        this.catalogueService = catalogueService;
         this.cityProfileService = cityProfileService;
     }
 
     /**
-     * Returns the metadata describing the Dehradun marketplace configuration.
+     * Returns the metadata describing the default city of the marketplace.
      *
-     * @return city profile response body
+     * <p>Answers with {@code 304 Not Modified} when the client's ETag still matches.</p>
+     *
+     * @param acceptEncoding encodings the client accepts, used to pick the gzip variant
+     * @return city profile response body as JSON
      */
     @GetMapping
-    public CityProfile getCityProfile() {
-        return cityProfileService.getOperatingCity();
+    public ResponseEntity<byte[]> getCityProfile(
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return catalogueService.getCityProfile().toResponse(acceptEncoding);
+    }
+
+    /**
+     * Returns the metadata describing one served city.
+     *
+     * <p>Answers with {@code 304 Not Modified} when the client's ETag still matches.</p>
+     *
+     * @param code           city code such as {@code HARIDWAR}
+     * @param acceptEncoding encodings the client accepts, used to pick the gzip variant
+     * @return city profile response body as JSON
+     */
+    @GetMapping("/{code}")
+    public ResponseEntity<byte[]> getCityProfile(@PathVariable String code,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CachedRepresentation profile = catalogueService.getCityProfile(code);
+        if (profile == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "City not served");
+        }
+        return profile.toResponse(acceptEncoding);
+    }
+
+    /**
+     * Describes a point by the landmark closest to it.
+     *
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @return closest landmark with its distance
+     */
+    @GetMapping("/landmarks/nearest")
+    public NearestLandmark getNearestLandmark(@RequestParam(required = false) BigDecimal latitude,
+        @RequestParam(required = false) BigDecimal longitude) {
+        return cityProfileService.findNearestLandmark(latitude, longitude);
     }
 }
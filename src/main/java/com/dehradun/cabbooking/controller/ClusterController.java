@@ -0,0 +1,45 @@
+package com.dehradun.cabbooking.controller;
+
+import com.dehradun.cabbooking.cluster.ClusterMembership;
+import com.dehradun.cabbooking.cluster.ClusterNode;
+import com.dehradun.cabbooking.dto.ClusterStatus;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller reporting the cluster ring, available in cluster mode.
+ */
+@RestController
+@RequestMapping("/api/cluster")
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterController {
+
+    private final ClusterMembership membership;
+
+    /**
+     * Creates the controller.
+     *
+     * @param membership membership of this node
+     */
+    public ClusterController(ClusterMembership membership) {
+        this.membership = membership;
+    }
+
+    /**
+     * Returns the live nodes and the owner of every city as seen by this node.
+     *
+     * @return cluster status
+     */
+    @GetMapping
+    public ClusterStatus getStatus() {
+        List<String> live = new ArrayList<>();
+        for (ClusterNode node : membership.getLiveNodes()) {
+            live.add(node.getId());
+        }
+        return new ClusterStatus(membership.getSelf().getId(), live, membership.getAssignments());
+    }
+}
@@ -1,10 +1,20 @@
 package com.dehradun.cabbooking.controller;
 
+import com.dehradun.cabbooking.dto.SaveDiscountRequest;
 import com.dehradun.cabbooking.entity.Discount;
+import com.dehradun.cabbooking.service.CatalogueService;
 import com.dehradun.cabbooking.service.DiscountService;
-import java.util.List;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -14,24 +24,59 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/discounts")
 public class DiscountController {
 
+    private final CatalogueService catalogueService;
     private final DiscountService discountService;
 
     /**
-     * Builds the controller with the discount service dependency.
+     * Builds the controller with the catalogue and discount service dependencies.
      *
-     * @param discountService business service delivering discount lookups
+     * @param catalogueService service delivering the pre-rendered discount catalogue
+     * @param discountService  service maintaining the discounts
      */
-    public DiscountController(DiscountService discountService) {
+    public DiscountController(CatalogueService catalogueService, DiscountService discountService) {
+        this.catalogueService = catalogueService;
         this.discountService = discountService;
     }
 
     /**
-     * Fetches all discounts that are currently available for use.
+     * Fetches the discounts that are currently available for use in a city.
      *
-     * @return list of active discounts
+     * <p>Answers with {@code 304 Not Modified} when the client's ETag or {@code Last-Modified} still matches
+     * the catalogue version.</p>
+     *
+     * @param city           city code; the default city when absent or not served
+     * @param acceptEncoding encodings the client accepts, used to pick the gzip variant
+     * @return list of active discounts as JSON
      */
     @GetMapping("/available")
-    public List<Discount> getAvailableDiscounts() {
-        return discountService.getAvailableDiscounts();
+    public ResponseEntity<byte[]> getAvailableDiscounts(@RequestParam(required = false) String city,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return catalogueService.getAvailableDiscounts(city).toResponse(acceptEncoding);
+    }
+
+    /**
+     * Creates a discount or replaces its terms.
+     *
+     * <p>Every instance's cached catalogue is invalidated once the change commits.</p>
+     *
+     * @param code    unique discount code
+     * @param request new terms
+     * @return stored discount
+     */
+    @PutMapping("/{code}")
+    public Discount putDiscount(@PathVariable String code, @Valid @RequestBody SaveDiscountRequest request) {
+        return discountService.putDiscount(code, request);
+    }
+
+    /**
+     * Withdraws a discount.
+     *
+     * @param code unique discount code
+     * @return empty response
+     */
+    @DeleteMapping("/{code}")
+    public ResponseEntity<Void> deleteDiscount(@PathVariable String code) {
+        discountService.deleteDiscount(code);
+        return ResponseEntity.noContent().build();
     }
 }
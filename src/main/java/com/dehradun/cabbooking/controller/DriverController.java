@@ -1,6 +1,7 @@
 package com.dehradun.cabbooking.controller;
 
 import com.dehradun.cabbooking.dto.CreateDriverRequest;
+import com.dehradun.cabbooking.dto.DriverHeartbeatRequest;
 import com.dehradun.cabbooking.entity.Driver;
 import com.dehradun.cabbooking.service.DriverService;
 import jakarta.validation.Valid;
@@ -52,4 +53,19 @@ public class DriverController {
     public Driver getDriver(@PathVariable Integer driverId) {
         return driverService.getDriverById(driverId);
     }
+
+    /**
+     * Keeps a driver online and optionally reports the driver's position; drivers that stop sending
+     * heartbeats are taken offline.
+     *
+     * @param driverId identifier of the driver
+     * @param request  optional position payload
+     * @return empty response
+     */
+    @PostMapping("/{driverId}/heartbeat")
+    public ResponseEntity<Void> heartbeat(@PathVariable Integer driverId,
+        @Valid @RequestBody(required = false) DriverHeartbeatRequest request) {
+        driverService.recordHeartbeat(driverId, request);
+        return ResponseEntity.noContent().build();
+    }
 }
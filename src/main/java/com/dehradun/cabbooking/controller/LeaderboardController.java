@@ -0,0 +1,46 @@
+package com.dehradun.cabbooking.controller;
+
+import com.dehradun.cabbooking.dto.LeaderboardEntry;
+import com.dehradun.cabbooking.enums.LeaderboardMetric;
+import com.dehradun.cabbooking.enums.VehicleType;
+import com.dehradun.cabbooking.service.LeaderboardService;
+import java.util.List;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing the live driver leaderboards for operations dashboards.
+ */
+@RestController
+@RequestMapping("/api/leaderboards")
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    /**
+     * Builds the controller with the leaderboard service dependency.
+     *
+     * @param leaderboardService service serving the boards
+     */
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    /**
+     * Fetches the top drivers of a vehicle category.
+     *
+     * @param vehicleType vehicle category of the board
+     * @param metric ranking, {@code RATING} or {@code COMPLETED_RIDES} this week, defaults to rating
+     * @param limit number of drivers, defaults to the full board
+     * @return ranked drivers, best first
+     */
+    @GetMapping("/drivers/{vehicleType}")
+    public List<LeaderboardEntry> getDriverLeaderboard(@PathVariable VehicleType vehicleType,
+        @RequestParam(required = false) LeaderboardMetric metric,
+        @RequestParam(required = false) Integer limit) {
+        return leaderboardService.getDriverLeaderboard(vehicleType, metric, limit);
+    }
+}
@@ -0,0 +1,49 @@
+package com.dehradun.cabbooking.controller;
+
+import com.dehradun.cabbooking.dto.RatingSummary;
+import com.dehradun.cabbooking.service.RatingService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing running driver and rider rating aggregates.
+ */
+@RestController
+@RequestMapping("/api/ratings")
+public class RatingController {
+
+    private final RatingService ratingService;
+
+    /**
+     * Builds the controller with the rating service dependency.
+     *
+     * @param ratingService service serving rating aggregates
+     */
+    public RatingController(RatingService ratingService) {
+        this.ratingService = ratingService;
+    }
+
+    /**
+     * Fetches the rating aggregate of a driver.
+     *
+     * @param driverId driver identifier
+     * @return average stars and rating count
+     */
+    @GetMapping("/drivers/{driverId}")
+    public RatingSummary getDriverRating(@PathVariable Integer driverId) {
+        return ratingService.getDriverRating(driverId);
+    }
+
+    /**
+     * Fetches the rating aggregate of a rider.
+     *
+     * @param userId user identifier
+     * @return average stars and rating count
+     */
+    @GetMapping("/users/{userId}")
+    public RatingSummary getUserRating(@PathVariable Long userId) {
+        return ratingService.getUserRating(userId);
+    }
+}
@@ -1,13 +1,18 @@
 package com.dehradun.cabbooking.controller;
 
+import com.dehradun.cabbooking.dto.CompleteRideRequest;
 import com.dehradun.cabbooking.dto.CreateRideRequest;
+import com.dehradun.cabbooking.dto.SubmitRatingRequest;
+import com.dehradun.cabbooking.entity.Rating;
 import com.dehradun.cabbooking.entity.Ride;
+import com.dehradun.cabbooking.service.RatingService;
 import com.dehradun.cabbooking.service.RideService;
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,6 +21,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * REST controller exposing ride lifecycle endpoints.
@@ -25,14 +31,17 @@ import org.springframework.web.bind.annotation.RestController;
 public class RideController {
 
     private final RideService rideService;
+    private final RatingService ratingService;
 
     /**
-     * Builds the controller with the ride service dependency.
+     * Builds the controller with the ride and rating service dependencies.
      *
      * @param rideService business service orchestrating rides
+     * @param ratingService business service recording ride ratings
      */
-    public RideController(RideService rideService) {
+    public RideController(RideService rideService, RatingService ratingService) {
         this.rideService = rideService;
+        this.ratingService = ratingService;
     }
 
     /**
@@ -58,6 +67,43 @@ public class RideController {
         return rideService.getRideById(rideId);
     }
 
+    /**
+     * Streams the driver's position and the ride's status changes as server-sent events.
+     *
+     * @param rideId ride identifier
+     * @return stream of {@code location} and {@code status} events, ending once the ride closes
+     */
+    @GetMapping(value = "/{rideId}/track", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter trackRide(@PathVariable Integer rideId) {
+        return rideService.trackRide(rideId);
+    }
+
+    /**
+     * Completes a ride and records its payment; card, UPI and wallet payments are settled asynchronously.
+     *
+     * @param rideId ride identifier
+     * @param request final fare, distance and payment method
+     * @return completed ride
+     */
+    @PostMapping("/{rideId}/complete")
+    public Ride completeRide(@PathVariable Integer rideId, @Valid @RequestBody CompleteRideRequest request) {
+        return rideService.completeRide(rideId, request);
+    }
+
+    /**
+     * Rates a completed ride on behalf of the rider or the driver.
+     *
+     * @param rideId ride identifier
+     * @param request rating payload
+     * @return response containing the persisted rating
+     */
+    @PostMapping("/{rideId}/ratings")
+    public ResponseEntity<Rating> rateRide(@PathVariable Integer rideId,
+        @Valid @RequestBody SubmitRatingRequest request) {
+        Rating created = ratingService.submitRating(rideId, request);
+        return ResponseEntity.status(201).body(created);
+    }
+
     /**
      * Fetches rides that were created on the provided date.
      *
@@ -0,0 +1,107 @@
+package com.dehradun.cabbooking.controller;
+
+import com.dehradun.cabbooking.dto.RideSummary;
+import com.dehradun.cabbooking.service.ReactiveRideQueryService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller streaming ride query results without holding a request thread during database waits.
+ *
+ * <p>List endpoints emit newline-delimited JSON; each row is written as soon as it arrives and the next
+ * row is only requested once the previous one has been flushed to the client.</p>
+ */
+@RestController
+@RequestMapping("/api/rides/stream")
+public class RideStreamController {
+
+    private final ReactiveRideQueryService rideQueryService;
+
+    /**
+     * Builds the controller with the reactive query service dependency.
+     *
+     * @param rideQueryService non-blocking ride query service
+     */
+    public RideStreamController(ReactiveRideQueryService rideQueryService) {
+        this.rideQueryService = rideQueryService;
+    }
+
+    /**
+     * Fetches the details of a ride using the identifier.
+     *
+     * @param rideId ride identifier
+     * @return ride projection
+     */
+    @GetMapping("/{rideId}")
+    public Mono<RideSummary> getRide(@PathVariable Integer rideId) {
+        return rideQueryService.getRideById(rideId);
+    }
+
+    /**
+     * Streams rides that were created on the provided date.
+     *
+     * @param date date to filter by, defaults to today when not supplied
+     * @return rides created on the date
+     */
+    @GetMapping(value = "/by-date", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<RideSummary> getRidesByDate(@RequestParam(required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return rideQueryService.getRidesByCreationDate(date);
+    }
+
+    /**
+     * Streams rides that were completed during the week containing the provided date.
+     *
+     * @param date date to determine the week, defaults to current date when absent
+     * @return completed rides
+     */
+    @GetMapping(value = "/completed-week", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<RideSummary> getCompletedRidesForWeek(@RequestParam(required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return rideQueryService.getCompletedRidesForWeek(date);
+    }
+
+    /**
+     * Streams rides that are currently in progress for the current day.
+     *
+     * @return in-progress rides
+     */
+    @GetMapping(value = "/in-progress/today", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<RideSummary> getInProgressRidesForToday() {
+        return rideQueryService.getInProgressRidesForToday();
+    }
+
+    /**
+     * Streams rides whose distance exceeds ten kilometres or fare exceeds the supplied threshold.
+     *
+     * @param date date to determine the week, defaults to current date when absent
+     * @param minFare minimum fare threshold to filter high-value rides
+     * @return rides meeting the criteria
+     */
+    @GetMapping(value = "/high-value-week", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<RideSummary> getHighValueRides(@RequestParam(required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+        @RequestParam(required = false) BigDecimal minFare) {
+        return rideQueryService.getHighValueRidesForWeek(date, minFare);
+    }
+
+    /**
+     * Streams rides that used the supplied discount code.
+     *
+     * @param code discount code applied to rides
+     * @return rides utilising the discount
+     */
+    @GetMapping(value = "/discount/{code}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<RideSummary> getRidesByDiscountCode(@PathVariable String code) {
+        return rideQueryService.getRidesByDiscountCode(code);
+    }
+}
@@ -0,0 +1,54 @@
+package com.dehradun.cabbooking.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cluster membership as seen by one node.
+ */
+public class ClusterStatus {
+
+    private final String node;
+    private final List<String> liveNodes;
+    private final Map<String, String> cityOwners;
+
+    /**
+     * Builds the status.
+     *
+     * @param node       id of the answering node
+     * @param liveNodes  ids of the nodes on its hash ring
+     * @param cityOwners owning node id keyed by city code
+     */
+    public ClusterStatus(String node, List<String> liveNodes, Map<String, String> cityOwners) {
+        this.node = node;
+        this.liveNodes = liveNodes;
+        this.cityOwners = cityOwners;
+    }
+
+    /**
+     * Returns the answering node.
+     *
+     * @return node id
+     */
+    public String getNode() {
+        return node;
+    }
+
+    /**
+     * Returns the nodes on the answering node's ring.
+     *
+     * @return live node ids
+     */
+    public List<String> getLiveNodes() {
+        return liveNodes;
+    }
+
+    /**
+     * Returns the owner of every city.
+     *
+     * @return node id keyed by city code
+     */
+    public Map<String, String> getCityOwners() {
+        return cityOwners;
+    }
+}
@@ -0,0 +1,75 @@
+package com.dehradun.cabbooking.dto;
+
+import com.dehradun.cabbooking.enums.PaymentMethod;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+
+/**
+ * Request payload closing a ride and choosing how the rider pays.
+ */
+public class CompleteRideRequest {
+
+    @DecimalMin(value = "0.00", inclusive = false)
+    private BigDecimal fare;
+
+    @DecimalMin(value = "0.00", inclusive = false)
+    private BigDecimal distanceKm;
+
+    @NotNull
+    private PaymentMethod paymentMethod;
+
+    /**
+     * Returns the final fare, overriding the fare quoted at booking.
+     *
+     * @return fare amount, {@code null} to keep the quoted fare
+     */
+    public BigDecimal getFare() {
+        return fare;
+    }
+
+    /**
+     * Sets the final fare.
+     *
+     * @param fare fare amount
+     */
+    public void setFare(BigDecimal fare) {
+        this.fare = fare;
+    }
+
+    /**
+     * Returns the distance actually travelled.
+     *
+     * @return distance in kilometres, {@code null} to keep the booked distance
+     */
+    public BigDecimal getDistanceKm() {
+        return distanceKm;
+    }
+
+    /**
+     * Sets the distance actually travelled.
+     *
+     * @param distanceKm distance in kilometres
+     */
+    public void setDistanceKm(BigDecimal distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
+    /**
+     * Returns the payment instrument chosen by the rider.
+     *
+     * @return payment method
+     */
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    /**
+     * Sets the payment instrument chosen by the rider.
+     *
+     * @param paymentMethod payment method
+     */
+    public void setPaymentMethod(PaymentMethod paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+}
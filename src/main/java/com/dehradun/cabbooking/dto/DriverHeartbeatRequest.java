@@ -0,0 +1,64 @@
+package com.dehradun.cabbooking.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import java.math.BigDecimal;
+
+/**
+ * Optional payload of a driver heartbeat carrying the driver's current position.
+ */
+public class DriverHeartbeatRequest {
+
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private BigDecimal latitude;
+
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private BigDecimal longitude;
+
+    /**
+     * Returns the latitude reported by the driver's app.
+     *
+     * @return latitude in degrees, {@code null} when no position was sent
+     */
+    public BigDecimal getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * Sets the reported latitude.
+     *
+     * @param latitude latitude in degrees
+     */
+    public void setLatitude(BigDecimal latitude) {
+        this.latitude = latitude;
+    }
+
+    /**
+     * Returns the longitude reported by the driver's app.
+     *
+     * @return longitude in degrees, {@code null} when no position was sent
+     */
+    public BigDecimal getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * Sets the reported longitude.
+     *
+     * @param longitude longitude in degrees
+     */
+    public void setLongitude(BigDecimal longitude) {
+        this.longitude = longitude;
+    }
+
+    /**
+     * Tells whether the heartbeat carries a complete position.
+     *
+     * @return {@code true} when both coordinates are present
+     */
+    public boolean hasPosition() {
+        return latitude != null && longitude != null;
+    }
+}
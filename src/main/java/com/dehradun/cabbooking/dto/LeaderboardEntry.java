@@ -0,0 +1,77 @@
+package com.dehradun.cabbooking.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One ranked driver on a leaderboard.
+ */
+public class LeaderboardEntry {
+
+    private final int rank;
+    private final int driverId;
+    private final String driverName;
+    private final BigDecimal score;
+    private final long count;
+
+    /**
+     * Builds the entry.
+     *
+     * @param rank       position on the board, starting at one
+     * @param driverId   driver primary key
+     * @param driverName driver display name
+     * @param score      average rating or completed rides, depending on the board
+     * @param count      ratings received or rides completed behind the score
+     */
+    public LeaderboardEntry(int rank, int driverId, String driverName, BigDecimal score, long count) {
+        this.rank = rank;
+        this.driverId = driverId;
+        this.driverName = driverName;
+        this.score = score;
+        this.count = count;
+    }
+
+    /**
+     * Returns the position on the board.
+     *
+     * @return rank starting at one
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * Returns the ranked driver.
+     *
+     * @return driver primary key
+     */
+    public int getDriverId() {
+        return driverId;
+    }
+
+    /**
+     * Returns the driver display name.
+     *
+     * @return driver name
+     */
+    public String getDriverName() {
+        return driverName;
+    }
+
+    /**
+     * Returns the value the driver is ranked by.
+     *
+     * @return average rating or completed rides
+     */
+    public BigDecimal getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the sample behind the score.
+     *
+     * @return ratings received for rating boards, rides completed for completion boards
+     */
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,88 @@
+package com.dehradun.cabbooking.dto;
+
+/**
+ * Landmark closest to a queried point.
+ */
+public class NearestLandmark {
+
+    private final String name;
+    private final String locality;
+    private final double latitude;
+    private final double longitude;
+    private final long distanceMetres;
+    private final String description;
+
+    /**
+     * Builds the result.
+     *
+     * @param name           landmark name
+     * @param locality       road or neighbourhood of the landmark
+     * @param latitude       landmark latitude in degrees
+     * @param longitude      landmark longitude in degrees
+     * @param distanceMetres distance from the queried point, rounded to metres
+     * @param description    text shown to riders, {@code null} when the landmark is too far to be useful
+     */
+    public NearestLandmark(String name, String locality, double latitude, double longitude, long distanceMetres,
+        String description) {
+        this.name = name;
+        this.locality = locality;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.distanceMetres = distanceMetres;
+        this.description = description;
+    }
+
+    /**
+     * Returns the landmark name.
+     *
+     * @return landmark name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the road or neighbourhood of the landmark.
+     *
+     * @return locality name
+     */
+    public String getLocality() {
+        return locality;
+    }
+
+    /**
+     * Returns the landmark latitude.
+     *
+     * @return latitude in degrees
+     */
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * Returns the landmark longitude.
+     *
+     * @return longitude in degrees
+     */
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * Returns the distance from the queried point.
+     *
+     * @return distance in metres
+     */
+    public long getDistanceMetres() {
+        return distanceMetres;
+    }
+
+    /**
+     * Returns the description shown to riders, such as {@code near Clock Tower}.
+     *
+     * @return description, {@code null} when the landmark is too far away
+     */
+    public String getDescription() {
+        return description;
+    }
+}
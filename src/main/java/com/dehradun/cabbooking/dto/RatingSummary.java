@@ -0,0 +1,66 @@
+package com.dehradun.cabbooking.dto;
+
+import com.dehradun.cabbooking.enums.RatingActor;
+import java.math.BigDecimal;
+
+/**
+ * Running rating aggregate of a driver or user.
+ */
+public class RatingSummary {
+
+    private final RatingActor subjectType;
+    private final long subjectId;
+    private final BigDecimal average;
+    private final long count;
+
+    /**
+     * Builds the summary.
+     *
+     * @param subjectType kind of account rated
+     * @param subjectId   driver or user primary key
+     * @param average     average stars, {@code null} when not rated yet
+     * @param count       number of ratings received
+     */
+    public RatingSummary(RatingActor subjectType, long subjectId, BigDecimal average, long count) {
+        this.subjectType = subjectType;
+        this.subjectId = subjectId;
+        this.average = average;
+        this.count = count;
+    }
+
+    /**
+     * Returns the kind of account rated.
+     *
+     * @return driver or user
+     */
+    public RatingActor getSubjectType() {
+        return subjectType;
+    }
+
+    /**
+     * Returns the rated account.
+     *
+     * @return driver or user primary key
+     */
+    public long getSubjectId() {
+        return subjectId;
+    }
+
+    /**
+     * Returns the average stars.
+     *
+     * @return average with two decimals, {@code null} when not rated yet
+     */
+    public BigDecimal getAverage() {
+        return average;
+    }
+
+    /**
+     * Returns the number of ratings received.
+     *
+     * @return rating count
+     */
+    public long getCount() {
+        return count;
+    }
+}
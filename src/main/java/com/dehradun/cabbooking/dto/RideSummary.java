@@ -0,0 +1,165 @@
+package com.dehradun.cabbooking.dto;
+
+import com.dehradun.cabbooking.enums.RideStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only projection of a ride row returned by the streaming query endpoints.
+ */
+public class RideSummary {
+
+    private final Integer rideId;
+    private final Long userId;
+    private final Integer driverId;
+    private final Integer vehicleId;
+    private final Integer pickupLocationId;
+    private final Integer dropLocationId;
+    private final RideStatus status;
+    private final BigDecimal fare;
+    private final BigDecimal distanceKm;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final LocalDateTime createdAt;
+
+    /**
+     * Builds the projection from the ride columns.
+     *
+     * @param rideId           ride primary key
+     * @param userId           rider primary key
+     * @param driverId         assigned driver primary key
+     * @param vehicleId        assigned vehicle primary key
+     * @param pickupLocationId pickup location primary key
+     * @param dropLocationId   drop location primary key
+     * @param status           lifecycle status
+     * @param fare             fare charged for the ride
+     * @param distanceKm       distance travelled in kilometres
+     * @param startTime        ride start timestamp
+     * @param endTime          ride end timestamp
+     * @param createdAt        booking creation timestamp
+     */
+    public RideSummary(Integer rideId, Long userId, Integer driverId, Integer vehicleId, Integer pickupLocationId,
+        Integer dropLocationId, RideStatus status, BigDecimal fare, BigDecimal distanceKm, LocalDateTime startTime,
+        LocalDateTime endTime, LocalDateTime createdAt) {
+        this.rideId = rideId;
+        this.userId = userId;
+        this.driverId = driverId;
+        this.vehicleId = vehicleId;
+        this.pickupLocationId = pickupLocationId;
+        this.dropLocationId = dropLocationId;
+        this.status = status;
+        this.fare = fare;
+        this.distanceKm = distanceKm;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Returns the ride identifier.
+     *
+     * @return ride primary key
+     */
+    public Integer getRideId() {
+        return rideId;
+    }
+
+    /**
+     * Returns the rider identifier.
+     *
+     * @return rider primary key
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the assigned driver identifier.
+     *
+     * @return driver primary key, {@code null} when unassigned
+     */
+    public Integer getDriverId() {
+        return driverId;
+    }
+
+    /**
+     * Returns the assigned vehicle identifier.
+     *
+     * @return vehicle primary key, {@code null} when unassigned
+     */
+    public Integer getVehicleId() {
+        return vehicleId;
+    }
+
+    /**
+     * Returns the pickup location identifier.
+     *
+     * @return pickup location primary key
+     */
+    public Integer getPickupLocationId() {
+        return pickupLocationId;
+    }
+
+    /**
+     * Returns the drop location identifier.
+     *
+     * @return drop location primary key
+     */
+    public Integer getDropLocationId() {
+        return dropLocationId;
+    }
+
+    /**
+     * Returns the lifecycle status.
+     *
+     * @return ride status
+     */
+    public RideStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the fare charged.
+     *
+     * @return fare amount in rupees
+     */
+    public BigDecimal getFare() {
+        return fare;
+    }
+
+    /**
+     * Returns the distance travelled.
+     *
+     * @return distance in kilometres
+     */
+    public BigDecimal getDistanceKm() {
+        return distanceKm;
+    }
+
+    /**
+     * Returns the ride start timestamp.
+     *
+     * @return start timestamp
+     */
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Returns the ride end timestamp.
+     *
+     * @return end timestamp
+     */
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Returns the booking creation timestamp.
+     *
+     * @return creation timestamp
+     */
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,118 @@
+package com.dehradun.cabbooking.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+
+/**
+ * Request payload creating or replacing a discount.
+ */
+public class SaveDiscountRequest {
+
+    @Size(max = 255)
+    private String description;
+
+    @NotNull
+    @Min(1)
+    @Max(100)
+    private Integer percentage;
+
+    private LocalDate validFrom;
+
+    private LocalDate validTo;
+
+    @Size(max = 20)
+    private String city;
+
+    /**
+     * Provides the description shown to riders.
+     *
+     * @return description text
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Sets the description shown to riders.
+     *
+     * @param description description text
+     */
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Provides the percentage taken off the fare.
+     *
+     * @return percentage from one to one hundred
+     */
+    public Integer getPercentage() {
+        return percentage;
+    }
+
+    /**
+     * Sets the percentage taken off the fare.
+     *
+     * @param percentage percentage from one to one hundred
+     */
+    public void setPercentage(Integer percentage) {
+        this.percentage = percentage;
+    }
+
+    /**
+     * Provides the first day the discount applies.
+     *
+     * @return first valid day, {@code null} when open-ended
+     */
+    public LocalDate getValidFrom() {
+        return validFrom;
+    }
+
+    /**
+     * Sets the first day the discount applies.
+     *
+     * @param validFrom first valid day, {@code null} when open-ended
+     */
+    public void setValidFrom(LocalDate validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    /**
+     * Provides the last day the discount applies.
+     *
+     * @return last valid day, {@code null} when open-ended
+     */
+    public LocalDate getValidTo() {
+        return validTo;
+    }
+
+    /**
+     * Sets the last day the discount applies.
+     *
+     * @param validTo last valid day, {@code null} when open-ended
+     */
+    public void setValidTo(LocalDate validTo) {
+        this.validTo = validTo;
+    }
+
+    /**
+     * Provides the city the discount is limited to.
+     *
+     * @return city code, {@code null} for every city
+     */
+    public String getCity() {
+        return city;
+    }
+
+    /**
+     * Sets the city the discount is limited to.
+     *
+     * @param city city code, {@code null} for every city
+     */
+    public void setCity(String city) {
+        this.city = city;
+    }
+}
@@ -0,0 +1,78 @@
+package com.dehradun.cabbooking.dto;
+
+import com.dehradun.cabbooking.enums.RatingActor;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Request payload for a rider or driver rating a completed ride.
+ */
+public class SubmitRatingRequest {
+
+    @NotNull
+    private RatingActor givenBy;
+
+    @NotNull
+    @Min(1)
+    @Max(5)
+    private Integer rating;
+
+    @Size(max = 500)
+    private String comments;
+
+    /**
+     * Provides the participant submitting the rating.
+     *
+     * @return rider or driver
+     */
+    public RatingActor getGivenBy() {
+        return givenBy;
+    }
+
+    /**
+     * Sets the participant submitting the rating.
+     *
+     * @param givenBy rider or driver
+     */
+    public void setGivenBy(RatingActor givenBy) {
+        this.givenBy = givenBy;
+    }
+
+    /**
+     * Provides the stars given.
+     *
+     * @return rating from one to five
+     */
+    public Integer getRating() {
+        return rating;
+    }
+
+    /**
+     * Sets the stars given.
+     *
+     * @param rating rating from one to five
+     */
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+
+    /**
+     * Provides optional comments.
+     *
+     * @return comment text
+     */
+    public String getComments() {
+        return comments;
+    }
+
+    /**
+     * Sets optional comments.
+     *
+     * @param comments comment text
+     */
+    public void setComments(String comments) {
+        this.comments = comments;
+    }
+}
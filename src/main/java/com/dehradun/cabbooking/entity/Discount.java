@@ -40,6 +40,9 @@ public class Discount {
     @Column(name = "valid_to")
     private LocalDate validTo;
 
+    @Column(name = "city", length = 20)
+    private String city;
+
     @Column(name = "deleted", nullable = false)
     private boolean deleted = false;
 
@@ -158,6 +161,34 @@ public class Discount {
         this.validTo = validTo;
     }
 
+    /**
+     * Provides the code of the city the promotion is limited to.
+     *
+     * @return city code, or {@code null} when the promotion applies in every city
+     */
+    public String getCity() {
+        return city;
+    }
+
+    /**
+     * Limits the promotion to one city.
+     *
+     * @param city city code, or {@code null} to offer the promotion in every city
+     */
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    /**
+     * Tells whether the promotion can be redeemed on rides in a city.
+     *
+     * @param cityCode code of the ride's city
+     * @return {@code true} when the promotion is not limited or is limited to that city
+     */
+    public boolean appliesIn(String cityCode) {
+        return city == null || city.equals(cityCode);
+    }
+
     /**
      * Indicates whether the discount has been soft deleted.
      *
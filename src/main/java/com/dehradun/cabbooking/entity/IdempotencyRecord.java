@@ -0,0 +1,164 @@
+package com.dehradun.cabbooking.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Persists the outcome of a request sent with an {@code Idempotency-Key} header so retries reaching any
+ * instance receive the original response.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 320)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "response_body", length = 65536)
+    private byte[] responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Returns the key scoped to the endpoint it was sent to.
+     *
+     * @return method, path and client supplied key
+     */
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    /**
+     * Sets the key scoped to the endpoint it was sent to.
+     *
+     * @param idempotencyKey method, path and client supplied key
+     */
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    /**
+     * Returns the digest of the request body first sent with the key.
+     *
+     * @return request body digest
+     */
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    /**
+     * Sets the digest of the request body first sent with the key.
+     *
+     * @param requestHash request body digest
+     */
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    /**
+     * Returns the HTTP status of the original response.
+     *
+     * @return status code, {@code null} while the original request is still being processed
+     */
+    public Integer getResponseStatus() {
+        return responseStatus;
+    }
+
+    /**
+     * Sets the HTTP status of the original response.
+     *
+     * @param responseStatus status code
+     */
+    public void setResponseStatus(Integer responseStatus) {
+        this.responseStatus = responseStatus;
+    }
+
+    /**
+     * Returns the content type of the original response.
+     *
+     * @return media type, may be {@code null}
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Sets the content type of the original response.
+     *
+     * @param contentType media type
+     */
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    /**
+     * Returns the body of the original response.
+     *
+     * @return response bytes
+     */
+    public byte[] getResponseBody() {
+        return responseBody;
+    }
+
+    /**
+     * Sets the body of the original response.
+     *
+     * @param responseBody response bytes
+     */
+    public void setResponseBody(byte[] responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    /**
+     * Returns when the key was first used.
+     *
+     * @return creation timestamp
+     */
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Sets when the key was first used.
+     *
+     * @param createdAt creation timestamp
+     */
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Returns when the key may be reused for a new request.
+     *
+     * @return expiry timestamp
+     */
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Sets when the key may be reused for a new request.
+     *
+     * @param expiresAt expiry timestamp
+     */
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -13,13 +13,18 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
 
 /**
  * Stores feedback shared between riders and drivers.
+ *
+ * <p>Each side rates a ride at most once, which the unique constraint on {@code (ride_id, given_by)}
+ * enforces across concurrent submissions.</p>
  */
 @Entity
-@Table(name = "ratings")
+@Table(name = "ratings", uniqueConstraints = @UniqueConstraint(
+    name = "ratings_ride_given_by", columnNames = {"ride_id", "given_by"}))
 public class Rating {
 
     @Id
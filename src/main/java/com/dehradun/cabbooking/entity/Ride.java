@@ -78,6 +78,12 @@ public class Ride {
     @Column(name = "end_time")
     private LocalDateTime endTime;
 
+    @Column(name = "city", length = 20)
+    private String city;
+
+    @Column(name = "pickup_zone", length = 40)
+    private String pickupZone;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -300,6 +306,42 @@ public class Ride {
         this.endTime = endTime;
     }
 
+    /**
+     * Provides the code of the city the ride starts in.
+     *
+     * @return city code such as {@code DEHRADUN}, {@code null} for rides booked before cities were tracked
+     */
+    public String getCity() {
+        return city;
+    }
+
+    /**
+     * Sets the city the ride starts in.
+     *
+     * @param city city code
+     */
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    /**
+     * Provides the geofence zone the ride starts in.
+     *
+     * @return zone name such as {@code AIRPORT}, {@code null} outside every zone
+     */
+    public String getPickupZone() {
+        return pickupZone;
+    }
+
+    /**
+     * Sets the geofence zone the ride starts in.
+     *
+     * @param pickupZone zone name, {@code null} outside every zone
+     */
+    public void setPickupZone(String pickupZone) {
+        this.pickupZone = pickupZone;
+    }
+
     /**
      * Indicates whether the ride has been soft deleted.
      *
@@ -0,0 +1,9 @@
+package com.dehradun.cabbooking.enums;
+
+/**
+ * Enumerates the rankings published on the driver leaderboards.
+ */
+public enum LeaderboardMetric {
+    RATING,
+    COMPLETED_RIDES
+}
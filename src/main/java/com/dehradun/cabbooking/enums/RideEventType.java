@@ -0,0 +1,47 @@
+package com.dehradun.cabbooking.enums;
+
+/**
+ * Enumerates the ride lifecycle events recorded in the local event journal.
+ *
+ * <p>Each type keeps a fixed code in the journal records, so types can be added or removed without
+ * breaking segments written earlier.</p>
+ */
+public enum RideEventType {
+    CREATED(0),
+    COMPLETED(3),
+    CANCELLED(4),
+    DISCOUNT_APPLIED(5);
+
+    private static final RideEventType[] BY_CODE = new RideEventType[6];
+
+    static {
+        for (RideEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final int code;
+
+    RideEventType(int code) {
+        this.code = code;
+    }
+
+    /**
+     * Returns the code stored in journal records.
+     *
+     * @return journal code
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Resolves a journal code.
+     *
+     * @param code code read from a record
+     * @return event type, {@code null} when no type has the code
+     */
+    public static RideEventType fromCode(int code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
@@ -0,0 +1,352 @@
+package com.dehradun.cabbooking.expiry;
+
+import com.dehradun.cabbooking.city.CityOwnership;
+import com.dehradun.cabbooking.city.CityOwnershipChangedEvent;
+import com.dehradun.cabbooking.city.CityPartitions;
+import com.dehradun.cabbooking.city.CityRegistry;
+import com.dehradun.cabbooking.enums.RideEventType;
+import com.dehradun.cabbooking.journal.RideEvent;
+import com.dehradun.cabbooking.timing.HashedTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cancels rides that stay {@code REQUESTED} for longer than the matching timeout.
+ *
+ * <p>Every committed {@code CREATED} ride event puts a timer into a {@link HashedTimingWheel}, and any later
+ * lifecycle event of the ride removes it. Each tick visits a single slot, so the cost of a tick does not
+ * grow with the number of waiting rides and nothing scans the {@code rides} table. Expired rides are
+ * cancelled in one JDBC batch per flush interval. The update only touches rows that are still
+ * {@code REQUESTED}, so a ride accepted or completed meanwhile is left alone. A {@code CANCELLED} ride
+ * event is published for every ride the batch actually cancelled.</p>
+ *
+ * <p>The waiting rides are partitioned by the city they start in. Each city has its own lock, map and
+ * timing wheel, so bookings and ticks in one city never wait for another, and the {@code rides.unmatched}
+ * gauge is reported per city. Later events of a ride find its partition through a lock-free index, so the
+ * timer is always removed from the partition that holds it.</p>
+ *
+ * <p>Once the application is ready, the waiting rides of the cities owned here are loaded from the database
+ * with one query and scheduled at their creation time plus the timeout. Rides already past it are cancelled
+ * on the next flush. In cluster mode the same happens for every city this node takes over, and the timers
+ * of a city it hands off are dropped.</p>
+ */
+public class RideExpiryScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RideExpiryScheduler.class);
+    private static final String SELECT_REQUESTED =
+        "select ride_id, user_id, driver_id, created_at, city from rides where status = 'REQUESTED' and deleted = false";
+    private static final String CANCEL_REQUESTED =
+        "update rides set status = 'CANCELLED' where ride_id = ? and status = 'REQUESTED'";
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long tickNanos;
+    private final long timeoutTicks;
+    private final long originNanos = System.nanoTime();
+    private final CityPartitions<Partition> partitions;
+    private final CityOwnership ownership;
+    private final Map<Integer, Partition> partitionOfRide = new ConcurrentHashMap<>();
+    private final Map<Integer, RideTimer> pendingCancel = new ConcurrentHashMap<>();
+    private final Counter expired;
+
+    /**
+     * Creates the scheduler.
+     *
+     * @param dataSource     primary pool receiving the cancellations
+     * @param timeout        time a ride may wait for a driver
+     * @param tick           resolution of the timing wheel
+     * @param wheelSize      slots of each city's timing wheel, raised to cover the timeout in one turn
+     * @param cities         cities whose waiting rides are partitioned
+     * @param ownership      cities whose waiting rides are loaded here
+     * @param eventPublisher publisher of the {@code CANCELLED} ride events
+     * @param meterRegistry  registry receiving the expiry metrics
+     */
+    public RideExpiryScheduler(DataSource dataSource, Duration timeout, Duration tick, int wheelSize,
+        CityRegistry cities, CityOwnership ownership, ApplicationEventPublisher eventPublisher,
+        MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.eventPublisher = eventPublisher;
+        this.tickNanos = Math.max(1L, tick.toNanos());
+        this.timeoutTicks = Math.max(1L, (timeout.toNanos() + tickNanos - 1) / tickNanos);
+        int slots = (int) Math.min(1 << 20, Math.max(wheelSize, timeoutTicks + 1));
+        this.partitions = new CityPartitions<>(cities, city -> new Partition(city, slots));
+        this.ownership = ownership;
+        this.expired = Counter.builder("rides.expired")
+            .description("Requested rides cancelled after waiting too long for a driver")
+            .register(meterRegistry);
+        for (Partition partition : partitions.asMap().values()) {
+            Gauge.builder("rides.unmatched", partition.waiting, Map::size)
+                .description("Requested rides waiting for a driver")
+                .tag("city", partition.city)
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Starts the timer of a new ride and stops it once the ride moves on.
+     *
+     * @param event ride lifecycle event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRideEvent(RideEvent event) {
+        if (event.getType() == RideEventType.DISCOUNT_APPLIED) {
+            return;
+        }
+        if (event.getType() == RideEventType.CREATED) {
+            Partition partition = partitions.get(event.getCity());
+            RideTimer timer = new RideTimer(event.getRideId(), event.getUserId(), event.getDriverId(),
+                partition.city);
+            partitionOfRide.put(event.getRideId(), partition);
+            partition.schedule(timer, currentTick() + timeoutTicks);
+            return;
+        }
+        Partition partition = partitionOfRide.remove(event.getRideId());
+        if (partition != null) {
+            partition.cancel(event.getRideId());
+        }
+    }
+
+    /**
+     * Returns how many rides are waiting for a driver.
+     *
+     * @return rides with a running timer
+     */
+    public int getWaitingCount() {
+        return partitionOfRide.size();
+    }
+
+    /**
+     * Advances every city's timing wheel to the current time, queueing expired rides for the next flush.
+     */
+    @Scheduled(fixedRateString = "${ride-expiry.tick-ms:1000}")
+    public void advance() {
+        long now = currentTick();
+        for (Partition partition : partitions.asMap().values()) {
+            partition.advance(now);
+        }
+    }
+
+    /**
+     * Cancels the rides that expired since the last flush in batches.
+     *
+     * <p>Rides whose update fails are kept pending for the next flush.</p>
+     */
+    @Scheduled(fixedDelayString = "${ride-expiry.flush-interval-ms:2000}")
+    public void flushCancellations() {
+        if (pendingCancel.isEmpty()) {
+            return;
+        }
+        List<RideTimer> batch = new ArrayList<>(Math.min(pendingCancel.size(), FLUSH_BATCH_SIZE));
+        Iterator<RideTimer> pending = pendingCancel.values().iterator();
+        while (pending.hasNext()) {
+            batch.add(pending.next());
+            pending.remove();
+            if (batch.size() == FLUSH_BATCH_SIZE) {
+                writeBatch(batch);
+                batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    /**
+     * Schedules every ride stored as {@code REQUESTED} in the cities owned here once the application is
+     * ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRequestedRides() {
+        int loaded = loadRequestedRides(ownership::owns);
+        LOGGER.info("Scheduled expiry of {} requested rides", loaded);
+    }
+
+    /**
+     * Loads the waiting rides of the cities this node took over and drops those of the cities it handed off.
+     *
+     * <p>Dropped rides are not cancelled; their new owner schedules them from the database.</p>
+     *
+     * @param event cities acquired and released
+     */
+    @EventListener
+    public void onOwnershipChanged(CityOwnershipChangedEvent event) {
+        for (String city : event.getReleased()) {
+            Partition partition = partitions.asMap().get(city);
+            if (partition != null) {
+                partition.clear();
+            }
+        }
+        if (!event.getAcquired().isEmpty()) {
+            int loaded = loadRequestedRides(city -> event.getAcquired().contains(city));
+            LOGGER.info("Scheduled expiry of {} requested rides in {}", loaded, event.getAcquired());
+        }
+    }
+
+    /**
+     * Flushes outstanding cancellations on shutdown.
+     */
+    public void close() {
+        flushCancellations();
+    }
+
+    private int loadRequestedRides(Predicate<String> cities) {
+        long nowMillis = System.currentTimeMillis();
+        long nowTick = currentTick();
+        int[] loaded = new int[1];
+        jdbcTemplate.query(SELECT_REQUESTED, rs -> {
+            Partition partition = partitions.get(rs.getString(5));
+            if (!cities.test(partition.city)) {
+                return;
+            }
+            int rideId = rs.getInt(1);
+            Timestamp createdAt = rs.getTimestamp(4);
+            long waitedTicks = createdAt == null ? 0L
+                : Math.max(0L, nowMillis - createdAt.getTime()) * 1_000_000L / tickNanos;
+            if (partitionOfRide.putIfAbsent(rideId, partition) == null) {
+                partition.schedule(new RideTimer(rideId, rs.getLong(2), rs.getInt(3), partition.city),
+                    nowTick + timeoutTicks - waitedTicks);
+            }
+            loaded[0]++;
+        });
+        return loaded[0];
+    }
+
+    private long currentTick() {
+        return (System.nanoTime() - originNanos) / tickNanos;
+    }
+
+    private void writeBatch(List<RideTimer> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (RideTimer timer : batch) {
+            rows.add(new Object[] {timer.getId()});
+        }
+        int[] updated;
+        try {
+            updated = jdbcTemplate.batchUpdate(CANCEL_REQUESTED, rows);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Unable to cancel {} expired rides, retrying on the next flush", batch.size(), ex);
+            for (RideTimer timer : batch) {
+                pendingCancel.put(timer.getId(), timer);
+            }
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < batch.size(); i++) {
+            if (updated[i] > 0 || updated[i] == Statement.SUCCESS_NO_INFO) {
+                RideTimer timer = batch.get(i);
+                expired.increment();
+                eventPublisher.publishEvent(new RideEvent(RideEventType.CANCELLED, timer.getId(), timer.userId,
+                    timer.driverId, 0, 0L, now, timer.city));
+            }
+        }
+    }
+
+    /**
+     * Waiting rides of one city.
+     */
+    private final class Partition {
+
+        private final String city;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Integer, RideTimer> waiting = new HashMap<>();
+        private final HashedTimingWheel wheel;
+
+        private Partition(String city, int slots) {
+            this.city = city;
+            this.wheel = new HashedTimingWheel(slots, 0L);
+        }
+
+        private void schedule(RideTimer timer, long deadlineTick) {
+            lock.lock();
+            try {
+                RideTimer previous = waiting.put(timer.getId(), timer);
+                if (previous != null) {
+                    wheel.cancel(previous);
+                }
+                wheel.schedule(timer, deadlineTick);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void cancel(int rideId) {
+            lock.lock();
+            try {
+                RideTimer timer = waiting.remove(rideId);
+                if (timer != null) {
+                    wheel.cancel(timer);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void clear() {
+            lock.lock();
+            try {
+                for (RideTimer timer : waiting.values()) {
+                    wheel.cancel(timer);
+                    partitionOfRide.remove(timer.getId(), this);
+                }
+                waiting.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void advance(long nowTick) {
+            lock.lock();
+            try {
+                wheel.advance(nowTick, rideId -> {
+                    RideTimer timer = waiting.remove(rideId);
+                    if (timer != null) {
+                        partitionOfRide.remove(rideId, this);
+                        pendingCancel.put(rideId, timer);
+                    }
+                });
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Timer of one waiting ride, carrying what the cancellation event needs.
+     */
+    private static final class RideTimer extends HashedTimingWheel.Timer {
+
+        private final long userId;
+        private final int driverId;
+        private final String city;
+
+        private RideTimer(int rideId, long userId, int driverId, String city) {
+            super(rideId);
+            this.userId = userId;
+            this.driverId = driverId;
+            this.city = city;
+        }
+    }
+}
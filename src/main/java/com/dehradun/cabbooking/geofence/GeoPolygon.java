@@ -0,0 +1,110 @@
+package com.dehradun.cabbooking.geofence;
+
+import java.util.List;
+
+/**
+ * Named polygon in latitude and longitude degrees, optionally with holes.
+ *
+ * <p>All rings are kept as flat coordinate arrays. {@link #contains} casts a ray across every edge of every
+ * ring and applies the even-odd rule, so a point inside a hole counts as outside without treating holes
+ * separately.</p>
+ */
+public final class GeoPolygon {
+
+    private final String name;
+    private final double[][] latitudes;
+    private final double[][] longitudes;
+    private final double minLatitude;
+    private final double maxLatitude;
+    private final double minLongitude;
+    private final double maxLongitude;
+
+    /**
+     * Creates a polygon from its rings.
+     *
+     * @param name  name of the area
+     * @param rings rings as {@code [latitude, longitude]} pairs, the outer ring first; closing the rings is
+     *              optional
+     * @throws IllegalArgumentException when a ring has fewer than three points
+     */
+    public GeoPolygon(String name, List<double[][]> rings) {
+        this.name = name;
+        this.latitudes = new double[rings.size()][];
+        this.longitudes = new double[rings.size()][];
+        double minLat = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY;
+        double minLon = Double.POSITIVE_INFINITY;
+        double maxLon = Double.NEGATIVE_INFINITY;
+        for (int r = 0; r < rings.size(); r++) {
+            double[][] ring = rings.get(r);
+            if (ring.length < 3) {
+                throw new IllegalArgumentException("Ring of " + name + " has fewer than three points");
+            }
+            latitudes[r] = new double[ring.length];
+            longitudes[r] = new double[ring.length];
+            for (int i = 0; i < ring.length; i++) {
+                latitudes[r][i] = ring[i][0];
+                longitudes[r][i] = ring[i][1];
+                minLat = Math.min(minLat, ring[i][0]);
+                maxLat = Math.max(maxLat, ring[i][0]);
+                minLon = Math.min(minLon, ring[i][1]);
+                maxLon = Math.max(maxLon, ring[i][1]);
+            }
+        }
+        this.minLatitude = minLat;
+        this.maxLatitude = maxLat;
+        this.minLongitude = minLon;
+        this.maxLongitude = maxLon;
+    }
+
+    /**
+     * Returns the name of the area.
+     *
+     * @return area name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Tells whether a point lies inside the polygon.
+     *
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @return {@code true} when the point is inside the outer ring and outside every hole
+     */
+    public boolean contains(double latitude, double longitude) {
+        if (latitude < minLatitude || latitude > maxLatitude || longitude < minLongitude
+            || longitude > maxLongitude) {
+            return false;
+        }
+        boolean inside = false;
+        for (int r = 0; r < latitudes.length; r++) {
+            double[] lats = latitudes[r];
+            double[] lons = longitudes[r];
+            for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+                if ((lats[i] > latitude) != (lats[j] > latitude)
+                    && longitude < (lons[j] - lons[i]) * (latitude - lats[i]) / (lats[j] - lats[i]) + lons[i]) {
+                    inside = !inside;
+                }
+            }
+        }
+        return inside;
+    }
+
+    double getMinLatitude() {
+        return minLatitude;
+    }
+
+    double getMaxLatitude() {
+        return maxLatitude;
+    }
+
+    double getMinLongitude() {
+        return minLongitude;
+    }
+
+    double getMaxLongitude() {
+        return maxLongitude;
+    }
+}
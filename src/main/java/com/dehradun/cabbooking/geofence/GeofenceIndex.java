@@ -0,0 +1,246 @@
+package com.dehradun.cabbooking.geofence;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Answers which city's service area a point lies in and which zone it falls in.
+ *
+ * <p>Polygons are bucketed into a uniform grid laid over their combined bounding box. Each cell lists the
+ * polygons whose bounding box overlaps it, so a lookup computes one cell index and runs the point-in-polygon
+ * test against the few polygons listed there. Points outside the grid are rejected without any test. The
+ * index is immutable once built and safe to share between threads.</p>
+ *
+ * <p>Areas are read from a GeoJSON {@code FeatureCollection} of {@code Polygon} and {@code MultiPolygon}
+ * features. Each feature carries a {@code name} and a {@code kind} property, either {@code service-area}
+ * or {@code zone}. A service area is named by the code of the city it covers. When areas overlap, the one
+ * listed first wins.</p>
+ */
+public final class GeofenceIndex {
+
+    private static final GeoPolygon[] NONE = new GeoPolygon[0];
+
+    private final List<GeoPolygon> serviceAreas;
+    private final List<GeoPolygon> zones;
+    private final double cellDegrees;
+    private final double originLatitude;
+    private final double originLongitude;
+    private final int rows;
+    private final int columns;
+    private final GeoPolygon[][] serviceCells;
+    private final GeoPolygon[][] zoneCells;
+
+    /**
+     * Builds the index.
+     *
+     * @param serviceAreas polygons riders may be picked up in, named by city code
+     * @param zones        named zones used to tag rides, in priority order
+     * @param cellDegrees  edge of a grid cell in degrees
+     * @throws IllegalArgumentException when no service area is given or the cell size is not positive
+     */
+    public GeofenceIndex(List<GeoPolygon> serviceAreas, List<GeoPolygon> zones, double cellDegrees) {
+        if (serviceAreas.isEmpty()) {
+            throw new IllegalArgumentException("At least one service area is required");
+        }
+        if (!(cellDegrees > 0)) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.serviceAreas = List.copyOf(serviceAreas);
+        this.zones = List.copyOf(zones);
+        this.cellDegrees = cellDegrees;
+        double minLat = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY;
+        double minLon = Double.POSITIVE_INFINITY;
+        double maxLon = Double.NEGATIVE_INFINITY;
+        for (GeoPolygon polygon : this.serviceAreas) {
+            minLat = Math.min(minLat, polygon.getMinLatitude());
+            maxLat = Math.max(maxLat, polygon.getMaxLatitude());
+            minLon = Math.min(minLon, polygon.getMinLongitude());
+            maxLon = Math.max(maxLon, polygon.getMaxLongitude());
+        }
+        for (GeoPolygon polygon : this.zones) {
+            minLat = Math.min(minLat, polygon.getMinLatitude());
+            maxLat = Math.max(maxLat, polygon.getMaxLatitude());
+            minLon = Math.min(minLon, polygon.getMinLongitude());
+            maxLon = Math.max(maxLon, polygon.getMaxLongitude());
+        }
+        this.originLatitude = minLat;
+        this.originLongitude = minLon;
+        this.rows = (int) Math.floor((maxLat - minLat) / cellDegrees) + 1;
+        this.columns = (int) Math.floor((maxLon - minLon) / cellDegrees) + 1;
+        if ((long) rows * columns > 4_000_000L) {
+            throw new IllegalArgumentException("Cell size " + cellDegrees + " yields too many grid cells");
+        }
+        this.serviceCells = bucket(this.serviceAreas);
+        this.zoneCells = bucket(this.zones);
+    }
+
+    /**
+     * Reads the areas from a GeoJSON feature collection.
+     *
+     * @param input       GeoJSON document, closed by the caller
+     * @param cellDegrees edge of a grid cell in degrees
+     * @return index over the areas of the document
+     * @throws IOException              when the document cannot be read
+     * @throws IllegalArgumentException when a feature has an unknown kind or geometry
+     */
+    public static GeofenceIndex fromGeoJson(InputStream input, double cellDegrees) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(input);
+        List<GeoPolygon> serviceAreas = new ArrayList<>();
+        List<GeoPolygon> zones = new ArrayList<>();
+        for (JsonNode feature : root.path("features")) {
+            String name = feature.path("properties").path("name").asText();
+            String kind = feature.path("properties").path("kind").asText();
+            List<GeoPolygon> target = switch (kind) {
+                case "service-area" -> serviceAreas;
+                case "zone" -> zones;
+                default -> throw new IllegalArgumentException("Unknown kind '" + kind + "' of area " + name);
+            };
+            JsonNode geometry = feature.path("geometry");
+            JsonNode coordinates = geometry.path("coordinates");
+            switch (geometry.path("type").asText()) {
+                case "Polygon" -> target.add(new GeoPolygon(name, rings(coordinates)));
+                case "MultiPolygon" -> {
+                    for (JsonNode polygon : coordinates) {
+                        target.add(new GeoPolygon(name, rings(polygon)));
+                    }
+                }
+                default -> throw new IllegalArgumentException("Area " + name + " is not a polygon");
+            }
+        }
+        return new GeofenceIndex(serviceAreas, zones, cellDegrees);
+    }
+
+    /**
+     * Tells whether a point lies in any service area.
+     *
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @return {@code true} when rides may start at the point
+     */
+    public boolean isServiced(double latitude, double longitude) {
+        return cityOf(latitude, longitude) != null;
+    }
+
+    /**
+     * Returns the city whose service area contains a point.
+     *
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @return city code, {@code null} outside every service area
+     */
+    public String cityOf(double latitude, double longitude) {
+        for (GeoPolygon polygon : candidates(serviceCells, latitude, longitude)) {
+            if (polygon.contains(latitude, longitude)) {
+                return polygon.getName();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the codes of the cities that have a service area.
+     *
+     * @return distinct city codes in file order
+     */
+    public Set<String> getCityCodes() {
+        Set<String> codes = new LinkedHashSet<>();
+        for (GeoPolygon polygon : serviceAreas) {
+            codes.add(polygon.getName());
+        }
+        return codes;
+    }
+
+    /**
+     * Returns the zone a point falls in.
+     *
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @return name of the first zone containing the point, {@code null} when there is none
+     */
+    public String zoneOf(double latitude, double longitude) {
+        for (GeoPolygon polygon : candidates(zoneCells, latitude, longitude)) {
+            if (polygon.contains(latitude, longitude)) {
+                return polygon.getName();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns how many service area polygons are indexed.
+     *
+     * @return service area polygons
+     */
+    public int getServiceAreaCount() {
+        return serviceAreas.size();
+    }
+
+    /**
+     * Returns how many zone polygons are indexed.
+     *
+     * @return zone polygons
+     */
+    public int getZoneCount() {
+        return zones.size();
+    }
+
+    private GeoPolygon[] candidates(GeoPolygon[][] cells, double latitude, double longitude) {
+        double row = Math.floor((latitude - originLatitude) / cellDegrees);
+        double column = Math.floor((longitude - originLongitude) / cellDegrees);
+        if (!(row >= 0 && row < rows && column >= 0 && column < columns)) {
+            return NONE;
+        }
+        return cells[(int) row * columns + (int) column];
+    }
+
+    private GeoPolygon[][] bucket(List<GeoPolygon> polygons) {
+        List<List<GeoPolygon>> lists = new ArrayList<>(rows * columns);
+        for (int i = 0; i < rows * columns; i++) {
+            lists.add(null);
+        }
+        for (GeoPolygon polygon : polygons) {
+            int firstRow = cell(polygon.getMinLatitude(), originLatitude, rows);
+            int lastRow = cell(polygon.getMaxLatitude(), originLatitude, rows);
+            int firstColumn = cell(polygon.getMinLongitude(), originLongitude, columns);
+            int lastColumn = cell(polygon.getMaxLongitude(), originLongitude, columns);
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    int index = row * columns + column;
+                    if (lists.get(index) == null) {
+                        lists.set(index, new ArrayList<>(2));
+                    }
+                    lists.get(index).add(polygon);
+                }
+            }
+        }
+        GeoPolygon[][] cells = new GeoPolygon[rows * columns][];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = lists.get(i) == null ? NONE : lists.get(i).toArray(NONE);
+        }
+        return cells;
+    }
+
+    private int cell(double degrees, double origin, int count) {
+        return Math.min(count - 1, (int) Math.floor((degrees - origin) / cellDegrees));
+    }
+
+    private static List<double[][]> rings(JsonNode polygon) {
+        List<double[][]> rings = new ArrayList<>(polygon.size());
+        for (JsonNode ring : polygon) {
+            double[][] points = new double[ring.size()][];
+            for (int i = 0; i < ring.size(); i++) {
+                // GeoJSON positions are longitude first.
+                points[i] = new double[] {ring.get(i).get(1).asDouble(), ring.get(i).get(0).asDouble()};
+            }
+            rings.add(points);
+        }
+        return rings;
+    }
+}
@@ -0,0 +1,149 @@
+package com.dehradun.cabbooking.invalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Collects published keys and sends them in batches every {@code invalidation.flush-interval-ms}.
+ *
+ * <p>A key published again before its batch leaves is coalesced with the pending one, so a burst of writes
+ * to one entity costs one invalidation. Each key keeps the wall-clock time of its first change. On arrival,
+ * the time from that change until the caches have been told is recorded as
+ * {@code invalidation.staleness{origin=local|remote}}, the window in which a cache could serve the old
+ * value. Subclasses only move batches between instances.</p>
+ */
+public abstract class BatchingInvalidationBus implements InvalidationBus {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchingInvalidationBus.class);
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter published;
+    private final Counter coalesced;
+    private final Counter batches;
+    private final Counter failures;
+    private final Timer localStaleness;
+    private final Timer remoteStaleness;
+
+    private Map<InvalidationKey, Long> pending = new LinkedHashMap<>();
+
+    /**
+     * Creates the bus.
+     *
+     * @param eventPublisher publisher delivering the invalidations to this instance's caches
+     * @param meterRegistry  registry receiving the bus metrics
+     */
+    protected BatchingInvalidationBus(ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.eventPublisher = eventPublisher;
+        this.published = Counter.builder("invalidation.published")
+            .description("Entity changes published on the invalidation bus")
+            .register(meterRegistry);
+        this.coalesced = Counter.builder("invalidation.coalesced")
+            .description("Entity changes merged into a key already waiting to be sent")
+            .register(meterRegistry);
+        this.batches = Counter.builder("invalidation.batches")
+            .description("Invalidation batches sent")
+            .register(meterRegistry);
+        this.failures = Counter.builder("invalidation.failures")
+            .description("Invalidation batches that could not be sent")
+            .register(meterRegistry);
+        this.localStaleness = staleness("local", meterRegistry);
+        this.remoteStaleness = staleness("remote", meterRegistry);
+    }
+
+    @Override
+    public void publish(InvalidationKey key) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            if (pending.putIfAbsent(key, now) != null) {
+                coalesced.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+        published.increment();
+    }
+
+    /**
+     * Publishes the key of an entity changed by a committed transaction.
+     *
+     * @param event change published by a service
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        publish(event.getKey());
+    }
+
+    /**
+     * Delivers the pending keys to this instance and sends them to the others.
+     */
+    @Scheduled(fixedDelayString = "${invalidation.flush-interval-ms:20}")
+    public void flush() {
+        Map<InvalidationKey, Long> batch;
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        } finally {
+            lock.unlock();
+        }
+        deliver(batch, localStaleness);
+        try {
+            transmit(batch);
+            batches.increment();
+        } catch (IOException | RuntimeException ex) {
+            failures.increment();
+            LOGGER.warn("Unable to send {} invalidations; other instances refresh when their caches expire",
+                batch.size(), ex);
+        }
+    }
+
+    /**
+     * Delivers a batch sent by another instance.
+     *
+     * @param batch wall-clock time of the first change in epoch milliseconds, keyed by changed entity
+     */
+    protected final void receive(Map<InvalidationKey, Long> batch) {
+        deliver(batch, remoteStaleness);
+    }
+
+    /**
+     * Sends a batch to every other instance.
+     *
+     * @param batch wall-clock time of the first change in epoch milliseconds, keyed by changed entity
+     * @throws IOException when the batch cannot be sent
+     */
+    protected abstract void transmit(Map<InvalidationKey, Long> batch) throws IOException;
+
+    private void deliver(Map<InvalidationKey, Long> batch, Timer staleness) {
+        eventPublisher.publishEvent(new EntitiesInvalidatedEvent(batch.keySet()));
+        long now = System.currentTimeMillis();
+        for (Long changedAt : batch.values()) {
+            staleness.record(Math.max(0, now - changedAt), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static Timer staleness(String origin, MeterRegistry meterRegistry) {
+        return Timer.builder("invalidation.staleness")
+            .tag("origin", origin)
+            .description("Time from an entity change until the caches of an instance were invalidated")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.dehradun.cabbooking.invalidation;
+
+import java.util.Set;
+
+/**
+ * Published on every instance when a batch of invalidations arrives, including the instance that made the
+ * changes. Caches listen for it and drop the entries of the named entities.
+ */
+public final class EntitiesInvalidatedEvent {
+
+    private final Set<InvalidationKey> keys;
+
+    /**
+     * Creates the event.
+     *
+     * @param keys changed entities
+     */
+    public EntitiesInvalidatedEvent(Set<InvalidationKey> keys) {
+        this.keys = Set.copyOf(keys);
+    }
+
+    /**
+     * Returns the changed entities.
+     *
+     * @return invalidation keys
+     */
+    public Set<InvalidationKey> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Tells whether any entity of a kind changed.
+     *
+     * @param entity entity name
+     * @return {@code true} when at least one key names the entity
+     */
+    public boolean affects(String entity) {
+        for (InvalidationKey key : keys) {
+            if (key.getEntity().equals(entity)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package com.dehradun.cabbooking.invalidation;
+
+/**
+ * Published by a service write path when cached copies of an entity become stale.
+ *
+ * <p>The {@link InvalidationBus} picks it up after the transaction commits, so other instances never
+ * re-read the old row.</p>
+ */
+public final class EntityChangedEvent {
+
+    private final InvalidationKey key;
+
+    /**
+     * Creates the event.
+     *
+     * @param entity entity name, such as {@link InvalidationKey#DISCOUNT}
+     * @param id     identifier of the changed entity
+     */
+    public EntityChangedEvent(String entity, Object id) {
+        this.key = new InvalidationKey(entity, String.valueOf(id));
+    }
+
+    /**
+     * Returns the key of the changed entity.
+     *
+     * @return invalidation key
+     */
+    public InvalidationKey getKey() {
+        return key;
+    }
+}
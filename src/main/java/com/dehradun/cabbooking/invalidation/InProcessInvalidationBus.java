@@ -0,0 +1,65 @@
+package com.dehradun.cabbooking.invalidation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Invalidation bus connecting the application instances running in one JVM.
+ *
+ * <p>Buses joined to the same channel hand batches to each other directly on the flushing thread. A single
+ * instance thus only invalidates its own caches, while benchmarks and load tests that start several
+ * instances in one process see the same propagation as separate nodes would, without a broker.</p>
+ */
+public class InProcessInvalidationBus extends BatchingInvalidationBus {
+
+    private static final Map<String, List<InProcessInvalidationBus>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+
+    /**
+     * Creates the bus.
+     *
+     * @param channel        name of the channel shared by the instances
+     * @param eventPublisher publisher delivering the invalidations to this instance's caches
+     * @param meterRegistry  registry receiving the bus metrics
+     */
+    public InProcessInvalidationBus(String channel, ApplicationEventPublisher eventPublisher,
+        MeterRegistry meterRegistry) {
+        super(eventPublisher, meterRegistry);
+        this.channel = channel;
+    }
+
+    /**
+     * Joins the channel.
+     */
+    public void start() {
+        CHANNELS.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>()).add(this);
+    }
+
+    /**
+     * Leaves the channel.
+     */
+    public void close() {
+        List<InProcessInvalidationBus> members = CHANNELS.get(channel);
+        if (members != null) {
+            members.remove(this);
+        }
+    }
+
+    @Override
+    protected void transmit(Map<InvalidationKey, Long> batch) {
+        List<InProcessInvalidationBus> members = CHANNELS.get(channel);
+        if (members == null) {
+            return;
+        }
+        for (InProcessInvalidationBus member : members) {
+            if (member != this) {
+                member.receive(batch);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.dehradun.cabbooking.invalidation;
+
+/**
+ * Broadcasts the keys of changed entities to every instance of the application.
+ *
+ * <p>Delivery is at most once and asynchronous. Each instance, the publishing one included, receives the
+ * keys as an {@link EntitiesInvalidatedEvent}. Caches must still expire on their own, since a lost
+ * message leaves them stale until then.</p>
+ */
+public interface InvalidationBus {
+
+    /**
+     * Queues a key for broadcast.
+     *
+     * @param key changed entity
+     */
+    void publish(InvalidationKey key);
+}
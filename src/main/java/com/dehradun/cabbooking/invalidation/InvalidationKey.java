@@ -0,0 +1,99 @@
+package com.dehradun.cabbooking.invalidation;
+
+import java.util.Objects;
+
+/**
+ * Names one changed entity, such as {@code discount:MONSOON15} or {@code driver:42}.
+ *
+ * <p>Neither part may contain whitespace, so keys travel as plain text.</p>
+ */
+public final class InvalidationKey {
+
+    /**
+     * Entity name of discounts, identified by code.
+     */
+    public static final String DISCOUNT = "discount";
+
+    /**
+     * Entity name of drivers, identified by driver id.
+     */
+    public static final String DRIVER = "driver";
+
+    private final String entity;
+    private final String id;
+
+    /**
+     * Creates a key.
+     *
+     * @param entity entity name
+     * @param id     identifier of the changed entity
+     * @throws IllegalArgumentException when a part is empty or contains whitespace or a colon in the entity
+     */
+    public InvalidationKey(String entity, String id) {
+        if (!isToken(entity) || entity.indexOf(':') >= 0 || !isToken(id)) {
+            throw new IllegalArgumentException("Invalid invalidation key " + entity + ":" + id);
+        }
+        this.entity = entity;
+        this.id = id;
+    }
+
+    /**
+     * Reads a key written by {@link #toString()}.
+     *
+     * @param text {@code entity:id}
+     * @return key
+     * @throws IllegalArgumentException when the text is not a key
+     */
+    public static InvalidationKey parse(String text) {
+        int separator = text.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid invalidation key " + text);
+        }
+        return new InvalidationKey(text.substring(0, separator), text.substring(separator + 1));
+    }
+
+    /**
+     * Returns the entity name.
+     *
+     * @return entity name
+     */
+    public String getEntity() {
+        return entity;
+    }
+
+    /**
+     * Returns the identifier of the changed entity.
+     *
+     * @return entity identifier
+     */
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof InvalidationKey key && entity.equals(key.entity) && id.equals(key.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entity, id);
+    }
+
+    @Override
+    public String toString() {
+        return entity + ":" + id;
+    }
+
+    private static boolean isToken(String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,131 @@
+package com.dehradun.cabbooking.invalidation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Invalidation bus connecting instances on one host with UDP datagrams over the loopback interface.
+ *
+ * <p>Each instance listens on {@code invalidation.loopback.port} and sends every batch to the ports of its
+ * peers. A batch is written as lines of {@code changedAtMillis entity:id} and split over several datagrams
+ * when it does not fit in one. Datagrams may be lost under load, in which case the caches of the receiving
+ * instance stay stale until they expire.</p>
+ */
+public class LoopbackInvalidationBus extends BatchingInvalidationBus {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoopbackInvalidationBus.class);
+    private static final int MAX_DATAGRAM_BYTES = 16 * 1024;
+
+    private final int port;
+    private final List<InetSocketAddress> peers;
+
+    private DatagramChannel channel;
+
+    /**
+     * Creates the bus.
+     *
+     * @param port           loopback port this instance listens on
+     * @param peerPorts      loopback ports of the other instances; this instance's port is ignored
+     * @param eventPublisher publisher delivering the invalidations to this instance's caches
+     * @param meterRegistry  registry receiving the bus metrics
+     */
+    public LoopbackInvalidationBus(int port, List<Integer> peerPorts, ApplicationEventPublisher eventPublisher,
+        MeterRegistry meterRegistry) {
+        super(eventPublisher, meterRegistry);
+        this.port = port;
+        List<InetSocketAddress> addresses = new ArrayList<>(peerPorts.size());
+        for (Integer peerPort : peerPorts) {
+            if (peerPort != port) {
+                addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), peerPort));
+            }
+        }
+        this.peers = List.copyOf(addresses);
+    }
+
+    /**
+     * Binds the port and starts receiving.
+     *
+     * @throws IOException when the port cannot be bound
+     */
+    public void start() throws IOException {
+        channel = DatagramChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        Thread.ofPlatform().name("invalidation-receiver").daemon().start(this::receiveLoop);
+        LOGGER.info("Invalidation bus listening on loopback port {} with peers {}", port, peers);
+    }
+
+    /**
+     * Stops receiving and releases the port.
+     *
+     * @throws IOException when the channel cannot be closed
+     */
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    @Override
+    protected void transmit(Map<InvalidationKey, Long> batch) throws IOException {
+        if (peers.isEmpty()) {
+            return;
+        }
+        StringBuilder datagram = new StringBuilder();
+        for (Map.Entry<InvalidationKey, Long> entry : batch.entrySet()) {
+            String line = entry.getValue() + " " + entry.getKey() + "\n";
+            if (datagram.length() > 0 && datagram.length() + line.length() > MAX_DATAGRAM_BYTES) {
+                send(datagram);
+                datagram.setLength(0);
+            }
+            datagram.append(line);
+        }
+        send(datagram);
+    }
+
+    private void send(CharSequence datagram) throws IOException {
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(datagram.toString());
+        for (InetSocketAddress peer : peers) {
+            channel.send(bytes.duplicate(), peer);
+        }
+    }
+
+    private void receiveLoop() {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        while (channel.isOpen()) {
+            try {
+                buffer.clear();
+                channel.receive(buffer);
+                buffer.flip();
+                receive(decode(StandardCharsets.UTF_8.decode(buffer).toString()));
+            } catch (ClosedChannelException ex) {
+                return;
+            } catch (IOException | RuntimeException ex) {
+                LOGGER.warn("Dropped an invalidation datagram", ex);
+            }
+        }
+    }
+
+    private static Map<InvalidationKey, Long> decode(String datagram) {
+        Map<InvalidationKey, Long> batch = new LinkedHashMap<>();
+        for (String line : datagram.split("\n")) {
+            int separator = line.indexOf(' ');
+            if (separator > 0) {
+                batch.put(InvalidationKey.parse(line.substring(separator + 1)),
+                    Long.parseLong(line.substring(0, separator)));
+            }
+        }
+        return batch;
+    }
+}
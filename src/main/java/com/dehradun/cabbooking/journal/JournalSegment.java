@@ -0,0 +1,185 @@
+package com.dehradun.cabbooking.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Single fixed-size journal file mapped into memory.
+ *
+ * <p>A segment is named after the sequence number of its first record. On open the valid prefix is found
+ * by walking records until the first missing or corrupt one, which becomes the append position.</p>
+ */
+final class JournalSegment implements AutoCloseable {
+
+    static final String SUFFIX = ".journal";
+
+    private final Path path;
+    private final long baseSequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private volatile int writePosition;
+
+    private JournalSegment(Path path, long baseSequence, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.baseSequence = baseSequence;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.writePosition = recover();
+    }
+
+    /**
+     * Opens an existing segment or creates a new one of the requested capacity.
+     *
+     * @param directory    journal directory
+     * @param baseSequence sequence number of the first record in the segment
+     * @param capacity     segment size in bytes
+     * @return mapped segment positioned after its last valid record
+     * @throws IOException when the file cannot be created or mapped
+     */
+    static JournalSegment open(Path directory, long baseSequence, int capacity) throws IOException {
+        Path path = directory.resolve(fileName(baseSequence));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        int size = (int) Math.max(channel.size(), capacity);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        return new JournalSegment(path, baseSequence, channel, buffer);
+    }
+
+    /**
+     * Builds the file name used for a segment starting at the supplied sequence.
+     *
+     * @param baseSequence first record sequence
+     * @return zero padded file name
+     */
+    static String fileName(long baseSequence) {
+        return String.format("%020d%s", baseSequence, SUFFIX);
+    }
+
+    /**
+     * Parses the base sequence encoded in a segment file name.
+     *
+     * @param fileName segment file name
+     * @return base sequence number
+     */
+    static long parseBaseSequence(String fileName) {
+        return Long.parseLong(fileName.substring(0, fileName.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Appends an event when it fits into the remaining space.
+     *
+     * @param event event to write
+     * @return {@code true} when written, {@code false} when the segment is full
+     */
+    boolean append(RideEvent event) {
+        int position = writePosition;
+        if (position + RideEventCodec.RECORD_BYTES > buffer.capacity()) {
+            return false;
+        }
+        buffer.position(position);
+        RideEventCodec.encode(buffer, event);
+        writePosition = position + RideEventCodec.RECORD_BYTES;
+        return true;
+    }
+
+    /**
+     * Replays every record written so far in append order.
+     *
+     * <p>Each record's checksum is verified first. Like recovery, replay stops at the first corrupt record,
+     * so a damaged record and anything after it in the segment never reach the handler.</p>
+     *
+     * @param handler consumer of the decoded events
+     * @return number of events replayed
+     */
+    long replay(RideEventHandler handler) {
+        ByteBuffer view = buffer.duplicate();
+        CRC32C crc = new CRC32C();
+        int limit = writePosition;
+        long count = 0;
+        for (int offset = 0; offset < limit; offset += RideEventCodec.RECORD_BYTES) {
+            if (!RideEventCodec.isValid(view, offset, limit, crc)) {
+                break;
+            }
+            handler.onEvent(RideEventCodec.decode(view, offset));
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of records stored in the segment.
+     *
+     * @return record count
+     */
+    long recordCount() {
+        return writePosition / RideEventCodec.RECORD_BYTES;
+    }
+
+    /**
+     * Returns the sequence number of the first record in the segment.
+     *
+     * @return base sequence
+     */
+    long getBaseSequence() {
+        return baseSequence;
+    }
+
+    /**
+     * Returns the backing file location.
+     *
+     * @return segment path
+     */
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Forces written records to the storage device.
+     */
+    void flush() {
+        buffer.force();
+    }
+
+    /**
+     * Flushes and closes the segment.
+     *
+     * @throws IOException when the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    /**
+     * Closes the segment and removes its file.
+     *
+     * @throws IOException when the file cannot be deleted
+     */
+    void delete() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    private int recover() {
+        int limit = buffer.capacity();
+        int offset = 0;
+        while (RideEventCodec.isValid(buffer, offset, limit)) {
+            offset += RideEventCodec.RECORD_BYTES;
+        }
+        // Wipe any torn tail so stale records beyond it can never resurface once appends resume.
+        for (int tail = offset; tail + RideEventCodec.RECORD_BYTES <= limit && buffer.getInt(tail) != 0;
+            tail += RideEventCodec.RECORD_BYTES) {
+            for (int i = 0; i < RideEventCodec.RECORD_BYTES; i++) {
+                buffer.put(tail + i, (byte) 0);
+            }
+        }
+        return offset;
+    }
+}
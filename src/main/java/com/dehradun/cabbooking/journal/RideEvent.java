@@ -0,0 +1,171 @@
+package com.dehradun.cabbooking.journal;
+
+import com.dehradun.cabbooking.entity.Discount;
+import com.dehradun.cabbooking.entity.Ride;
+import com.dehradun.cabbooking.enums.RideEventType;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable record of a single ride lifecycle change as stored in the event journal.
+ *
+ * <p>Identifiers that do not apply to an event are stored as zero, and the fare is kept in paise so the
+ * binary encoding stays fixed width. The city the ride starts in travels with events published in process
+ * but is not journaled; events read back from the journal carry none.</p>
+ */
+public final class RideEvent {
+
+    private final RideEventType type;
+    private final int rideId;
+    private final long userId;
+    private final int driverId;
+    private final int discountId;
+    private final long farePaise;
+    private final long timestampMillis;
+    private final String city;
+
+    /**
+     * Builds a ride event.
+     *
+     * @param type            lifecycle event type
+     * @param rideId          ride primary key
+     * @param userId          rider primary key, zero when unknown
+     * @param driverId        driver primary key, zero when unassigned
+     * @param discountId      discount primary key for discount events, otherwise zero
+     * @param farePaise       fare expressed in paise, zero when not priced
+     * @param timestampMillis epoch milliseconds when the event happened
+     */
+    public RideEvent(RideEventType type, int rideId, long userId, int driverId, int discountId, long farePaise,
+        long timestampMillis) {
+        this(type, rideId, userId, driverId, discountId, farePaise, timestampMillis, null);
+    }
+
+    /**
+     * Builds a ride event tagged with the ride's city.
+     *
+     * @param type            lifecycle event type
+     * @param rideId          ride primary key
+     * @param userId          rider primary key, zero when unknown
+     * @param driverId        driver primary key, zero when unassigned
+     * @param discountId      discount primary key for discount events, otherwise zero
+     * @param farePaise       fare expressed in paise, zero when not priced
+     * @param timestampMillis epoch milliseconds when the event happened
+     * @param city            code of the city the ride starts in, {@code null} when unknown
+     */
+    public RideEvent(RideEventType type, int rideId, long userId, int driverId, int discountId, long farePaise,
+        long timestampMillis, String city) {
+        this.type = type;
+        this.rideId = rideId;
+        this.userId = userId;
+        this.driverId = driverId;
+        this.discountId = discountId;
+        this.farePaise = farePaise;
+        this.timestampMillis = timestampMillis;
+        this.city = city;
+    }
+
+    /**
+     * Captures a lifecycle event for the supplied ride at the current instant.
+     *
+     * @param type lifecycle event type
+     * @param ride persisted ride entity
+     * @return event describing the ride
+     */
+    public static RideEvent of(RideEventType type, Ride ride) {
+        return of(type, ride, 0);
+    }
+
+    /**
+     * Captures a discount application on the supplied ride.
+     *
+     * @param ride     persisted ride entity
+     * @param discount discount linked to the ride
+     * @return discount event describing the ride
+     */
+    public static RideEvent discountApplied(Ride ride, Discount discount) {
+        return of(RideEventType.DISCOUNT_APPLIED, ride, discount.getDiscountId());
+    }
+
+    private static RideEvent of(RideEventType type, Ride ride, int discountId) {
+        long userId = ride.getUser() != null ? ride.getUser().getUserId() : 0L;
+        int driverId = ride.getDriver() != null ? ride.getDriver().getDriverId() : 0;
+        return new RideEvent(type, ride.getRideId(), userId, driverId, discountId, toPaise(ride.getFare()),
+            System.currentTimeMillis(), ride.getCity());
+    }
+
+    private static long toPaise(BigDecimal amount) {
+        return amount != null ? amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue() : 0L;
+    }
+
+    /**
+     * Returns the lifecycle event type.
+     *
+     * @return event type
+     */
+    public RideEventType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the ride the event belongs to.
+     *
+     * @return ride primary key
+     */
+    public int getRideId() {
+        return rideId;
+    }
+
+    /**
+     * Returns the rider that booked the ride.
+     *
+     * @return rider primary key, zero when unknown
+     */
+    public long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the driver assigned to the ride.
+     *
+     * @return driver primary key, zero when unassigned
+     */
+    public int getDriverId() {
+        return driverId;
+    }
+
+    /**
+     * Returns the discount applied by a discount event.
+     *
+     * @return discount primary key, zero for other event types
+     */
+    public int getDiscountId() {
+        return discountId;
+    }
+
+    /**
+     * Returns the fare recorded with the event.
+     *
+     * @return fare in paise
+     */
+    public long getFarePaise() {
+        return farePaise;
+    }
+
+    /**
+     * Returns the moment the event happened.
+     *
+     * @return epoch milliseconds
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /**
+     * Returns the city the ride starts in.
+     *
+     * @return city code, {@code null} when unknown or read back from the journal
+     */
+    public String getCity() {
+        return city;
+    }
+}
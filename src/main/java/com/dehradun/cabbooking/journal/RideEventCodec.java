@@ -0,0 +1,103 @@
+package com.dehradun.cabbooking.journal;
+
+import com.dehradun.cabbooking.enums.RideEventType;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * Fixed-width binary encoding of {@link RideEvent} records.
+ *
+ * <p>Each record is laid out as {@code [int length][int crc32c][payload]}. The length header is written
+ * last so that a record torn by a crash is never mistaken for a complete one during recovery.</p>
+ */
+final class RideEventCodec {
+
+    static final int HEADER_BYTES = Integer.BYTES * 2;
+    static final int PAYLOAD_BYTES = Byte.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES
+        + Long.BYTES + Long.BYTES;
+    static final int RECORD_BYTES = HEADER_BYTES + PAYLOAD_BYTES;
+
+    private RideEventCodec() {
+    }
+
+    /**
+     * Writes the event at the buffer's current position and advances it past the record.
+     *
+     * @param buffer target buffer with at least {@link #RECORD_BYTES} remaining
+     * @param event  event to encode
+     */
+    static void encode(ByteBuffer buffer, RideEvent event) {
+        int start = buffer.position();
+        int payloadStart = start + HEADER_BYTES;
+        buffer.position(payloadStart);
+        buffer.put((byte) event.getType().getCode());
+        buffer.putInt(event.getRideId());
+        buffer.putLong(event.getUserId());
+        buffer.putInt(event.getDriverId());
+        buffer.putInt(event.getDiscountId());
+        buffer.putLong(event.getFarePaise());
+        buffer.putLong(event.getTimestampMillis());
+        buffer.putInt(start + Integer.BYTES, checksum(buffer, payloadStart));
+        buffer.putInt(start, PAYLOAD_BYTES);
+    }
+
+    /**
+     * Checks whether a complete and uncorrupted record starts at the supplied offset.
+     *
+     * @param buffer source buffer
+     * @param offset absolute record offset
+     * @param limit  offset past which no record data may be read
+     * @return {@code true} when the record can be decoded
+     */
+    static boolean isValid(ByteBuffer buffer, int offset, int limit) {
+        return isValid(buffer, offset, limit, new CRC32C());
+    }
+
+    /**
+     * Checks whether a complete and uncorrupted record starts at the supplied offset, reusing a checksum
+     * instance across records.
+     *
+     * @param buffer source buffer
+     * @param offset absolute record offset
+     * @param limit  offset past which no record data may be read
+     * @param crc    checksum instance owned by the caller's thread
+     * @return {@code true} when the record can be decoded
+     */
+    static boolean isValid(ByteBuffer buffer, int offset, int limit, CRC32C crc) {
+        if (offset + RECORD_BYTES > limit || buffer.getInt(offset) != PAYLOAD_BYTES) {
+            return false;
+        }
+        int payloadStart = offset + HEADER_BYTES;
+        return RideEventType.fromCode(buffer.get(payloadStart)) != null
+            && buffer.getInt(offset + Integer.BYTES) == checksum(buffer, payloadStart, crc);
+    }
+
+    /**
+     * Decodes the record at the supplied offset without touching the buffer position.
+     *
+     * @param buffer source buffer
+     * @param offset absolute record offset, previously checked with {@link #isValid}
+     * @return decoded event
+     */
+    static RideEvent decode(ByteBuffer buffer, int offset) {
+        int p = offset + HEADER_BYTES;
+        RideEventType type = RideEventType.fromCode(buffer.get(p));
+        int rideId = buffer.getInt(p + 1);
+        long userId = buffer.getLong(p + 5);
+        int driverId = buffer.getInt(p + 13);
+        int discountId = buffer.getInt(p + 17);
+        long farePaise = buffer.getLong(p + 21);
+        long timestampMillis = buffer.getLong(p + 29);
+        return new RideEvent(type, rideId, userId, driverId, discountId, farePaise, timestampMillis);
+    }
+
+    private static int checksum(ByteBuffer buffer, int payloadStart) {
+        return checksum(buffer, payloadStart, new CRC32C());
+    }
+
+    private static int checksum(ByteBuffer buffer, int payloadStart, CRC32C crc) {
+        crc.reset();
+        crc.update(buffer.slice(payloadStart, PAYLOAD_BYTES));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,15 @@
+package com.dehradun.cabbooking.journal;
+
+/**
+ * Callback receiving journal events in append order during a replay.
+ */
+@FunctionalInterface
+public interface RideEventHandler {
+
+    /**
+     * Consumes a single replayed event.
+     *
+     * @param event decoded ride event
+     */
+    void onEvent(RideEvent event);
+}
@@ -0,0 +1,164 @@
+package com.dehradun.cabbooking.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only journal of ride events stored in memory-mapped segment files.
+ *
+ * <p>Appends go to the newest segment and roll over to a fresh file once it is full. Only the configured
+ * number of segments is retained; older files are deleted as new ones are created. Replay walks the
+ * retained segments oldest first and is safe to run while appends continue.</p>
+ */
+public class RideEventJournal implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RideEventJournal.class);
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int retainedSegments;
+    private final boolean flushOnAppend;
+    private final Deque<JournalSegment> segments = new ArrayDeque<>();
+    private JournalSegment active;
+    private long nextSequence;
+
+    /**
+     * Opens the journal, recovering any segments already present in the directory.
+     *
+     * @param directory        folder holding the segment files
+     * @param segmentBytes     capacity of each segment file in bytes
+     * @param retainedSegments maximum number of segment files kept on disk
+     * @param flushOnAppend    whether every append is forced to the storage device
+     */
+    public RideEventJournal(Path directory, int segmentBytes, int retainedSegments, boolean flushOnAppend) {
+        if (segmentBytes < RideEventCodec.RECORD_BYTES) {
+            throw new IllegalArgumentException("Journal segment must hold at least one record");
+        }
+        if (retainedSegments < 1) {
+            throw new IllegalArgumentException("Journal must retain at least one segment");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.retainedSegments = retainedSegments;
+        this.flushOnAppend = flushOnAppend;
+        try {
+            Files.createDirectories(directory);
+            for (long baseSequence : existingBaseSequences()) {
+                segments.addLast(JournalSegment.open(directory, baseSequence, segmentBytes));
+            }
+            if (segments.isEmpty()) {
+                segments.addLast(JournalSegment.open(directory, 0, segmentBytes));
+            }
+            active = segments.peekLast();
+            nextSequence = active.getBaseSequence() + active.recordCount();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to open ride event journal at " + directory, ex);
+        }
+    }
+
+    /**
+     * Appends an event, rolling to a new segment when the active one is full.
+     *
+     * @param event event to persist
+     * @return sequence number assigned to the event
+     */
+    public synchronized long append(RideEvent event) {
+        if (!active.append(event)) {
+            roll();
+            active.append(event);
+        }
+        if (flushOnAppend) {
+            active.flush();
+        }
+        return nextSequence++;
+    }
+
+    /**
+     * Replays every retained event in append order, skipping the rest of any segment from its first corrupt
+     * record onwards.
+     *
+     * @param handler consumer of the decoded events
+     * @return number of events replayed
+     */
+    public long replay(RideEventHandler handler) {
+        List<JournalSegment> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(segments);
+        }
+        long count = 0;
+        for (JournalSegment segment : snapshot) {
+            long replayed = segment.replay(handler);
+            if (replayed < segment.recordCount()) {
+                LOGGER.warn("Journal segment {} is corrupt after {} of {} records, skipping the rest",
+                    segment.getPath(), replayed, segment.recordCount());
+            }
+            count += replayed;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the sequence number the next appended event will receive.
+     *
+     * @return next sequence number
+     */
+    public synchronized long getNextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * Forces the active segment to the storage device.
+     */
+    public synchronized void flush() {
+        active.flush();
+    }
+
+    /**
+     * Flushes and closes every open segment.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            for (JournalSegment segment : segments) {
+                segment.close();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to close ride event journal", ex);
+        } finally {
+            segments.clear();
+        }
+    }
+
+    private void roll() {
+        try {
+            active.flush();
+            active = JournalSegment.open(directory, nextSequence, segmentBytes);
+            segments.addLast(active);
+            while (segments.size() > retainedSegments) {
+                segments.removeFirst().delete();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to roll ride event journal segment", ex);
+        }
+    }
+
+    private List<Long> existingBaseSequences() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .map(file -> file.getFileName().toString())
+                .filter(name -> name.endsWith(JournalSegment.SUFFIX))
+                .map(JournalSegment::parseBaseSequence)
+                .sorted()
+                .toList();
+        }
+    }
+}
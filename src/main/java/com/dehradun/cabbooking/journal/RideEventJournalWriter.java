@@ -0,0 +1,31 @@
+package com.dehradun.cabbooking.journal;
+
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listener that appends ride events to the journal once the originating transaction has committed.
+ */
+public class RideEventJournalWriter {
+
+    private final RideEventJournal journal;
+
+    /**
+     * Creates the writer for the supplied journal.
+     *
+     * @param journal journal receiving committed events
+     */
+    public RideEventJournalWriter(RideEventJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Appends a committed ride event to the journal.
+     *
+     * @param event event published by the ride services
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRideEvent(RideEvent event) {
+        journal.append(event);
+    }
+}
@@ -0,0 +1,94 @@
+package com.dehradun.cabbooking.json;
+
+import com.dehradun.cabbooking.entity.Ride;
+import com.dehradun.cabbooking.landmark.LandmarkDirectory;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Writes {@link Ride} and {@code Collection<Ride>} response bodies with {@link RideJsonWriter}.
+ *
+ * <p>Registered ahead of the Jackson converter, so ride endpoints skip reflective serialisation while every
+ * other body type still goes through Jackson. The converter is write-only.</p>
+ */
+public class RideJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final JsonFactory jsonFactory = JsonFactory.builder()
+        .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+        .build();
+    private final LandmarkDirectory landmarks;
+
+    /**
+     * Creates the converter for {@code application/json}.
+     *
+     * @param landmarks directory describing pickup and drop points, {@code null} to leave them out
+     */
+    public RideJsonHttpMessageConverter(LandmarkDirectory landmarks) {
+        super(MediaType.APPLICATION_JSON);
+        this.landmarks = landmarks;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Ride.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType resolved = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        Class<?> raw = resolved.resolve(clazz);
+        if (raw != null && Ride.class.isAssignableFrom(raw)) {
+            return true;
+        }
+        if (raw != null && Collection.class.isAssignableFrom(raw)) {
+            Class<?> element = resolved.asCollection().resolveGeneric(0);
+            return element != null && Ride.class.isAssignableFrom(element);
+        }
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(outputMessage.getBody(), JsonEncoding.UTF8)) {
+            if (body instanceof Collection<?> rides) {
+                RideJsonWriter.writeRides(generator, rides, landmarks);
+            } else {
+                RideJsonWriter.writeRide(generator, (Ride) body, landmarks);
+            }
+        }
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Ride JSON converter is write-only", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Ride JSON converter is write-only", inputMessage);
+    }
+}
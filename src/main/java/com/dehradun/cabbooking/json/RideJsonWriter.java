@@ -0,0 +1,428 @@
+package com.dehradun.cabbooking.json;
+
+import com.dehradun.cabbooking.entity.Discount;
+import com.dehradun.cabbooking.entity.Driver;
+import com.dehradun.cabbooking.entity.Location;
+import com.dehradun.cabbooking.entity.Payment;
+import com.dehradun.cabbooking.entity.Rating;
+import com.dehradun.cabbooking.entity.Ride;
+import com.dehradun.cabbooking.entity.Vehicle;
+import com.dehradun.cabbooking.enums.DriverStatus;
+import com.dehradun.cabbooking.enums.PaymentMethod;
+import com.dehradun.cabbooking.enums.PaymentStatus;
+import com.dehradun.cabbooking.enums.RatingActor;
+import com.dehradun.cabbooking.enums.RideStatus;
+import com.dehradun.cabbooking.enums.VehicleType;
+import com.dehradun.cabbooking.landmark.LandmarkDirectory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hand-written streaming serialiser for ride responses.
+ *
+ * <p>Produces the same document Jackson derives from the {@link Ride} entity annotations (field order,
+ * ISO timestamps, omitted back references) but writes tokens straight to the generator, so no bean
+ * introspection, reference tracking or intermediate tree is involved. Field names and enum constants are
+ * pre-encoded once, and timestamps are formatted into a scratch buffer owned by the writer instead of going
+ * through {@link DateTimeFormatter}, which allocates a builder and a string for every value.</p>
+ *
+ * <p>Given a {@link LandmarkDirectory}, the document also describes the pickup and drop points by their
+ * closest landmark in {@code pickupLandmark} and {@code dropLandmark}.</p>
+ */
+public final class RideJsonWriter {
+
+    private static final SerializableString RIDE_ID = new SerializedString("rideId");
+    private static final SerializableString DRIVER = new SerializedString("driver");
+    private static final SerializableString DRIVER_ID = new SerializedString("driverId");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString PHONE = new SerializedString("phone");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString LICENSE_NUMBER = new SerializedString("licenseNumber");
+    private static final SerializableString RATING = new SerializedString("rating");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString DELETED = new SerializedString("deleted");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString VEHICLE = new SerializedString("vehicle");
+    private static final SerializableString VEHICLE_ID = new SerializedString("vehicleId");
+    private static final SerializableString VEHICLE_NUMBER = new SerializedString("vehicleNumber");
+    private static final SerializableString MODEL = new SerializedString("model");
+    private static final SerializableString TYPE = new SerializedString("type");
+    private static final SerializableString CAPACITY = new SerializedString("capacity");
+    private static final SerializableString FARE = new SerializedString("fare");
+    private static final SerializableString DISTANCE_KM = new SerializedString("distanceKm");
+    private static final SerializableString START_TIME = new SerializedString("startTime");
+    private static final SerializableString END_TIME = new SerializedString("endTime");
+    private static final SerializableString CITY = new SerializedString("city");
+    private static final SerializableString PICKUP_ZONE = new SerializedString("pickupZone");
+    private static final SerializableString PICKUP_LANDMARK = new SerializedString("pickupLandmark");
+    private static final SerializableString DROP_LANDMARK = new SerializedString("dropLandmark");
+    private static final SerializableString DISCOUNTS = new SerializedString("discounts");
+    private static final SerializableString DISCOUNT_ID = new SerializedString("discountId");
+    private static final SerializableString CODE = new SerializedString("code");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString PERCENTAGE = new SerializedString("percentage");
+    private static final SerializableString VALID_FROM = new SerializedString("validFrom");
+    private static final SerializableString VALID_TO = new SerializedString("validTo");
+    private static final SerializableString RATINGS = new SerializedString("ratings");
+    private static final SerializableString RATING_ID = new SerializedString("ratingId");
+    private static final SerializableString GIVEN_BY = new SerializedString("givenBy");
+    private static final SerializableString GIVEN_TO = new SerializedString("givenTo");
+    private static final SerializableString COMMENTS = new SerializedString("comments");
+    private static final SerializableString PAYMENT = new SerializedString("payment");
+    private static final SerializableString PAYMENT_ID = new SerializedString("paymentId");
+    private static final SerializableString AMOUNT = new SerializedString("amount");
+    private static final SerializableString METHOD = new SerializedString("method");
+
+    private static final Map<Enum<?>, SerializableString> ENUM_NAMES = encodeEnums(RideStatus.class,
+        DriverStatus.class, VehicleType.class, RatingActor.class, PaymentMethod.class, PaymentStatus.class);
+
+    private final JsonGenerator generator;
+    private final LandmarkDirectory landmarks;
+    private final char[] scratch = new char[32];
+
+    private RideJsonWriter(JsonGenerator generator, LandmarkDirectory landmarks) {
+        this.generator = generator;
+        this.landmarks = landmarks;
+    }
+
+    /**
+     * Writes a JSON array of rides.
+     *
+     * @param generator target generator
+     * @param rides     rides to write
+     * @throws IOException when the generator fails
+     */
+    public static void writeRides(JsonGenerator generator, Collection<?> rides) throws IOException {
+        writeRides(generator, rides, null);
+    }
+
+    /**
+     * Writes a JSON array of rides with landmark descriptions.
+     *
+     * @param generator target generator
+     * @param rides     rides to write
+     * @param landmarks directory describing pickup and drop points, {@code null} to leave them out
+     * @throws IOException when the generator fails
+     */
+    public static void writeRides(JsonGenerator generator, Collection<?> rides, LandmarkDirectory landmarks)
+        throws IOException {
+        RideJsonWriter writer = new RideJsonWriter(generator, landmarks);
+        generator.writeStartArray(rides, rides.size());
+        for (Object ride : rides) {
+            writer.ride((Ride) ride);
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes a single ride object, or {@code null}.
+     *
+     * @param generator target generator
+     * @param ride      ride to write
+     * @throws IOException when the generator fails
+     */
+    public static void writeRide(JsonGenerator generator, Ride ride) throws IOException {
+        writeRide(generator, ride, null);
+    }
+
+    /**
+     * Writes a single ride object with landmark descriptions, or {@code null}.
+     *
+     * @param generator target generator
+     * @param ride      ride to write
+     * @param landmarks directory describing pickup and drop points, {@code null} to leave them out
+     * @throws IOException when the generator fails
+     */
+    public static void writeRide(JsonGenerator generator, Ride ride, LandmarkDirectory landmarks)
+        throws IOException {
+        new RideJsonWriter(generator, landmarks).ride(ride);
+    }
+
+    private void ride(Ride ride) throws IOException {
+        if (ride == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject(ride);
+        generator.writeFieldName(RIDE_ID);
+        writeNumber(ride.getRideId());
+        generator.writeFieldName(DRIVER);
+        writeDriver(ride.getDriver());
+        generator.writeFieldName(VEHICLE);
+        writeVehicle(ride.getVehicle());
+        generator.writeFieldName(STATUS);
+        writeEnum(ride.getStatus());
+        generator.writeFieldName(FARE);
+        writeNumber(ride.getFare());
+        generator.writeFieldName(DISTANCE_KM);
+        writeNumber(ride.getDistanceKm());
+        generator.writeFieldName(START_TIME);
+        writeDateTime(ride.getStartTime());
+        generator.writeFieldName(END_TIME);
+        writeDateTime(ride.getEndTime());
+        generator.writeFieldName(CITY);
+        generator.writeString(ride.getCity());
+        generator.writeFieldName(PICKUP_ZONE);
+        generator.writeString(ride.getPickupZone());
+        if (landmarks != null) {
+            generator.writeFieldName(PICKUP_LANDMARK);
+            generator.writeString(describe(ride.getPickupLocation()));
+            generator.writeFieldName(DROP_LANDMARK);
+            generator.writeString(describe(ride.getDropLocation()));
+        }
+        generator.writeFieldName(CREATED_AT);
+        writeDateTime(ride.getCreatedAt());
+        generator.writeFieldName(DELETED);
+        generator.writeBoolean(ride.isDeleted());
+
+        generator.writeFieldName(DISCOUNTS);
+        if (ride.getDiscounts() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray();
+            for (Discount discount : ride.getDiscounts()) {
+                writeDiscount(discount);
+            }
+            generator.writeEndArray();
+        }
+
+        generator.writeFieldName(RATINGS);
+        if (ride.getRatings() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray();
+            for (Rating rating : ride.getRatings()) {
+                writeRating(rating);
+            }
+            generator.writeEndArray();
+        }
+
+        generator.writeFieldName(PAYMENT);
+        writePayment(ride.getPayment());
+        generator.writeEndObject();
+    }
+
+    private String describe(Location location) {
+        return location == null ? null : landmarks.describe(location.getLatitude(), location.getLongitude());
+    }
+
+    private void writeDriver(Driver driver) throws IOException {
+        if (driver == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeFieldName(DRIVER_ID);
+        writeNumber(driver.getDriverId());
+        generator.writeFieldName(NAME);
+        generator.writeString(driver.getName());
+        generator.writeFieldName(PHONE);
+        generator.writeString(driver.getPhone());
+        generator.writeFieldName(EMAIL);
+        generator.writeString(driver.getEmail());
+        generator.writeFieldName(LICENSE_NUMBER);
+        generator.writeString(driver.getLicenseNumber());
+        generator.writeFieldName(RATING);
+        writeNumber(driver.getRating());
+        generator.writeFieldName(STATUS);
+        writeEnum(driver.getStatus());
+        generator.writeFieldName(DELETED);
+        generator.writeBoolean(driver.isDeleted());
+        generator.writeFieldName(CREATED_AT);
+        writeDateTime(driver.getCreatedAt());
+        generator.writeEndObject();
+    }
+
+    private void writeVehicle(Vehicle vehicle) throws IOException {
+        if (vehicle == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeFieldName(VEHICLE_ID);
+        writeNumber(vehicle.getVehicleId());
+        generator.writeFieldName(VEHICLE_NUMBER);
+        generator.writeString(vehicle.getVehicleNumber());
+        generator.writeFieldName(MODEL);
+        generator.writeString(vehicle.getModel());
+        generator.writeFieldName(TYPE);
+        writeEnum(vehicle.getType());
+        generator.writeFieldName(CAPACITY);
+        writeNumber(vehicle.getCapacity());
+        generator.writeFieldName(DELETED);
+        generator.writeBoolean(vehicle.isDeleted());
+        generator.writeFieldName(CREATED_AT);
+        writeDateTime(vehicle.getCreatedAt());
+        generator.writeEndObject();
+    }
+
+    private void writeDiscount(Discount discount) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(DISCOUNT_ID);
+        writeNumber(discount.getDiscountId());
+        generator.writeFieldName(CODE);
+        generator.writeString(discount.getCode());
+        generator.writeFieldName(DESCRIPTION);
+        generator.writeString(discount.getDescription());
+        generator.writeFieldName(PERCENTAGE);
+        writeNumber(discount.getPercentage());
+        generator.writeFieldName(VALID_FROM);
+        writeDate(discount.getValidFrom());
+        generator.writeFieldName(VALID_TO);
+        writeDate(discount.getValidTo());
+        generator.writeFieldName(CITY);
+        generator.writeString(discount.getCity());
+        generator.writeFieldName(DELETED);
+        generator.writeBoolean(discount.isDeleted());
+        generator.writeFieldName(CREATED_AT);
+        writeDateTime(discount.getCreatedAt());
+        generator.writeEndObject();
+    }
+
+    private void writeRating(Rating rating) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(RATING_ID);
+        writeNumber(rating.getRatingId());
+        generator.writeFieldName(GIVEN_BY);
+        writeEnum(rating.getGivenBy());
+        generator.writeFieldName(GIVEN_TO);
+        writeEnum(rating.getGivenTo());
+        generator.writeFieldName(RATING);
+        writeNumber(rating.getRating());
+        generator.writeFieldName(COMMENTS);
+        generator.writeString(rating.getComments());
+        generator.writeFieldName(CREATED_AT);
+        writeDateTime(rating.getCreatedAt());
+        generator.writeFieldName(DELETED);
+        generator.writeBoolean(rating.isDeleted());
+        generator.writeEndObject();
+    }
+
+    private void writePayment(Payment payment) throws IOException {
+        if (payment == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeFieldName(PAYMENT_ID);
+        writeNumber(payment.getPaymentId());
+        generator.writeFieldName(AMOUNT);
+        writeNumber(payment.getAmount());
+        generator.writeFieldName(METHOD);
+        writeEnum(payment.getMethod());
+        generator.writeFieldName(STATUS);
+        writeEnum(payment.getStatus());
+        generator.writeFieldName(CREATED_AT);
+        writeDateTime(payment.getCreatedAt());
+        generator.writeFieldName(DELETED);
+        generator.writeBoolean(payment.isDeleted());
+        generator.writeEndObject();
+    }
+
+    private void writeNumber(Integer value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.intValue());
+        }
+    }
+
+    private void writeNumber(BigDecimal value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private void writeEnum(Enum<?> value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(ENUM_NAMES.get(value));
+        }
+    }
+
+    /**
+     * Writes the same text as {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}: seconds always present and the
+     * fraction trimmed of trailing zeros.
+     */
+    private void writeDateTime(LocalDateTime value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value.getYear() < 0 || value.getYear() > 9999) {
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        } else {
+            int length = formatDate(value.getYear(), value.getMonthValue(), value.getDayOfMonth());
+            scratch[length++] = 'T';
+            length = twoDigits(value.getHour(), length);
+            scratch[length++] = ':';
+            length = twoDigits(value.getMinute(), length);
+            scratch[length++] = ':';
+            length = twoDigits(value.getSecond(), length);
+            int nanos = value.getNano();
+            if (nanos > 0) {
+                scratch[length++] = '.';
+                int digits = 9;
+                while (nanos % 10 == 0) {
+                    nanos /= 10;
+                    digits--;
+                }
+                for (int i = length + digits - 1; i >= length; i--) {
+                    scratch[i] = (char) ('0' + nanos % 10);
+                    nanos /= 10;
+                }
+                length += digits;
+            }
+            generator.writeString(scratch, 0, length);
+        }
+    }
+
+    private void writeDate(LocalDate value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value.getYear() < 0 || value.getYear() > 9999) {
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE.format(value));
+        } else {
+            generator.writeString(scratch, 0, formatDate(value.getYear(), value.getMonthValue(),
+                value.getDayOfMonth()));
+        }
+    }
+
+    private int formatDate(int year, int month, int day) {
+        scratch[0] = (char) ('0' + year / 1000);
+        scratch[1] = (char) ('0' + year / 100 % 10);
+        scratch[2] = (char) ('0' + year / 10 % 10);
+        scratch[3] = (char) ('0' + year % 10);
+        scratch[4] = '-';
+        twoDigits(month, 5);
+        scratch[7] = '-';
+        return twoDigits(day, 8);
+    }
+
+    private int twoDigits(int value, int offset) {
+        scratch[offset] = (char) ('0' + value / 10);
+        scratch[offset + 1] = (char) ('0' + value % 10);
+        return offset + 2;
+    }
+
+    @SafeVarargs
+    private static Map<Enum<?>, SerializableString> encodeEnums(Class<? extends Enum<?>>... types) {
+        Map<Enum<?>, SerializableString> names = new HashMap<>();
+        for (Class<? extends Enum<?>> type : types) {
+            for (Enum<?> constant : type.getEnumConstants()) {
+                names.put(constant, new SerializedString(constant.name()));
+            }
+        }
+        return Map.copyOf(names);
+    }
+}
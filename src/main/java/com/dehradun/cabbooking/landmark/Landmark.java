@@ -0,0 +1,63 @@
+package com.dehradun.cabbooking.landmark;
+
+/**
+ * Well-known place riders recognise, such as the Clock Tower or Pacific Mall.
+ */
+public final class Landmark {
+
+    private final String name;
+    private final String locality;
+    private final double latitude;
+    private final double longitude;
+
+    /**
+     * Creates a landmark.
+     *
+     * @param name      display name
+     * @param locality  road or neighbourhood the landmark is on
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     */
+    public Landmark(String name, String locality, double latitude, double longitude) {
+        this.name = name;
+        this.locality = locality;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * Returns the display name.
+     *
+     * @return landmark name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the road or neighbourhood the landmark is on.
+     *
+     * @return locality name
+     */
+    public String getLocality() {
+        return locality;
+    }
+
+    /**
+     * Returns the latitude of the landmark.
+     *
+     * @return latitude in degrees
+     */
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * Returns the longitude of the landmark.
+     *
+     * @return longitude in degrees
+     */
+    public double getLongitude() {
+        return longitude;
+    }
+}
@@ -0,0 +1,176 @@
+package com.dehradun.cabbooking.landmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Describes coordinates by the closest landmark, for example {@code Pacific Mall, Rajpur Road} or
+ * {@code near Clock Tower}.
+ *
+ * <p>Landmarks are held in a {@link LandmarkTree}. Descriptions are cached per cell of about eleven metres
+ * (coordinates rounded to four decimals) in an access-ordered map bounded to {@code landmark.cache-size},
+ * so ride listings that revisit the same pickup points do not query the tree again.</p>
+ */
+public class LandmarkDirectory {
+
+    private static final String NONE = "";
+
+    private final LandmarkTree tree;
+    private final double atMetres;
+    private final double nearMetres;
+    private final int maxEntries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, String> descriptions;
+
+    /**
+     * Creates the directory.
+     *
+     * @param landmarks  landmarks to index
+     * @param atMetres   distance within which a point is described as the landmark itself
+     * @param nearMetres distance within which a point is described as near the landmark
+     * @param maxEntries descriptions cached at most
+     */
+    public LandmarkDirectory(List<Landmark> landmarks, double atMetres, double nearMetres, int maxEntries) {
+        this.tree = new LandmarkTree(landmarks);
+        this.atMetres = atMetres;
+        this.nearMetres = nearMetres;
+        this.maxEntries = maxEntries;
+        this.descriptions = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+                return size() > LandmarkDirectory.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Reads landmarks from CSV lines of {@code name,locality,latitude,longitude}.
+     *
+     * <p>The header line and lines starting with {@code #} are skipped.</p>
+     *
+     * @param input      CSV document, closed by the caller
+     * @param atMetres   distance within which a point is described as the landmark itself
+     * @param nearMetres distance within which a point is described as near the landmark
+     * @param maxEntries descriptions cached at most
+     * @return directory over the landmarks of the document
+     * @throws IOException              when the document cannot be read
+     * @throws IllegalArgumentException when a line is malformed
+     */
+    public static LandmarkDirectory fromCsv(InputStream input, double atMetres, double nearMetres, int maxEntries)
+        throws IOException {
+        List<Landmark> landmarks = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank() || line.startsWith("#") || line.startsWith("name,")) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            if (fields.length != 4) {
+                throw new IllegalArgumentException("Malformed landmark line: " + line);
+            }
+            landmarks.add(new Landmark(fields[0].trim(), fields[1].trim(), Double.parseDouble(fields[2]),
+                Double.parseDouble(fields[3])));
+        }
+        return new LandmarkDirectory(landmarks, atMetres, nearMetres, maxEntries);
+    }
+
+    /**
+     * Describes a point by its closest landmark.
+     *
+     * @param latitude  latitude in degrees, may be {@code null}
+     * @param longitude longitude in degrees, may be {@code null}
+     * @return {@code "name, locality"} within the at distance, {@code "near name"} within the near distance,
+     *         otherwise {@code null}
+     */
+    public String describe(BigDecimal latitude, BigDecimal longitude) {
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        double lat = latitude.doubleValue();
+        double lon = longitude.doubleValue();
+        Long key = (Math.round(lat * 10_000) << 32) ^ (Math.round(lon * 10_000) & 0xFFFFFFFFL);
+        String description;
+        lock.lock();
+        try {
+            description = descriptions.get(key);
+        } finally {
+            lock.unlock();
+        }
+        if (description == null) {
+            description = computeDescription(lat, lon);
+            lock.lock();
+            try {
+                descriptions.put(key, description);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return description.isEmpty() ? null : description;
+    }
+
+    /**
+     * Finds the landmark closest to a point, however far away it is.
+     *
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @return closest landmark and its distance, {@code null} when no landmarks are loaded
+     */
+    public Match nearest(double latitude, double longitude) {
+        double[] distance = new double[1];
+        int index = tree.nearest(latitude, longitude, distance);
+        return index < 0 ? null : new Match(tree.get(index), distance[0]);
+    }
+
+    private String computeDescription(double latitude, double longitude) {
+        Match match = nearest(latitude, longitude);
+        if (match == null || match.distanceMetres > nearMetres) {
+            return NONE;
+        }
+        Landmark landmark = match.landmark;
+        return match.distanceMetres <= atMetres
+            ? landmark.getName() + ", " + landmark.getLocality()
+            : "near " + landmark.getName();
+    }
+
+    /**
+     * Closest landmark to a point.
+     */
+    public static final class Match {
+
+        private final Landmark landmark;
+        private final double distanceMetres;
+
+        private Match(Landmark landmark, double distanceMetres) {
+            this.landmark = landmark;
+            this.distanceMetres = distanceMetres;
+        }
+
+        /**
+         * Returns the closest landmark.
+         *
+         * @return landmark
+         */
+        public Landmark getLandmark() {
+            return landmark;
+        }
+
+        /**
+         * Returns how far the point is from the landmark.
+         *
+         * @return distance in metres
+         */
+        public double getDistanceMetres() {
+            return distanceMetres;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.dehradun.cabbooking.landmark;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Static two-dimensional KD-tree answering nearest-landmark queries.
+ *
+ * <p>Longitudes are scaled by the cosine of the landmarks' mean latitude, so distances on the projected plane
+ * match ground distances to well under a percent across a city. The tree is laid out implicitly in one
+ * array: the median of every range is its root and the halves on either side are its subtrees, splitting
+ * alternately on latitude and longitude. A query descends towards the point first and only visits the other
+ * half of a range while the splitting plane is closer than the best match so far.</p>
+ */
+final class LandmarkTree {
+
+    private static final double METRES_PER_DEGREE = 111_195.0;
+
+    private final Landmark[] nodes;
+    private final double[] ys;
+    private final double[] xs;
+    private final double longitudeScale;
+
+    LandmarkTree(List<Landmark> landmarks) {
+        this.nodes = landmarks.toArray(new Landmark[0]);
+        double latitudeSum = 0;
+        for (Landmark landmark : nodes) {
+            latitudeSum += landmark.getLatitude();
+        }
+        this.longitudeScale = nodes.length == 0 ? 1.0 : Math.cos(Math.toRadians(latitudeSum / nodes.length));
+        build(0, nodes.length, 0);
+        this.ys = new double[nodes.length];
+        this.xs = new double[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            ys[i] = nodes[i].getLatitude();
+            xs[i] = nodes[i].getLongitude() * longitudeScale;
+        }
+    }
+
+    /**
+     * Finds the landmark closest to a point.
+     *
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @param distance  receives the distance to the match in metres
+     * @return index of the closest landmark, {@code -1} when the tree is empty
+     */
+    int nearest(double latitude, double longitude, double[] distance) {
+        Search search = new Search(latitude, longitude * longitudeScale);
+        search(search, 0, nodes.length, 0);
+        distance[0] = Math.sqrt(search.bestSquared) * METRES_PER_DEGREE;
+        return search.best;
+    }
+
+    Landmark get(int index) {
+        return nodes[index];
+    }
+
+    private void search(Search search, int from, int to, int depth) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        double dy = search.y - ys[mid];
+        double dx = search.x - xs[mid];
+        double squared = dy * dy + dx * dx;
+        if (squared < search.bestSquared) {
+            search.bestSquared = squared;
+            search.best = mid;
+        }
+        double split = (depth & 1) == 0 ? dy : dx;
+        if (split < 0) {
+            search(search, from, mid, depth + 1);
+            if (split * split < search.bestSquared) {
+                search(search, mid + 1, to, depth + 1);
+            }
+        } else {
+            search(search, mid + 1, to, depth + 1);
+            if (split * split < search.bestSquared) {
+                search(search, from, mid, depth + 1);
+            }
+        }
+    }
+
+    private void build(int from, int to, int depth) {
+        if (to - from < 2) {
+            return;
+        }
+        Comparator<Landmark> axis = (depth & 1) == 0
+            ? Comparator.comparingDouble(Landmark::getLatitude)
+            : Comparator.comparingDouble(Landmark::getLongitude);
+        Arrays.sort(nodes, from, to, axis);
+        int mid = (from + to) >>> 1;
+        build(from, mid, depth + 1);
+        build(mid + 1, to, depth + 1);
+    }
+
+    /**
+     * Mutable state of one query.
+     */
+    private static final class Search {
+
+        private final double y;
+        private final double x;
+        private double bestSquared = Double.POSITIVE_INFINITY;
+        private int best = -1;
+
+        private Search(double y, double x) {
+            this.y = y;
+            this.x = x;
+        }
+    }
+}
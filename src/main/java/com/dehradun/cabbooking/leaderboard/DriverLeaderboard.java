@@ -0,0 +1,285 @@
+package com.dehradun.cabbooking.leaderboard;
+
+import com.dehradun.cabbooking.dto.LeaderboardEntry;
+import com.dehradun.cabbooking.enums.LeaderboardMetric;
+import com.dehradun.cabbooking.enums.RatingActor;
+import com.dehradun.cabbooking.enums.RideEventType;
+import com.dehradun.cabbooking.enums.VehicleType;
+import com.dehradun.cabbooking.journal.RideEvent;
+import com.dehradun.cabbooking.rating.RatingAggregator;
+import com.dehradun.cabbooking.rating.RatingSubmittedEvent;
+import com.dehradun.cabbooking.rating.RatingTally;
+import com.dehradun.cabbooking.service.TimeWindow;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory top-K driver boards per {@link VehicleType}, ranked by rating and by rides completed this week.
+ *
+ * <p>Committed {@code COMPLETED} ride events and driver ratings update the affected board in
+ * {@code O(log K)}, so dashboards never sort the {@code drivers} table. Rating boards read the running
+ * tallies of {@link RatingAggregator}, and a driver needs {@code leaderboard.min-ratings} ratings to be
+ * ranked. Completion counts reset when a new Monday-to-Sunday week starts. The boards are rebuilt from the
+ * database once the application is ready and on {@code leaderboard.rebuild-cron}. That rebuild also
+ * reloads which vehicle type each driver drives.</p>
+ */
+public class DriverLeaderboard {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DriverLeaderboard.class);
+
+    private static final String DRIVER_DIRECTORY = "select v.driver_id, v.type, d.name from vehicles v "
+        + "join drivers d on d.driver_id = v.driver_id where v.deleted = false and d.deleted = false";
+    private static final String DRIVER_PROFILE = DRIVER_DIRECTORY + " and v.driver_id = ?";
+    private static final String WEEKLY_COMPLETIONS = "select driver_id, count(*) from rides where deleted = false "
+        + "and status = 'COMPLETED' and driver_id is not null and end_time between ? and ? group by driver_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RatingAggregator ratingAggregator;
+    private final int size;
+    private final int minRatings;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Integer, DriverProfile> directory = new ConcurrentHashMap<>();
+    private final Map<VehicleType, TopK> ratingBoards = new EnumMap<>(VehicleType.class);
+    private final Map<VehicleType, TopK> completionBoards = new EnumMap<>(VehicleType.class);
+    private final Map<Integer, Integer> weeklyCompletions = new HashMap<>();
+    private LocalDateTime weekStart;
+    private long ratingGeneration = -1;
+
+    /**
+     * Creates empty boards.
+     *
+     * @param dataSource       pool the boards are rebuilt from
+     * @param ratingAggregator running driver rating tallies
+     * @param size             entries published per board
+     * @param minRatings       ratings a driver needs before appearing on a rating board
+     */
+    public DriverLeaderboard(DataSource dataSource, RatingAggregator ratingAggregator, int size, int minRatings) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.ratingAggregator = ratingAggregator;
+        this.size = size;
+        this.minRatings = minRatings;
+        for (VehicleType type : VehicleType.values()) {
+            ratingBoards.put(type, new TopK(size, size * 2));
+            completionBoards.put(type, new TopK(size, size * 2));
+        }
+        this.weekStart = TimeWindow.weekOf(LocalDate.now(zone)).getStart();
+    }
+
+    /**
+     * Counts a committed ride completion towards the driver's weekly total.
+     *
+     * @param event ride lifecycle event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRideEvent(RideEvent event) {
+        if (event.getType() != RideEventType.COMPLETED || event.getDriverId() == 0) {
+            return;
+        }
+        DriverProfile profile = profileOf(event.getDriverId());
+        LocalDate day = LocalDate.ofInstant(Instant.ofEpochMilli(event.getTimestampMillis()), zone);
+        lock.lock();
+        try {
+            rollWeek();
+            if (!TimeWindow.weekOf(day).getStart().equals(weekStart)) {
+                return;
+            }
+            int completed = weeklyCompletions.merge(event.getDriverId(), 1, Integer::sum);
+            if (profile != null) {
+                completionBoards.get(profile.type).update(event.getDriverId(), completed, 0);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Re-ranks a driver after a committed rating.
+     *
+     * @param event rating event, already applied to the rating tallies
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRatingSubmitted(RatingSubmittedEvent event) {
+        if (event.getGivenTo() != RatingActor.DRIVER) {
+            return;
+        }
+        int driverId = Math.toIntExact(event.getSubjectId());
+        DriverProfile profile = profileOf(driverId);
+        if (profile == null) {
+            return;
+        }
+        RatingTally tally = ratingAggregator.getDriverTally(driverId);
+        lock.lock();
+        try {
+            offerRating(ratingBoards.get(profile.type), driverId, tally);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the leading drivers of a board.
+     *
+     * @param type   vehicle category of the board
+     * @param metric ranking of the board
+     * @param limit  maximum entries, capped at the board size
+     * @return ranked entries, best first
+     */
+    public List<LeaderboardEntry> top(VehicleType type, LeaderboardMetric metric, int limit) {
+        List<TopK.Entry> leaders;
+        lock.lock();
+        try {
+            rollWeek();
+            if (metric == LeaderboardMetric.RATING) {
+                if (ratingGeneration != ratingAggregator.getGeneration() || ratingBoards.get(type).isStale()) {
+                    rebuildRatingBoards();
+                }
+                leaders = ratingBoards.get(type).top(limit);
+            } else {
+                leaders = completionBoards.get(type).top(limit);
+            }
+        } finally {
+            lock.unlock();
+        }
+        List<LeaderboardEntry> entries = new ArrayList<>(leaders.size());
+        for (TopK.Entry leader : leaders) {
+            DriverProfile profile = directory.get(leader.getDriverId());
+            BigDecimal score = metric == LeaderboardMetric.RATING
+                ? BigDecimal.valueOf(leader.getScore()).setScale(2, RoundingMode.HALF_UP)
+                : BigDecimal.valueOf((long) leader.getScore());
+            long count = metric == LeaderboardMetric.RATING ? leader.getTiebreak() : (long) leader.getScore();
+            entries.add(new LeaderboardEntry(entries.size() + 1, leader.getDriverId(),
+                profile != null ? profile.name : null, score, count));
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the number of entries published per board.
+     *
+     * @return board size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Builds the boards once startup work such as seeding and rating reconciliation has finished.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reloads the driver directory and this week's completions from the database and re-ranks every board.
+     */
+    @Scheduled(cron = "${leaderboard.rebuild-cron:0 5 * * * *}")
+    public void rebuild() {
+        long started = System.nanoTime();
+        Map<Integer, DriverProfile> profiles = new HashMap<>();
+        jdbcTemplate.query(DRIVER_DIRECTORY, rs -> {
+            profiles.put(rs.getInt(1), new DriverProfile(VehicleType.valueOf(rs.getString(2)), rs.getString(3)));
+        });
+        TimeWindow week = TimeWindow.weekOf(LocalDate.now(zone));
+        Map<Integer, Integer> completions = new HashMap<>();
+        jdbcTemplate.query(WEEKLY_COMPLETIONS, rs -> {
+            completions.put(rs.getInt(1), rs.getInt(2));
+        }, week.getStart(), week.getEnd());
+
+        lock.lock();
+        try {
+            directory.clear();
+            directory.putAll(profiles);
+            weekStart = week.getStart();
+            weeklyCompletions.clear();
+            weeklyCompletions.putAll(completions);
+            rebuildCompletionBoards();
+            rebuildRatingBoards();
+        } finally {
+            lock.unlock();
+        }
+        LOGGER.info("Rebuilt driver leaderboards for {} drivers in {} ms", profiles.size(),
+            (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void rollWeek() {
+        LocalDateTime current = TimeWindow.weekOf(LocalDate.now(zone)).getStart();
+        if (!current.equals(weekStart)) {
+            weekStart = current;
+            weeklyCompletions.clear();
+            completionBoards.values().forEach(TopK::clear);
+        }
+    }
+
+    private void rebuildCompletionBoards() {
+        completionBoards.values().forEach(TopK::clear);
+        weeklyCompletions.forEach((driverId, completed) -> {
+            DriverProfile profile = directory.get(driverId);
+            if (profile != null) {
+                completionBoards.get(profile.type).update(driverId, completed, 0);
+            }
+        });
+    }
+
+    private void rebuildRatingBoards() {
+        ratingGeneration = ratingAggregator.getGeneration();
+        ratingBoards.values().forEach(TopK::clear);
+        ratingAggregator.forEachDriverTally((driverId, tally) -> {
+            DriverProfile profile = directory.get(driverId.intValue());
+            if (profile != null) {
+                offerRating(ratingBoards.get(profile.type), driverId.intValue(), tally);
+            }
+        });
+    }
+
+    private void offerRating(TopK board, int driverId, RatingTally tally) {
+        if (tally.getCount() >= minRatings) {
+            board.update(driverId, (double) tally.getSum() / tally.getCount(), tally.getCount());
+        }
+    }
+
+    private DriverProfile profileOf(int driverId) {
+        DriverProfile profile = directory.get(driverId);
+        if (profile == null) {
+            List<DriverProfile> found = jdbcTemplate.query(DRIVER_PROFILE,
+                (rs, rowNum) -> new DriverProfile(VehicleType.valueOf(rs.getString(2)), rs.getString(3)), driverId);
+            if (!found.isEmpty()) {
+                profile = found.get(0);
+                directory.put(driverId, profile);
+            }
+        }
+        return profile;
+    }
+
+    private static final class DriverProfile {
+
+        private final VehicleType type;
+        private final String name;
+
+        private DriverProfile(VehicleType type, String name) {
+            this.type = type;
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.dehradun.cabbooking.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Bounded ranking of the best-scoring drivers on one board.
+ *
+ * <p>At most {@code capacity} entries are retained, ordered by score, then tie-break, then driver id.
+ * Every driver left out scores no higher than the lowest retained entry, so offering a new score only
+ * touches this structure. A retained driver whose score falls below that floor is dropped. When drops
+ * shrink the board below the published size, it is marked stale and the owner rebuilds it from the full
+ * score source. A board is complete while it has never evicted anyone, and then it accepts any score.
+ * Not thread-safe; callers synchronise.</p>
+ */
+final class TopK {
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::getScore).reversed()
+        .thenComparing(Comparator.comparingLong(Entry::getTiebreak).reversed())
+        .thenComparingInt(Entry::getDriverId);
+
+    private final int size;
+    private final int capacity;
+    private final NavigableSet<Entry> ranked = new TreeSet<>(ORDER);
+    private final Map<Integer, Entry> members = new HashMap<>();
+    private boolean complete = true;
+    private boolean stale;
+
+    /**
+     * Creates an empty, complete board.
+     *
+     * @param size     number of entries published
+     * @param capacity number of entries retained, at least {@code size}
+     */
+    TopK(int size, int capacity) {
+        this.size = size;
+        this.capacity = Math.max(size, capacity);
+    }
+
+    /**
+     * Records the latest score of a driver.
+     *
+     * @param driverId driver primary key
+     * @param score    ranking score
+     * @param tiebreak secondary key, higher ranks first
+     */
+    void update(int driverId, double score, long tiebreak) {
+        Entry previous = members.remove(driverId);
+        if (previous != null) {
+            ranked.remove(previous);
+        }
+        Entry entry = new Entry(driverId, score, tiebreak);
+        if (complete || (!ranked.isEmpty() && ORDER.compare(entry, ranked.last()) <= 0)) {
+            ranked.add(entry);
+            members.put(driverId, entry);
+            if (ranked.size() > capacity) {
+                members.remove(ranked.pollLast().getDriverId());
+                complete = false;
+            }
+        } else if (previous != null && ranked.size() < size) {
+            stale = true;
+        }
+    }
+
+    /**
+     * Empties the board ahead of a rebuild from the full score source.
+     */
+    void clear() {
+        ranked.clear();
+        members.clear();
+        complete = true;
+        stale = false;
+    }
+
+    /**
+     * Indicates that drivers outside the board may now outrank its tail.
+     *
+     * @return {@code true} when the board must be rebuilt before it is read
+     */
+    boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Returns the leading entries.
+     *
+     * @param limit maximum entries, capped at the published size
+     * @return entries in rank order
+     */
+    List<Entry> top(int limit) {
+        int count = Math.min(Math.min(limit, size), ranked.size());
+        List<Entry> leaders = new ArrayList<>(count);
+        Iterator<Entry> iterator = ranked.iterator();
+        while (leaders.size() < count) {
+            leaders.add(iterator.next());
+        }
+        return leaders;
+    }
+
+    /**
+     * Ranked driver with the score it was ranked by.
+     */
+    static final class Entry {
+
+        private final int driverId;
+        private final double score;
+        private final long tiebreak;
+
+        Entry(int driverId, double score, long tiebreak) {
+            this.driverId = driverId;
+            this.score = score;
+            this.tiebreak = tiebreak;
+        }
+
+        int getDriverId() {
+            return driverId;
+        }
+
+        double getScore() {
+            return score;
+        }
+
+        long getTiebreak() {
+            return tiebreak;
+        }
+    }
+}
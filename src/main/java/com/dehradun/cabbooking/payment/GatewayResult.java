@@ -0,0 +1,53 @@
+package com.dehradun.cabbooking.payment;
+
+/**
+ * Final answer of a {@link PaymentGateway} for a charge.
+ */
+public final class GatewayResult {
+
+    private final boolean approved;
+    private final String reference;
+
+    private GatewayResult(boolean approved, String reference) {
+        this.approved = approved;
+        this.reference = reference;
+    }
+
+    /**
+     * Creates an approval.
+     *
+     * @param reference gateway transaction reference
+     * @return approved result
+     */
+    public static GatewayResult approved(String reference) {
+        return new GatewayResult(true, reference);
+    }
+
+    /**
+     * Creates a decline that must not be retried.
+     *
+     * @param reason decline reason reported by the gateway
+     * @return declined result
+     */
+    public static GatewayResult declined(String reason) {
+        return new GatewayResult(false, reason);
+    }
+
+    /**
+     * Indicates whether the charge went through.
+     *
+     * @return {@code true} when approved
+     */
+    public boolean isApproved() {
+        return approved;
+    }
+
+    /**
+     * Returns the transaction reference, or the decline reason.
+     *
+     * @return gateway reference
+     */
+    public String getReference() {
+        return reference;
+    }
+}
@@ -0,0 +1,21 @@
+package com.dehradun.cabbooking.payment;
+
+/**
+ * Client of an external payment processor.
+ *
+ * <p>Implementations must treat {@link SettlementRequest#getIdempotencyKey()} as the identity of the charge:
+ * repeating a request with a key that was already processed returns the original result without charging
+ * again. To use a real processor, set {@code settlement.gateway.simulated} to {@code false} and declare a
+ * bean of this type.</p>
+ */
+public interface PaymentGateway {
+
+    /**
+     * Charges a payment.
+     *
+     * @param request charge to execute
+     * @return approval or decline
+     * @throws PaymentGatewayException when the outcome is unknown and the charge should be retried
+     */
+    GatewayResult settle(SettlementRequest request);
+}
@@ -0,0 +1,19 @@
+package com.dehradun.cabbooking.payment;
+
+/**
+ * Transient gateway failure, such as a timeout or an unavailable endpoint; the charge may be retried with the
+ * same idempotency key.
+ */
+public class PaymentGatewayException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates the exception.
+     *
+     * @param message failure description
+     */
+    public PaymentGatewayException(String message) {
+        super(message);
+    }
+}
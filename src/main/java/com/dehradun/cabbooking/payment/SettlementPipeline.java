@@ -0,0 +1,263 @@
+package com.dehradun.cabbooking.payment;
+
+import com.dehradun.cabbooking.enums.PaymentMethod;
+import com.dehradun.cabbooking.enums.PaymentStatus;
+import com.dehradun.cabbooking.enums.RideEventType;
+import com.dehradun.cabbooking.journal.RideEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Settles pending payments against the {@link PaymentGateway} in the background.
+ *
+ * <p>Ride completion only commits a {@code PENDING} card, UPI or wallet payment and signals this pipeline, so the
+ * completion path never waits for the gateway. Cash is collected by the driver and never sent to the gateway. A
+ * dispatcher thread reads pending payments in batches of {@code settlement.batch-size}. It charges them on virtual
+ * threads, at most {@code settlement.concurrency} at a time across batches, and each call is bounded by
+ * {@code settlement.gateway-timeout-ms}: a call still running at the deadline is interrupted and gives its slot
+ * back, so a hung gateway cannot stall the dispatcher. The resulting status transitions are written back with one JDBC batch
+ * per batch of payments. Each payment is charged under an idempotency key derived from its ride and id, so retries
+ * after timeouts or restarts never charge twice. Transient failures are retried with exponential backoff up to
+ * {@code settlement.max-attempts}, after which the payment is marked {@code FAILED}. Pending payments left over
+ * from a restart are picked up by the periodic poll.</p>
+ */
+public class SettlementPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SettlementPipeline.class);
+
+    private static final String SELECT_PENDING = "select payment_id, ride_id, amount, method from payments "
+        + "where status = 'PENDING' and method <> 'CASH' and deleted = false order by payment_id limit ?";
+    private static final String UPDATE_STATUS = "update payments set status = ? where payment_id = ? "
+        + "and status = 'PENDING'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PaymentGateway gateway;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final long gatewayTimeoutMillis;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final Semaphore wakeup = new Semaphore(0);
+    private final Semaphore permits;
+    private final Map<Integer, RetryState> retries = new HashMap<>();
+    private final Counter settled;
+    private final Counter declined;
+    private final Counter retried;
+    private final Counter failed;
+    private ExecutorService gatewayCalls;
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    /**
+     * Creates the pipeline.
+     *
+     * @param dataSource           primary pool holding the payments
+     * @param gateway              payment processor client
+     * @param batchSize            pending payments read and written per batch
+     * @param concurrency          gateway calls in flight at most
+     * @param pollIntervalMillis   how often pending payments are looked up without a completion signal
+     * @param gatewayTimeoutMillis longest wait for one gateway call before it counts as a transient failure
+     * @param maxAttempts          gateway attempts before a payment is marked failed
+     * @param retryBackoffMillis   delay before the first retry, doubled on every further attempt
+     * @param meterRegistry        registry receiving the settlement outcome counters
+     */
+    public SettlementPipeline(DataSource dataSource, PaymentGateway gateway, int batchSize, int concurrency,
+        long pollIntervalMillis, long gatewayTimeoutMillis, int maxAttempts, long retryBackoffMillis,
+        MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.gateway = gateway;
+        this.batchSize = batchSize;
+        this.permits = new Semaphore(concurrency);
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.gatewayTimeoutMillis = gatewayTimeoutMillis;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.settled = outcomeCounter(meterRegistry, "settled");
+        this.declined = outcomeCounter(meterRegistry, "declined");
+        this.retried = outcomeCounter(meterRegistry, "retried");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+    }
+
+    /**
+     * Starts the dispatcher thread.
+     */
+    public void start() {
+        running = true;
+        gatewayCalls = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("settlement-", 0).factory());
+        dispatcher = Thread.ofPlatform().name("settlement-dispatcher").daemon().start(this::dispatch);
+    }
+
+    /**
+     * Stops the dispatcher; payments still pending are settled after the next start.
+     *
+     * @throws InterruptedException when interrupted while waiting for the dispatcher to stop
+     */
+    public void close() throws InterruptedException {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        if (gatewayCalls != null) {
+            gatewayCalls.shutdownNow();
+        }
+    }
+
+    /**
+     * Wakes the dispatcher once a ride completion has committed. Never blocks the caller.
+     *
+     * @param event ride lifecycle event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRideEvent(RideEvent event) {
+        if (event.getType() == RideEventType.COMPLETED) {
+            wakeup.release();
+        }
+    }
+
+    private void dispatch() {
+        while (running) {
+            try {
+                wakeup.tryAcquire(pollIntervalMillis, TimeUnit.MILLISECONDS);
+                wakeup.drainPermits();
+                while (running && settleBatch() == batchSize) {
+                    wakeup.drainPermits();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                LOGGER.warn("Settlement batch failed, retrying on the next poll", ex);
+            }
+        }
+    }
+
+    /**
+     * Settles one batch of pending payments.
+     *
+     * @return number of payments that were sent to the gateway
+     * @throws InterruptedException when the dispatcher is stopped mid-batch
+     */
+    int settleBatch() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        List<SettlementRequest> batch = new ArrayList<>(batchSize);
+        for (SettlementRequest request : jdbcTemplate.query(SELECT_PENDING, (rs, rowNum) -> {
+            int paymentId = rs.getInt(1);
+            return new SettlementRequest(paymentId, SettlementRequest.idempotencyKey(rs.getInt(2), paymentId),
+                rs.getBigDecimal(3), PaymentMethod.valueOf(rs.getString(4)));
+        }, batchSize + retries.size())) {
+            RetryState retry = retries.get(request.getPaymentId());
+            if (retry == null || retry.nextAttemptAt <= now) {
+                batch.add(request);
+                if (batch.size() == batchSize) {
+                    break;
+                }
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<GatewayResult>> calls = new ArrayList<>(batch.size());
+        for (SettlementRequest request : batch) {
+            permits.acquire();
+            calls.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return settleWithDeadline(request);
+                } finally {
+                    permits.release();
+                }
+            }, gatewayCalls));
+        }
+
+        List<Object[]> transitions = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            SettlementRequest request = batch.get(i);
+            PaymentStatus status = outcome(request, calls.get(i));
+            if (status != null) {
+                transitions.add(new Object[] {status.name(), request.getPaymentId()});
+                retries.remove(request.getPaymentId());
+            }
+        }
+        if (!transitions.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_STATUS, transitions);
+        }
+        return batch.size();
+    }
+
+    private GatewayResult settleWithDeadline(SettlementRequest request) {
+        Future<GatewayResult> attempt = gatewayCalls.submit(() -> gateway.settle(request));
+        try {
+            return attempt.get(gatewayTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            throw new CompletionException(ex.getCause());
+        } catch (TimeoutException ex) {
+            attempt.cancel(true);
+            throw new CompletionException(ex);
+        } catch (InterruptedException ex) {
+            attempt.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CompletionException(ex);
+        }
+    }
+
+    private PaymentStatus outcome(SettlementRequest request, CompletableFuture<GatewayResult> call) {
+        try {
+            GatewayResult result = call.join();
+            if (result.isApproved()) {
+                settled.increment();
+                return PaymentStatus.COMPLETED;
+            }
+            declined.increment();
+            LOGGER.info("Payment {} declined: {}", request.getPaymentId(), result.getReference());
+            return PaymentStatus.FAILED;
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (!(cause instanceof PaymentGatewayException) && !(cause instanceof TimeoutException)) {
+                LOGGER.warn("Unexpected gateway error for payment {}", request.getPaymentId(), cause);
+            }
+            RetryState retry = retries.computeIfAbsent(request.getPaymentId(), id -> new RetryState());
+            retry.attempts++;
+            if (retry.attempts >= maxAttempts) {
+                failed.increment();
+                LOGGER.warn("Payment {} failed after {} attempts", request.getPaymentId(), retry.attempts);
+                return PaymentStatus.FAILED;
+            }
+            retried.increment();
+            retry.nextAttemptAt = System.currentTimeMillis() + (retryBackoffMillis << (retry.attempts - 1));
+            return null;
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("payments.settlement")
+            .tag("outcome", outcome)
+            .description("Payment settlement attempts by outcome")
+            .register(registry);
+    }
+
+    private static final class RetryState {
+
+        private int attempts;
+        private long nextAttemptAt;
+    }
+}
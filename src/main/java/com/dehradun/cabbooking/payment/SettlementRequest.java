@@ -0,0 +1,77 @@
+package com.dehradun.cabbooking.payment;
+
+import com.dehradun.cabbooking.enums.PaymentMethod;
+import java.math.BigDecimal;
+
+/**
+ * Charge submitted to a {@link PaymentGateway} for one pending payment.
+ */
+public final class SettlementRequest {
+
+    private final int paymentId;
+    private final String idempotencyKey;
+    private final BigDecimal amount;
+    private final PaymentMethod method;
+
+    /**
+     * Builds the request.
+     *
+     * @param paymentId      payment primary key
+     * @param idempotencyKey key that stays the same across retries of this payment
+     * @param amount         amount to charge
+     * @param method         instrument to charge
+     */
+    public SettlementRequest(int paymentId, String idempotencyKey, BigDecimal amount, PaymentMethod method) {
+        this.paymentId = paymentId;
+        this.idempotencyKey = idempotencyKey;
+        this.amount = amount;
+        this.method = method;
+    }
+
+    /**
+     * Derives the idempotency key of a payment, stable across retries and restarts.
+     *
+     * @param rideId    ride the payment belongs to
+     * @param paymentId payment primary key
+     * @return idempotency key
+     */
+    public static String idempotencyKey(int rideId, int paymentId) {
+        return "ride-" + rideId + "-payment-" + paymentId;
+    }
+
+    /**
+     * Returns the payment being settled.
+     *
+     * @return payment primary key
+     */
+    public int getPaymentId() {
+        return paymentId;
+    }
+
+    /**
+     * Returns the key the gateway uses to recognise a retried charge.
+     *
+     * @return idempotency key
+     */
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    /**
+     * Returns the amount to charge.
+     *
+     * @return amount in rupees
+     */
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    /**
+     * Returns the instrument to charge.
+     *
+     * @return payment method
+     */
+    public PaymentMethod getMethod() {
+        return method;
+    }
+}
@@ -0,0 +1,76 @@
+package com.dehradun.cabbooking.payment;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for a payment processor with configurable latency, transient failures and declines.
+ *
+ * <p>Outcomes are remembered per idempotency key, so a retried charge never settles twice. Half of the
+ * simulated failures happen after the charge was recorded, like a response lost on the way back. The retry
+ * then receives the original approval.</p>
+ */
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double failureRate;
+    private final double declineRate;
+    private final Map<String, GatewayResult> processed = new ConcurrentHashMap<>();
+    private final AtomicLong charges = new AtomicLong();
+
+    /**
+     * Creates the simulated gateway.
+     *
+     * @param latencyMillis base response time
+     * @param jitterMillis  random extra response time, up to this value
+     * @param failureRate   share of calls that fail transiently
+     * @param declineRate   share of charges that are declined
+     */
+    public SimulatedPaymentGateway(long latencyMillis, long jitterMillis, double failureRate, double declineRate) {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.failureRate = failureRate;
+        this.declineRate = declineRate;
+    }
+
+    @Override
+    public GatewayResult settle(SettlementRequest request) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        sleep(latencyMillis + (jitterMillis > 0 ? random.nextLong(jitterMillis + 1) : 0));
+        boolean fails = random.nextDouble() < failureRate;
+        if (fails && random.nextBoolean()) {
+            throw new PaymentGatewayException("Simulated gateway timeout");
+        }
+        GatewayResult result = processed.computeIfAbsent(request.getIdempotencyKey(), key -> {
+            charges.incrementAndGet();
+            return ThreadLocalRandom.current().nextDouble() < declineRate
+                ? GatewayResult.declined("Simulated decline")
+                : GatewayResult.approved("SIM-" + request.getPaymentId());
+        });
+        if (fails) {
+            throw new PaymentGatewayException("Simulated lost response");
+        }
+        return result;
+    }
+
+    /**
+     * Returns how many distinct charges were executed, excluding idempotent replays.
+     *
+     * @return executed charges
+     */
+    public long getCharges() {
+        return charges.get();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted while waiting for the gateway");
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.dehradun.cabbooking.presence;
+
+import com.dehradun.cabbooking.city.CityOwnership;
+import com.dehradun.cabbooking.city.CityOwnershipChangedEvent;
+import com.dehradun.cabbooking.city.CityPartitions;
+import com.dehradun.cabbooking.city.CityRegistry;
+import com.dehradun.cabbooking.timing.HashedTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Tracks driver heartbeats and takes drivers offline once they stop sending them.
+ *
+ * <p>Every online driver has one timer in a {@link HashedTimingWheel}. A heartbeat moves the timer to the
+ * slot of its new deadline, and each tick visits a single slot. Neither depends on the number of drivers
+ * online, and nothing scans the {@code drivers} table. Expired drivers are set {@code OFFLINE} in
+ * {@code drivers.status} in one JDBC batch per flush interval. The update only touches rows still
+ * {@code AVAILABLE}, so a driver on a ride keeps its status. A driver who heartbeats again before the flush
+ * is withdrawn from it; one who does so during the flush is written back as {@code AVAILABLE}.</p>
+ *
+ * <p>Online drivers are partitioned by the city they are in. Each city has its own lock, map and timing
+ * wheel, and the {@code drivers.online} gauge is reported per city. A driver whose heartbeat position lies
+ * in another city's service area moves to that city's partition; heartbeats without a position, or from
+ * outside every service area, leave the driver where it is.</p>
+ *
+ * <p>The tracker starts with every driver stored as {@code AVAILABLE} in the default city, each given a full
+ * timeout to send its first heartbeat. In cluster mode only the owner of the default city loads them, and a
+ * node drops the drivers of every city it hands off.</p>
+ */
+public class DriverPresenceTracker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DriverPresenceTracker.class);
+    private static final String SELECT_AVAILABLE =
+        "select driver_id from drivers where status = 'AVAILABLE' and deleted = false";
+    private static final String MARK_OFFLINE =
+        "update drivers set status = 'OFFLINE' where driver_id = ? and status = 'AVAILABLE'";
+    private static final String MARK_AVAILABLE =
+        "update drivers set status = 'AVAILABLE' where driver_id = ? and status = 'OFFLINE'";
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long tickNanos;
+    private final long timeoutTicks;
+    private final long originNanos = System.nanoTime();
+    private final CityPartitions<Partition> partitions;
+    private final CityOwnership ownership;
+    private final Map<Integer, Partition> partitionOfDriver = new ConcurrentHashMap<>();
+    private final Set<Integer> pendingOffline = ConcurrentHashMap.newKeySet();
+    private final Counter expired;
+
+    /**
+     * Creates the tracker.
+     *
+     * @param dataSource    primary pool receiving {@code drivers.status} updates
+     * @param timeout       silence after which a driver is taken offline
+     * @param tick          resolution of the timing wheel
+     * @param wheelSize     slots of each city's timing wheel, raised to cover the timeout in one turn
+     * @param cities        cities whose online drivers are partitioned
+     * @param ownership     cities whose drivers are tracked here
+     * @param meterRegistry registry receiving the presence metrics
+     */
+    public DriverPresenceTracker(DataSource dataSource, Duration timeout, Duration tick, int wheelSize,
+        CityRegistry cities, CityOwnership ownership, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.tickNanos = Math.max(1L, tick.toNanos());
+        this.timeoutTicks = Math.max(1L, (timeout.toNanos() + tickNanos - 1) / tickNanos);
+        int slots = (int) Math.min(1 << 20, Math.max(wheelSize, timeoutTicks + 1));
+        this.partitions = new CityPartitions<>(cities, city -> new Partition(city, slots));
+        this.ownership = ownership;
+        this.expired = Counter.builder("drivers.presence.expired")
+            .description("Drivers taken offline after missing their heartbeats")
+            .register(meterRegistry);
+        for (Partition partition : partitions.asMap().values()) {
+            Gauge.builder("drivers.online", partition.online, Map::size)
+                .description("Drivers with a live heartbeat")
+                .tag("city", partition.city)
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Extends the deadline of a driver already tracked as online, moving it when it reports another city.
+     *
+     * @param driverId driver primary key
+     * @param city     city the driver's position lies in, {@code null} to keep its current city
+     * @return {@code false} when the driver is not tracked and must be registered
+     */
+    public boolean touch(int driverId, String city) {
+        Partition current = partitionOfDriver.get(driverId);
+        if (current == null) {
+            return false;
+        }
+        long deadline = currentTick() + timeoutTicks;
+        Partition target = city == null ? current : partitions.get(city);
+        if (target == current) {
+            return current.touch(driverId, deadline);
+        }
+        if (!current.remove(driverId)) {
+            return false;
+        }
+        partitionOfDriver.put(driverId, target);
+        target.register(driverId, deadline);
+        return true;
+    }
+
+    /**
+     * Starts tracking a driver, or extends its deadline when already tracked.
+     *
+     * @param driverId driver primary key
+     * @param city     city the driver's position lies in, {@code null} for its current or the default city
+     */
+    public void register(int driverId, String city) {
+        if (touch(driverId, city)) {
+            pendingOffline.remove(driverId);
+            return;
+        }
+        Partition partition = partitions.get(city);
+        partitionOfDriver.put(driverId, partition);
+        partition.register(driverId, currentTick() + timeoutTicks);
+        pendingOffline.remove(driverId);
+    }
+
+    /**
+     * Returns how many drivers are tracked as online.
+     *
+     * @return online drivers in every city
+     */
+    public int getOnlineCount() {
+        return partitionOfDriver.size();
+    }
+
+    /**
+     * Advances every city's timing wheel to the current time, queueing expired drivers for the next flush.
+     */
+    @Scheduled(fixedRateString = "${presence.tick-ms:1000}")
+    public void advance() {
+        long now = currentTick();
+        for (Partition partition : partitions.asMap().values()) {
+            partition.advance(now);
+        }
+    }
+
+    /**
+     * Writes the drivers that expired since the last flush as {@code OFFLINE} in batches.
+     *
+     * <p>Drivers whose update fails are kept pending for the next flush.</p>
+     */
+    @Scheduled(fixedDelayString = "${presence.flush-interval-ms:2000}")
+    public void flushOffline() {
+        if (pendingOffline.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(Math.min(pendingOffline.size(), FLUSH_BATCH_SIZE));
+        Iterator<Integer> pending = pendingOffline.iterator();
+        while (pending.hasNext()) {
+            Integer driverId = pending.next();
+            pending.remove();
+            batch.add(new Object[] {driverId});
+            if (batch.size() == FLUSH_BATCH_SIZE) {
+                writeBatch(batch);
+                batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    /**
+     * Tracks every driver stored as {@code AVAILABLE} once the application is ready, when the default city
+     * is owned here.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAvailableDrivers() {
+        if (!ownership.owns(null)) {
+            LOGGER.info("Not loading available drivers, the default city is owned by another node");
+            return;
+        }
+        List<Integer> driverIds = jdbcTemplate.queryForList(SELECT_AVAILABLE, Integer.class);
+        for (Integer driverId : driverIds) {
+            register(driverId, null);
+        }
+        LOGGER.info("Tracking presence of {} available drivers", driverIds.size());
+    }
+
+    /**
+     * Drops the drivers of the cities this node handed off and loads the available drivers when it took
+     * over the default city.
+     *
+     * <p>Dropped drivers keep their stored status. Their next heartbeat reaches the new owner, which starts
+     * tracking them.</p>
+     *
+     * @param event cities acquired and released
+     */
+    @EventListener
+    public void onOwnershipChanged(CityOwnershipChangedEvent event) {
+        for (String city : event.getReleased()) {
+            Partition partition = partitions.asMap().get(city);
+            if (partition != null) {
+                partition.clear();
+            }
+        }
+        if (event.getAcquired().contains(partitions.get(null).city)) {
+            loadAvailableDrivers();
+        }
+    }
+
+    /**
+     * Flushes outstanding offline updates on shutdown.
+     */
+    public void close() {
+        flushOffline();
+    }
+
+    private long currentTick() {
+        return (System.nanoTime() - originNanos) / tickNanos;
+    }
+
+    private void writeBatch(List<Object[]> batch) {
+        try {
+            jdbcTemplate.batchUpdate(MARK_OFFLINE, batch);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Unable to take {} drivers offline, retrying on the next flush", batch.size(), ex);
+            for (Object[] row : batch) {
+                pendingOffline.add((Integer) row[0]);
+            }
+            return;
+        }
+        List<Object[]> returned = new ArrayList<>();
+        for (Object[] row : batch) {
+            if (partitionOfDriver.containsKey((Integer) row[0])) {
+                returned.add(row);
+            }
+        }
+        if (!returned.isEmpty()) {
+            jdbcTemplate.batchUpdate(MARK_AVAILABLE, returned);
+        }
+    }
+
+    /**
+     * Online drivers of one city.
+     */
+    private final class Partition {
+
+        private final String city;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Integer, HashedTimingWheel.Timer> online = new HashMap<>();
+        private final HashedTimingWheel wheel;
+
+        private Partition(String city, int slots) {
+            this.city = city;
+            this.wheel = new HashedTimingWheel(slots, 0L);
+        }
+
+        private boolean touch(int driverId, long deadlineTick) {
+            lock.lock();
+            try {
+                HashedTimingWheel.Timer timer = online.get(driverId);
+                if (timer == null) {
+                    return false;
+                }
+                wheel.schedule(timer, deadlineTick);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void register(int driverId, long deadlineTick) {
+            lock.lock();
+            try {
+                HashedTimingWheel.Timer timer = online.computeIfAbsent(driverId, HashedTimingWheel.Timer::new);
+                wheel.schedule(timer, deadlineTick);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean remove(int driverId) {
+            lock.lock();
+            try {
+                HashedTimingWheel.Timer timer = online.remove(driverId);
+                if (timer == null) {
+                    return false;
+                }
+                wheel.cancel(timer);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void clear() {
+            lock.lock();
+            try {
+                for (HashedTimingWheel.Timer timer : online.values()) {
+                    wheel.cancel(timer);
+                    partitionOfDriver.remove(timer.getId(), this);
+                }
+                online.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void advance(long nowTick) {
+            lock.lock();
+            try {
+                wheel.advance(nowTick, driverId -> {
+                    online.remove(driverId);
+                    partitionOfDriver.remove(driverId, this);
+                    pendingOffline.add(driverId);
+                    expired.increment();
+                });
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
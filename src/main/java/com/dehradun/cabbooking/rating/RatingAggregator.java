@@ -0,0 +1,229 @@
+package com.dehradun.cabbooking.rating;
+
+import com.dehradun.cabbooking.enums.RatingActor;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps a running sum and count of the ratings received by every driver and user.
+ *
+ * <p>Each committed rating updates its recipient's tally in constant time instead of re-averaging the
+ * {@code ratings} table. Drivers whose tally changed are remembered and their averages are written to
+ * {@code drivers.rating} in one JDBC batch per flush interval. User averages have no column and are served
+ * from memory.</p>
+ *
+ * <p>{@link RatingReconciler} rebuilds the tallies from the database. Ratings committed while a rebuild
+ * runs are queued and re-applied on top of the rebuilt tallies when their identifier lies past the
+ * rebuild's snapshot, so live updates are not lost when the tallies are swapped. The rating listener runs
+ * ahead of other listeners, so they read tallies that already include the rating.</p>
+ */
+public class RatingAggregator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RatingAggregator.class);
+    private static final String UPDATE_DRIVER_RATING = "update drivers set rating = ? where driver_id = ?";
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<Long> dirtyDrivers = ConcurrentHashMap.newKeySet();
+
+    private volatile Map<Long, RatingTally> driverTallies = new ConcurrentHashMap<>();
+    private volatile Map<Long, RatingTally> userTallies = new ConcurrentHashMap<>();
+    private List<RatingSubmittedEvent> rebuildBacklog;
+    private volatile long generation;
+
+    /**
+     * Creates the aggregator writing driver averages through the supplied pool.
+     *
+     * @param dataSource primary pool receiving {@code drivers.rating} updates
+     */
+    public RatingAggregator(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Adds a committed rating to its recipient's tally.
+     *
+     * @param event rating published by the rating service
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRatingSubmitted(RatingSubmittedEvent event) {
+        lock.lock();
+        try {
+            apply(driverTallies, userTallies, event);
+            if (rebuildBacklog != null) {
+                rebuildBacklog.add(event);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (event.getGivenTo() == RatingActor.DRIVER) {
+            dirtyDrivers.add(event.getSubjectId());
+        }
+    }
+
+    /**
+     * Returns the running tally of a driver.
+     *
+     * @param driverId driver primary key
+     * @return tally, {@link RatingTally#EMPTY} when the driver has not been rated
+     */
+    public RatingTally getDriverTally(long driverId) {
+        return driverTallies.getOrDefault(driverId, RatingTally.EMPTY);
+    }
+
+    /**
+     * Returns the running tally of a user.
+     *
+     * @param userId user primary key
+     * @return tally, {@link RatingTally#EMPTY} when the user has not been rated
+     */
+    public RatingTally getUserTally(long userId) {
+        return userTallies.getOrDefault(userId, RatingTally.EMPTY);
+    }
+
+    /**
+     * Visits the tally of every rated driver.
+     *
+     * @param visitor callback receiving the driver primary key and its tally
+     */
+    public void forEachDriverTally(BiConsumer<Long, RatingTally> visitor) {
+        driverTallies.forEach(visitor);
+    }
+
+    /**
+     * Returns a counter that changes whenever the tallies are replaced by a rebuild.
+     *
+     * <p>Consumers that derive state from the tallies compare it to detect that they must re-derive.</p>
+     *
+     * @return rebuild generation
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns how many drivers are waiting for their average to be written.
+     *
+     * @return number of pending driver updates
+     */
+    public int getPendingDriverUpdates() {
+        return dirtyDrivers.size();
+    }
+
+    /**
+     * Writes the averages of drivers rated since the last flush to {@code drivers.rating} in batches.
+     *
+     * <p>Drivers whose update fails are kept pending for the next flush.</p>
+     */
+    @Scheduled(fixedDelayString = "${rating.flush-interval-ms:5000}")
+    public void flushDriverRatings() {
+        if (dirtyDrivers.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(Math.min(dirtyDrivers.size(), FLUSH_BATCH_SIZE));
+        Iterator<Long> pending = dirtyDrivers.iterator();
+        while (pending.hasNext()) {
+            Long driverId = pending.next();
+            pending.remove();
+            batch.add(new Object[] {getDriverTally(driverId).getAverage(), driverId});
+            if (batch.size() == FLUSH_BATCH_SIZE) {
+                writeBatch(batch);
+                batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    /**
+     * Flushes outstanding driver averages on shutdown.
+     */
+    public void close() {
+        flushDriverRatings();
+    }
+
+    /**
+     * Starts queueing live ratings so they can be replayed onto tallies rebuilt from a snapshot.
+     */
+    void beginRebuild() {
+        lock.lock();
+        try {
+            rebuildBacklog = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the tallies with a rebuilt snapshot, re-applying ratings newer than the snapshot.
+     *
+     * @param watermark highest rating identifier included in the snapshot
+     * @param drivers   rebuilt driver tallies
+     * @param users     rebuilt user tallies
+     */
+    void completeRebuild(int watermark, Map<Long, RatingTally> drivers, Map<Long, RatingTally> users) {
+        lock.lock();
+        try {
+            for (RatingSubmittedEvent event : rebuildBacklog) {
+                if (event.getRatingId() > watermark) {
+                    apply(drivers, users, event);
+                }
+            }
+            driverTallies = drivers;
+            userTallies = users;
+            rebuildBacklog = null;
+            generation++;
+        } finally {
+            lock.unlock();
+        }
+        dirtyDrivers.addAll(drivers.keySet());
+    }
+
+    /**
+     * Stops queueing live ratings after a failed rebuild, keeping the current tallies.
+     */
+    void abortRebuild() {
+        lock.lock();
+        try {
+            rebuildBacklog = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void apply(Map<Long, RatingTally> drivers, Map<Long, RatingTally> users,
+        RatingSubmittedEvent event) {
+        Map<Long, RatingTally> target = event.getGivenTo() == RatingActor.DRIVER ? drivers : users;
+        target.merge(event.getSubjectId(), RatingTally.EMPTY.plus(event.getScore()),
+            (current, added) -> current.plus(event.getScore()));
+    }
+
+    private void writeBatch(List<Object[]> batch) {
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_DRIVER_RATING, batch);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Unable to write {} driver ratings, retrying on the next flush", batch.size(), ex);
+            for (Object[] row : batch) {
+                dirtyDrivers.add((Long) row[1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.dehradun.cabbooking.rating;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Rebuilds the rating tallies of {@link RatingAggregator} from the {@code ratings} table.
+ *
+ * <p>The highest rating identifier is taken as the snapshot watermark. The driver and user id ranges are
+ * then split into partitions that are aggregated with {@code SUM}/{@code COUNT} queries on parallel workers.
+ * It runs once the application is ready, unless {@code rating.reconcile-on-startup} is off, and again on
+ * {@code rating.reconcile-cron} to repair any drift.
+ * Queries go to the primary so the snapshot is not behind the watermark. A rating whose transaction is
+ * still open when the watermark is read may be left out until the next run.</p>
+ */
+public class RatingReconciler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RatingReconciler.class);
+
+    private static final String DRIVER_TOTALS = "select r.driver_id, sum(g.rating), count(*) from ratings g "
+        + "join rides r on r.ride_id = g.ride_id where g.deleted = false and g.given_to = 'DRIVER' "
+        + "and g.rating is not null and g.rating_id <= ? and r.driver_id between ? and ? group by r.driver_id";
+    private static final String USER_TOTALS = "select r.user_id, sum(g.rating), count(*) from ratings g "
+        + "join rides r on r.ride_id = g.ride_id where g.deleted = false and g.given_to = 'USER' "
+        + "and g.rating is not null and g.rating_id <= ? and r.user_id between ? and ? group by r.user_id";
+
+    private final RatingAggregator aggregator;
+    private final JdbcTemplate jdbcTemplate;
+    private final int parallelism;
+    private final boolean reconcileOnStartup;
+
+    /**
+     * Creates the reconciler.
+     *
+     * @param aggregator         aggregator whose tallies are replaced
+     * @param dataSource         primary pool the snapshot is read from
+     * @param parallelism        number of partitions aggregated concurrently
+     * @param reconcileOnStartup whether tallies are rebuilt once the application is ready
+     */
+    public RatingReconciler(RatingAggregator aggregator, DataSource dataSource, int parallelism,
+        boolean reconcileOnStartup) {
+        this.aggregator = aggregator;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.parallelism = Math.max(1, parallelism);
+        this.reconcileOnStartup = reconcileOnStartup;
+    }
+
+    /**
+     * Loads the tallies after startup, once data loaders such as the seed runner have finished.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Recomputes every driver and user tally and swaps them into the aggregator.
+     */
+    @Scheduled(cron = "${rating.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        long started = System.nanoTime();
+        aggregator.beginRebuild();
+        try {
+            Integer watermark = jdbcTemplate.queryForObject("select coalesce(max(rating_id), 0) from ratings",
+                Integer.class);
+            Map<Long, RatingTally> drivers = new ConcurrentHashMap<>();
+            Map<Long, RatingTally> users = new ConcurrentHashMap<>();
+            ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+            try {
+                List<Future<?>> tasks = new ArrayList<>();
+                submitPartitions(workers, tasks, "select min(driver_id), max(driver_id) from drivers",
+                    DRIVER_TOTALS, watermark, drivers);
+                submitPartitions(workers, tasks, "select min(user_id), max(user_id) from users", USER_TOTALS,
+                    watermark, users);
+                for (Future<?> task : tasks) {
+                    task.get();
+                }
+            } finally {
+                workers.shutdownNow();
+            }
+            aggregator.completeRebuild(watermark, drivers, users);
+            LOGGER.info("Rebuilt rating tallies of {} drivers and {} users up to rating {} in {} ms", drivers.size(),
+                users.size(), watermark, (System.nanoTime() - started) / 1_000_000);
+        } catch (InterruptedException ex) {
+            aggregator.abortRebuild();
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException ex) {
+            aggregator.abortRebuild();
+            LOGGER.warn("Rating reconciliation failed, keeping the current tallies", ex);
+        }
+    }
+
+    private void submitPartitions(ExecutorService workers, List<Future<?>> tasks, String rangeQuery,
+        String totalsQuery, int watermark, Map<Long, RatingTally> target) {
+        long[] range = jdbcTemplate.queryForObject(rangeQuery,
+            (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2)});
+        if (range == null || range[1] < range[0] || (range[0] == 0 && range[1] == 0)) {
+            return;
+        }
+        long span = (range[1] - range[0]) / parallelism + 1;
+        for (long start = range[0]; start <= range[1]; start += span) {
+            long from = start;
+            long to = Math.min(range[1], start + span - 1);
+            tasks.add(workers.submit(() -> jdbcTemplate.query(totalsQuery,
+                rs -> {
+                    target.put(rs.getLong(1), new RatingTally(rs.getLong(2), rs.getLong(3)));
+                }, watermark, from, to)));
+        }
+    }
+}
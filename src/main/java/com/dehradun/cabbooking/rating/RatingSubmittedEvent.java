@@ -0,0 +1,90 @@
+package com.dehradun.cabbooking.rating;
+
+import com.dehradun.cabbooking.entity.Rating;
+import com.dehradun.cabbooking.enums.RatingActor;
+
+/**
+ * Published when a rider or driver rates a completed ride.
+ */
+public final class RatingSubmittedEvent {
+
+    private final int ratingId;
+    private final int rideId;
+    private final RatingActor givenTo;
+    private final long subjectId;
+    private final int score;
+
+    /**
+     * Builds the event.
+     *
+     * @param ratingId  rating primary key
+     * @param rideId    rated ride
+     * @param givenTo   kind of account receiving the rating
+     * @param subjectId driver or user primary key receiving the rating
+     * @param score     stars from one to five
+     */
+    public RatingSubmittedEvent(int ratingId, int rideId, RatingActor givenTo, long subjectId, int score) {
+        this.ratingId = ratingId;
+        this.rideId = rideId;
+        this.givenTo = givenTo;
+        this.subjectId = subjectId;
+        this.score = score;
+    }
+
+    /**
+     * Captures a persisted rating.
+     *
+     * @param rating    saved rating linked to its ride
+     * @param subjectId driver or user primary key receiving the rating
+     * @return event describing the rating
+     */
+    public static RatingSubmittedEvent of(Rating rating, long subjectId) {
+        return new RatingSubmittedEvent(rating.getRatingId(), rating.getRide().getRideId(), rating.getGivenTo(),
+            subjectId, rating.getRating());
+    }
+
+    /**
+     * Returns the rating identifier.
+     *
+     * @return rating primary key
+     */
+    public int getRatingId() {
+        return ratingId;
+    }
+
+    /**
+     * Returns the rated ride.
+     *
+     * @return ride primary key
+     */
+    public int getRideId() {
+        return rideId;
+    }
+
+    /**
+     * Returns the kind of account receiving the rating.
+     *
+     * @return rating recipient
+     */
+    public RatingActor getGivenTo() {
+        return givenTo;
+    }
+
+    /**
+     * Returns the driver or user receiving the rating.
+     *
+     * @return recipient primary key
+     */
+    public long getSubjectId() {
+        return subjectId;
+    }
+
+    /**
+     * Returns the stars given.
+     *
+     * @return rating from one to five
+     */
+    public int getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,69 @@
+package com.dehradun.cabbooking.rating;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable running sum and count of the ratings received by one driver or user.
+ */
+public final class RatingTally {
+
+    /**
+     * Tally of an account that has not been rated yet.
+     */
+    public static final RatingTally EMPTY = new RatingTally(0L, 0L);
+
+    private final long sum;
+    private final long count;
+
+    /**
+     * Builds a tally.
+     *
+     * @param sum   total stars received
+     * @param count number of ratings received
+     */
+    public RatingTally(long sum, long count) {
+        this.sum = sum;
+        this.count = count;
+    }
+
+    /**
+     * Returns the tally after one more rating.
+     *
+     * @param score stars of the new rating
+     * @return updated tally
+     */
+    public RatingTally plus(int score) {
+        return new RatingTally(sum + score, count + 1);
+    }
+
+    /**
+     * Returns the total stars received.
+     *
+     * @return sum of all ratings
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Returns the number of ratings received.
+     *
+     * @return rating count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Computes the average at the precision of {@code drivers.rating}.
+     *
+     * @return average with two decimals, or {@code null} when nothing has been rated
+     */
+    public BigDecimal getAverage() {
+        if (count == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -26,6 +26,25 @@ public interface DiscountRepository extends JpaRepository<Discount, Integer> {
         + "(d.validFrom is null or d.validFrom <= :today) and (d.validTo is null or d.validTo >= :today)")
     List<Discount> findActiveDiscounts(@Param("today") LocalDate today);
 
+    /**
+     * Retrieves discount definitions that are active on the provided date in one city.
+     *
+     * @param today date to evaluate validity against
+     * @param city  city code; discounts not limited to a city are included
+     * @return collection of valid discounts
+     */
+    @Query("select d from Discount d where d.deleted = false and (d.city is null or d.city = :city) and "
+        + "(d.validFrom is null or d.validFrom <= :today) and (d.validTo is null or d.validTo >= :today)")
+    List<Discount> findActiveDiscountsInCity(@Param("today") LocalDate today, @Param("city") String city);
+
+    /**
+     * Finds a discount by its unique code, including soft deleted ones.
+     *
+     * @param code unique discount code
+     * @return optional discount when present
+     */
+    Optional<Discount> findByCode(String code);
+
     /**
      * Finds an active discount by its unique code.
      *
@@ -1,6 +1,7 @@
 package com.dehradun.cabbooking.repository;
 
 import com.dehradun.cabbooking.entity.Rating;
+import com.dehradun.cabbooking.enums.RatingActor;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +10,13 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface RatingRepository extends JpaRepository<Rating, Integer> {
+
+    /**
+     * Checks whether a participant has already rated the ride.
+     *
+     * @param rideId  ride primary key
+     * @param givenBy participant submitting the rating
+     * @return {@code true} when an active rating exists
+     */
+    boolean existsByRideRideIdAndGivenByAndDeletedFalse(Integer rideId, RatingActor givenBy);
 }
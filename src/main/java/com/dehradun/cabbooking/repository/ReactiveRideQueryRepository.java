@@ -0,0 +1,169 @@
+package com.dehradun.cabbooking.repository;
+
+import com.dehradun.cabbooking.dto.RideSummary;
+import com.dehradun.cabbooking.enums.RideStatus;
+import io.r2dbc.spi.Readable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking R2DBC queries mirroring the read side of {@link RideRepository}.
+ *
+ * <p>Rows are fetched through a database cursor in batches of {@code r2dbc.fetch-size}, so a slow
+ * subscriber throttles how far ahead the driver reads instead of the whole result being buffered.</p>
+ */
+@Repository
+public class ReactiveRideQueryRepository {
+
+    private static final String COLUMNS = "r.ride_id, r.user_id, r.driver_id, r.vehicle_id, "
+        + "r.pickup_location_id, r.drop_location_id, r.status, r.fare, r.distance_km, r.start_time, r.end_time, "
+        + "r.created_at from rides r ";
+
+    private static final String SELECT_RIDES = "select " + COLUMNS;
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    /**
+     * Creates the repository on top of the reactive database client.
+     *
+     * @param databaseClient R2DBC client bound to the connection pool
+     * @param fetchSize      number of rows requested from the cursor at a time
+     */
+    public ReactiveRideQueryRepository(DatabaseClient databaseClient,
+        @Value("${r2dbc.fetch-size:256}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Loads a single active ride.
+     *
+     * @param rideId ride identifier
+     * @return ride projection, or empty when missing or deleted
+     */
+    public Mono<RideSummary> findActiveById(Integer rideId) {
+        return databaseClient.sql(SELECT_RIDES + "where r.ride_id = :rideId and r.deleted = false")
+            .bind("rideId", rideId)
+            .map(ReactiveRideQueryRepository::toSummary)
+            .one();
+    }
+
+    /**
+     * Streams rides created within the provided time window.
+     *
+     * @param start start instant of the window
+     * @param end   end instant of the window
+     * @return rides created during the interval
+     */
+    public Flux<RideSummary> findCreatedBetween(LocalDateTime start, LocalDateTime end) {
+        return databaseClient.sql(SELECT_RIDES + "where r.deleted = false and r.created_at between :start and :end")
+            .filter(statement -> statement.fetchSize(fetchSize))
+            .bind("start", start)
+            .bind("end", end)
+            .map(ReactiveRideQueryRepository::toSummary)
+            .all();
+    }
+
+    /**
+     * Streams rides with the supplied status that finished inside the interval.
+     *
+     * @param status ride lifecycle status
+     * @param start  start instant of the window
+     * @param end    end instant of the window
+     * @return rides matching the criteria
+     */
+    public Flux<RideSummary> findByStatusAndEndedBetween(RideStatus status, LocalDateTime start,
+        LocalDateTime end) {
+        return databaseClient.sql(SELECT_RIDES + "where r.deleted = false and r.status = :status "
+                + "and r.end_time between :start and :end")
+            .filter(statement -> statement.fetchSize(fetchSize))
+            .bind("status", status.name())
+            .bind("start", start)
+            .bind("end", end)
+            .map(ReactiveRideQueryRepository::toSummary)
+            .all();
+    }
+
+    /**
+     * Streams rides in any of the provided statuses created during the interval.
+     *
+     * @param statuses lifecycle status collection
+     * @param start    start instant of the window
+     * @param end      end instant of the window
+     * @return rides matching the criteria
+     */
+    public Flux<RideSummary> findByStatusInAndCreatedBetween(Collection<RideStatus> statuses, LocalDateTime start,
+        LocalDateTime end) {
+        return databaseClient.sql(SELECT_RIDES + "where r.deleted = false and r.status in (:statuses) "
+                + "and r.created_at between :start and :end")
+            .filter(statement -> statement.fetchSize(fetchSize))
+            .bind("statuses", statuses.stream().map(RideStatus::name).toList())
+            .bind("start", start)
+            .bind("end", end)
+            .map(ReactiveRideQueryRepository::toSummary)
+            .all();
+    }
+
+    /**
+     * Streams rides where the distance or fare exceeds the supplied thresholds.
+     *
+     * @param start             start instant of the week window
+     * @param end               end instant of the week window
+     * @param distanceThreshold minimum distance threshold
+     * @param fareThreshold     minimum fare threshold
+     * @return rides satisfying the high distance or high fare criteria
+     */
+    public Flux<RideSummary> findByDistanceOrFare(LocalDateTime start, LocalDateTime end,
+        BigDecimal distanceThreshold, BigDecimal fareThreshold) {
+        return databaseClient.sql(SELECT_RIDES + "where r.deleted = false and r.created_at between :start and :end "
+                + "and ((r.distance_km is not null and r.distance_km > :distanceThreshold) "
+                + "or (r.fare is not null and r.fare > :fareThreshold))")
+            .filter(statement -> statement.fetchSize(fetchSize))
+            .bind("start", start)
+            .bind("end", end)
+            .bind("distanceThreshold", distanceThreshold)
+            .bind("fareThreshold", fareThreshold)
+            .map(ReactiveRideQueryRepository::toSummary)
+            .all();
+    }
+
+    /**
+     * Streams rides that utilised the supplied discount code.
+     *
+     * @param code discount code applied to the ride
+     * @return rides tagged with the discount
+     */
+    public Flux<RideSummary> findActiveByDiscountCode(String code) {
+        return databaseClient.sql("select distinct " + COLUMNS
+                + "join ride_discounts rd on rd.ride_id = r.ride_id "
+                + "join discounts d on d.discount_id = rd.discount_id "
+                + "where r.deleted = false and d.code = :code")
+            .filter(statement -> statement.fetchSize(fetchSize))
+            .bind("code", code)
+            .map(ReactiveRideQueryRepository::toSummary)
+            .all();
+    }
+
+    private static RideSummary toSummary(Readable row) {
+        return new RideSummary(
+            row.get("ride_id", Integer.class),
+            row.get("user_id", Long.class),
+            row.get("driver_id", Integer.class),
+            row.get("vehicle_id", Integer.class),
+            row.get("pickup_location_id", Integer.class),
+            row.get("drop_location_id", Integer.class),
+            RideStatus.valueOf(row.get("status", String.class)),
+            row.get("fare", BigDecimal.class),
+            row.get("distance_km", BigDecimal.class),
+            row.get("start_time", LocalDateTime.class),
+            row.get("end_time", LocalDateTime.class),
+            row.get("created_at", LocalDateTime.class));
+    }
+}
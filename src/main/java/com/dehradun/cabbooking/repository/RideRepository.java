@@ -7,6 +7,7 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -70,4 +71,20 @@ public interface RideRepository extends JpaRepository<Ride, Integer> {
      */
     @Query("select distinct r from Ride r join r.discounts d where r.deleted = false and d.code = :code")
     List<Ride> findActiveRidesByDiscountCode(@Param("code") String code);
+
+    /**
+     * Moves a ride to a new status unless it is currently in one of the excluded statuses.
+     *
+     * <p>The check and the write are one statement, so a concurrent transition such as the expiry's cancel
+     * either happens first and makes this update miss, or waits for it on the row lock.</p>
+     *
+     * @param rideId ride identifier
+     * @param status status to set
+     * @param excluded statuses the ride must not be in
+     * @return {@code 1} when the ride was moved, {@code 0} otherwise
+     */
+    @Modifying
+    @Query("update Ride r set r.status = :status where r.rideId = :rideId and r.status not in :excluded")
+    int updateStatusUnlessIn(@Param("rideId") Integer rideId, @Param("status") RideStatus status,
+        @Param("excluded") Collection<RideStatus> excluded);
 }
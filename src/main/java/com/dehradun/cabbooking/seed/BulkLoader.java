@@ -0,0 +1,209 @@
+package com.dehradun.cabbooking.seed;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Opens table writers using the fastest path the connected database offers.
+ *
+ * <p>PostgreSQL connections stream rows through {@code COPY ... FROM STDIN} in text format; any other
+ * database falls back to batched prepared inserts. Identifiers are written explicitly, so identity
+ * sequences are moved past the loaded rows afterwards with {@link #resetIdentity}.</p>
+ */
+public class BulkLoader {
+
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    private final Connection connection;
+    private final int batchSize;
+    private final boolean postgres;
+
+    /**
+     * Creates a loader bound to a connection with auto-commit disabled.
+     *
+     * @param connection open connection owned by the caller
+     * @param batchSize  rows per JDBC batch when COPY is unavailable
+     * @throws SQLException when the connection cannot be inspected
+     */
+    public BulkLoader(Connection connection, int batchSize) throws SQLException {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        this.postgres = connection.isWrapperFor(PGConnection.class);
+    }
+
+    /**
+     * Tells whether rows are streamed through {@code COPY}.
+     *
+     * @return {@code true} on PostgreSQL
+     */
+    public boolean isCopySupported() {
+        return postgres;
+    }
+
+    /**
+     * Opens a writer for the given table and column list.
+     *
+     * @param table   table name
+     * @param columns column names in the order values are supplied
+     * @return sink that must be closed to complete the table
+     * @throws SQLException when the statement cannot be prepared
+     */
+    public RowSink open(String table, String... columns) throws SQLException {
+        String columnList = String.join(", ", columns);
+        if (postgres) {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("copy " + table + " (" + columnList + ") from stdin");
+            return new CopyRowSink(copyIn);
+        }
+        String placeholders = String.join(", ", Collections.nCopies(columns.length, "?"));
+        return new BatchRowSink(connection.prepareStatement(
+            "insert into " + table + " (" + columnList + ") values (" + placeholders + ")"), batchSize);
+    }
+
+    /**
+     * Returns the largest identifier currently stored in a table.
+     *
+     * @param table    table name
+     * @param idColumn identifier column
+     * @return largest identifier, or zero for an empty table
+     * @throws SQLException when the query fails
+     */
+    public long maxId(String table, String idColumn) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                 "select coalesce(max(" + idColumn + "), 0) from " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * Moves the identity generator of a table past the largest stored identifier.
+     *
+     * @param table    table name
+     * @param idColumn identity column
+     * @throws SQLException when the sequence cannot be updated
+     */
+    public void resetIdentity(String table, String idColumn) throws SQLException {
+        long next = maxId(table, idColumn) + 1;
+        try (Statement statement = connection.createStatement()) {
+            if (postgres) {
+                statement.execute("select setval(pg_get_serial_sequence('" + table + "', '" + idColumn + "'), "
+                    + next + ", false)");
+            } else {
+                statement.execute("alter table " + table + " alter column " + idColumn + " restart with " + next);
+            }
+        }
+    }
+
+    /**
+     * Streams rows as tab-separated COPY text, flushing the buffer to the server in large chunks.
+     */
+    private static final class CopyRowSink implements RowSink {
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+
+        private CopyRowSink(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        @Override
+        public void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append('\t');
+                }
+                appendValue(values[i]);
+            }
+            buffer.append('\n');
+            if (buffer.length() >= COPY_BUFFER_CHARS) {
+                flush();
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            flush();
+            copyIn.endCopy();
+        }
+
+        private void appendValue(Object value) {
+            if (value == null) {
+                buffer.append("\\N");
+            } else if (value instanceof BigDecimal decimal) {
+                buffer.append(decimal.toPlainString());
+            } else if (value instanceof Number || value instanceof Boolean || value instanceof Enum<?>) {
+                buffer.append(value);
+            } else {
+                String text = value.toString();
+                for (int i = 0; i < text.length(); i++) {
+                    char c = text.charAt(i);
+                    switch (c) {
+                        case '\\' -> buffer.append("\\\\");
+                        case '\t' -> buffer.append("\\t");
+                        case '\n' -> buffer.append("\\n");
+                        case '\r' -> buffer.append("\\r");
+                        default -> buffer.append(c);
+                    }
+                }
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+
+    /**
+     * Buffers rows into JDBC batches of a fixed size.
+     */
+    private static final class BatchRowSink implements RowSink {
+
+        private final PreparedStatement statement;
+        private final int batchSize;
+        private int pending;
+
+        private BatchRowSink(PreparedStatement statement, int batchSize) {
+            this.statement = statement;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                statement.setObject(i + 1, value instanceof Enum<?> constant ? constant.name() : value);
+            }
+            statement.addBatch();
+            if (++pending == batchSize) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
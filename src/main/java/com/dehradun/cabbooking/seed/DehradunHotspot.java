@@ -0,0 +1,70 @@
+package com.dehradun.cabbooking.seed;
+
+/**
+ * Demand centres around which synthetic pickup and drop locations are clustered.
+ */
+public enum DehradunHotspot {
+
+    CLOCK_TOWER(30.3243, 78.0418, 14, 0.004),
+    PALTAN_BAZAAR(30.3216, 78.0396, 8, 0.003),
+    RAILWAY_STATION(30.3149, 78.0330, 9, 0.003),
+    ISBT(30.2875, 78.0005, 10, 0.004),
+    RAJPUR_ROAD(30.3495, 78.0628, 12, 0.008),
+    IT_PARK(30.3608, 78.0778, 9, 0.005),
+    PACIFIC_MALL(30.3702, 78.0782, 6, 0.003),
+    FOREST_RESEARCH_INSTITUTE(30.3416, 77.9986, 4, 0.004),
+    PREM_NAGAR(30.3356, 77.9603, 6, 0.006),
+    CLEMENT_TOWN(30.2681, 78.0087, 5, 0.006),
+    DOON_UNIVERSITY(30.2687, 78.0444, 4, 0.004),
+    SAHASTRADHARA(30.3847, 78.1314, 3, 0.005),
+    MUSSOORIE_DIVERSION(30.3930, 78.0752, 4, 0.004),
+    JOLLY_GRANT_AIRPORT(30.1897, 78.1803, 6, 0.003);
+
+    private final double latitude;
+    private final double longitude;
+    private final int weight;
+    private final double spreadDegrees;
+
+    DehradunHotspot(double latitude, double longitude, int weight, double spreadDegrees) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.weight = weight;
+        this.spreadDegrees = spreadDegrees;
+    }
+
+    /**
+     * Returns the latitude of the hotspot centre.
+     *
+     * @return latitude in degrees
+     */
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * Returns the longitude of the hotspot centre.
+     *
+     * @return longitude in degrees
+     */
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * Returns the relative share of trips that start or end near the hotspot.
+     *
+     * @return sampling weight
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Returns the standard deviation of points scattered around the centre.
+     *
+     * @return spread in degrees
+     */
+    public double getSpreadDegrees() {
+        return spreadDegrees;
+    }
+}
@@ -0,0 +1,25 @@
+package com.dehradun.cabbooking.seed;
+
+import java.sql.SQLException;
+
+/**
+ * Destination for the rows of a single table during a bulk load.
+ */
+public interface RowSink extends AutoCloseable {
+
+    /**
+     * Writes one row; values follow the column order the sink was opened with.
+     *
+     * @param values column values, {@code null} for SQL NULL
+     * @throws SQLException when the row cannot be written
+     */
+    void row(Object... values) throws SQLException;
+
+    /**
+     * Flushes any buffered rows and finishes the table.
+     *
+     * @throws SQLException when the remaining rows cannot be written
+     */
+    @Override
+    void close() throws SQLException;
+}
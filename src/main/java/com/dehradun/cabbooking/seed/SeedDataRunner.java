@@ -0,0 +1,69 @@
+package com.dehradun.cabbooking.seed;
+
+import java.sql.Connection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+/**
+ * Loads the synthetic data set once the application has started.
+ *
+ * <p>All tables are written on one connection inside a single transaction, so an interrupted load leaves
+ * the database unchanged.</p>
+ */
+public class SeedDataRunner implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SeedDataRunner.class);
+
+    private final DataSource dataSource;
+    private final SyntheticDataGenerator generator;
+    private final int batchSize;
+
+    /**
+     * Creates the runner.
+     *
+     * @param dataSource pool the rows are written through
+     * @param generator  generator producing the rows
+     * @param batchSize  rows per JDBC batch when COPY is unavailable
+     */
+    public SeedDataRunner(DataSource dataSource, SyntheticDataGenerator generator, int batchSize) {
+        this.dataSource = dataSource;
+        this.generator = generator;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Generates and loads the data set, logging row counts and throughput.
+     *
+     * @param args application arguments, unused
+     * @throws Exception when the load fails; the transaction is rolled back
+     */
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long started = System.nanoTime();
+        Map<String, Long> counts;
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                BulkLoader loader = new BulkLoader(connection, batchSize);
+                LOGGER.info("Loading synthetic data through {}", loader.isCopySupported() ? "COPY" : "JDBC batches");
+                counts = generator.load(loader);
+                connection.commit();
+            } catch (Exception ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        LOGGER.info("Loaded {} rows in {} ms ({} rows/min): {}", total, elapsedMillis,
+            total * 60_000 / elapsedMillis, counts);
+    }
+}
@@ -0,0 +1,550 @@
+package com.dehradun.cabbooking.seed;
+
+import com.dehradun.cabbooking.enums.DriverStatus;
+import com.dehradun.cabbooking.enums.PaymentMethod;
+import com.dehradun.cabbooking.enums.PaymentStatus;
+import com.dehradun.cabbooking.enums.RatingActor;
+import com.dehradun.cabbooking.enums.RideStatus;
+import com.dehradun.cabbooking.enums.UserStatus;
+import com.dehradun.cabbooking.enums.VehicleType;
+import com.dehradun.cabbooking.geofence.GeofenceIndex;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a reproducible Dehradun marketplace: riders, drivers with vehicles, hotspot-clustered locations,
+ * discount campaigns and rides with their discounts, payments and ratings.
+ *
+ * <p>Every table draws from its own random stream derived from the seed, so the same seed and anchor always
+ * produce the same rows and changing one volume does not reshuffle the other tables. Ride timestamps follow
+ * the weekday commute curve and ride status depends on age: recent bookings are still requested or under
+ * way while older ones are completed or cancelled. Each ride takes its city and pickup zone from the
+ * {@link GeofenceIndex}, as a booking would, and some campaigns are limited to one city. Cash payments are
+ * recorded as completed and only card and UPI payments may still be pending. Rows are appended after the
+ * largest existing identifiers so the generator can top up a populated database.</p>
+ */
+public class SyntheticDataGenerator {
+
+    private static final ZoneOffset IST = ZoneOffset.ofHoursMinutes(5, 30);
+    private static final double ROAD_FACTOR = 1.35;
+    private static final double[] HOURLY_DEMAND = {
+        0.10, 0.05, 0.05, 0.05, 0.10, 0.30, 0.70, 1.40, 2.20, 2.00, 1.20, 0.90,
+        1.10, 1.20, 0.90, 0.90, 1.20, 1.90, 2.50, 2.30, 1.50, 0.90, 0.50, 0.25};
+    private static final double PEAK_DEMAND = 2.50;
+
+    private static final String[] FIRST_NAMES = {
+        "Aarav", "Aditi", "Akash", "Ananya", "Arjun", "Deepak", "Divya", "Gaurav", "Himanshu", "Isha", "Kavya",
+        "Manish", "Meera", "Neha", "Nikhil", "Pooja", "Priya", "Rahul", "Ritika", "Rohan", "Sakshi", "Sandeep",
+        "Shivani", "Sneha", "Tanvi", "Varun", "Vikram", "Yash"};
+    private static final String[] LAST_NAMES = {
+        "Bhatt", "Bisht", "Chauhan", "Dobhal", "Gusain", "Joshi", "Kandari", "Negi", "Pant", "Rawat", "Semwal",
+        "Sharma", "Thapa", "Tiwari", "Uniyal", "Verma"};
+    private static final String[][] VEHICLE_MODELS = {
+        {"Hero Splendor Plus", "Honda Activa 6G", "Bajaj Pulsar 150", "TVS Jupiter"},
+        {"Bajaj RE Compact", "Piaggio Ape City", "Mahindra Treo"},
+        {"Maruti Suzuki Dzire", "Hyundai Aura", "Toyota Etios", "Honda Amaze"},
+        {"Maruti Suzuki Ertiga", "Mahindra XUV500", "Toyota Innova Crysta"}};
+    private static final VehicleType[] VEHICLE_TYPES = {
+        VehicleType.BIKE, VehicleType.AUTO, VehicleType.CAR, VehicleType.SUV};
+    private static final int[] SEATS = {1, 3, 4, 6};
+    private static final int[] BASE_FARE = {20, 30, 50, 70};
+    private static final int[] FARE_PER_KM = {7, 11, 15, 19};
+    private static final String[] CAMPAIGNS = {"DOON", "RAJPUR", "MUSSOORIE", "MONSOON", "FESTIVE", "WEEKEND"};
+    private static final String[] RATING_COMMENTS = {
+        "Smooth ride", "Driver was on time", "Took a longer route", "Clean vehicle", "Helpful with luggage"};
+
+    private static final long USERS_STREAM = 0x5EED_0001L;
+    private static final long DRIVERS_STREAM = 0x5EED_0002L;
+    private static final long VEHICLES_STREAM = 0x5EED_0003L;
+    private static final long LOCATIONS_STREAM = 0x5EED_0004L;
+    private static final long DISCOUNTS_STREAM = 0x5EED_0005L;
+    private static final long RIDES_STREAM = 0x5EED_0006L;
+
+    private final long seed;
+    private final int users;
+    private final int drivers;
+    private final int locations;
+    private final int discounts;
+    private final int rides;
+    private final int historyDays;
+    private final LocalDateTime anchor;
+    private final GeofenceIndex geofence;
+    private final String defaultCity;
+
+    /**
+     * Creates a generator for the requested volumes.
+     *
+     * @param seed        seed of every random stream
+     * @param users       riders to generate
+     * @param drivers     drivers to generate, each with one vehicle
+     * @param locations   pickup and drop points to generate
+     * @param discounts   discount campaigns to generate
+     * @param rides       rides to generate
+     * @param historyDays days of ride history ending at the anchor
+     * @param anchor      newest possible timestamp, all other times are relative to it
+     * @param geofence    service areas and zones assigning locations to cities and zones
+     * @param defaultCity city of locations outside every service area
+     * @throws IllegalArgumentException when rides are requested without riders, drivers or two locations
+     */
+    public SyntheticDataGenerator(long seed, int users, int drivers, int locations, int discounts, int rides,
+        int historyDays, LocalDateTime anchor, GeofenceIndex geofence, String defaultCity) {
+        if (rides > 0 && (users < 1 || drivers < 1 || locations < 2)) {
+            throw new IllegalArgumentException("Rides need at least one user, one driver and two locations");
+        }
+        this.seed = seed;
+        this.users = users;
+        this.drivers = drivers;
+        this.locations = locations;
+        this.discounts = discounts;
+        this.rides = rides;
+        this.historyDays = historyDays;
+        this.anchor = anchor;
+        this.geofence = geofence;
+        this.defaultCity = defaultCity;
+    }
+
+    /**
+     * Writes every table in foreign-key order and moves the identity generators past the new rows.
+     *
+     * @param loader loader bound to the target connection
+     * @return number of rows written per table
+     * @throws SQLException when a table cannot be written
+     */
+    public Map<String, Long> load(BulkLoader loader) throws SQLException {
+        long userBase = loader.maxId("users", "user_id");
+        int driverBase = Math.toIntExact(loader.maxId("drivers", "driver_id"));
+        int vehicleBase = Math.toIntExact(loader.maxId("vehicles", "vehicle_id"));
+        int locationBase = Math.toIntExact(loader.maxId("locations", "location_id"));
+        int discountBase = Math.toIntExact(loader.maxId("discounts", "discount_id"));
+        RideContext context = new RideContext(userBase, driverBase, vehicleBase, locationBase, discountBase,
+            Math.toIntExact(loader.maxId("rides", "ride_id")),
+            Math.toIntExact(loader.maxId("payments", "payment_id")),
+            Math.toIntExact(loader.maxId("ratings", "rating_id")));
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("users", writeUsers(loader, userBase));
+        counts.put("drivers", writeDrivers(loader, driverBase));
+        counts.put("vehicles", writeVehicles(loader, context));
+        counts.put("locations", writeLocations(loader, context));
+        counts.put("discounts", writeDiscounts(loader, context));
+        counts.put("rides", writeRides(loader, context));
+        counts.put("ride_discounts", writeRideDiscounts(loader, context));
+        counts.put("payments", writePayments(loader, context));
+        counts.put("ratings", writeRatings(loader, context));
+
+        for (String[] identity : new String[][] {
+            {"users", "user_id"}, {"drivers", "driver_id"}, {"vehicles", "vehicle_id"},
+            {"locations", "location_id"}, {"discounts", "discount_id"}, {"rides", "ride_id"},
+            {"payments", "payment_id"}, {"ratings", "rating_id"}}) {
+            loader.resetIdentity(identity[0], identity[1]);
+        }
+        return counts;
+    }
+
+    private long writeUsers(BulkLoader loader, long base) throws SQLException {
+        SplittableRandom random = stream(USERS_STREAM);
+        try (RowSink sink = loader.open("users", "user_id", "name", "phone", "email", "password_hash", "status",
+            "deleted", "created_at", "updated_at")) {
+            for (long i = 1; i <= users; i++) {
+                long id = base + i;
+                String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                LocalDateTime createdAt = anchor.minusMinutes(random.nextLong(Math.max(1, historyDays) * 4L * 1440));
+                sink.row(id, first + " " + last, String.format("6%09d", id),
+                    (first + "." + last + id + "@example.in").toLowerCase(Locale.ROOT), "{noop}seed",
+                    random.nextInt(100) < 96 ? UserStatus.ACTIVE : UserStatus.INACTIVE, random.nextInt(100) == 0,
+                    createdAt, createdAt.plusDays(random.nextInt(30)).atOffset(IST));
+            }
+        }
+        return users;
+    }
+
+    private long writeDrivers(BulkLoader loader, int base) throws SQLException {
+        SplittableRandom random = stream(DRIVERS_STREAM);
+        try (RowSink sink = loader.open("drivers", "driver_id", "name", "phone", "email", "license_number",
+            "rating", "status", "deleted", "created_at")) {
+            for (int i = 1; i <= drivers; i++) {
+                int id = base + i;
+                int status = random.nextInt(100);
+                sink.row(id, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                        + LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    String.format("7%09d", id), "driver" + id + "@example.in", String.format("UK07%011d", id),
+                    BigDecimal.valueOf(350 + random.nextInt(151), 2),
+                    status < 40 ? DriverStatus.AVAILABLE : status < 65 ? DriverStatus.ON_RIDE : DriverStatus.OFFLINE,
+                    false, anchor.minusMinutes(random.nextLong(Math.max(1, historyDays) * 4L * 1440)));
+            }
+        }
+        return drivers;
+    }
+
+    private long writeVehicles(BulkLoader loader, RideContext context) throws SQLException {
+        SplittableRandom random = stream(VEHICLES_STREAM);
+        try (RowSink sink = loader.open("vehicles", "vehicle_id", "driver_id", "vehicle_number", "model", "type",
+            "capacity", "deleted", "created_at")) {
+            for (int i = 0; i < drivers; i++) {
+                int id = context.vehicleBase + i + 1;
+                int type = context.vehicleTypes[i];
+                String[] models = VEHICLE_MODELS[type];
+                sink.row(id, context.driverBase + i + 1, registration(id), models[random.nextInt(models.length)],
+                    VEHICLE_TYPES[type], SEATS[type], false, anchor.minusMinutes(random.nextLong(Math.max(1, historyDays) * 4L * 1440)));
+            }
+        }
+        return drivers;
+    }
+
+    private long writeLocations(BulkLoader loader, RideContext context) throws SQLException {
+        SplittableRandom random = stream(LOCATIONS_STREAM);
+        try (RowSink sink = loader.open("locations", "location_id", "latitude", "longitude", "recorded_at",
+            "deleted")) {
+            for (int i = 0; i < locations; i++) {
+                sink.row(context.locationBase + i + 1,
+                    BigDecimal.valueOf(context.latitudes[i]).setScale(6, RoundingMode.HALF_UP),
+                    BigDecimal.valueOf(context.longitudes[i]).setScale(6, RoundingMode.HALF_UP),
+                    anchor.minusSeconds(random.nextLong(Math.max(1, historyDays) * 86_400L)), false);
+            }
+        }
+        return locations;
+    }
+
+    private long writeDiscounts(BulkLoader loader, RideContext context) throws SQLException {
+        SplittableRandom random = stream(DISCOUNTS_STREAM);
+        try (RowSink sink = loader.open("discounts", "discount_id", "code", "description", "percentage",
+            "valid_from", "valid_to", "city", "deleted", "created_at")) {
+            for (int i = 0; i < discounts; i++) {
+                int id = context.discountBase + i + 1;
+                int percentage = context.discountPercentages[i];
+                String campaign = CAMPAIGNS[random.nextInt(CAMPAIGNS.length)];
+                LocalDateTime validFrom = anchor.minusDays(random.nextInt(Math.max(1, historyDays)));
+                sink.row(id, campaign + percentage + "-" + id, percentage + "% off " + campaign.toLowerCase(Locale.ROOT)
+                        + " rides", percentage, validFrom.toLocalDate(),
+                    validFrom.toLocalDate().plusDays(30 + random.nextInt(91)), context.discountCities[i],
+                    random.nextInt(10) == 0, validFrom.minusDays(1));
+            }
+        }
+        return discounts;
+    }
+
+    private long writeRides(BulkLoader loader, RideContext context) throws SQLException {
+        try (RowSink sink = loader.open("rides", "ride_id", "user_id", "driver_id", "vehicle_id",
+            "pickup_location_id", "drop_location_id", "status", "fare", "distance_km", "start_time", "end_time",
+            "city", "pickup_zone", "created_at", "deleted")) {
+            RideRow ride = new RideRow();
+            SplittableRandom random = stream(RIDES_STREAM);
+            for (int i = 0; i < rides; i++) {
+                context.next(ride, i, random);
+                sink.row(ride.rideId, ride.userId, ride.driverId, ride.vehicleId, ride.pickupLocationId,
+                    ride.dropLocationId, ride.status, ride.fare, ride.distanceKm, ride.startTime, ride.endTime,
+                    ride.city, ride.pickupZone, ride.createdAt, false);
+            }
+        }
+        return rides;
+    }
+
+    private long writeRideDiscounts(BulkLoader loader, RideContext context) throws SQLException {
+        long written = 0;
+        try (RowSink sink = loader.open("ride_discounts", "ride_id", "discount_id")) {
+            RideRow ride = new RideRow();
+            SplittableRandom random = stream(RIDES_STREAM);
+            for (int i = 0; i < rides; i++) {
+                context.next(ride, i, random);
+                if (ride.discountId != null) {
+                    sink.row(ride.rideId, ride.discountId);
+                    written++;
+                }
+            }
+        }
+        return written;
+    }
+
+    private long writePayments(BulkLoader loader, RideContext context) throws SQLException {
+        long written = 0;
+        try (RowSink sink = loader.open("payments", "payment_id", "ride_id", "amount", "method", "status",
+            "created_at", "deleted")) {
+            RideRow ride = new RideRow();
+            SplittableRandom random = stream(RIDES_STREAM);
+            for (int i = 0; i < rides; i++) {
+                context.next(ride, i, random);
+                if (ride.paymentMethod != null) {
+                    written++;
+                    sink.row(context.paymentBase + written, ride.rideId, ride.paymentAmount, ride.paymentMethod,
+                        ride.paymentStatus, ride.endTime, false);
+                }
+            }
+        }
+        return written;
+    }
+
+    private long writeRatings(BulkLoader loader, RideContext context) throws SQLException {
+        long written = 0;
+        try (RowSink sink = loader.open("ratings", "rating_id", "ride_id", "given_by", "given_to", "rating",
+            "comments", "created_at", "deleted")) {
+            RideRow ride = new RideRow();
+            SplittableRandom random = stream(RIDES_STREAM);
+            for (int i = 0; i < rides; i++) {
+                context.next(ride, i, random);
+                if (ride.riderRating != null) {
+                    written++;
+                    sink.row(context.ratingBase + written, ride.rideId, RatingActor.USER, RatingActor.DRIVER,
+                        ride.riderRating, ride.riderComment, ride.endTime.plusMinutes(ride.ratingDelayMinutes),
+                        false);
+                }
+                if (ride.driverRating != null) {
+                    written++;
+                    sink.row(context.ratingBase + written, ride.rideId, RatingActor.DRIVER, RatingActor.USER,
+                        ride.driverRating, null, ride.endTime.plusMinutes(ride.ratingDelayMinutes), false);
+                }
+            }
+        }
+        return written;
+    }
+
+    private SplittableRandom stream(long salt) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + salt);
+    }
+
+    private static String registration(int vehicleId) {
+        int series = (vehicleId / 10_000) % (26 * 26);
+        return String.format("UK07%c%c%04d", (char) ('A' + series / 26), (char) ('A' + series % 26),
+            vehicleId % 10_000);
+    }
+
+    /**
+     * Attributes shared by every table pass: identifier bases plus the vehicle types, coordinates, cities,
+     * zones and discount terms that rides depend on.
+     */
+    private final class RideContext {
+
+        private final long userBase;
+        private final int driverBase;
+        private final int vehicleBase;
+        private final int locationBase;
+        private final int discountBase;
+        private final int rideBase;
+        private final int paymentBase;
+        private final int ratingBase;
+        private final byte[] vehicleTypes = new byte[drivers];
+        private final double[] latitudes = new double[locations];
+        private final double[] longitudes = new double[locations];
+        private final String[] cities = new String[locations];
+        private final String[] zones = new String[locations];
+        private final int[] discountPercentages = new int[discounts];
+        private final String[] discountCities = new String[discounts];
+
+        private RideContext(long userBase, int driverBase, int vehicleBase, int locationBase, int discountBase,
+            int rideBase, int paymentBase, int ratingBase) {
+            this.userBase = userBase;
+            this.driverBase = driverBase;
+            this.vehicleBase = vehicleBase;
+            this.locationBase = locationBase;
+            this.discountBase = discountBase;
+            this.rideBase = rideBase;
+            this.paymentBase = paymentBase;
+            this.ratingBase = ratingBase;
+
+            SplittableRandom vehicles = stream(VEHICLES_STREAM ^ 0xFFFF);
+            for (int i = 0; i < drivers; i++) {
+                int draw = vehicles.nextInt(100);
+                vehicleTypes[i] = (byte) (draw < 25 ? 0 : draw < 60 ? 1 : draw < 90 ? 2 : 3);
+            }
+
+            DehradunHotspot[] hotspots = DehradunHotspot.values();
+            int totalWeight = 0;
+            for (DehradunHotspot hotspot : hotspots) {
+                totalWeight += hotspot.getWeight();
+            }
+            SplittableRandom points = stream(LOCATIONS_STREAM ^ 0xFFFF);
+            for (int i = 0; i < locations; i++) {
+                int draw = points.nextInt(totalWeight);
+                DehradunHotspot hotspot = hotspots[0];
+                for (DehradunHotspot candidate : hotspots) {
+                    draw -= candidate.getWeight();
+                    if (draw < 0) {
+                        hotspot = candidate;
+                        break;
+                    }
+                }
+                latitudes[i] = hotspot.getLatitude() + gaussian(points) * hotspot.getSpreadDegrees();
+                longitudes[i] = hotspot.getLongitude() + gaussian(points) * hotspot.getSpreadDegrees();
+                String city = geofence.cityOf(latitudes[i], longitudes[i]);
+                cities[i] = city != null ? city : defaultCity;
+                zones[i] = geofence.zoneOf(latitudes[i], longitudes[i]);
+            }
+
+            SplittableRandom campaigns = stream(DISCOUNTS_STREAM ^ 0xFFFF);
+            for (int i = 0; i < discounts; i++) {
+                discountPercentages[i] = 5 * (1 + campaigns.nextInt(6));
+            }
+            SplittableRandom reach = stream(DISCOUNTS_STREAM ^ 0xFFFE);
+            for (int i = 0; i < discounts; i++) {
+                if (locations > 0 && reach.nextInt(100) < 40) {
+                    discountCities[i] = cities[reach.nextInt(locations)];
+                }
+            }
+        }
+
+        /**
+         * Fills {@code ride} with the {@code index}-th ride; passes must call it for every index in order with
+         * a fresh ride stream so they all see identical rides.
+         */
+        private void next(RideRow ride, int index, SplittableRandom random) {
+            ride.reset();
+            ride.rideId = rideBase + index + 1;
+            ride.userId = userBase + 1 + random.nextLong(Math.max(1, users));
+
+            LocalDateTime createdAt;
+            do {
+                createdAt = anchor.minusSeconds(random.nextLong(Math.max(1, historyDays) * 86_400L));
+            } while (random.nextDouble() * PEAK_DEMAND > HOURLY_DEMAND[createdAt.getHour()]);
+            ride.createdAt = createdAt;
+            long ageMinutes = Duration.between(createdAt, anchor).toMinutes();
+
+            int pickup = random.nextInt(locations);
+            int drop = random.nextInt(locations);
+            if (drop == pickup) {
+                drop = (drop + 1) % locations;
+            }
+            ride.pickupLocationId = locationBase + pickup + 1;
+            ride.dropLocationId = locationBase + drop + 1;
+            ride.city = cities[pickup];
+            ride.pickupZone = zones[pickup];
+            double distance = Math.max(0.8, ROAD_FACTOR * haversineKm(latitudes[pickup], longitudes[pickup],
+                latitudes[drop], longitudes[drop]));
+            ride.distanceKm = BigDecimal.valueOf(distance).setScale(2, RoundingMode.HALF_UP);
+
+            ride.status = status(ageMinutes, random.nextInt(100));
+            int driver = random.nextInt(drivers);
+            boolean assigned = ride.status != RideStatus.REQUESTED
+                && (ride.status != RideStatus.CANCELLED || random.nextBoolean());
+            int type = vehicleTypes[driver];
+            if (assigned) {
+                ride.driverId = driverBase + driver + 1;
+                ride.vehicleId = vehicleBase + driver + 1;
+            }
+            int hour = createdAt.getHour();
+            double surge = (hour >= 8 && hour <= 10) || (hour >= 17 && hour <= 20) ? 1.2 + random.nextDouble() * 0.3
+                : 1.0;
+            ride.fare = BigDecimal.valueOf((BASE_FARE[type] + FARE_PER_KM[type] * distance) * surge)
+                .setScale(2, RoundingMode.HALF_UP);
+
+            if (ride.status == RideStatus.ONGOING || ride.status == RideStatus.COMPLETED) {
+                ride.startTime = createdAt.plusMinutes(Math.min(ageMinutes, 2 + random.nextInt(11)));
+                double speedKmh = 16 + random.nextDouble() * 14;
+                LocalDateTime end = ride.startTime.plusSeconds((long) (distance / speedKmh * 3600));
+                if (ride.status == RideStatus.COMPLETED && end.isAfter(anchor)) {
+                    ride.status = RideStatus.ONGOING;
+                } else if (ride.status == RideStatus.COMPLETED) {
+                    ride.endTime = end;
+                }
+            }
+
+            if (discounts > 0 && random.nextInt(100) < 12) {
+                int discount = random.nextInt(discounts);
+                if (discountCities[discount] == null || discountCities[discount].equals(ride.city)) {
+                    ride.discountId = discountBase + discount + 1;
+                    ride.discountPercentage = discountPercentages[discount];
+                }
+            }
+
+            if (ride.status == RideStatus.COMPLETED) {
+                int method = random.nextInt(100);
+                ride.paymentMethod = method < 55 ? PaymentMethod.UPI : method < 85 ? PaymentMethod.CASH
+                    : PaymentMethod.CARD;
+                boolean settled = random.nextInt(100) < 96;
+                ride.paymentStatus = settled || ride.paymentMethod == PaymentMethod.CASH ? PaymentStatus.COMPLETED
+                    : PaymentStatus.PENDING;
+                ride.paymentAmount = ride.fare.multiply(BigDecimal.valueOf(100 - ride.discountPercentage))
+                    .movePointLeft(2).setScale(2, RoundingMode.HALF_UP);
+                ride.ratingDelayMinutes = 1 + random.nextInt(30);
+                if (random.nextInt(100) < 65) {
+                    ride.riderRating = stars(random.nextInt(100));
+                    ride.riderComment = random.nextInt(100) < 15
+                        ? RATING_COMMENTS[random.nextInt(RATING_COMMENTS.length)] : null;
+                }
+                if (random.nextInt(100) < 40) {
+                    ride.driverRating = stars(random.nextInt(100));
+                }
+            }
+        }
+
+        private RideStatus status(long ageMinutes, int draw) {
+            if (ageMinutes < 15) {
+                return draw < 35 ? RideStatus.REQUESTED : draw < 65 ? RideStatus.ACCEPTED
+                    : draw < 90 ? RideStatus.ONGOING : RideStatus.CANCELLED;
+            }
+            if (ageMinutes < 90) {
+                return draw < 20 ? RideStatus.ONGOING : draw < 88 ? RideStatus.COMPLETED : RideStatus.CANCELLED;
+            }
+            return draw < 85 ? RideStatus.COMPLETED : RideStatus.CANCELLED;
+        }
+
+        private int stars(int draw) {
+            return draw < 2 ? 1 : draw < 5 ? 2 : draw < 15 ? 3 : draw < 50 ? 4 : 5;
+        }
+
+        private double gaussian(SplittableRandom random) {
+            double u = 1 - random.nextDouble();
+            return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+        }
+
+        private double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+            double dLat = Math.toRadians(lat2 - lat1);
+            double dLon = Math.toRadians(lon2 - lon1);
+            double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) + Math.cos(Math.toRadians(lat1))
+                * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+            return 12_742 * Math.asin(Math.sqrt(a));
+        }
+    }
+
+    /**
+     * Mutable holder reused across rides to keep generation allocation-light.
+     */
+    private static final class RideRow {
+
+        private int rideId;
+        private long userId;
+        private Integer driverId;
+        private Integer vehicleId;
+        private int pickupLocationId;
+        private int dropLocationId;
+        private RideStatus status;
+        private BigDecimal fare;
+        private BigDecimal distanceKm;
+        private String city;
+        private String pickupZone;
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+        private LocalDateTime createdAt;
+        private Integer discountId;
+        private int discountPercentage;
+        private PaymentMethod paymentMethod;
+        private PaymentStatus paymentStatus;
+        private BigDecimal paymentAmount;
+        private Integer riderRating;
+        private String riderComment;
+        private Integer driverRating;
+        private int ratingDelayMinutes;
+
+        private void reset() {
+            driverId = null;
+            vehicleId = null;
+            startTime = null;
+            endTime = null;
+            discountId = null;
+            discountPercentage = 0;
+            paymentMethod = null;
+            paymentStatus = null;
+            paymentAmount = null;
+            riderRating = null;
+            riderComment = null;
+            driverRating = null;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.dehradun.cabbooking.service;
+
+import com.dehradun.cabbooking.city.CityPartitions;
+import com.dehradun.cabbooking.city.CityRegistry;
+import com.dehradun.cabbooking.config.CityProfile;
+import com.dehradun.cabbooking.invalidation.EntitiesInvalidatedEvent;
+import com.dehradun.cabbooking.invalidation.InvalidationKey;
+import com.dehradun.cabbooking.web.CachedRepresentation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves the read-mostly catalogue documents as pre-rendered, pre-compressed representations.
+ *
+ * <p>City profiles are static configuration and are rendered once. Each city has its own partition of the
+ * discount catalogue, holding the discounts offered there, with its own version, expiry and refresh lock,
+ * so a re-read in one city never holds up another. A partition is re-read at most once per
+ * {@code catalogue.refresh-interval}, and at the first request after midnight because validity is date
+ * based. A re-read that renders identical bytes keeps the existing representation, so the ETag,
+ * {@code Last-Modified} and gzip variant only change with the content. A discount change arriving on the
+ * invalidation bus expires every city's partition, since a discount may move between cities.</p>
+ */
+@Service
+public class CatalogueService {
+
+    private final DiscountService discountService;
+    private final ObjectMapper objectMapper;
+    private final Duration refreshInterval;
+    private final Clock clock;
+    private final CachedRepresentation cityProfile;
+    private final Map<String, CachedRepresentation> cityProfiles;
+    private final CityPartitions<DiscountCatalogue> discountCatalogues;
+
+    /**
+     * Creates the service with the system clock.
+     *
+     * @param discountService    source of the discount catalogue
+     * @param cityProfileService source of the city profiles
+     * @param cities             cities whose discount catalogues are partitioned
+     * @param objectMapper       MVC object mapper, so bodies match the regular JSON rendering
+     * @param refreshInterval    how long a discount catalogue version is served before it is re-read
+     */
+    @Autowired
+    public CatalogueService(DiscountService discountService, CityProfileService cityProfileService,
+        CityRegistry cities, ObjectMapper objectMapper,
+        @Value("${catalogue.refresh-interval:60s}") Duration refreshInterval) {
+        this(discountService, cityProfileService, cities, objectMapper, refreshInterval,
+            Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates the service with an explicit clock.
+     *
+     * @param discountService    source of the discount catalogue
+     * @param cityProfileService source of the city profiles
+     * @param cities             cities whose discount catalogues are partitioned
+     * @param objectMapper       MVC object mapper
+     * @param refreshInterval    how long a discount catalogue version is served before it is re-read
+     * @param clock              clock deciding expiry and {@code Last-Modified}
+     */
+    public CatalogueService(DiscountService discountService, CityProfileService cityProfileService,
+        CityRegistry cities, ObjectMapper objectMapper, Duration refreshInterval, Clock clock) {
+        this.discountService = discountService;
+        this.objectMapper = objectMapper;
+        this.refreshInterval = refreshInterval;
+        this.clock = clock;
+        this.cityProfile = CachedRepresentation.of(render(cityProfileService.getOperatingCity()), clock.instant());
+        Map<String, CachedRepresentation> profiles = new LinkedHashMap<>();
+        for (CityProfile city : cityProfileService.getCities()) {
+            profiles.put(city.getCode(), CachedRepresentation.of(render(city), clock.instant()));
+        }
+        this.cityProfiles = profiles;
+        this.discountCatalogues = new CityPartitions<>(cities, DiscountCatalogue::new);
+    }
+
+    /**
+     * Returns the default city's profile representation.
+     *
+     * @return pre-rendered city profile
+     */
+    public CachedRepresentation getCityProfile() {
+        return cityProfile;
+    }
+
+    /**
+     * Returns the profile representation of a served city.
+     *
+     * @param code city code
+     * @return pre-rendered city profile, {@code null} when the city is not served
+     */
+    public CachedRepresentation getCityProfile(String code) {
+        return cityProfiles.get(code);
+    }
+
+    /**
+     * Returns the default city's available-discounts representation.
+     *
+     * @return pre-rendered list of active discounts
+     */
+    public CachedRepresentation getAvailableDiscounts() {
+        return getAvailableDiscounts(null);
+    }
+
+    /**
+     * Returns a city's current available-discounts representation, re-reading its catalogue once it has
+     * expired.
+     *
+     * <p>Only one caller per city re-reads; concurrent callers keep serving the previous version meanwhile,
+     * and the lock is not held by a monitor so virtual threads stay unpinned during the query.</p>
+     *
+     * @param city city code; the default city when missing or not served
+     * @return pre-rendered list of discounts active in the city
+     */
+    public CachedRepresentation getAvailableDiscounts(String city) {
+        return discountCatalogues.get(city).get();
+    }
+
+    /**
+     * Forces the next request in every city to re-read the discount catalogue, for use after discounts
+     * change.
+     */
+    public void invalidateDiscounts() {
+        for (DiscountCatalogue catalogue : discountCatalogues.asMap().values()) {
+            catalogue.invalidations.incrementAndGet();
+            catalogue.expireAt = Instant.MIN;
+        }
+    }
+
+    /**
+     * Expires the discount catalogues when a discount changed on any instance.
+     *
+     * @param event batch of changed entities
+     */
+    @EventListener
+    public void onInvalidated(EntitiesInvalidatedEvent event) {
+        if (event.affects(InvalidationKey.DISCOUNT)) {
+            invalidateDiscounts();
+        }
+    }
+
+    private byte[] render(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to render catalogue document", ex);
+        }
+    }
+
+    /**
+     * Discount catalogue partition of one city.
+     */
+    private final class DiscountCatalogue {
+
+        private final String city;
+        private final ReentrantLock refreshLock = new ReentrantLock();
+        private final AtomicLong invalidations = new AtomicLong();
+
+        private volatile CachedRepresentation representation;
+        private volatile Instant expireAt = Instant.MIN;
+
+        private DiscountCatalogue(String city) {
+            this.city = city;
+        }
+
+        private CachedRepresentation get() {
+            CachedRepresentation current = representation;
+            if (current != null && clock.instant().isBefore(expireAt)) {
+                return current;
+            }
+            if (current == null) {
+                refreshLock.lock();
+            } else if (!refreshLock.tryLock()) {
+                return current;
+            }
+            try {
+                if (representation == null || !clock.instant().isBefore(expireAt)) {
+                    reload();
+                }
+                return representation;
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+
+        private void reload() {
+            long invalidationsBefore = invalidations.get();
+            Instant now = clock.instant();
+            byte[] body = render(discountService.getAvailableDiscounts(city));
+            CachedRepresentation previous = representation;
+            CachedRepresentation next = previous == null
+                ? CachedRepresentation.of(body, now)
+                : previous.refresh(body, now);
+            Instant midnight = LocalDate.ofInstant(now, clock.getZone()).plusDays(1)
+                .atStartOfDay(clock.getZone()).toInstant();
+            Instant expiry = now.plus(refreshInterval);
+            representation = next;
+            expireAt = expiry.isBefore(midnight) ? expiry : midnight;
+            if (invalidations.get() != invalidationsBefore) {
+                // Invalidated while reading; the rows read may predate the change.
+                expireAt = Instant.MIN;
+            }
+        }
+    }
+}
@@ -1,42 +1,72 @@
 package com.dehradun.cabbooking.service;
 
+import com.dehradun.cabbooking.city.CityRegistry;
 import com.dehradun.cabbooking.config.CityProfile;
-import org.springframework.beans.factory.annotation.Value;
+import com.dehradun.cabbooking.dto.NearestLandmark;
+import com.dehradun.cabbooking.landmark.Landmark;
+import com.dehradun.cabbooking.landmark.LandmarkDirectory;
+import java.math.BigDecimal;
+import java.util.Collection;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 /**
- * Provides information about the single city that the platform currently serves.
+ * Provides information about the cities that the platform serves.
  */
 @Service
 public class CityProfileService {
 
-    private final CityProfile cityProfile;
+    private final CityRegistry cities;
+    private final LandmarkDirectory landmarks;
 
     /**
-     * Constructs the service with metadata about Dehradun sourced from configuration.
+     * Constructs the service over the configured cities.
      *
-     * @param cityName     configured name of the city
-     * @param stateName    configured state of operation
-     * @param countryName  configured country of operation
-     * @param timezone     configured timezone identifier
-     * @param supportEmail configured contact email address
+     * @param cities    registry of served cities
+     * @param landmarks directory of the served cities' landmarks
      */
-    public CityProfileService(
-        @Value("${city.name:Dehradun}") String cityName,
-        @Value("${city.state:Uttarakhand}") String stateName,
-        @Value("${city.country:India}") String countryName,
-        @Value("${city.timezone:Asia/Kolkata}") String timezone,
-        @Value("${city.supportEmail:support@dooncabs.example}") String supportEmail
-    ) {
-        this.cityProfile = new CityProfile(cityName, stateName, countryName, timezone, supportEmail);
+    public CityProfileService(CityRegistry cities, LandmarkDirectory landmarks) {
+        this.cities = cities;
+        this.landmarks = landmarks;
     }
 
     /**
-     * Returns the city profile describing Dehradun deployment specifics.
+     * Returns the profile of the default city, which answers requests that do not name a city.
      *
      * @return immutable city profile value object
      */
     public CityProfile getOperatingCity() {
-        return cityProfile;
+        return cities.getDefaultCity();
+    }
+
+    /**
+     * Returns every served city.
+     *
+     * @return city profiles in registration order
+     */
+    public Collection<CityProfile> getCities() {
+        return cities.getCities();
+    }
+
+    /**
+     * Finds the landmark closest to a point.
+     *
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @return closest landmark with its distance and rider-facing description
+     * @throws ResponseStatusException when a coordinate is missing or no landmarks are loaded
+     */
+    public NearestLandmark findNearestLandmark(BigDecimal latitude, BigDecimal longitude) {
+        if (latitude == null || longitude == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Coordinates missing");
+        }
+        LandmarkDirectory.Match match = landmarks.nearest(latitude.doubleValue(), longitude.doubleValue());
+        if (match == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No landmarks loaded");
+        }
+        Landmark landmark = match.getLandmark();
+        return new NearestLandmark(landmark.getName(), landmark.getLocality(), landmark.getLatitude(),
+            landmark.getLongitude(), Math.round(match.getDistanceMetres()), landmarks.describe(latitude, longitude));
     }
 }
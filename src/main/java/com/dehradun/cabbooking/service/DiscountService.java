@@ -1,39 +1,138 @@
 package com.dehradun.cabbooking.service;
 
+import com.dehradun.cabbooking.city.CityRegistry;
+import com.dehradun.cabbooking.dto.SaveDiscountRequest;
 import com.dehradun.cabbooking.entity.Discount;
+import com.dehradun.cabbooking.invalidation.EntityChangedEvent;
+import com.dehradun.cabbooking.invalidation.InvalidationKey;
 import com.dehradun.cabbooking.repository.DiscountRepository;
+import io.micrometer.core.annotation.Timed;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 /**
- * Business service exposing discount search operations.
+ * Business service exposing discount search and maintenance operations.
  */
 @Service
+@Timed(value = "service.method", histogram = true)
 public class DiscountService {
 
+    private static final int MAX_CODE_LENGTH = 50;
+
     private final DiscountRepository discountRepository;
+    private final CityRegistry cities;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Creates the service with the repository dependency.
      *
      * @param discountRepository data access layer for discounts
+     * @param cities             served cities a discount may be limited to
+     * @param eventPublisher     publisher announcing discount changes to the catalogue caches
      */
-    public DiscountService(DiscountRepository discountRepository) {
+    public DiscountService(DiscountRepository discountRepository, CityRegistry cities,
+        ApplicationEventPublisher eventPublisher) {
         this.discountRepository = discountRepository;
+        this.cities = cities;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
-     * Loads all discounts that are currently valid in the city.
+     * Creates the discount with the given code, or replaces the terms of the existing one.
+     *
+     * <p>A soft deleted discount with the same code is restored, since codes are unique.</p>
+     *
+     * @param code    unique discount code
+     * @param request new terms
+     * @return stored discount
+     */
+    @Transactional
+    public Discount putDiscount(String code, SaveDiscountRequest request) {
+        if (code.isBlank() || code.length() > MAX_CODE_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Discount code must be 1 to " + MAX_CODE_LENGTH + " characters");
+        }
+        if (request.getValidFrom() != null && request.getValidTo() != null
+            && request.getValidTo().isBefore(request.getValidFrom())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "validTo is before validFrom");
+        }
+        String city = request.getCity() == null ? null : request.getCity().toUpperCase(Locale.ROOT);
+        if (city != null && cities.find(city) == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "City " + city + " is not served");
+        }
+        Discount discount = discountRepository.findByCode(code).orElseGet(() -> {
+            Discount created = new Discount();
+            created.setCode(code);
+            created.setCreatedAt(LocalDateTime.now());
+            return created;
+        });
+        discount.setDescription(request.getDescription());
+        discount.setPercentage(request.getPercentage());
+        discount.setValidFrom(request.getValidFrom());
+        discount.setValidTo(request.getValidTo());
+        discount.setCity(city);
+        discount.setDeleted(false);
+        return saveDiscount(discount);
+    }
+
+    /**
+     * Soft deletes a discount, so it is no longer offered or applied.
+     *
+     * @param code unique discount code
+     */
+    @Transactional
+    public void deleteDiscount(String code) {
+        Discount discount = discountRepository.findByCodeAndDeletedFalse(code)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Discount not found"));
+        discount.setDeleted(true);
+        saveDiscount(discount);
+    }
+
+    /**
+     * Creates or updates a discount, including soft deletion, and invalidates the cached catalogues of every
+     * instance once the change commits.
+     *
+     * @param discount discount to store
+     * @return stored discount
+     */
+    @Transactional
+    public Discount saveDiscount(Discount discount) {
+        Discount saved = discountRepository.save(discount);
+        eventPublisher.publishEvent(new EntityChangedEvent(InvalidationKey.DISCOUNT, saved.getCode()));
+        return saved;
+    }
+
+    /**
+     * Loads all discounts that are currently valid in any city.
      *
      * @return list of active discounts
      */
+    @Transactional(readOnly = true)
     public List<Discount> getAvailableDiscounts() {
         return discountRepository.findActiveDiscounts(LocalDate.now());
     }
 
+    /**
+     * Loads the discounts that are currently valid in one city.
+     *
+     * @param city city code
+     * @return list of active discounts offered in the city
+     */
+    @Transactional(readOnly = true)
+    public List<Discount> getAvailableDiscounts(String city) {
+        return discountRepository.findActiveDiscountsInCity(LocalDate.now(), city);
+    }
+
     /**
      * Retrieves active discounts matching the provided codes.
      *
@@ -47,6 +146,27 @@ public class DiscountService {
         return discountRepository.findByCodeInAndDeletedFalse(codes);
     }
 
+    /**
+     * Retrieves active discounts matching the provided codes that are offered in a city.
+     *
+     * @param codes discount codes to resolve
+     * @param city  code of the city the ride starts in
+     * @return matching discounts, leaving out those limited to other cities
+     */
+    public List<Discount> getDiscountsByCodes(Collection<String> codes, String city) {
+        List<Discount> discounts = getDiscountsByCodes(codes);
+        if (discounts.isEmpty()) {
+            return discounts;
+        }
+        List<Discount> offered = new ArrayList<>(discounts.size());
+        for (Discount discount : discounts) {
+            if (discount.appliesIn(city)) {
+                offered.add(discount);
+            }
+        }
+        return offered;
+    }
+
     /**
      * Finds a single discount by code when it is active.
      *
@@ -1,10 +1,18 @@
 package com.dehradun.cabbooking.service;
 
 import com.dehradun.cabbooking.dto.CreateDriverRequest;
+import com.dehradun.cabbooking.dto.DriverHeartbeatRequest;
 import com.dehradun.cabbooking.entity.Driver;
 import com.dehradun.cabbooking.enums.DriverStatus;
+import com.dehradun.cabbooking.geofence.GeofenceIndex;
+import com.dehradun.cabbooking.invalidation.EntityChangedEvent;
+import com.dehradun.cabbooking.invalidation.InvalidationKey;
+import com.dehradun.cabbooking.presence.DriverPresenceTracker;
 import com.dehradun.cabbooking.repository.DriverRepository;
+import com.dehradun.cabbooking.tracking.RideTrackingHub;
+import io.micrometer.core.annotation.Timed;
 import java.time.LocalDateTime;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,17 +22,31 @@ import org.springframework.web.server.ResponseStatusException;
  * Business service orchestrating driver lifecycle actions.
  */
 @Service
+@Timed(value = "service.method", histogram = true)
 public class DriverService {
 
     private final DriverRepository driverRepository;
+    private final DriverPresenceTracker presenceTracker;
+    private final RideTrackingHub trackingHub;
+    private final GeofenceIndex geofence;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Instantiates the service with the required repository dependency.
+     * Instantiates the service with the required dependencies.
      *
      * @param driverRepository repository handling driver persistence
+     * @param presenceTracker  tracker expiring drivers that stop sending heartbeats
+     * @param trackingHub      hub pushing driver positions to riders tracking their ride
+     * @param geofence         index of the cities' service areas, placing drivers in their city
+     * @param eventPublisher   publisher announcing driver changes to the caches of every instance
      */
-    public DriverService(DriverRepository driverRepository) {
+    public DriverService(DriverRepository driverRepository, DriverPresenceTracker presenceTracker,
+        RideTrackingHub trackingHub, GeofenceIndex geofence, ApplicationEventPublisher eventPublisher) {
         this.driverRepository = driverRepository;
+        this.presenceTracker = presenceTracker;
+        this.trackingHub = trackingHub;
+        this.geofence = geofence;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -43,7 +65,9 @@ public class DriverService {
         driver.setStatus(DriverStatus.OFFLINE);
         driver.setDeleted(false);
         driver.setCreatedAt(LocalDateTime.now());
-        return driverRepository.save(driver);
+        Driver saved = driverRepository.save(driver);
+        eventPublisher.publishEvent(new EntityChangedEvent(InvalidationKey.DRIVER, saved.getDriverId()));
+        return saved;
     }
 
     /**
@@ -58,4 +82,41 @@ public class DriverService {
             .filter(driver -> !driver.isDeleted())
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Driver not found"));
     }
+
+    /**
+     * Records a heartbeat from a driver's app.
+     *
+     * <p>Heartbeats of a driver already online only move its expiry deadline. The first heartbeat after
+     * the driver went offline loads the driver and brings an {@code OFFLINE} driver back as
+     * {@code AVAILABLE}. A position sent with the heartbeat places the driver in the city whose service area
+     * it lies in and is pushed to the riders tracking the driver's ride.</p>
+     *
+     * @param driverId identifier of the driver
+     * @param request  optional position of the driver, {@code null} when absent
+     */
+    public void recordHeartbeat(Integer driverId, DriverHeartbeatRequest request) {
+        boolean positioned = request != null && request.hasPosition();
+        double latitude = positioned ? request.getLatitude().doubleValue() : 0;
+        double longitude = positioned ? request.getLongitude().doubleValue() : 0;
+        String city = positioned ? geofence.cityOf(latitude, longitude) : null;
+        if (!presenceTracker.touch(driverId, city)) {
+            registerPresence(driverId, city);
+        }
+        if (positioned) {
+            trackingHub.onDriverLocation(driverId, latitude, longitude);
+        }
+    }
+
+    private void registerPresence(Integer driverId, String city) {
+        Driver driver = getDriverById(driverId);
+        if (driver.getStatus() == DriverStatus.INACTIVE) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Driver is inactive");
+        }
+        presenceTracker.register(driverId, city);
+        if (driver.getStatus() == DriverStatus.OFFLINE) {
+            driver.setStatus(DriverStatus.AVAILABLE);
+            driverRepository.save(driver);
+            eventPublisher.publishEvent(new EntityChangedEvent(InvalidationKey.DRIVER, driverId));
+        }
+    }
 }
@@ -0,0 +1,47 @@
+package com.dehradun.cabbooking.service;
+
+import com.dehradun.cabbooking.dto.LeaderboardEntry;
+import com.dehradun.cabbooking.enums.LeaderboardMetric;
+import com.dehradun.cabbooking.enums.VehicleType;
+import com.dehradun.cabbooking.leaderboard.DriverLeaderboard;
+import io.micrometer.core.annotation.Timed;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Business service serving the in-memory driver leaderboards.
+ */
+@Service
+@Timed(value = "service.method", histogram = true)
+public class LeaderboardService {
+
+    private final DriverLeaderboard driverLeaderboard;
+
+    /**
+     * Creates the service with the leaderboard dependency.
+     *
+     * @param driverLeaderboard incrementally maintained top-K boards
+     */
+    public LeaderboardService(DriverLeaderboard driverLeaderboard) {
+        this.driverLeaderboard = driverLeaderboard;
+    }
+
+    /**
+     * Returns the leading drivers for a vehicle category.
+     *
+     * @param type   vehicle category
+     * @param metric ranking, defaults to rating when {@code null}
+     * @param limit  number of drivers, defaults to the full board when {@code null}
+     * @return ranked drivers, best first
+     */
+    public List<LeaderboardEntry> getDriverLeaderboard(VehicleType type, LeaderboardMetric metric, Integer limit) {
+        int size = driverLeaderboard.getSize();
+        int effectiveLimit = limit != null ? limit : size;
+        if (effectiveLimit < 1 || effectiveLimit > size) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + size);
+        }
+        return driverLeaderboard.top(type, metric != null ? metric : LeaderboardMetric.RATING, effectiveLimit);
+    }
+}
@@ -0,0 +1,126 @@
+package com.dehradun.cabbooking.service;
+
+import com.dehradun.cabbooking.dto.RatingSummary;
+import com.dehradun.cabbooking.dto.SubmitRatingRequest;
+import com.dehradun.cabbooking.entity.Rating;
+import com.dehradun.cabbooking.entity.Ride;
+import com.dehradun.cabbooking.enums.RatingActor;
+import com.dehradun.cabbooking.enums.RideStatus;
+import com.dehradun.cabbooking.rating.RatingAggregator;
+import com.dehradun.cabbooking.rating.RatingSubmittedEvent;
+import com.dehradun.cabbooking.rating.RatingTally;
+import com.dehradun.cabbooking.repository.RatingRepository;
+import com.dehradun.cabbooking.repository.RideRepository;
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDateTime;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Business service accepting ride ratings and serving the running aggregates.
+ */
+@Service
+@Timed(value = "service.method", histogram = true)
+public class RatingService {
+
+    private final RideRepository rideRepository;
+    private final RatingRepository ratingRepository;
+    private final RatingAggregator ratingAggregator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructs the service with its collaborators.
+     *
+     * @param rideRepository   repository providing rides
+     * @param ratingRepository repository storing ratings
+     * @param ratingAggregator running per-driver and per-user aggregates
+     * @param eventPublisher   publisher notifying the aggregates once a rating commits
+     */
+    public RatingService(RideRepository rideRepository, RatingRepository ratingRepository,
+        RatingAggregator ratingAggregator, ApplicationEventPublisher eventPublisher) {
+        this.rideRepository = rideRepository;
+        this.ratingRepository = ratingRepository;
+        this.ratingAggregator = ratingAggregator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Records a rating for a completed ride from the rider or the driver.
+     *
+     * <p>A rider rates the driver and a driver rates the rider. Each participant can rate a ride once. The
+     * recipient's aggregate is updated after the rating commits.</p>
+     *
+     * @param rideId  ride being rated
+     * @param request rating payload
+     * @return persisted rating
+     */
+    @Transactional
+    public Rating submitRating(Integer rideId, SubmitRatingRequest request) {
+        Ride ride = rideRepository
+            .findById(rideId)
+            .filter(stored -> !stored.isDeleted())
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Ride not found"));
+        if (ride.getStatus() != RideStatus.COMPLETED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Only completed rides can be rated");
+        }
+
+        RatingActor givenTo = request.getGivenBy() == RatingActor.USER ? RatingActor.DRIVER : RatingActor.USER;
+        long subjectId;
+        if (givenTo == RatingActor.DRIVER) {
+            if (ride.getDriver() == null) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Ride has no driver to rate");
+            }
+            subjectId = ride.getDriver().getDriverId();
+        } else {
+            subjectId = ride.getUser().getUserId();
+        }
+        if (ratingRepository.existsByRideRideIdAndGivenByAndDeletedFalse(rideId, request.getGivenBy())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Ride already rated");
+        }
+
+        Rating rating = new Rating();
+        rating.setRide(ride);
+        rating.setGivenBy(request.getGivenBy());
+        rating.setGivenTo(givenTo);
+        rating.setRating(request.getRating());
+        rating.setComments(request.getComments());
+        rating.setCreatedAt(LocalDateTime.now());
+        rating.setDeleted(false);
+
+        Rating saved;
+        try {
+            saved = ratingRepository.saveAndFlush(rating);
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent submission for the same side passed the check above and committed first.
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Ride already rated");
+        }
+        eventPublisher.publishEvent(RatingSubmittedEvent.of(saved, subjectId));
+        return saved;
+    }
+
+    /**
+     * Returns the running rating aggregate of a driver.
+     *
+     * @param driverId driver primary key
+     * @return average and count
+     */
+    public RatingSummary getDriverRating(Integer driverId) {
+        RatingTally tally = ratingAggregator.getDriverTally(driverId);
+        return new RatingSummary(RatingActor.DRIVER, driverId, tally.getAverage(), tally.getCount());
+    }
+
+    /**
+     * Returns the running rating aggregate of a user.
+     *
+     * @param userId user primary key
+     * @return average and count
+     */
+    public RatingSummary getUserRating(Long userId) {
+        RatingTally tally = ratingAggregator.getUserTally(userId);
+        return new RatingSummary(RatingActor.USER, userId, tally.getAverage(), tally.getCount());
+    }
+}
@@ -0,0 +1,99 @@
+package com.dehradun.cabbooking.service;
+
+import com.dehradun.cabbooking.dto.RideSummary;
+import com.dehradun.cabbooking.enums.RideStatus;
+import com.dehradun.cabbooking.repository.ReactiveRideQueryRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the ride search flows in {@link RideService}.
+ */
+@Service
+public class ReactiveRideQueryService {
+
+    private final ReactiveRideQueryRepository rideQueryRepository;
+
+    /**
+     * Constructs the service with the reactive query repository.
+     *
+     * @param rideQueryRepository R2DBC backed ride queries
+     */
+    public ReactiveRideQueryService(ReactiveRideQueryRepository rideQueryRepository) {
+        this.rideQueryRepository = rideQueryRepository;
+    }
+
+    /**
+     * Loads a ride by identifier ensuring the record is active.
+     *
+     * @param rideId ride identifier to load
+     * @return matching ride projection, or a not found error
+     */
+    public Mono<RideSummary> getRideById(Integer rideId) {
+        return rideQueryRepository.findActiveById(rideId)
+            .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Ride not found")));
+    }
+
+    /**
+     * Streams rides created on the provided date.
+     *
+     * @param date date representing the creation day
+     * @return rides created on that day
+     */
+    public Flux<RideSummary> getRidesByCreationDate(LocalDate date) {
+        TimeWindow day = TimeWindow.dayOf(date);
+        return rideQueryRepository.findCreatedBetween(day.getStart(), day.getEnd());
+    }
+
+    /**
+     * Streams rides completed during the week containing the provided date.
+     *
+     * @param dateInWeek date used to determine the week boundaries
+     * @return rides completed within the week
+     */
+    public Flux<RideSummary> getCompletedRidesForWeek(LocalDate dateInWeek) {
+        TimeWindow week = TimeWindow.weekOf(dateInWeek);
+        return rideQueryRepository.findByStatusAndEndedBetween(RideStatus.COMPLETED, week.getStart(), week.getEnd());
+    }
+
+    /**
+     * Streams rides that are currently in progress and were created today.
+     *
+     * @return in-progress rides for today
+     */
+    public Flux<RideSummary> getInProgressRidesForToday() {
+        TimeWindow today = TimeWindow.dayOf(LocalDate.now());
+        return rideQueryRepository.findByStatusInAndCreatedBetween(
+            EnumSet.of(RideStatus.ACCEPTED, RideStatus.ONGOING), today.getStart(), today.getEnd());
+    }
+
+    /**
+     * Streams rides for the week where distance exceeds ten kilometres or fare exceeds the threshold.
+     *
+     * @param dateInWeek date used to determine the week
+     * @param minimumFare minimum fare threshold for filtering
+     * @return rides matching the high-value criteria
+     */
+    public Flux<RideSummary> getHighValueRidesForWeek(LocalDate dateInWeek, BigDecimal minimumFare) {
+        TimeWindow week = TimeWindow.weekOf(dateInWeek);
+        BigDecimal fareThreshold = minimumFare != null ? minimumFare : BigDecimal.ZERO;
+        return rideQueryRepository.findByDistanceOrFare(week.getStart(), week.getEnd(), RideService.TEN_KM,
+            fareThreshold);
+    }
+
+    /**
+     * Streams rides that used the supplied discount code.
+     *
+     * @param code discount code applied on rides
+     * @return rides utilising the discount
+     */
+    public Flux<RideSummary> getRidesByDiscountCode(String code) {
+        return rideQueryRepository.findActiveByDiscountCode(code);
+    }
+}
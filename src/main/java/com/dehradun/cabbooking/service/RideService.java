@@ -1,36 +1,55 @@
 package com.dehradun.cabbooking.service;
 
+import com.dehradun.cabbooking.abuse.BookingAbuseDetector;
+import com.dehradun.cabbooking.abuse.BookingCreatedEvent;
+import com.dehradun.cabbooking.abuse.BookingSignature;
+import com.dehradun.cabbooking.city.CityRegistry;
+import com.dehradun.cabbooking.dto.CompleteRideRequest;
 import com.dehradun.cabbooking.dto.CreateRideRequest;
 import com.dehradun.cabbooking.entity.Discount;
 import com.dehradun.cabbooking.entity.Driver;
 import com.dehradun.cabbooking.entity.Location;
+import com.dehradun.cabbooking.entity.Payment;
 import com.dehradun.cabbooking.entity.Ride;
 import com.dehradun.cabbooking.entity.User;
 import com.dehradun.cabbooking.entity.Vehicle;
+import com.dehradun.cabbooking.enums.PaymentMethod;
+import com.dehradun.cabbooking.enums.PaymentStatus;
+import com.dehradun.cabbooking.enums.RideEventType;
 import com.dehradun.cabbooking.enums.RideStatus;
+import com.dehradun.cabbooking.geofence.GeofenceIndex;
+import com.dehradun.cabbooking.journal.RideEvent;
 import com.dehradun.cabbooking.repository.DriverRepository;
 import com.dehradun.cabbooking.repository.LocationRepository;
+import com.dehradun.cabbooking.repository.PaymentRepository;
 import com.dehradun.cabbooking.repository.RideRepository;
 import com.dehradun.cabbooking.repository.UserRepository;
 import com.dehradun.cabbooking.repository.VehicleRepository;
+import com.dehradun.cabbooking.tracking.RideTrackingHub;
+import io.micrometer.core.annotation.Timed;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Business service handling ride creation and search flows.
  */
 @Service
+@Timed(value = "service.method", histogram = true)
 public class RideService {
 
-    private static final BigDecimal TEN_KM = BigDecimal.valueOf(10);
+    static final BigDecimal TEN_KM = BigDecimal.valueOf(10);
+    private static final Set<RideStatus> CLOSED_STATUSES = EnumSet.of(RideStatus.COMPLETED, RideStatus.CANCELLED);
 
     private final RideRepository rideRepository;
     private final UserRepository userRepository;
@@ -38,6 +57,13 @@ public class RideService {
     private final VehicleRepository vehicleRepository;
     private final LocationRepository locationRepository;
     private final DiscountService discountService;
+    private final PaymentRepository paymentRepository;
+    private final BookingAbuseDetector abuseDetector;
+    private final RideTrackingHub trackingHub;
+    private final GeofenceIndex geofence;
+    private final CityRegistry cities;
+
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs the service with the required repositories.
@@ -48,26 +74,50 @@ public class RideService {
      * @param vehicleRepository repository providing vehicles
      * @param locationRepository repository providing locations
      * @param discountService service exposing discount lookups
+     * @param paymentRepository repository storing ride payments
+     * @param abuseDetector detector screening new bookings against the rider's recent bookings
+     * @param trackingHub hub pushing live ride updates to tracking clients
+     * @param geofence index of the cities' service areas and their zones
+     * @param cities registry of served cities
+     * @param eventPublisher publisher notifying listeners about ride lifecycle events
      */
     public RideService(RideRepository rideRepository, UserRepository userRepository,
         DriverRepository driverRepository, VehicleRepository vehicleRepository,
-        LocationRepository locationRepository, DiscountService discountService) {
+        LocationRepository locationRepository, DiscountService discountService,
+        PaymentRepository paymentRepository, BookingAbuseDetector abuseDetector, RideTrackingHub trackingHub,
+        GeofenceIndex geofence, CityRegistry cities, ApplicationEventPublisher eventPublisher) {
         this.rideRepository = rideRepository;
         this.userRepository = userRepository;
         this.driverRepository = driverRepository;
         this.vehicleRepository = vehicleRepository;
         this.locationRepository = locationRepository;
         this.discountService = discountService;
+        this.paymentRepository = paymentRepository;
+        this.abuseDetector = abuseDetector;
+        this.trackingHub = trackingHub;
+        this.geofence = geofence;
+        this.cities = cities;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Persists a new ride request linking the actors, vehicle, locations, and discounts.
      *
+     * <p>A pickup given as coordinates is screened against the service areas before anything is read or
+     * written. The ride is routed to the city whose service area it starts in and tagged with its zone;
+     * discount codes limited to other cities are dropped like unknown codes.</p>
+     *
      * @param request ride creation payload
      * @return persisted ride entity
+     * @throws ResponseStatusException with {@code 422} when the pickup lies outside every service area
      */
     @Transactional
     public Ride createRide(CreateRideRequest request) {
+        boolean pickupByCoordinates = request.getPickupLocationId() == null
+            && request.getPickupLatitude() != null && request.getPickupLongitude() != null;
+        String city = pickupByCoordinates
+            ? pickupCity(request.getPickupLatitude(), request.getPickupLongitude()) : null;
+
         User user = userRepository
             .findById(request.getUserId())
             .filter(stored -> !stored.isDeleted())
@@ -91,6 +141,9 @@ public class RideService {
 
         Location pickup = resolveLocation(request.getPickupLocationId(), request.getPickupLatitude(),
             request.getPickupLongitude());
+        if (!pickupByCoordinates) {
+            city = pickupCity(pickup.getLatitude(), pickup.getLongitude());
+        }
         Location drop = resolveLocation(request.getDropLocationId(), request.getDropLatitude(),
             request.getDropLongitude());
 
@@ -104,14 +157,80 @@ public class RideService {
         ride.setDistanceKm(request.getDistanceKm());
         ride.setStartTime(request.getStartTime());
         ride.setEndTime(request.getEndTime());
+        ride.setCity(city);
+        ride.setPickupZone(pickupZone(pickup.getLatitude(), pickup.getLongitude()));
         ride.setStatus(RideStatus.REQUESTED);
         ride.setDeleted(false);
         ride.setCreatedAt(LocalDateTime.now());
 
-        List<Discount> discounts = discountService.getDiscountsByCodes(request.getDiscountCodes());
+        List<Discount> discounts = discountService.getDiscountsByCodes(request.getDiscountCodes(), city);
         ride.setDiscounts(discounts);
 
-        return rideRepository.save(ride);
+        BookingSignature signature = BookingSignature.of(user.getUserId(), pickup, drop, discounts);
+        abuseDetector.inspect(signature);
+
+        Ride saved = rideRepository.save(ride);
+        eventPublisher.publishEvent(RideEvent.of(RideEventType.CREATED, saved));
+        eventPublisher.publishEvent(new BookingCreatedEvent(saved.getRideId(), signature,
+            System.currentTimeMillis()));
+        for (Discount discount : saved.getDiscounts()) {
+            eventPublisher.publishEvent(RideEvent.discountApplied(saved, discount));
+        }
+        return saved;
+    }
+
+    /**
+     * Completes a ride and records its payment.
+     *
+     * <p>Cash is collected by the driver, so its payment is recorded as completed. Any other method is
+     * recorded as {@code PENDING} and settled in the background after the commit, so a slow payment gateway
+     * never delays completion. The status moves with a conditional update, so a ride the expiry cancels
+     * concurrently is never turned into a completed ride with a payment.</p>
+     *
+     * @param rideId ride identifier
+     * @param request final fare, distance and payment method
+     * @return completed ride including its payment
+     */
+    @Transactional
+    public Ride completeRide(Integer rideId, CompleteRideRequest request) {
+        Ride ride = getRideById(rideId);
+        if (CLOSED_STATUSES.contains(ride.getStatus())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Ride already closed");
+        }
+        if (ride.getDriver() == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Ride has no driver");
+        }
+        if (request.getFare() != null) {
+            ride.setFare(request.getFare());
+        }
+        if (request.getDistanceKm() != null) {
+            ride.setDistanceKm(request.getDistanceKm());
+        }
+        if (ride.getFare() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Fare missing");
+        }
+        // The ride may have been cancelled by the expiry since it was read.
+        if (rideRepository.updateStatusUnlessIn(rideId, RideStatus.COMPLETED, CLOSED_STATUSES) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Ride already closed");
+        }
+        ride.setStatus(RideStatus.COMPLETED);
+        if (ride.getEndTime() == null) {
+            ride.setEndTime(LocalDateTime.now());
+        }
+
+        Payment payment = new Payment();
+        payment.setRide(ride);
+        payment.setAmount(payableAmount(ride));
+        payment.setMethod(request.getPaymentMethod());
+        payment.setStatus(request.getPaymentMethod() == PaymentMethod.CASH
+            ? PaymentStatus.COMPLETED : PaymentStatus.PENDING);
+        payment.setDeleted(false);
+        payment.setCreatedAt(LocalDateTime.now());
+        ride.setPayment(paymentRepository.save(payment));
+
+        Ride saved = rideRepository.save(ride);
+        eventPublisher.publishEvent(RideEvent.of(RideEventType.COMPLETED, saved));
+        return saved;
     }
 
     /**
@@ -127,18 +246,29 @@ public class RideService {
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Ride not found"));
     }
 
+    /**
+     * Opens a live stream of a ride's driver position and status.
+     *
+     * <p>Deliberately not transactional: a JPA access here would pin a pooled connection to the open
+     * stream's persistence context for the stream's whole lifetime.</p>
+     *
+     * @param rideId ride identifier
+     * @return emitter streaming the ride's updates
+     */
+    public SseEmitter trackRide(Integer rideId) {
+        return trackingHub.subscribe(rideId);
+    }
+
     /**
      * Retrieves rides created on the provided date.
      *
      * @param date date representing the creation day
      * @return list of rides created on that day
      */
+    @Transactional(readOnly = true)
     public List<Ride> getRidesByCreationDate(LocalDate date) {
-        LocalDate targetDate = date != null ? date : LocalDate.now();
-        LocalDateTime start = targetDate.atStartOfDay();
-        LocalDateTime end = targetDate.atTime(LocalTime.MAX);
-        List<Ride> rides = rideRepository.findByDeletedFalseAndCreatedAtBetween(start, end);
-        return rides;
+        TimeWindow day = TimeWindow.dayOf(date);
+        return rideRepository.findByDeletedFalseAndCreatedAtBetween(day.getStart(), day.getEnd());
     }
 
     /**
@@ -147,12 +277,11 @@ public class RideService {
      * @param dateInWeek date used to determine the week boundaries
      * @return list of rides completed within the week
      */
+    @Transactional(readOnly = true)
     public List<Ride> getCompletedRidesForWeek(LocalDate dateInWeek) {
-        LocalDate reference = dateInWeek != null ? dateInWeek : LocalDate.now();
-        LocalDate startOfWeek = reference.minusDays(reference.getDayOfWeek().getValue() - 1L);
-        LocalDateTime start = startOfWeek.atStartOfDay();
-        LocalDateTime end = start.plusDays(7).minusNanos(1);
-        return rideRepository.findByDeletedFalseAndStatusAndEndTimeBetween(RideStatus.COMPLETED, start, end);
+        TimeWindow week = TimeWindow.weekOf(dateInWeek);
+        return rideRepository.findByDeletedFalseAndStatusAndEndTimeBetween(RideStatus.COMPLETED, week.getStart(),
+            week.getEnd());
     }
 
     /**
@@ -160,12 +289,11 @@ public class RideService {
      *
      * @return list of in-progress rides for today
      */
+    @Transactional(readOnly = true)
     public List<Ride> getInProgressRidesForToday() {
-        LocalDate today = LocalDate.now();
-        LocalDateTime start = today.atStartOfDay();
-        LocalDateTime end = today.atTime(LocalTime.MAX);
+        TimeWindow today = TimeWindow.dayOf(LocalDate.now());
         return rideRepository.findByDeletedFalseAndStatusInAndCreatedAtBetween(
-            EnumSet.of(RideStatus.ACCEPTED, RideStatus.ONGOING), start, end);
+            EnumSet.of(RideStatus.ACCEPTED, RideStatus.ONGOING), today.getStart(), today.getEnd());
     }
 
     /**
@@ -175,13 +303,11 @@ public class RideService {
      * @param minimumFare minimum fare threshold for filtering
      * @return list of rides matching the high-value criteria
      */
+    @Transactional(readOnly = true)
     public List<Ride> getHighValueRidesForWeek(LocalDate dateInWeek, BigDecimal minimumFare) {
-        LocalDate reference = dateInWeek != null ? dateInWeek : LocalDate.now();
-        LocalDate startOfWeek = reference.minusDays(reference.getDayOfWeek().getValue() - 1L);
-        LocalDateTime start = startOfWeek.atStartOfDay();
-        LocalDateTime end = start.plusDays(7).minusNanos(1);
+        TimeWindow week = TimeWindow.weekOf(dateInWeek);
         BigDecimal fareThreshold = minimumFare != null ? minimumFare : BigDecimal.ZERO;
-        return rideRepository.findRidesByDistanceOrFare(start, end, TEN_KM, fareThreshold);
+        return rideRepository.findRidesByDistanceOrFare(week.getStart(), week.getEnd(), TEN_KM, fareThreshold);
     }
 
     /**
@@ -190,10 +316,29 @@ public class RideService {
      * @param code discount code applied on rides
      * @return list of rides utilising the discount
      */
+    @Transactional(readOnly = true)
     public List<Ride> getRidesByDiscountCode(String code) {
         return rideRepository.findActiveRidesByDiscountCode(code);
     }
 
+    /**
+     * Applies the largest discount attached to the ride to its fare.
+     *
+     * @param ride ride with fare and discounts
+     * @return amount to charge, rounded to paise
+     */
+    static BigDecimal payableAmount(Ride ride) {
+        int percentage = 0;
+        for (Discount discount : ride.getDiscounts()) {
+            if (discount.getPercentage() != null) {
+                percentage = Math.max(percentage, discount.getPercentage());
+            }
+        }
+        return ride.getFare()
+            .multiply(BigDecimal.valueOf(100 - Math.min(percentage, 100)))
+            .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+    }
+
     /**
      * Resolves a location either from an existing identifier or by creating a new record.
      *
@@ -202,7 +347,7 @@ public class RideService {
      * @param longitude longitude for new location creation
      * @return persistent location entity
      */
-    private Location resolveLocation(Integer locationId, BigDecimal latitude, BigDecimal longitude) {
+    Location resolveLocation(Integer locationId, BigDecimal latitude, BigDecimal longitude) {
         if (locationId != null) {
             return locationRepository
                 .findById(locationId)
@@ -219,4 +364,38 @@ public class RideService {
         location.setRecordedAt(LocalDateTime.now());
         return locationRepository.save(location);
     }
+
+    /**
+     * Checks that a pickup point is serviced and returns the city it lies in.
+     *
+     * @param latitude  pickup latitude
+     * @param longitude pickup longitude
+     * @return code of the city whose service area contains the point, the default city when the point has
+     *         no coordinates
+     * @throws ResponseStatusException with {@code 422} when the point lies outside every service area
+     */
+    private String pickupCity(BigDecimal latitude, BigDecimal longitude) {
+        if (latitude == null || longitude == null) {
+            return cities.getDefaultCity().getCode();
+        }
+        String city = geofence.cityOf(latitude.doubleValue(), longitude.doubleValue());
+        if (city == null) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Pickup outside the service area");
+        }
+        return city;
+    }
+
+    /**
+     * Returns the zone a serviced pickup point falls in.
+     *
+     * @param latitude  pickup latitude
+     * @param longitude pickup longitude
+     * @return zone containing the point, {@code null} when it is in none or has no coordinates
+     */
+    private String pickupZone(BigDecimal latitude, BigDecimal longitude) {
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        return geofence.zoneOf(latitude.doubleValue(), longitude.doubleValue());
+    }
 }
@@ -0,0 +1,61 @@
+package com.dehradun.cabbooking.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Inclusive time range used by the ride reporting queries.
+ */
+public final class TimeWindow {
+
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    private TimeWindow(LocalDateTime start, LocalDateTime end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Builds the window covering the whole of the supplied day.
+     *
+     * @param date day to cover, defaults to today when {@code null}
+     * @return window spanning midnight to the last instant of the day
+     */
+    public static TimeWindow dayOf(LocalDate date) {
+        LocalDate targetDate = date != null ? date : LocalDate.now();
+        return new TimeWindow(targetDate.atStartOfDay(), targetDate.atTime(LocalTime.MAX));
+    }
+
+    /**
+     * Builds the Monday-to-Sunday window containing the supplied date.
+     *
+     * @param dateInWeek date used to determine the week, defaults to today when {@code null}
+     * @return window spanning the whole week
+     */
+    public static TimeWindow weekOf(LocalDate dateInWeek) {
+        LocalDate reference = dateInWeek != null ? dateInWeek : LocalDate.now();
+        LocalDate startOfWeek = reference.minusDays(reference.getDayOfWeek().getValue() - 1L);
+        LocalDateTime start = startOfWeek.atStartOfDay();
+        return new TimeWindow(start, start.plusDays(7).minusNanos(1));
+    }
+
+    /**
+     * Returns the first instant of the window.
+     *
+     * @return inclusive start
+     */
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the last instant of the window.
+     *
+     * @return inclusive end
+     */
+    public LocalDateTime getEnd() {
+        return end;
+    }
+}
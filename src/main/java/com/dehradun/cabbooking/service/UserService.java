@@ -4,6 +4,7 @@ import com.dehradun.cabbooking.dto.CreateUserRequest;
 import com.dehradun.cabbooking.entity.User;
 import com.dehradun.cabbooking.enums.UserStatus;
 import com.dehradun.cabbooking.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import org.springframework.http.HttpStatus;
@@ -15,6 +16,7 @@ import org.springframework.web.server.ResponseStatusException;
  * Business service providing user management operations.
  */
 @Service
+@Timed(value = "service.method", histogram = true)
 public class UserService {
 
     private final UserRepository userRepository;
@@ -0,0 +1,141 @@
+package com.dehradun.cabbooking.timing;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Hashed timing wheel of deadlines keyed by integer identifiers, not thread-safe.
+ *
+ * <p>Each slot holds an intrusive doubly linked list of timers whose deadline tick hashes to it. Scheduling,
+ * rescheduling and cancelling a timer unlink and link one node in constant time. Advancing the wheel by one
+ * tick visits one slot. When the wheel has more slots than the timeout has ticks, every timer found in
+ * that slot is due. The cost of a tick is then proportional to the timers that expire, not to the number of
+ * timers held.</p>
+ */
+public final class HashedTimingWheel {
+
+    private final Timer[] slots;
+    private final int mask;
+    private long tick;
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param slotCount number of slots, rounded up to a power of two
+     * @param startTick tick the wheel starts at
+     */
+    public HashedTimingWheel(int slotCount, long startTick) {
+        int size = Integer.highestOneBit(Math.max(2, slotCount - 1)) << 1;
+        this.slots = new Timer[size];
+        this.mask = size - 1;
+        this.tick = startTick;
+    }
+
+    /**
+     * Schedules or reschedules a timer.
+     *
+     * @param timer        timer to place
+     * @param deadlineTick tick at which the timer expires, moved past the current tick when earlier
+     */
+    public void schedule(Timer timer, long deadlineTick) {
+        unlink(timer);
+        timer.deadline = Math.max(deadlineTick, tick + 1);
+        int slot = (int) (timer.deadline & mask);
+        timer.slot = slot;
+        timer.next = slots[slot];
+        if (timer.next != null) {
+            timer.next.prev = timer;
+        }
+        slots[slot] = timer;
+    }
+
+    /**
+     * Advances the wheel, reporting every timer that expires on the way.
+     *
+     * <p>Falling behind by a full turn or more is handled with one pass over all slots rather than one pass
+     * per missed tick.</p>
+     *
+     * @param toTick  tick to advance to
+     * @param expired receives the identifier of each expired timer; the timer is unscheduled beforehand
+     */
+    public void advance(long toTick, IntConsumer expired) {
+        if (toTick - tick > mask) {
+            for (int slot = 0; slot < slots.length; slot++) {
+                expireSlot(slot, toTick, expired);
+            }
+            tick = toTick;
+            return;
+        }
+        while (tick < toTick) {
+            tick++;
+            expireSlot((int) (tick & mask), tick, expired);
+        }
+    }
+
+    private void expireSlot(int slot, long now, IntConsumer expired) {
+        Timer timer = slots[slot];
+        while (timer != null) {
+            Timer next = timer.next;
+            if (timer.deadline <= now) {
+                unlink(timer);
+                expired.accept(timer.id);
+            }
+            timer = next;
+        }
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.slot < 0) {
+            return;
+        }
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            slots[timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.slot = -1;
+    }
+
+    /**
+     * Removes a timer from the wheel; does nothing when it is not scheduled.
+     *
+     * @param timer timer to remove
+     */
+    public void cancel(Timer timer) {
+        unlink(timer);
+    }
+
+    /**
+     * Deadline of one tracked identifier, linked into a wheel slot.
+     */
+    public static class Timer {
+
+        private final int id;
+        private long deadline;
+        private int slot = -1;
+        private Timer prev;
+        private Timer next;
+
+        /**
+         * Creates an unscheduled timer.
+         *
+         * @param id identifier reported when the timer expires
+         */
+        public Timer(int id) {
+            this.id = id;
+        }
+
+        /**
+         * Returns the tracked identifier.
+         *
+         * @return identifier reported on expiry
+         */
+        public int getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.dehradun.cabbooking.tracking;
+
+import com.dehradun.cabbooking.enums.RideStatus;
+import com.dehradun.cabbooking.journal.RideEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes driver positions and status changes to the clients tracking a ride over server-sent events.
+ *
+ * <p>Driver positions arrive with heartbeats and are routed to the driver's open ride. Status changes come
+ * from committed ride events. Each update is serialised once per ride and offered to every subscriber of
+ * the ride. A subscriber keeps only the newest unsent position and status (see {@link TrackingSubscriber}),
+ * so fan-out never blocks on a slow client and never queues more than one update of each kind per
+ * connection. Idle streams get a keep-alive comment, which also detects clients that went away. A
+ * {@code COMPLETED} or {@code CANCELLED} status is the last event of a stream.</p>
+ *
+ * <p>Open streams hold no servlet thread and no database connection. The ride is looked up once through
+ * JDBC rather than JPA, so no connection stays bound to the stream's open persistence context. Writes run
+ * on virtual threads, and an idle connection costs its emitter, its subscriber and the container's socket
+ * buffers.</p>
+ */
+public class RideTrackingHub {
+
+    private static final String SELECT_RIDE =
+        "select status, driver_id from rides where ride_id = ? and deleted = false";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long streamTimeoutMillis;
+    private final long keepAliveNanos;
+    private final int maxSubscribers;
+    private final int maxSubscribersPerRide;
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Integer, List<TrackingSubscriber>> channels = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> driverRides = new ConcurrentHashMap<>();
+    private final Map<Integer, Position> positions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter queued;
+    private final Counter coalesced;
+
+    /**
+     * Creates the hub.
+     *
+     * @param dataSource            primary pool the ride of a new stream is read from
+     * @param streamTimeout         lifetime of a stream before the client has to reconnect
+     * @param keepAlive             idle time after which a keep-alive comment is written
+     * @param maxSubscribers        open streams allowed on this instance
+     * @param maxSubscribersPerRide open streams allowed per ride
+     * @param meterRegistry         registry receiving the tracking metrics
+     */
+    public RideTrackingHub(DataSource dataSource, Duration streamTimeout, Duration keepAlive, int maxSubscribers,
+        int maxSubscribersPerRide, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+        this.keepAliveNanos = keepAlive.toNanos();
+        this.maxSubscribers = maxSubscribers;
+        this.maxSubscribersPerRide = maxSubscribersPerRide;
+        this.queued = Counter.builder("tracking.updates")
+            .tag("outcome", "queued")
+            .description("Tracking updates offered to subscribers")
+            .register(meterRegistry);
+        this.coalesced = Counter.builder("tracking.updates")
+            .tag("outcome", "coalesced")
+            .description("Tracking updates offered to subscribers")
+            .register(meterRegistry);
+        Gauge.builder("tracking.subscribers", subscribers, AtomicInteger::get)
+            .description("Open ride tracking streams")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Opens a tracking stream for a ride.
+     *
+     * <p>The stream starts with the ride's current status and, when the driver has reported one, the
+     * driver's last position. A ride that is already closed gets its final status and an ended stream.</p>
+     *
+     * @param rideId ride primary key
+     * @return emitter streaming the ride's updates
+     * @throws ResponseStatusException when the ride does not exist, or the instance or the ride has no
+     *                                 room for another stream
+     */
+    public SseEmitter subscribe(int rideId) {
+        List<Object[]> rows = jdbcTemplate.query(SELECT_RIDE,
+            (rs, rowNum) -> new Object[] {rs.getString(1), rs.getObject(2, Integer.class)}, rideId);
+        if (rows.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Ride not found");
+        }
+        RideStatus status = RideStatus.valueOf((String) rows.get(0)[0]);
+        Integer driverId = (Integer) rows.get(0)[1];
+        boolean terminal = status == RideStatus.COMPLETED || status == RideStatus.CANCELLED;
+        if (!terminal && subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Tracking capacity reached");
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        TrackingSubscriber subscriber = new TrackingSubscriber(rideId, emitter, this, writers);
+        if (terminal) {
+            subscriber.offerStatus(statusJson(rideId, status, System.currentTimeMillis()), true);
+            return emitter;
+        }
+        boolean[] admitted = new boolean[1];
+        channels.compute(rideId, (id, current) -> {
+            List<TrackingSubscriber> list = current != null ? current : new CopyOnWriteArrayList<>();
+            if (list.size() < maxSubscribersPerRide) {
+                list.add(subscriber);
+                admitted[0] = true;
+            }
+            return list.isEmpty() ? null : list;
+        });
+        if (!admitted[0]) {
+            subscribers.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many streams for this ride");
+        }
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        subscriber.offerStatus(statusJson(rideId, status, System.currentTimeMillis()), false);
+        if (driverId != null) {
+            driverRides.put(driverId, rideId);
+            Position position = positions.get(driverId);
+            if (position != null) {
+                subscriber.offerLocation(locationJson(rideId, driverId, position));
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * Records a driver position and pushes it to the clients tracking the driver's open ride.
+     *
+     * @param driverId  driver primary key
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     */
+    public void onDriverLocation(int driverId, double latitude, double longitude) {
+        Position position = new Position(latitude, longitude, System.currentTimeMillis());
+        positions.put(driverId, position);
+        Integer rideId = driverRides.get(driverId);
+        if (rideId == null) {
+            return;
+        }
+        List<TrackingSubscriber> channel = channels.get(rideId);
+        if (channel == null) {
+            return;
+        }
+        String json = locationJson(rideId, driverId, position);
+        for (TrackingSubscriber subscriber : channel) {
+            count(subscriber.offerLocation(json));
+        }
+    }
+
+    /**
+     * Pushes committed status changes and tracks which ride each driver is serving.
+     *
+     * @param event ride lifecycle event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRideEvent(RideEvent event) {
+        RideStatus status = switch (event.getType()) {
+            case CREATED -> RideStatus.REQUESTED;
+            case COMPLETED -> RideStatus.COMPLETED;
+            case CANCELLED -> RideStatus.CANCELLED;
+            case DISCOUNT_APPLIED -> null;
+        };
+        if (status == null) {
+            return;
+        }
+        boolean terminal = status == RideStatus.COMPLETED || status == RideStatus.CANCELLED;
+        if (event.getDriverId() != 0) {
+            if (terminal) {
+                driverRides.remove(event.getDriverId(), event.getRideId());
+            } else {
+                driverRides.put(event.getDriverId(), event.getRideId());
+            }
+        }
+        List<TrackingSubscriber> channel = channels.get(event.getRideId());
+        if (channel == null) {
+            return;
+        }
+        String json = statusJson(event.getRideId(), status, event.getTimestampMillis());
+        for (TrackingSubscriber subscriber : channel) {
+            count(subscriber.offerStatus(json, terminal));
+        }
+    }
+
+    /**
+     * Writes a keep-alive comment to streams that have been idle for the keep-alive interval.
+     */
+    @Scheduled(fixedDelayString = "${tracking.keep-alive-check-ms:5000}")
+    public void keepAlive() {
+        long now = System.nanoTime();
+        for (List<TrackingSubscriber> channel : channels.values()) {
+            for (TrackingSubscriber subscriber : channel) {
+                subscriber.keepAliveIfIdle(keepAliveNanos, now);
+            }
+        }
+    }
+
+    /**
+     * Returns how many tracking streams are open.
+     *
+     * @return open streams
+     */
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    /**
+     * Ends every open stream and stops the writers on shutdown.
+     */
+    public void close() {
+        for (List<TrackingSubscriber> channel : channels.values()) {
+            for (TrackingSubscriber subscriber : channel) {
+                unsubscribe(subscriber);
+            }
+        }
+        writers.shutdownNow();
+    }
+
+    /**
+     * Forgets a subscriber whose stream ended, failed or timed out.
+     *
+     * @param subscriber subscriber to remove
+     */
+    void unsubscribe(TrackingSubscriber subscriber) {
+        if (!subscriber.close()) {
+            return;
+        }
+        subscribers.decrementAndGet();
+        channels.computeIfPresent(subscriber.getRideId(), (id, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+        try {
+            subscriber.getEmitter().complete();
+        } catch (IllegalStateException ignored) {
+            // The container already closed the response.
+        }
+    }
+
+    private void count(boolean replaced) {
+        (replaced ? coalesced : queued).increment();
+    }
+
+    private static String statusJson(int rideId, RideStatus status, long timestampMillis) {
+        return "{\"rideId\":" + rideId + ",\"status\":\"" + status.name() + "\",\"timestamp\":" + timestampMillis
+            + "}";
+    }
+
+    private static String locationJson(int rideId, int driverId, Position position) {
+        return "{\"rideId\":" + rideId + ",\"driverId\":" + driverId + ",\"latitude\":" + position.latitude
+            + ",\"longitude\":" + position.longitude + ",\"timestamp\":" + position.timestampMillis + "}";
+    }
+
+    /**
+     * Last reported position of a driver.
+     */
+    private static final class Position {
+
+        private final double latitude;
+        private final double longitude;
+        private final long timestampMillis;
+
+        private Position(double latitude, double longitude, long timestampMillis) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.timestampMillis = timestampMillis;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.dehradun.cabbooking.tracking;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One open tracking stream with a single pending slot per event kind.
+ *
+ * <p>Publishers overwrite the pending location and status instead of queueing them, so a client that reads
+ * slowly skips intermediate positions and always receives the newest one. Writes run on the hub's
+ * executor, one drain at a time per subscriber, and never on the publishing thread. The memory held for a
+ * connection is therefore bounded by the two slots plus the container's socket buffers, however far the
+ * client falls behind.</p>
+ */
+final class TrackingSubscriber implements Runnable {
+
+    private final int rideId;
+    private final SseEmitter emitter;
+    private final RideTrackingHub hub;
+    private final Executor executor;
+    private final AtomicReference<String> pendingLocation = new AtomicReference<>();
+    private final AtomicReference<String> pendingStatus = new AtomicReference<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean keepAlivePending;
+    private volatile String finalStatus;
+    private volatile long lastSentNanos = System.nanoTime();
+
+    TrackingSubscriber(int rideId, SseEmitter emitter, RideTrackingHub hub, Executor executor) {
+        this.rideId = rideId;
+        this.emitter = emitter;
+        this.hub = hub;
+        this.executor = executor;
+    }
+
+    int getRideId() {
+        return rideId;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    /**
+     * Replaces the pending position.
+     *
+     * @param json serialised location event
+     * @return {@code true} when an unsent position was overwritten
+     */
+    boolean offerLocation(String json) {
+        boolean coalesced = pendingLocation.getAndSet(json) != null;
+        schedule();
+        return coalesced;
+    }
+
+    /**
+     * Replaces the pending status.
+     *
+     * @param json     serialised status event
+     * @param terminal whether the stream ends once this status is written
+     * @return {@code true} when an unsent status was overwritten
+     */
+    boolean offerStatus(String json, boolean terminal) {
+        if (terminal) {
+            finalStatus = json;
+        }
+        boolean coalesced = pendingStatus.getAndSet(json) != null;
+        schedule();
+        return coalesced;
+    }
+
+    /**
+     * Queues a keep-alive comment when nothing has been written for the given time.
+     *
+     * @param idleNanos idle time after which a comment is sent
+     * @param now       current {@link System#nanoTime()}
+     */
+    void keepAliveIfIdle(long idleNanos, long now) {
+        if (now - lastSentNanos >= idleNanos && pendingLocation.get() == null && pendingStatus.get() == null) {
+            keepAlivePending = true;
+            schedule();
+        }
+    }
+
+    /**
+     * Marks the subscriber closed; later offers are ignored.
+     *
+     * @return {@code true} for the first call only
+     */
+    boolean close() {
+        return closed.compareAndSet(false, true);
+    }
+
+    @Override
+    public void run() {
+        while (!closed.get()) {
+            String location = pendingLocation.getAndSet(null);
+            String status = pendingStatus.getAndSet(null);
+            boolean keepAlive = keepAlivePending;
+            keepAlivePending = false;
+            if (location == null && status == null && !keepAlive) {
+                draining.set(false);
+                if (hasPending() && draining.compareAndSet(false, true)) {
+                    continue;
+                }
+                return;
+            }
+            try {
+                if (location != null) {
+                    emitter.send(SseEmitter.event().name("location").data(location));
+                }
+                if (status != null) {
+                    emitter.send(SseEmitter.event().name("status").data(status));
+                }
+                if (location == null && status == null) {
+                    emitter.send(SseEmitter.event().comment("keepalive"));
+                }
+                lastSentNanos = System.nanoTime();
+            } catch (IOException | IllegalStateException ex) {
+                hub.unsubscribe(this);
+                return;
+            }
+            if (status != null && status == finalStatus) {
+                emitter.complete();
+                return;
+            }
+        }
+    }
+
+    private boolean hasPending() {
+        return pendingLocation.get() != null || pendingStatus.get() != null || keepAlivePending;
+    }
+
+    private void schedule() {
+        if (!closed.get() && draining.compareAndSet(false, true)) {
+            executor.execute(this);
+        }
+    }
+}
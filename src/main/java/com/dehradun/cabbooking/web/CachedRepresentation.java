@@ -0,0 +1,157 @@
+package com.dehradun.cabbooking.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Immutable, pre-rendered JSON response body with its content-hash ETag and a gzip variant.
+ *
+ * <p>Rendering, hashing and compression happen once per version of the content. Serving a request only picks
+ * the variant matching {@code Accept-Encoding}; Spring MVC answers {@code If-None-Match} and
+ * {@code If-Modified-Since} with {@code 304 Not Modified} from the headers set here without writing the
+ * body.</p>
+ */
+public final class CachedRepresentation {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    private final byte[] identity;
+    private final byte[] gzip;
+    private final String contentHash;
+    private final Instant lastModified;
+
+    private CachedRepresentation(byte[] identity, byte[] gzip, String contentHash, Instant lastModified) {
+        this.identity = identity;
+        this.gzip = gzip;
+        this.contentHash = contentHash;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Hashes and compresses a rendered JSON body.
+     *
+     * @param body         rendered JSON
+     * @param lastModified time this content was first served
+     * @return representation ready to serve
+     */
+    public static CachedRepresentation of(byte[] body, Instant lastModified) {
+        byte[] compressed = gzip(body);
+        return new CachedRepresentation(body, compressed.length < body.length ? compressed : null,
+            contentHash(body), lastModified);
+    }
+
+    /**
+     * Returns this representation when {@code body} is unchanged, otherwise a new one for the new content.
+     *
+     * @param body rendered JSON of the latest catalogue version
+     * @param now  time the new content is observed
+     * @return current representation
+     */
+    public CachedRepresentation refresh(byte[] body, Instant now) {
+        if (Arrays.equals(identity, body)) {
+            return this;
+        }
+        return of(body, now);
+    }
+
+    /**
+     * Builds the response for a request, choosing gzip when the client accepts it.
+     *
+     * @param acceptEncoding {@code Accept-Encoding} request header, may be {@code null}
+     * @return {@code 200} response carrying validators; Spring downgrades it to {@code 304} on a match
+     */
+    public ResponseEntity<byte[]> toResponse(String acceptEncoding) {
+        boolean compressed = gzip != null && acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CACHE_CONTROL)
+            .lastModified(lastModified)
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (compressed) {
+            return builder.eTag(contentHash + "-gzip")
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(gzip);
+        }
+        return builder.eTag(contentHash).body(identity);
+    }
+
+    /**
+     * Fetches the ETag value of the uncompressed body, without quotes.
+     *
+     * @return content hash
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * Fetches the time this content version was first served.
+     *
+     * @return last modification time
+     */
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals("gzip") || name.equals("x-gzip") || name.equals("*")) {
+                return parts.length < 2 || !isZeroQuality(parts[1]);
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(String parameter) {
+        String value = parameter.trim().toLowerCase(Locale.ROOT);
+        if (!value.startsWith("q=")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(value.substring(2)) == 0.0;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    private static String contentHash(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+}
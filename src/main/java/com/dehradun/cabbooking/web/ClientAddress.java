@@ -0,0 +1,120 @@
+package com.dehradun.cabbooking.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Locale;
+
+/**
+ * Resolves the address a request was sent from.
+ */
+final class ClientAddress {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+    private static final int IPV6_GROUPS = 8;
+    private static final int NETWORK_GROUPS = 4;
+
+    private ClientAddress() {
+    }
+
+    /**
+     * Returns the client address of a request.
+     *
+     * @param request           incoming request
+     * @param trustForwardedFor whether the first {@code X-Forwarded-For} hop is believed over the socket
+     * @return client address
+     */
+    static String of(HttpServletRequest request, boolean trustForwardedFor) {
+        return of(request, trustForwardedFor, false);
+    }
+
+    /**
+     * Returns the client address of a request that may have been relayed by another node of the cluster.
+     *
+     * <p>A relaying node appends the address it saw to {@code X-Forwarded-For}, so for a verified peer
+     * request the last hop stands in for the socket address.</p>
+     *
+     * @param request           incoming request
+     * @param trustForwardedFor whether the first {@code X-Forwarded-For} hop is believed over the socket
+     * @param fromPeer          whether the request was relayed by a verified peer
+     * @return client address
+     */
+    static String of(HttpServletRequest request, boolean trustForwardedFor, boolean fromPeer) {
+        if (trustForwardedFor || fromPeer) {
+            String forwarded = request.getHeader(FORWARDED_FOR);
+            if (forwarded != null && !forwarded.isBlank()) {
+                if (trustForwardedFor) {
+                    int comma = forwarded.indexOf(',');
+                    return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+                }
+                return forwarded.substring(forwarded.lastIndexOf(',') + 1).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * Returns the network a client address stands for.
+     *
+     * <p>An IPv6 host is usually handed a whole {@code /64}, so it can rotate through addresses within it at
+     * will; the prefix is what identifies it. IPv4 addresses, including IPv4-mapped IPv6 ones, are returned
+     * as dotted quads. Text that does not parse as an address is returned unchanged.</p>
+     *
+     * @param address client address
+     * @return the address for IPv4, its {@code /64} prefix such as {@code 2001:db8:0:1::/64} for IPv6
+     */
+    static String networkOf(String address) {
+        if (address.indexOf(':') < 0) {
+            return address;
+        }
+        String text = address;
+        if (text.startsWith("[") && text.endsWith("]")) {
+            text = text.substring(1, text.length() - 1);
+        }
+        int zone = text.indexOf('%');
+        if (zone >= 0) {
+            text = text.substring(0, zone);
+        }
+        if (text.indexOf('.') >= 0) {
+            String lower = text.toLowerCase(Locale.ROOT);
+            boolean mapped = lower.startsWith("::ffff:") || lower.startsWith("0:0:0:0:0:ffff:");
+            return mapped ? text.substring(text.lastIndexOf(':') + 1) : address;
+        }
+        int gap = text.indexOf("::");
+        String head = gap < 0 ? text : text.substring(0, gap);
+        String tail = gap < 0 ? "" : text.substring(gap + 2);
+        String[] leading = head.isEmpty() ? new String[0] : head.split(":", -1);
+        String[] trailing = tail.isEmpty() ? new String[0] : tail.split(":", -1);
+        int groups = leading.length + trailing.length;
+        if (gap < 0 ? groups != IPV6_GROUPS : groups >= IPV6_GROUPS) {
+            return address;
+        }
+        int[] values = new int[IPV6_GROUPS];
+        for (int i = 0; i < groups; i++) {
+            String group = i < leading.length ? leading[i] : trailing[i - leading.length];
+            int value = hexGroup(group);
+            if (value < 0) {
+                return address;
+            }
+            values[i < leading.length ? i : IPV6_GROUPS - groups + i] = value;
+        }
+        StringBuilder network = new StringBuilder(24);
+        for (int i = 0; i < NETWORK_GROUPS; i++) {
+            network.append(Integer.toHexString(values[i])).append(':');
+        }
+        return network.append(":/64").toString();
+    }
+
+    private static int hexGroup(String group) {
+        if (group.isEmpty() || group.length() > 4) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < group.length(); i++) {
+            int digit = Character.digit(group.charAt(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,76 @@
+package com.dehradun.cabbooking.web;
+
+import java.util.Locale;
+
+/**
+ * {@code "METHOD /path"} pattern selecting the requests a policy applies to.
+ *
+ * <p>The path is matched exactly, except that a {@code *} segment matches any single segment and a trailing
+ * {@code /**} matches any remainder. A method of {@code *} matches any method. Patterns are compiled into
+ * segment arrays once, so matching a request costs no allocation.</p>
+ */
+public final class EndpointPattern {
+
+    private final String method;
+    private final String[] segments;
+    private final boolean prefix;
+
+    private EndpointPattern(String method, String[] segments, boolean prefix) {
+        this.method = method;
+        this.segments = segments;
+        this.prefix = prefix;
+    }
+
+    /**
+     * Compiles a pattern.
+     *
+     * @param endpoint {@code "METHOD /path"} entry
+     * @return compiled pattern
+     * @throws IllegalArgumentException when the method or path is missing
+     */
+    public static EndpointPattern parse(String endpoint) {
+        int space = endpoint.indexOf(' ');
+        if (space < 0) {
+            throw new IllegalArgumentException("Endpoint must be 'METHOD /path': " + endpoint);
+        }
+        String method = endpoint.substring(0, space).toUpperCase(Locale.ROOT);
+        String path = endpoint.substring(space + 1).trim();
+        boolean prefix = path.endsWith("/**");
+        if (prefix) {
+            path = path.substring(0, path.length() - 3);
+        }
+        String[] segments = path.isEmpty() || "/".equals(path) ? new String[0] : path.substring(1).split("/");
+        return new EndpointPattern(method, segments, prefix);
+    }
+
+    /**
+     * Tells whether a request matches the pattern.
+     *
+     * @param requestMethod HTTP method
+     * @param path          request path without query string
+     * @return {@code true} when method and path match
+     */
+    public boolean matches(String requestMethod, String path) {
+        if (!"*".equals(method) && !method.equals(requestMethod)) {
+            return false;
+        }
+        int position = 0;
+        int length = path.length();
+        for (String segment : segments) {
+            if (position >= length || path.charAt(position) != '/') {
+                return false;
+            }
+            int start = position + 1;
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (!"*".equals(segment)
+                && (end - start != segment.length() || !path.regionMatches(start, segment, 0, segment.length()))) {
+                return false;
+            }
+            position = end;
+        }
+        return prefix || position == length || (position == length - 1 && path.charAt(position) == '/');
+    }
+}
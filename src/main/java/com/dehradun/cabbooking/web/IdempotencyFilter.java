@@ -0,0 +1,258 @@
+package com.dehradun.cabbooking.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Makes {@code POST} endpoints safe to retry by honouring the {@code Idempotency-Key} request header.
+ *
+ * <p>The first request with a key executes normally, and its response is kept in the
+ * {@link IdempotencyStore}. Retries with the same key and body get that response back with
+ * {@code Idempotent-Replayed: true}, without reaching the controller. A retry arriving while the first request
+ * is still running waits up to {@code idempotency.wait-timeout} for it to finish. Reusing a key with a
+ * different body is rejected with {@code 422}, and a body longer than {@code idempotency.max-body-bytes} with
+ * {@code 413} before it is buffered. Only successful responses are kept: after an error, the client's
+ * next retry executes again. Requests without the header, and paths outside {@code idempotency.paths}, pass
+ * through untouched.</p>
+ *
+ * <p>Keys are scoped to the caller, so one client cannot replay another's response by guessing its key. The
+ * caller is the {@code X-User-Id} or {@code X-Driver-Id} header when {@code idempotency.trust-identity-headers}
+ * is set, and the client address otherwise, resolved as for rate limiting. For a request relayed by another
+ * cluster node, that is the address the relaying node saw.</p>
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    /**
+     * Request header carrying the client generated key.
+     */
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    /**
+     * Response header marking a replayed response.
+     */
+    public static final String REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 200;
+    private static final int MAX_IDENTITY_LENGTH = 64;
+    private static final int MAX_WAITS = 3;
+
+    private final IdempotencyStore store;
+    private final List<String> paths;
+    private final Duration waitTimeout;
+    private final int maxBodyBytes;
+    private final boolean trustIdentityHeaders;
+    private final boolean trustForwardedFor;
+    private final Predicate<HttpServletRequest> peerRequest;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter conflicts;
+    private final Counter mismatches;
+    private final Counter overflows;
+
+    /**
+     * Creates the filter.
+     *
+     * @param store                response store
+     * @param paths                Ant-style patterns of the {@code POST} endpoints that accept keys
+     * @param waitTimeout          longest wait for a duplicate's original request to finish
+     * @param maxBodyBytes         longest request body buffered for hashing and replay
+     * @param trustIdentityHeaders whether {@code X-User-Id} and {@code X-Driver-Id} identify the caller
+     * @param trustForwardedFor    whether the client address is taken from {@code X-Forwarded-For}
+     * @param peerRequest          recognises requests relayed by another cluster node
+     * @param meterRegistry        registry receiving the {@code idempotency.requests} counters
+     */
+    public IdempotencyFilter(IdempotencyStore store, List<String> paths, Duration waitTimeout, int maxBodyBytes,
+        boolean trustIdentityHeaders, boolean trustForwardedFor, Predicate<HttpServletRequest> peerRequest,
+        MeterRegistry meterRegistry) {
+        this.store = store;
+        this.paths = List.copyOf(paths);
+        this.waitTimeout = waitTimeout;
+        this.maxBodyBytes = maxBodyBytes;
+        this.trustIdentityHeaders = trustIdentityHeaders;
+        this.trustForwardedFor = trustForwardedFor;
+        this.peerRequest = peerRequest;
+        this.executed = outcomeCounter(meterRegistry, "executed");
+        this.replayed = outcomeCounter(meterRegistry, "replayed");
+        this.conflicts = outcomeCounter(meterRegistry, "conflict");
+        this.mismatches = outcomeCounter(meterRegistry, "mismatch");
+        this.overflows = outcomeCounter(meterRegistry, "overflow");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : paths) {
+            if (matcher.match(pattern, path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        String clientKey = request.getHeader(IDEMPOTENCY_KEY);
+        if (clientKey.isBlank() || clientKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(),
+                IDEMPOTENCY_KEY + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        String key = request.getMethod() + ' ' + request.getRequestURI() + ' ' + caller(request) + ' ' + clientKey;
+        byte[] body = CachedBodyRequest.readBody(request, maxBodyBytes);
+        if (body == null) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Requests with an " + IDEMPOTENCY_KEY
+                + " accept bodies of at most " + maxBodyBytes + " bytes");
+            return;
+        }
+        String requestHash = digest(body);
+
+        for (int attempt = 0; attempt < MAX_WAITS; attempt++) {
+            IdempotencyStore.Claim claim = store.claim(key, requestHash);
+            switch (claim.getState()) {
+                case OWNER -> {
+                    execute(new CachedBodyRequest(request, body), response, chain, key, claim);
+                    return;
+                }
+                case FULL -> {
+                    overflows.increment();
+                    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                    response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many requests with an "
+                        + IDEMPOTENCY_KEY + " are in progress");
+                    return;
+                }
+                case BUSY -> {
+                    conflicts.increment();
+                    response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + IDEMPOTENCY_KEY
+                        + " is still being processed");
+                    return;
+                }
+                case EXISTING -> {
+                    if (!claim.getRequestHash().equals(requestHash)) {
+                        mismatches.increment();
+                        response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), IDEMPOTENCY_KEY
+                            + " was already used with a different request body");
+                        return;
+                    }
+                    StoredResponse original = await(claim);
+                    if (original != null) {
+                        replayed.increment();
+                        replay(original, response);
+                        return;
+                    }
+                    if (!claim.getResponse().isDone()) {
+                        conflicts.increment();
+                        response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + IDEMPOTENCY_KEY
+                            + " is still being processed");
+                        return;
+                    }
+                }
+            }
+        }
+        conflicts.increment();
+        response.sendError(HttpStatus.CONFLICT.value(), "Earlier requests with this " + IDEMPOTENCY_KEY
+            + " failed, retry later");
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain chain, String key,
+        IdempotencyStore.Claim claim) throws ServletException, IOException {
+        executed.increment();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            chain.doFilter(request, wrapper);
+            if (HttpStatusCode.valueOf(wrapper.getStatus()).is2xxSuccessful()) {
+                store.complete(key, claim, new StoredResponse(wrapper.getStatus(), wrapper.getContentType(),
+                    wrapper.getContentAsByteArray()));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                store.release(key, claim);
+            }
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private StoredResponse await(IdempotencyStore.Claim claim) throws IOException {
+        try {
+            return claim.getResponse().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the original request", ex);
+        } catch (ExecutionException ex) {
+            throw new IOException("Original request failed", ex.getCause());
+        }
+    }
+
+    private String caller(HttpServletRequest request) {
+        if (trustIdentityHeaders) {
+            String user = request.getHeader(RateLimitFilter.USER_ID);
+            if (isIdentity(user)) {
+                return "user:" + user;
+            }
+            String driver = request.getHeader(RateLimitFilter.DRIVER_ID);
+            if (isIdentity(driver)) {
+                return "driver:" + driver;
+            }
+        }
+        return "ip:" + ClientAddress.of(request, trustForwardedFor, peerRequest.test(request));
+    }
+
+    private static boolean isIdentity(String header) {
+        return header != null && !header.isBlank() && header.length() <= MAX_IDENTITY_LENGTH;
+    }
+
+    private static void replay(StoredResponse original, HttpServletResponse response) throws IOException {
+        response.setStatus(original.getStatus());
+        if (original.getContentType() != null) {
+            response.setContentType(original.getContentType());
+        }
+        response.setHeader(REPLAYED, "true");
+        response.setContentLength(original.getBody().length);
+        response.getOutputStream().write(original.getBody());
+    }
+
+    private static String digest(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("idempotency.requests")
+            .tag("outcome", outcome)
+            .description("Requests carrying an Idempotency-Key by outcome")
+            .register(registry);
+    }
+}
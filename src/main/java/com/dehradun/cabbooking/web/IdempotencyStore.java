@@ -0,0 +1,316 @@
+package com.dehradun.cabbooking.web;
+
+import com.dehradun.cabbooking.entity.IdempotencyRecord;
+import com.dehradun.cabbooking.repository.IdempotencyRecordRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Remembers the responses of requests sent with an {@code Idempotency-Key} header.
+ *
+ * <p>Entries live in an access-ordered map bounded to {@code idempotency.max-entries}. The least recently used
+ * completed key is evicted first, and every response expires after {@code idempotency.ttl}. Keys whose
+ * request is still running are never evicted, since a duplicate would then execute a second time; when every
+ * retained key is in flight, new keys are refused until one finishes. A key is claimed before its
+ * request executes, so a duplicate arriving meanwhile finds the claim and waits for the first response
+ * instead of executing again.</p>
+ *
+ * <p>With the optional persistent tier, claims and responses are also written to {@code idempotency_keys}.
+ * A retry that reaches another instance, or arrives after a restart, then gets the original response. A
+ * duplicate of a request still running on another instance is refused, because it cannot be waited on.</p>
+ */
+public class IdempotencyStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdempotencyStore.class);
+    private static final int MAX_PERSISTED_BODY = 65536;
+
+    private final IdempotencyRecordRepository records;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Entry> entries;
+
+    /**
+     * Creates the store.
+     *
+     * @param records    persistent tier, {@code null} to keep responses in memory only
+     * @param maxEntries keys retained in memory at most
+     * @param ttl        how long a response is replayed
+     */
+    public IdempotencyStore(IdempotencyRecordRepository records, int maxEntries, Duration ttl) {
+        this.records = records;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true);
+    }
+
+    /**
+     * Claims a key for a request, or returns the earlier request holding it.
+     *
+     * @param key         key scoped to its endpoint
+     * @param requestHash digest of the request body
+     * @return claim telling the caller whether to execute, wait or refuse the request
+     */
+    public Claim claim(String key, String requestHash) {
+        Entry created;
+        lock.lock();
+        try {
+            Entry existing = entries.get(key);
+            if (existing != null && !existing.isExpired(System.nanoTime())) {
+                return new Claim(Claim.State.EXISTING, existing, false);
+            }
+            if (existing == null && entries.size() >= maxEntries && !evictCompleted()) {
+                return new Claim(Claim.State.FULL, null, false);
+            }
+            created = new Entry(requestHash);
+            entries.put(key, created);
+        } finally {
+            lock.unlock();
+        }
+        if (records == null) {
+            return new Claim(Claim.State.OWNER, created, false);
+        }
+        return claimPersistent(key, created);
+    }
+
+    /**
+     * Records the response of a claimed request and releases requests waiting on it.
+     *
+     * @param key      key scoped to its endpoint
+     * @param claim    claim returned to the executing request
+     * @param response response to replay
+     */
+    public void complete(String key, Claim claim, StoredResponse response) {
+        Entry entry = claim.entry;
+        entry.expiresAt = System.nanoTime() + ttl.toNanos();
+        entry.response.complete(response);
+        if (!claim.persisted) {
+            return;
+        }
+        try {
+            if (response.getBody().length > MAX_PERSISTED_BODY) {
+                records.deleteById(key);
+                return;
+            }
+            IdempotencyRecord record = newRecord(key, entry.requestHash);
+            record.setResponseStatus(response.getStatus());
+            record.setContentType(response.getContentType());
+            record.setResponseBody(response.getBody());
+            records.save(record);
+        } catch (DataAccessException ex) {
+            LOGGER.warn("Unable to persist the response for idempotency key {}", key, ex);
+        }
+    }
+
+    /**
+     * Forgets a claim whose request failed, so the next retry executes again.
+     *
+     * @param key   key scoped to its endpoint
+     * @param claim claim returned to the failed request
+     */
+    public void release(String key, Claim claim) {
+        lock.lock();
+        try {
+            entries.remove(key, claim.entry);
+        } finally {
+            lock.unlock();
+        }
+        claim.entry.response.complete(null);
+        if (claim.persisted) {
+            try {
+                records.deleteById(key);
+            } catch (DataAccessException ex) {
+                LOGGER.warn("Unable to release idempotency key {}", key, ex);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of keys held in memory.
+     *
+     * @return retained keys
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops expired responses from memory and from the persistent tier.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isExpired(now)) {
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (records != null) {
+            try {
+                records.deleteExpired(LocalDateTime.now());
+            } catch (DataAccessException ex) {
+                LOGGER.warn("Unable to purge expired idempotency keys", ex);
+            }
+        }
+    }
+
+    private boolean evictCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().response.isDone()) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Claim claimPersistent(String key, Entry created) {
+        try {
+            Optional<IdempotencyRecord> stored = records.findById(key);
+            if (stored.isPresent() && stored.get().getExpiresAt().isAfter(LocalDateTime.now())) {
+                IdempotencyRecord record = stored.get();
+                Entry replacement = null;
+                if (record.getResponseStatus() != null) {
+                    replacement = new Entry(record.getRequestHash());
+                    replacement.expiresAt = System.nanoTime()
+                        + Duration.between(LocalDateTime.now(), record.getExpiresAt()).toNanos();
+                    replacement.response.complete(new StoredResponse(record.getResponseStatus(),
+                        record.getContentType(), record.getResponseBody()));
+                }
+                replace(key, created, replacement);
+                return replacement != null
+                    ? new Claim(Claim.State.EXISTING, replacement, false)
+                    : new Claim(Claim.State.BUSY, created, false);
+            }
+            records.saveAndFlush(newRecord(key, created.requestHash));
+            return new Claim(Claim.State.OWNER, created, true);
+        } catch (DataIntegrityViolationException ex) {
+            replace(key, created, null);
+            return new Claim(Claim.State.BUSY, created, false);
+        } catch (DataAccessException ex) {
+            LOGGER.warn("Persistent idempotency tier unavailable, deduplicating in memory only", ex);
+            return new Claim(Claim.State.OWNER, created, false);
+        }
+    }
+
+    private void replace(String key, Entry claimed, Entry replacement) {
+        lock.lock();
+        try {
+            if (replacement == null) {
+                entries.remove(key, claimed);
+            } else {
+                entries.replace(key, claimed, replacement);
+            }
+        } finally {
+            lock.unlock();
+        }
+        claimed.response.complete(null);
+    }
+
+    private IdempotencyRecord newRecord(String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setIdempotencyKey(key);
+        record.setRequestHash(requestHash);
+        record.setCreatedAt(now);
+        record.setExpiresAt(now.plus(ttl));
+        return record;
+    }
+
+    /**
+     * Outcome of claiming a key.
+     */
+    public static final class Claim {
+
+        /**
+         * What the caller has to do with its request.
+         */
+        public enum State {
+            /** The key was free: execute the request and complete or release the claim. */
+            OWNER,
+            /** An earlier request holds the key: wait for its response. */
+            EXISTING,
+            /** A request on another instance holds the key and cannot be waited on. */
+            BUSY,
+            /** Every retained key belongs to a running request: refuse the request. */
+            FULL
+        }
+
+        private final State state;
+        private final Entry entry;
+        private final boolean persisted;
+
+        private Claim(State state, Entry entry, boolean persisted) {
+            this.state = state;
+            this.entry = entry;
+            this.persisted = persisted;
+        }
+
+        /**
+         * Returns what the caller has to do with its request.
+         *
+         * @return claim state
+         */
+        public State getState() {
+            return state;
+        }
+
+        /**
+         * Returns the body digest of the request that first used the key.
+         *
+         * @return request body digest
+         */
+        public String getRequestHash() {
+            return entry.requestHash;
+        }
+
+        /**
+         * Returns the response of the request holding the key.
+         *
+         * <p>Completes with {@code null} when that request failed and the key was released.</p>
+         *
+         * @return future response
+         */
+        public CompletableFuture<StoredResponse> getResponse() {
+            return entry.response;
+        }
+    }
+
+    private static final class Entry {
+
+        private final String requestHash;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Entry(String requestHash) {
+            this.requestHash = requestHash;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && expiresAt - now < 0;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.dehradun.cabbooking.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Rejects clients that exceed the request rate of the {@link RateLimitPolicy} covering an endpoint.
+ *
+ * <p>The first policy matching the method and path applies. Clients are keyed by their address. With
+ * {@code rate-limit.trust-identity-headers} set, the {@code X-User-Id} header, then the {@code X-Driver-Id}
+ * header take precedence; only enable it behind an authenticating gateway that overwrites both, since any
+ * client could otherwise rotate them to get a fresh bucket per request. The address is the first
+ * {@code X-Forwarded-For} hop when {@code rate-limit.trust-forwarded-for} is set, and the socket address
+ * otherwise. IPv6 clients are keyed by their {@code /64} prefix. Rejected requests get {@code 429 Too Many Requests} with
+ * {@code Retry-After} and are counted as {@code ratelimit.rejections{policy,key}}. Requests relayed by
+ * another cluster node pass unchecked, since the node the client called has already charged them.</p>
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Header carrying the authenticated rider.
+     */
+    public static final String USER_ID = "X-User-Id";
+
+    /**
+     * Header carrying the authenticated driver.
+     */
+    public static final String DRIVER_ID = "X-Driver-Id";
+
+    private static final int MAX_IDENTITY_LENGTH = 64;
+
+    private final RateLimiter limiter;
+    private final RateLimitPolicy[] policies;
+    private final String[][] keyPrefixes;
+    private final Counter[][] rejections;
+    private final boolean trustForwardedFor;
+    private final boolean trustIdentityHeaders;
+    private final Predicate<HttpServletRequest> peerRequest;
+
+    /**
+     * Creates the filter.
+     *
+     * @param limiter              bucket store
+     * @param policies             policies in matching order
+     * @param trustForwardedFor    whether the client address is taken from {@code X-Forwarded-For}
+     * @param trustIdentityHeaders whether {@code X-User-Id} and {@code X-Driver-Id} key the client
+     * @param peerRequest          recognises requests relayed by another cluster node
+     * @param meterRegistry        registry receiving the rejection counters
+     */
+    public RateLimitFilter(RateLimiter limiter, List<RateLimitPolicy> policies, boolean trustForwardedFor,
+        boolean trustIdentityHeaders, Predicate<HttpServletRequest> peerRequest, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.policies = policies.toArray(new RateLimitPolicy[0]);
+        this.trustForwardedFor = trustForwardedFor;
+        this.trustIdentityHeaders = trustIdentityHeaders;
+        this.peerRequest = peerRequest;
+        this.keyPrefixes = new String[this.policies.length][];
+        this.rejections = new Counter[this.policies.length][];
+        for (int i = 0; i < this.policies.length; i++) {
+            String name = this.policies[i].getName();
+            keyPrefixes[i] = new String[] {name + ":user:", name + ":driver:", name + ":ip:"};
+            rejections[i] = new Counter[] {
+                rejectionCounter(meterRegistry, this.policies[i], "user"),
+                rejectionCounter(meterRegistry, this.policies[i], "driver"),
+                rejectionCounter(meterRegistry, this.policies[i], "ip")
+            };
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return peerRequest.test(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        for (int i = 0; i < policies.length; i++) {
+            RateLimitPolicy policy = policies[i];
+            if (!policy.matches(method, path)) {
+                continue;
+            }
+            int keyType = 0;
+            String identity = null;
+            if (trustIdentityHeaders) {
+                identity = identity(request.getHeader(USER_ID));
+                if (identity == null) {
+                    keyType = 1;
+                    identity = identity(request.getHeader(DRIVER_ID));
+                }
+            }
+            if (identity == null) {
+                keyType = 2;
+                identity = ClientAddress.networkOf(ClientAddress.of(request, trustForwardedFor));
+            }
+            long waitNanos = limiter.tryAcquire(policy, keyPrefixes[i][keyType].concat(identity));
+            if (waitNanos > 0) {
+                rejections[i][keyType].increment();
+                long retryAfter = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+                response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Rate limit exceeded");
+                return;
+            }
+            break;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static String identity(String header) {
+        return header == null || header.isBlank() || header.length() > MAX_IDENTITY_LENGTH ? null : header;
+    }
+
+    private static Counter rejectionCounter(MeterRegistry registry, RateLimitPolicy policy, String key) {
+        return Counter.builder("ratelimit.rejections")
+            .tag("policy", policy.getName())
+            .tag("key", key)
+            .description("Requests rejected by the rate limiter")
+            .register(registry);
+    }
+}
@@ -0,0 +1,86 @@
+package com.dehradun.cabbooking.web;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Burst size and sustained rate allowed per client on a group of endpoints.
+ *
+ * <p>Endpoints are listed as {@code "METHOD /path"} entries and matched as {@link EndpointPattern}s.</p>
+ */
+public final class RateLimitPolicy {
+
+    private final String name;
+    private final List<EndpointPattern> endpoints;
+    private final int capacity;
+    private final long intervalNanos;
+    private final long capacityNanos;
+
+    /**
+     * Creates a policy.
+     *
+     * @param name      policy name used in bucket keys and metrics
+     * @param endpoints {@code "METHOD /path"} entries, method {@code *} matching any method
+     * @param capacity  requests a client may burst
+     * @param period    time in which a client's {@code capacity} requests are fully replenished
+     */
+    public RateLimitPolicy(String name, List<String> endpoints, int capacity, Duration period) {
+        if (capacity < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit policy " + name + " needs a positive capacity and period");
+        }
+        this.name = name;
+        this.endpoints = new ArrayList<>(endpoints.size());
+        for (String endpoint : endpoints) {
+            this.endpoints.add(EndpointPattern.parse(endpoint.trim()));
+        }
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1L, period.toNanos() / capacity);
+        this.capacityNanos = intervalNanos * capacity;
+    }
+
+    /**
+     * Returns the policy name.
+     *
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the burst size.
+     *
+     * @return requests a client may burst
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Tells whether the policy covers a request.
+     *
+     * @param method HTTP method
+     * @param path   request path without query string
+     * @return {@code true} when one of the endpoints matches
+     */
+    public boolean matches(String method, String path) {
+        for (EndpointPattern endpoint : endpoints) {
+            if (endpoint.matches(method, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes a token from a client's bucket under this policy.
+     *
+     * @param bucket client bucket
+     * @param now    current {@link System#nanoTime()}
+     * @return {@code 0} when admitted, otherwise nanoseconds until the next token
+     */
+    long tryAcquire(TokenBucket bucket, long now) {
+        return bucket.tryAcquire(now, intervalNanos, capacityNanos);
+    }
+}
@@ -0,0 +1,108 @@
+package com.dehradun.cabbooking.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Holds the token buckets of every client and policy in a bounded map that forgets idle clients.
+ *
+ * <p>A bucket that has been full for {@code rate-limit.idle-expiry} carries no state worth keeping, so the
+ * periodic sweep drops it. When {@code rate-limit.max-keys} buckets exist, a new client first triggers a
+ * sweep, unless one ran within the last second, since scanning the full map on every request of a flood
+ * would cost more than the buckets it frees. If no space is freed, the request is rejected and counted as
+ * {@code ratelimit.overflow}.
+ * Memory therefore stays bounded during a flood of distinct addresses, and the flood cannot get past the
+ * limiter by outgrowing it; new clients are turned away until idle buckets expire. Existing buckets are
+ * never evicted early, since that would hand their owners a fresh burst.</p>
+ */
+public class RateLimiter {
+
+    private static final long OVERFLOW_RETRY_NANOS = Duration.ofSeconds(1).toNanos();
+    private static final long MIN_SWEEP_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final int maxKeys;
+    private final long idleNanos;
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private final Counter overflow;
+    private volatile long lastSweepNanos;
+
+    /**
+     * Creates the limiter.
+     *
+     * @param maxKeys       buckets held at most
+     * @param idleExpiry    time a full bucket is kept before it is dropped
+     * @param meterRegistry registry receiving the bucket gauge and the overflow counter
+     */
+    public RateLimiter(int maxKeys, Duration idleExpiry, MeterRegistry meterRegistry) {
+        this.maxKeys = maxKeys;
+        this.idleNanos = idleExpiry.toNanos();
+        this.lastSweepNanos = System.nanoTime() - MIN_SWEEP_INTERVAL_NANOS;
+        this.overflow = Counter.builder("ratelimit.overflow")
+            .description("Requests from new clients rejected because the bucket map was full")
+            .register(meterRegistry);
+        Gauge.builder("ratelimit.buckets", buckets, Map::size)
+            .description("Rate limit buckets currently held")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token for a client under a policy.
+     *
+     * @param policy policy covering the request
+     * @param key    client key, unique across policies
+     * @return {@code 0} when admitted, otherwise nanoseconds until the client may retry
+     */
+    public long tryAcquire(RateLimitPolicy policy, String key) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                if (now - lastSweepNanos >= MIN_SWEEP_INTERVAL_NANOS) {
+                    sweep(now);
+                }
+                if (buckets.size() >= maxKeys) {
+                    overflow.increment();
+                    return OVERFLOW_RETRY_NANOS;
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, ignored -> new TokenBucket(now));
+        }
+        return policy.tryAcquire(bucket, now);
+    }
+
+    /**
+     * Returns the number of buckets held.
+     *
+     * @return bucket count
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Drops buckets of clients that have been idle long enough to be full again.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:30000}")
+    public void sweepIdle() {
+        sweep(System.nanoTime());
+    }
+
+    private void sweep(long now) {
+        if (!sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            lastSweepNanos = now;
+            buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.dehradun.cabbooking.web;
+
+/**
+ * Status, content type and body of a response kept for replay to a retried request.
+ */
+public final class StoredResponse {
+
+    private final int status;
+    private final String contentType;
+    private final byte[] body;
+
+    /**
+     * Captures a response.
+     *
+     * @param status      HTTP status code
+     * @param contentType media type, may be {@code null}
+     * @param body        response bytes, not copied
+     */
+    public StoredResponse(int status, String contentType, byte[] body) {
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    /**
+     * Returns the HTTP status code.
+     *
+     * @return status code
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the media type of the body.
+     *
+     * @return content type, may be {@code null}
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Returns the response bytes; callers must not modify them.
+     *
+     * @return body
+     */
+    public byte[] getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,59 @@
+package com.dehradun.cabbooking.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket for one client of one {@link RateLimitPolicy}.
+ *
+ * <p>The bucket is stored in its generic cell rate form: a single "theoretical arrival time" on the
+ * {@link System#nanoTime()} clock. A request is admitted when advancing that time by one token interval
+ * keeps it within {@code capacity} intervals of now. Taking a token is then one compare-and-set on a
+ * {@code long}, with no refill timer and no lock. An idle bucket refills simply because the clock moves past
+ * the arrival time.</p>
+ */
+final class TokenBucket {
+
+    private final AtomicLong arrival;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param now current {@link System#nanoTime()}
+     */
+    TokenBucket(long now) {
+        this.arrival = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one token if the bucket holds any.
+     *
+     * @param now            current {@link System#nanoTime()}
+     * @param intervalNanos  time to refill one token
+     * @param capacityNanos  {@code capacity * intervalNanos}
+     * @return {@code 0} when admitted, otherwise nanoseconds until the next token
+     */
+    long tryAcquire(long now, long intervalNanos, long capacityNanos) {
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > capacityNanos) {
+                return ahead - capacityNanos;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * Tells whether the bucket has been full for at least {@code idleNanos}, so dropping it loses nothing.
+     *
+     * @param now       current {@link System#nanoTime()}
+     * @param idleNanos idle time after which a bucket may be dropped
+     * @return {@code true} when the bucket can be evicted
+     */
+    boolean isIdle(long now, long idleNanos) {
+        return now - arrival.get() >= idleNanos;
+    }
+}